@@ -0,0 +1,69 @@
+package cu.sld.ucmgt.directory.aop.scheduling;
+
+import cu.sld.ucmgt.directory.config.scheduling.ClusterJob;
+import cu.sld.ucmgt.directory.config.scheduling.JobLease;
+import cu.sld.ucmgt.directory.config.scheduling.ScheduledJobLock;
+import cu.sld.ucmgt.directory.config.scheduling.ScheduledJobRegistry;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Optional;
+
+/**
+ * Aspect running the {@link ClusterJob}s on the node holding their lease only, and recording their runs. A firing
+ * is skipped as well when another node already ran the job successfully within its minimum interval.
+ */
+@Slf4j
+@Aspect
+@RequiredArgsConstructor
+public class ClusterJobAspect {
+
+    private final ScheduledJobLock scheduledJobLock;
+    private final ScheduledJobRegistry scheduledJobRegistry;
+
+    /**
+     * Advice that runs the job when this node gets its lease.
+     *
+     * @param joinPoint  join point for advice.
+     * @param clusterJob the job settings.
+     * @return result, {@code null} when another node runs or just ran the job.
+     * @throws Throwable the exception thrown by the job.
+     */
+    @Around("@annotation(clusterJob)")
+    public Object runOnce(ProceedingJoinPoint joinPoint, ClusterJob clusterJob) throws Throwable {
+        Optional<JobLease> acquired = scheduledJobLock.tryAcquire(clusterJob.value(),
+                Duration.ofMinutes(clusterJob.leaseMinutes()));
+        if (!acquired.isPresent()) {
+            log.debug("Job {} already running on another node, skipped", clusterJob.value());
+            scheduledJobRegistry.skipped(clusterJob.value());
+            return null;
+        }
+        JobLease lease = acquired.get();
+        Instant lastSlot = Instant.now().minus(Duration.ofMinutes(clusterJob.minIntervalMinutes()));
+        if (scheduledJobRegistry.succeededSince(clusterJob.value(), lastSlot)) {
+            log.debug("Job {} already ran since {}, skipped", clusterJob.value(), lastSlot);
+            scheduledJobRegistry.skipped(clusterJob.value());
+            scheduledJobLock.release(lease);
+            return null;
+        }
+        JobLease previous = JobLease.bind(lease);
+        Instant startedAt = Instant.now();
+        long start = System.nanoTime();
+        Throwable failure = null;
+        try {
+            return joinPoint.proceed();
+        } catch (Throwable e) {
+            failure = e;
+            throw e;
+        } finally {
+            JobLease.bind(previous);
+            scheduledJobRegistry.record(lease, startedAt, Duration.ofNanos(System.nanoTime() - start), failure);
+            scheduledJobLock.release(lease);
+        }
+    }
+}
@@ -0,0 +1,72 @@
+package cu.sld.ucmgt.directory.aop.statements;
+
+import cu.sld.ucmgt.directory.config.datasource.StatementStatistics;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.aspectj.lang.annotation.Pointcut;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Aspect counting the SQL statements executed by each public method of the services.
+ * <p>
+ * The statements of a method include those of the services it calls, the repeated statements are
+ * reported once per HTTP request by {@link cu.sld.ucmgt.directory.web.filter.StatementStatisticsFilter}.
+ */
+@Aspect
+public class StatementStatisticsAspect {
+
+    private static final String METRIC_NAME = "datasource.statements.method";
+
+    private final MeterRegistry meterRegistry;
+
+    public StatementStatisticsAspect(MeterRegistry meterRegistry) {
+        this.meterRegistry = meterRegistry;
+    }
+
+    /**
+     * Pointcut that matches all the services.
+     */
+    @Pointcut("within(@org.springframework.stereotype.Service *) && within(cu.sld.ucmgt.directory.service..*)")
+    public void servicePointcut() {
+        // Method is empty as this is just a Pointcut, the implementations are in the advices.
+    }
+
+    /**
+     * Advice that counts the statements executed by a service method.
+     *
+     * @param joinPoint join point for advice.
+     * @return result.
+     * @throws Throwable the exception thrown by the method.
+     */
+    @Around("servicePointcut()")
+    public Object countStatements(ProceedingJoinPoint joinPoint) throws Throwable {
+        StatementStatistics statistics = StatementStatistics.open();
+        try {
+            return joinPoint.proceed();
+        } finally {
+            statistics.close();
+            record(joinPoint, statistics);
+        }
+    }
+
+    private void record(ProceedingJoinPoint joinPoint, StatementStatistics statistics) {
+        String type = joinPoint.getSignature().getDeclaringType().getSimpleName();
+        String method = joinPoint.getSignature().getName();
+        Logger log = LoggerFactory.getLogger(joinPoint.getSignature().getDeclaringTypeName());
+        if (log.isDebugEnabled()) {
+            log.debug("Statements of {}(): {}", method, statistics);
+        }
+        if (meterRegistry != null) {
+            DistributionSummary.builder(METRIC_NAME)
+                    .description("SQL statements executed by a service method")
+                    .tag("class", type)
+                    .tag("method", method)
+                    .register(meterRegistry)
+                    .record(statistics.getStatements());
+        }
+    }
+}
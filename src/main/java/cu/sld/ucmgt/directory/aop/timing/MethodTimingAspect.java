@@ -0,0 +1,185 @@
+package cu.sld.ucmgt.directory.aop.timing;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.Getter;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.aspectj.lang.annotation.Pointcut;
+import org.aspectj.lang.reflect.MethodSignature;
+
+import java.lang.reflect.Method;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Aspect measuring the latency of the repositories, services and Web REST endpoints.
+ * <p>
+ * The calls are recorded in the {@code method.timed} timer, tagged by class, method and outcome only. The
+ * {@link Settings} are swapped at runtime: when disabled the advice costs a volatile read, and the package of
+ * each method is checked once, on its first call after the settings changed. The number of timed methods is
+ * bounded, the methods beyond the bound are not timed.
+ */
+@Aspect
+public class MethodTimingAspect {
+
+    public static final String METRIC_NAME = "method.timed";
+
+    private static final MethodTimer NOT_TIMED = new MethodTimer(null, null);
+
+    private final MeterRegistry meterRegistry;
+    private final int maxMethods;
+    private final Set<String> timedMethods = ConcurrentHashMap.newKeySet();
+    private final Map<Method, MethodTimer> timers = new ConcurrentHashMap<>();
+    private volatile Settings settings;
+
+    public MethodTimingAspect(MeterRegistry meterRegistry, Settings settings, int maxMethods) {
+        this.meterRegistry = meterRegistry;
+        this.settings = settings;
+        this.maxMethods = maxMethods;
+    }
+
+    /**
+     * Pointcut that matches all repositories, services and Web REST endpoints.
+     */
+    @Pointcut("within(@org.springframework.stereotype.Repository *)" +
+        " || within(@org.springframework.stereotype.Service *)" +
+        " || within(@org.springframework.web.bind.annotation.RestController *)")
+    public void springBeanPointcut() {
+        // Method is empty as this is just a Pointcut, the implementations are in the advices.
+    }
+
+    /**
+     * Pointcut that matches all Spring beans of the application, the timed packages are selected at runtime.
+     */
+    @Pointcut("within(cu.sld.ucmgt.directory..*)")
+    public void applicationPackagePointcut() {
+        // Method is empty as this is just a Pointcut, the implementations are in the advices.
+    }
+
+    /**
+     * Advice that times a method when the settings select it.
+     *
+     * @param joinPoint join point for advice.
+     * @return result.
+     * @throws Throwable the exception thrown by the method.
+     */
+    @Around("applicationPackagePointcut() && springBeanPointcut()")
+    public Object timeMethod(ProceedingJoinPoint joinPoint) throws Throwable {
+        Settings current = settings;
+        if (!current.enabled) {
+            return joinPoint.proceed();
+        }
+        MethodTimer timer = timer(joinPoint, current);
+        if (timer == NOT_TIMED || !current.sample()) {
+            return joinPoint.proceed();
+        }
+        long start = System.nanoTime();
+        try {
+            Object result = joinPoint.proceed();
+            timer.success.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+            return result;
+        } catch (Throwable e) {
+            timer.failure.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+            throw e;
+        }
+    }
+
+    public Settings getSettings() {
+        return settings;
+    }
+
+    public int getTimedMethods() {
+        return timedMethods.size();
+    }
+
+    /**
+     * Replace the settings, the packages of the methods are checked again on their next call.
+     *
+     * @param settings the new settings.
+     */
+    public void configure(Settings settings) {
+        boolean packagesChanged = !this.settings.packages.equals(settings.packages);
+        this.settings = settings;
+        if (packagesChanged) {
+            timers.clear();
+        }
+    }
+
+    private MethodTimer timer(ProceedingJoinPoint joinPoint, Settings current) {
+        Method method = ((MethodSignature) joinPoint.getSignature()).getMethod();
+        MethodTimer timer = timers.get(method);
+        if (timer == null) {
+            timer = timers.computeIfAbsent(method, key -> createTimer(joinPoint, current));
+        }
+        return timer;
+    }
+
+    private MethodTimer createTimer(ProceedingJoinPoint joinPoint, Settings current) {
+        Class<?> type = joinPoint.getSignature().getDeclaringType();
+        String method = joinPoint.getSignature().getName();
+        if (meterRegistry == null || !current.selects(type.getName())) {
+            return NOT_TIMED;
+        }
+        String key = type.getSimpleName() + "." + method;
+        if (!timedMethods.contains(key) && timedMethods.size() >= maxMethods) {
+            return NOT_TIMED;
+        }
+        timedMethods.add(key);
+        return new MethodTimer(registerTimer(type, method, "SUCCESS"), registerTimer(type, method, "FAILURE"));
+    }
+
+    private Timer registerTimer(Class<?> type, String method, String outcome) {
+        return Timer.builder(METRIC_NAME)
+                .description("Latency of the methods of the repositories, services and REST endpoints")
+                .tag("class", type.getSimpleName())
+                .tag("method", method)
+                .tag("outcome", outcome)
+                .register(meterRegistry);
+    }
+
+    /**
+     * Immutable settings of the aspect.
+     */
+    @Getter
+    public static class Settings {
+
+        private final boolean enabled;
+        private final double sampleRate;
+        private final List<String> packages;
+
+        public Settings(boolean enabled, double sampleRate, List<String> packages) {
+            if (sampleRate < 0.0 || sampleRate > 1.0) {
+                throw new IllegalArgumentException("The sample rate must be between 0 and 1: " + sampleRate);
+            }
+            this.enabled = enabled;
+            this.sampleRate = sampleRate;
+            this.packages = Collections.unmodifiableList(packages);
+        }
+
+        boolean sample() {
+            return sampleRate >= 1.0 || ThreadLocalRandom.current().nextDouble() < sampleRate;
+        }
+
+        boolean selects(String typeName) {
+            return packages.stream().anyMatch(pkg -> typeName.startsWith(pkg + "."));
+        }
+    }
+
+    private static final class MethodTimer {
+
+        private final Timer success;
+        private final Timer failure;
+
+        private MethodTimer(Timer success, Timer failure) {
+            this.success = success;
+            this.failure = failure;
+        }
+    }
+}
@@ -0,0 +1,77 @@
+package cu.sld.ucmgt.directory.aop.timing;
+
+import cu.sld.ucmgt.directory.config.metric.IndexLagMonitor;
+import cu.sld.ucmgt.directory.config.timing.BackendTimings;
+import cu.sld.ucmgt.directory.config.timing.BackendTimings.Backend;
+import cu.sld.ucmgt.directory.domain.elasticsearch.SourceDocument;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.springframework.core.annotation.AnnotationUtils;
+import org.springframework.data.elasticsearch.annotations.Document;
+
+import java.time.Instant;
+import java.util.Collections;
+import java.util.Objects;
+import java.util.stream.StreamSupport;
+
+/**
+ * Aspect adding the time of the Elasticsearch repositories to the {@link BackendTimings} of the request.
+ * The services calling the {@code RestHighLevelClient} directly time those calls themselves.
+ * <p>
+ * The saved documents are measured by the {@link IndexLagMonitor}, from the oldest change when many
+ * documents are saved at once. The services flush their changes before mapping the documents, so the date
+ * they carry is the one stamped by the auditing.
+ */
+@Aspect
+public class SearchTimingAspect {
+
+    private final IndexLagMonitor indexLagMonitor;
+
+    public SearchTimingAspect(IndexLagMonitor indexLagMonitor) {
+        this.indexLagMonitor = indexLagMonitor;
+    }
+
+    /**
+     * Advice that times a call to an Elasticsearch repository.
+     *
+     * @param joinPoint join point for advice.
+     * @return result.
+     * @throws Throwable the exception thrown by the repository.
+     */
+    @Around("target(org.springframework.data.elasticsearch.repository.ElasticsearchRepository)")
+    public Object timeSearchRepository(ProceedingJoinPoint joinPoint) throws Throwable {
+        Object[] args = joinPoint.getArgs();
+        if (joinPoint.getSignature().getName().startsWith("save") && args.length == 1) {
+            SourceDocument first = firstDocument(args[0]);
+            Document document = first != null ? AnnotationUtils.findAnnotation(first.getClass(), Document.class) : null;
+            if (document != null) {
+                return indexLagMonitor.write(document.indexName(), oldestChange(args[0]), joinPoint::proceed);
+            }
+        }
+        return BackendTimings.time(Backend.ELASTICSEARCH, joinPoint::proceed);
+    }
+
+    private SourceDocument firstDocument(Object documents) {
+        if (documents instanceof SourceDocument) {
+            return (SourceDocument) documents;
+        }
+        if (documents instanceof Iterable) {
+            for (Object document : (Iterable<?>) documents) {
+                return document instanceof SourceDocument ? (SourceDocument) document : null;
+            }
+        }
+        return null;
+    }
+
+    private Instant oldestChange(Object documents) {
+        Iterable<?> iterable = documents instanceof Iterable ? (Iterable<?>) documents : Collections.singleton(documents);
+        return StreamSupport.stream(iterable.spliterator(), false)
+                .filter(SourceDocument.class::isInstance)
+                .map(document -> ((SourceDocument) document).getLastModifiedDate())
+                .filter(Objects::nonNull)
+                .min(Long::compare)
+                .map(Instant::ofEpochMilli)
+                .orElse(null);
+    }
+}
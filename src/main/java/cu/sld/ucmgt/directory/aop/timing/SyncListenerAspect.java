@@ -0,0 +1,41 @@
+package cu.sld.ucmgt.directory.aop.timing;
+
+import cu.sld.ucmgt.directory.config.jfr.IndexSyncEvent;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.aspectj.lang.annotation.Pointcut;
+
+/**
+ * Aspect binding the running event listener of the services, so the {@link IndexSyncEvent}s of the index
+ * writes it makes carry its name.
+ */
+@Aspect
+public class SyncListenerAspect {
+
+    /**
+     * Pointcut that matches the event listeners of the services.
+     */
+    @Pointcut("@annotation(org.springframework.context.event.EventListener) && within(cu.sld.ucmgt.directory.service..*)")
+    public void listenerPointcut() {
+        // Method is empty as this is just a Pointcut, the implementations are in the advices.
+    }
+
+    /**
+     * Advice that binds the listener while it runs.
+     *
+     * @param joinPoint join point for advice.
+     * @return result.
+     * @throws Throwable the exception thrown by the listener.
+     */
+    @Around("listenerPointcut()")
+    public Object bindListener(ProceedingJoinPoint joinPoint) throws Throwable {
+        String previous = IndexSyncEvent.bindListener(
+                joinPoint.getSignature().getDeclaringType().getSimpleName() + "." + joinPoint.getSignature().getName());
+        try {
+            return joinPoint.proceed();
+        } finally {
+            IndexSyncEvent.bindListener(previous);
+        }
+    }
+}
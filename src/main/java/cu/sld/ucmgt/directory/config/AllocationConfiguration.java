@@ -0,0 +1,36 @@
+package cu.sld.ucmgt.directory.config;
+
+import cu.sld.ucmgt.directory.web.filter.AllocationFilter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.security.SecurityProperties;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Measure the heap allocated by each request, see {@link AllocationFilter}.
+ * Enabled with {@code application.http.allocation.enabled}.
+ */
+@Configuration
+@ConditionalOnProperty(prefix = "application.http.allocation", name = "enabled", matchIfMissing = true)
+public class AllocationConfiguration {
+
+    /**
+     * Registered before the other measuring filters, so the allocation covers the whole request.
+     * @param properties    the {@code application.http.allocation} settings
+     * @param meterRegistry registry of the allocation summaries
+     * @return the registration of the {@link AllocationFilter}
+     */
+    @Bean
+    public FilterRegistrationBean<AllocationFilter> allocationFilter(AppProperties properties,
+                                                                     ObjectProvider<MeterRegistry> meterRegistry) {
+        FilterRegistrationBean<AllocationFilter> registration = new FilterRegistrationBean<>(
+                new AllocationFilter(properties.getHttp().getAllocation().getBudgetMb() * 1024L * 1024L,
+                        meterRegistry.getIfAvailable()));
+        registration.addUrlPatterns("/api/*");
+        registration.setOrder(SecurityProperties.DEFAULT_FILTER_ORDER - 3);
+        return registration;
+    }
+}
@@ -7,8 +7,11 @@ import org.springframework.web.cors.CorsConfiguration;
 
 import javax.validation.constraints.NotNull;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collections;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 
 /**
  * Properties specific to Directory.
@@ -19,7 +22,9 @@ import java.util.List;
 @ConfigurationProperties(prefix = "application", ignoreUnknownFields = false)
 public class AppProperties {
 
+    private final Http http = new Http();
     private final Cache cache = new Cache();
+    private final Datasource datasource = new Datasource();
     private final Metrics metrics = new Metrics();
     private final Swagger swagger = new Swagger();
     private final Logging logging = new Logging();
@@ -30,10 +35,71 @@ public class AppProperties {
     private final CorsConfiguration cors = new CorsConfiguration();
     private final RegistryConfig registryConfig = new RegistryConfig();
 
+    @Getter
+    public static class Http {
+        private final Coalescing coalescing = new Coalescing();
+        private final ServerTiming serverTiming = new ServerTiming();
+        private final Allocation allocation = new Allocation();
+
+        @Getter
+        public static class Coalescing {
+            private boolean enabled = true;
+            private long timeoutMillis = 10000;
+            private List<String> urlPatterns = new ArrayList<>(Arrays.asList(
+                    "/api/nomenclatures/filtered/*", "/api/workplaces", "/api/workplaces/filtered/*"));
+
+            public Coalescing setEnabled(boolean enabled) {
+                this.enabled = enabled;
+                return this;
+            }
+
+            public Coalescing setTimeoutMillis(long timeoutMillis) {
+                this.timeoutMillis = timeoutMillis;
+                return this;
+            }
+
+            public Coalescing setUrlPatterns(List<String> urlPatterns) {
+                this.urlPatterns = urlPatterns;
+                return this;
+            }
+        }
+
+        @Getter
+        public static class ServerTiming {
+            private boolean enabled = true;
+
+            public ServerTiming setEnabled(boolean enabled) {
+                this.enabled = enabled;
+                return this;
+            }
+        }
+
+        @Getter
+        public static class Allocation {
+            private boolean enabled = true;
+            private long budgetMb = 64;
+
+            public Allocation setEnabled(boolean enabled) {
+                this.enabled = enabled;
+                return this;
+            }
+
+            public Allocation setBudgetMb(long budgetMb) {
+                this.budgetMb = budgetMb;
+                return this;
+            }
+        }
+    }
+
     @Getter
     public static class Cache {
         private int timeToLiveSeconds = 3600;
         private int backupCount = 1;
+        private int maxEntriesPerNode = 10000;
+        private final NearCache nearCache = new NearCache();
+        private final Local local = new Local();
+        private final Map<String, Local> localCaches = new HashMap<>();
+        private final QueryResults queryResults = new QueryResults();
         private final ManagementCenter managementCenter = new ManagementCenter();
 
         public Cache setTimeToLiveSeconds(int timeToLiveSeconds) {
@@ -46,6 +112,65 @@ public class AppProperties {
             return this;
         }
 
+        public Cache setMaxEntriesPerNode(int maxEntriesPerNode) {
+            this.maxEntriesPerNode = maxEntriesPerNode;
+            return this;
+        }
+
+        @Getter
+        public static class Local {
+            private long maximumSize = 1000;
+            private long timeToLiveSeconds = 300;
+
+            public Local setMaximumSize(long maximumSize) {
+                this.maximumSize = maximumSize;
+                return this;
+            }
+
+            public Local setTimeToLiveSeconds(long timeToLiveSeconds) {
+                this.timeToLiveSeconds = timeToLiveSeconds;
+                return this;
+            }
+        }
+
+        @Getter
+        public static class NearCache {
+            private boolean enabled = true;
+            private int maxSize = 10000;
+
+            public NearCache setEnabled(boolean enabled) {
+                this.enabled = enabled;
+                return this;
+            }
+
+            public NearCache setMaxSize(int maxSize) {
+                this.maxSize = maxSize;
+                return this;
+            }
+        }
+
+        @Getter
+        public static class QueryResults {
+            private boolean enabled = true;
+            private int timeToLiveSeconds = 600;
+            private int maxEntriesPerNode = 5000;
+
+            public QueryResults setEnabled(boolean enabled) {
+                this.enabled = enabled;
+                return this;
+            }
+
+            public QueryResults setTimeToLiveSeconds(int timeToLiveSeconds) {
+                this.timeToLiveSeconds = timeToLiveSeconds;
+                return this;
+            }
+
+            public QueryResults setMaxEntriesPerNode(int maxEntriesPerNode) {
+                this.maxEntriesPerNode = maxEntriesPerNode;
+                return this;
+            }
+        }
+
         @Getter
         public static class ManagementCenter {
             private boolean enabled = false;
@@ -69,6 +194,73 @@ public class AppProperties {
         }
     }
 
+    @Getter
+    public static class Datasource {
+        private int maxLagSeconds = 10;
+        private int lagCheckIntervalSeconds = 5;
+        private int readYourWritesSeconds = 5;
+        private List<Replica> replicas = new ArrayList<>();
+        private final Statements statements = new Statements();
+
+        public Datasource setMaxLagSeconds(int maxLagSeconds) {
+            this.maxLagSeconds = maxLagSeconds;
+            return this;
+        }
+
+        public Datasource setLagCheckIntervalSeconds(int lagCheckIntervalSeconds) {
+            this.lagCheckIntervalSeconds = lagCheckIntervalSeconds;
+            return this;
+        }
+
+        public Datasource setReadYourWritesSeconds(int readYourWritesSeconds) {
+            this.readYourWritesSeconds = readYourWritesSeconds;
+            return this;
+        }
+
+        public Datasource setReplicas(List<Replica> replicas) {
+            this.replicas = replicas;
+            return this;
+        }
+
+        @Getter
+        public static class Replica {
+            private String url;
+            private String username;
+            private String password;
+
+            public Replica setUrl(String url) {
+                this.url = url;
+                return this;
+            }
+
+            public Replica setUsername(String username) {
+                this.username = username;
+                return this;
+            }
+
+            public Replica setPassword(String password) {
+                this.password = password;
+                return this;
+            }
+        }
+
+        @Getter
+        public static class Statements {
+            private boolean enabled = true;
+            private int repeatedThreshold = 10;
+
+            public Statements setEnabled(boolean enabled) {
+                this.enabled = enabled;
+                return this;
+            }
+
+            public Statements setRepeatedThreshold(int repeatedThreshold) {
+                this.repeatedThreshold = repeatedThreshold;
+                return this;
+            }
+        }
+    }
+
     @Getter
     public static class Storage {
         private String uploadDir = "./upload";
@@ -82,15 +274,54 @@ public class AppProperties {
     @Getter
     public static class AuditEvents {
         private int retentionPeriod = 30;
+        private int queueSize = 10000;
+        private int batchSize = 100;
+        private int flushIntervalMillis = 1000;
+        private int shutdownTimeoutSeconds = 10;
+        private int purgeChunkSize = 1000;
+        private int partitionsAhead = 3;
 
         public AuditEvents setRetentionPeriod(int retentionPeriod) {
             this.retentionPeriod = retentionPeriod;
             return this;
         }
+
+        public AuditEvents setQueueSize(int queueSize) {
+            this.queueSize = queueSize;
+            return this;
+        }
+
+        public AuditEvents setBatchSize(int batchSize) {
+            this.batchSize = batchSize;
+            return this;
+        }
+
+        public AuditEvents setFlushIntervalMillis(int flushIntervalMillis) {
+            this.flushIntervalMillis = flushIntervalMillis;
+            return this;
+        }
+
+        public AuditEvents setShutdownTimeoutSeconds(int shutdownTimeoutSeconds) {
+            this.shutdownTimeoutSeconds = shutdownTimeoutSeconds;
+            return this;
+        }
+
+        public AuditEvents setPurgeChunkSize(int purgeChunkSize) {
+            this.purgeChunkSize = purgeChunkSize;
+            return this;
+        }
+
+        public AuditEvents setPartitionsAhead(int partitionsAhead) {
+            this.partitionsAhead = partitionsAhead;
+            return this;
+        }
     }
     @Getter
     public static class Metrics {
         private final Logs logs = new Logs();
+        private final Snapshot snapshot = new Snapshot();
+        private final Methods methods = new Methods();
+        private final FlightRecorder flightRecorder = new FlightRecorder();
 
         @Getter
         public static class Logs {
@@ -107,6 +338,61 @@ public class AppProperties {
                 return this;
             }
         }
+
+        @Getter
+        public static class Snapshot {
+            private int intervalSeconds = 10;
+
+            public Snapshot setIntervalSeconds(int intervalSeconds) {
+                this.intervalSeconds = intervalSeconds;
+                return this;
+            }
+        }
+
+        @Getter
+        public static class Methods {
+            private boolean enabled = true;
+            private double sampleRate = 1.0;
+            private int maxMethods = 500;
+            private List<String> packages = new ArrayList<>(Arrays.asList(
+                    "cu.sld.ucmgt.directory.repository", "cu.sld.ucmgt.directory.service", "cu.sld.ucmgt.directory.web.rest"));
+
+            public Methods setEnabled(boolean enabled) {
+                this.enabled = enabled;
+                return this;
+            }
+
+            public Methods setSampleRate(double sampleRate) {
+                this.sampleRate = sampleRate;
+                return this;
+            }
+
+            public Methods setMaxMethods(int maxMethods) {
+                this.maxMethods = maxMethods;
+                return this;
+            }
+
+            public Methods setPackages(List<String> packages) {
+                this.packages = packages;
+                return this;
+            }
+        }
+
+        @Getter
+        public static class FlightRecorder {
+            private int maxAgeMinutes = 60;
+            private int maxSizeMb = 250;
+
+            public FlightRecorder setMaxAgeMinutes(int maxAgeMinutes) {
+                this.maxAgeMinutes = maxAgeMinutes;
+                return this;
+            }
+
+            public FlightRecorder setMaxSizeMb(int maxSizeMb) {
+                this.maxSizeMb = maxSizeMb;
+                return this;
+            }
+        }
     }
 
     @Getter
@@ -196,6 +482,7 @@ public class AppProperties {
     public static class Logging {
         private boolean useJsonFormat = false;
         private final Logstash logstash = new Logstash();
+        private final Async async = new Async();
 
         public void setUseJsonFormat(boolean useJsonFormat) {
             this.useJsonFormat = useJsonFormat;
@@ -228,6 +515,34 @@ public class AppProperties {
                 return this;
             }
         }
+
+        @Getter
+        public static class Async {
+            private int queueSize = 1024;
+            private int discardingThreshold = 256;
+            private String discardLevel = "INFO";
+            private int maxFlushTimeMillis = 1000;
+
+            public Async setQueueSize(int queueSize) {
+                this.queueSize = queueSize;
+                return this;
+            }
+
+            public Async setDiscardingThreshold(int discardingThreshold) {
+                this.discardingThreshold = discardingThreshold;
+                return this;
+            }
+
+            public Async setDiscardLevel(String discardLevel) {
+                this.discardLevel = discardLevel;
+                return this;
+            }
+
+            public Async setMaxFlushTimeMillis(int maxFlushTimeMillis) {
+                this.maxFlushTimeMillis = maxFlushTimeMillis;
+                return this;
+            }
+        }
     }
 
     @Getter
@@ -0,0 +1,40 @@
+package cu.sld.ucmgt.directory.config;
+
+import cu.sld.ucmgt.directory.config.audit.AuditEventWriter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Write the audit events in batches, see {@link AuditEventWriter}.
+ */
+@Configuration
+public class AuditEventConfiguration {
+
+    /**
+     * Closed before the data source, so the buffered events are written on shutdown.
+     * @param properties         the {@code application.audit-events} settings
+     * @param jdbcTemplate       template of the batched inserts
+     * @param transactionManager manager of the transaction of each batch
+     * @param meterRegistry      registry of the buffer, flush and dropped events meters
+     * @return the started {@link AuditEventWriter}
+     */
+    @Bean
+    public AuditEventWriter auditEventWriter(AppProperties properties, JdbcTemplate jdbcTemplate,
+                                             PlatformTransactionManager transactionManager, MeterRegistry meterRegistry) {
+        AppProperties.AuditEvents auditEvents = properties.getAuditEvents();
+        TransactionTemplate transactionTemplate = new TransactionTemplate(transactionManager);
+        transactionTemplate.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        AuditEventWriter writer = new AuditEventWriter(jdbcTemplate, transactionTemplate, meterRegistry,
+                auditEvents.getQueueSize(), auditEvents.getBatchSize(), auditEvents.getFlushIntervalMillis(),
+                TimeUnit.SECONDS.toMillis(auditEvents.getShutdownTimeoutSeconds()));
+        writer.start();
+        return writer;
+    }
+}
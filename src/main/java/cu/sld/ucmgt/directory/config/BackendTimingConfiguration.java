@@ -0,0 +1,33 @@
+package cu.sld.ucmgt.directory.config;
+
+import cu.sld.ucmgt.directory.web.filter.ServerTimingFilter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.security.SecurityProperties;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Break down the time of each request between Postgres, Elasticsearch and MinIO, see {@link ServerTimingFilter}.
+ * Enabled with {@code application.http.server-timing.enabled}.
+ */
+@Configuration
+@ConditionalOnProperty(prefix = "application.http.server-timing", name = "enabled", matchIfMissing = true)
+public class BackendTimingConfiguration {
+
+    /**
+     * Registered first, so the total time covers the other filters.
+     * @param meterRegistry registry of the backend timers
+     * @return the registration of the {@link ServerTimingFilter}
+     */
+    @Bean
+    public FilterRegistrationBean<ServerTimingFilter> serverTimingFilter(ObjectProvider<MeterRegistry> meterRegistry) {
+        FilterRegistrationBean<ServerTimingFilter> registration = new FilterRegistrationBean<>(
+                new ServerTimingFilter(meterRegistry.getIfAvailable()));
+        registration.addUrlPatterns("/api/*");
+        registration.setOrder(SecurityProperties.DEFAULT_FILTER_ORDER - 2);
+        return registration;
+    }
+}
@@ -3,11 +3,26 @@ package cu.sld.ucmgt.directory.config;
 import com.hazelcast.config.*;
 import com.hazelcast.core.Hazelcast;
 import com.hazelcast.core.HazelcastInstance;
+import cu.sld.ucmgt.directory.config.cache.DirectoryDataSerializableFactory;
+import cu.sld.ucmgt.directory.config.cache.DtoStreamSerializers;
+import cu.sld.ucmgt.directory.config.cache.PrefixedSimpleKey;
+import cu.sld.ucmgt.directory.config.cache.QueryResultCache;
+import cu.sld.ucmgt.directory.config.cache.QueryResultCacheInvalidator;
+import cu.sld.ucmgt.directory.config.cache.TwoTierCacheManager;
+import cu.sld.ucmgt.directory.domain.Employee;
+import cu.sld.ucmgt.directory.domain.Nomenclature;
+import cu.sld.ucmgt.directory.domain.Person;
+import cu.sld.ucmgt.directory.domain.Phone;
+import cu.sld.ucmgt.directory.domain.WorkPlace;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import io.micrometer.core.instrument.binder.cache.HazelcastCacheMetrics;
 import lombok.Getter;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.apache.commons.lang3.ObjectUtils;
 import org.apache.commons.lang3.RandomStringUtils;
+import org.springframework.beans.factory.ObjectProvider;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.autoconfigure.web.ServerProperties;
 import org.springframework.boot.info.BuildProperties;
@@ -22,16 +37,18 @@ import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.core.env.Environment;
 import org.springframework.core.env.Profiles;
-import org.springframework.util.Assert;
-import org.springframework.util.StringUtils;
 
 import javax.annotation.PreDestroy;
+import javax.persistence.EntityManagerFactory;
 import java.io.Serializable;
 import java.lang.reflect.Method;
 import java.time.Instant;
 import java.time.format.DateTimeFormatter;
 import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
 import java.util.Objects;
+import java.util.stream.Stream;
 
 @Slf4j
 @Configuration
@@ -39,6 +56,28 @@ import java.util.Objects;
 @RequiredArgsConstructor
 public class CacheConfiguration {
 
+    private static final String WORK_PLACE_REGION = WorkPlace.class.getName();
+
+    /**
+     * Second-level cache regions of reference data
+     */
+    private static final List<String> REFERENCE_REGIONS = Collections.singletonList(Nomenclature.class.getName());
+
+    /**
+     * Second-level cache regions bounded with LRU eviction. Employees and students are cached in the region
+     * of {@link Person}, the root of their hierarchy.
+     */
+    private static final List<String> BOUNDED_REGIONS = Arrays.asList(
+            Person.class.getName(),
+            Phone.class.getName(),
+            Employee.class.getName() + ".phones"
+    );
+
+    /**
+     * Bounded regions read on most requests, served from a near cache
+     */
+    private static final List<String> NEAR_CACHED_REGIONS = Collections.singletonList(Person.class.getName());
+
     private final Environment env;
     private Registration registration;
     private GitProperties gitProperties;
@@ -58,9 +97,23 @@ public class CacheConfiguration {
     }
 
     @Bean
-    public CacheManager cacheManager(HazelcastInstance hazelcastInstance) {
-        log.debug("Starting HazelcastCacheManager");
-        return new com.hazelcast.spring.cache.HazelcastCacheManager(hazelcastInstance);
+    public CacheManager cacheManager(HazelcastInstance hazelcastInstance, AppProperties properties,
+                                     ObjectProvider<MeterRegistry> meterRegistry) {
+        log.debug("Starting TwoTierCacheManager");
+        return new TwoTierCacheManager(hazelcastInstance, properties.getCache(), meterRegistry.getIfAvailable());
+    }
+
+    @Bean
+    public QueryResultCache queryResultCache(CacheManager cacheManager, HazelcastInstance hazelcastInstance,
+                                             AppProperties properties, ObjectProvider<MeterRegistry> meterRegistry) {
+        return new QueryResultCache(cacheManager.getCache(QueryResultCache.CACHE_NAME), hazelcastInstance,
+                properties.getCache().getQueryResults().isEnabled(), meterRegistry.getIfAvailable());
+    }
+
+    @Bean
+    public QueryResultCacheInvalidator queryResultCacheInvalidator(EntityManagerFactory entityManagerFactory,
+                                                                   QueryResultCache queryResultCache) {
+        return new QueryResultCacheInvalidator(entityManagerFactory, queryResultCache);
     }
 
     @Bean
@@ -105,8 +158,15 @@ public class CacheConfiguration {
             }
         }
         config.setManagementCenterConfig(new ManagementCenterConfig());
+        config.getSerializationConfig()
+                .addDataSerializableFactory(DirectoryDataSerializableFactory.FACTORY_ID, new DirectoryDataSerializableFactory());
+        DtoStreamSerializers.register(config.getSerializationConfig());
         config.addMapConfig(initializeDefaultMapConfig(properties));
         config.addMapConfig(initializeDomainMapConfig(properties));
+        REFERENCE_REGIONS.forEach(region -> config.addMapConfig(initializeReferenceRegionMapConfig(region, properties)));
+        BOUNDED_REGIONS.forEach(region -> config.addMapConfig(initializeBoundedRegionMapConfig(region, properties)));
+        config.addMapConfig(initializeWorkPlaceRegionMapConfig(properties));
+        config.addMapConfig(initializeQueryResultsMapConfig(properties));
         return Hazelcast.newHazelcastInstance(config);
     }
 
@@ -146,6 +206,91 @@ public class CacheConfiguration {
         return mapConfig;
     }
 
+    /**
+     * Reference data is read on almost every request and rarely changes, so it never expires
+     * and every write is invalidated through the near cache.
+     */
+    private MapConfig initializeReferenceRegionMapConfig(String region, AppProperties properties) {
+        MapConfig mapConfig = new MapConfig(region);
+        mapConfig.setBackupCount(properties.getCache().getBackupCount());
+        mapConfig.setTimeToLiveSeconds(0);
+        mapConfig.setMaxIdleSeconds(0);
+        mapConfig.setEvictionPolicy(EvictionPolicy.NONE);
+        mapConfig.setReadBackupData(true);
+        initializeNearCacheConfig(mapConfig, properties);
+        return mapConfig;
+    }
+
+    /**
+     * Regions holding an entry per person or phone grow with the directory, so they are bounded per node.
+     */
+    private MapConfig initializeBoundedRegionMapConfig(String region, AppProperties properties) {
+        MapConfig mapConfig = new MapConfig(region);
+        mapConfig.setBackupCount(properties.getCache().getBackupCount());
+        mapConfig.setTimeToLiveSeconds(properties.getCache().getTimeToLiveSeconds());
+        mapConfig.setEvictionPolicy(EvictionPolicy.LRU);
+        mapConfig.setMaxSizeConfig(new MaxSizeConfig(properties.getCache().getMaxEntriesPerNode(),
+                MaxSizeConfig.MaxSizePolicy.PER_NODE));
+        if (NEAR_CACHED_REGIONS.contains(region)) {
+            initializeNearCacheConfig(mapConfig, properties);
+        }
+        return mapConfig;
+    }
+
+    /**
+     * Workplaces are few and read on most requests, they keep the domain policy plus a near cache.
+     */
+    private MapConfig initializeWorkPlaceRegionMapConfig(AppProperties properties) {
+        MapConfig mapConfig = new MapConfig(initializeDomainMapConfig(properties));
+        mapConfig.setName(WORK_PLACE_REGION);
+        initializeNearCacheConfig(mapConfig, properties);
+        return mapConfig;
+    }
+
+    /**
+     * Pages of a previous generation are never read again, they are left to expire and evicted first when full.
+     */
+    private MapConfig initializeQueryResultsMapConfig(AppProperties properties) {
+        AppProperties.Cache.QueryResults queryResults = properties.getCache().getQueryResults();
+        MapConfig mapConfig = new MapConfig(QueryResultCache.CACHE_NAME);
+        mapConfig.setBackupCount(properties.getCache().getBackupCount());
+        mapConfig.setTimeToLiveSeconds(queryResults.getTimeToLiveSeconds());
+        mapConfig.setEvictionPolicy(EvictionPolicy.LRU);
+        mapConfig.setMaxSizeConfig(new MaxSizeConfig(queryResults.getMaxEntriesPerNode(),
+                MaxSizeConfig.MaxSizePolicy.PER_NODE));
+        return mapConfig;
+    }
+
+    /**
+     * Keep a local copy of the hot entries, so a second-level cache hit does not need a call
+     * to the member owning the partition. Entries are invalidated when they change in the cluster.
+     */
+    private void initializeNearCacheConfig(MapConfig mapConfig, AppProperties properties) {
+        AppProperties.Cache.NearCache nearCache = properties.getCache().getNearCache();
+        if (!nearCache.isEnabled()) {
+            return;
+        }
+        NearCacheConfig nearCacheConfig = new NearCacheConfig(mapConfig.getName());
+        nearCacheConfig.setInvalidateOnChange(true);
+        nearCacheConfig.setCacheLocalEntries(true);
+        nearCacheConfig.setInMemoryFormat(InMemoryFormat.BINARY);
+        nearCacheConfig.setEvictionConfig(new EvictionConfig(nearCache.getMaxSize(),
+                EvictionConfig.MaxSizePolicy.ENTRY_COUNT, EvictionPolicy.LRU));
+        mapConfig.setNearCacheConfig(nearCacheConfig);
+    }
+
+    /**
+     * Export hits, misses and latencies of every second-level cache region to Micrometer
+     * @return {@link MeterBinder} instance
+     */
+    @Bean
+    public MeterBinder hibernateCacheRegionMetrics(HazelcastInstance hazelcastInstance) {
+        return registry -> Stream.of(REFERENCE_REGIONS, BOUNDED_REGIONS, Collections.singletonList(WORK_PLACE_REGION))
+                .flatMap(List::stream)
+                .forEach(region -> HazelcastCacheMetrics.monitor(registry, hazelcastInstance.getMap(region),
+                        TwoTierCacheManager.LAYER_TAG, "hibernate", TwoTierCacheManager.TIER_TAG, "distributed"));
+    }
+
     @Autowired(required = false)
     public void setGitProperties(GitProperties gitProperties) {
         this.gitProperties = gitProperties;
@@ -195,36 +340,5 @@ public class CacheConfiguration {
         public Object generate(Object o, Method method, Object... objects) {
             return new PrefixedSimpleKey(this.prefix, method.getName(), objects);
         }
-
-        private static class PrefixedSimpleKey {
-            private final String prefix;
-            private final Object[] params;
-            private final String methodName;
-            private int hashCode;
-
-            public PrefixedSimpleKey(String prefix, String methodName, Object... elements) {
-                Assert.notNull(prefix, "Prefix must not be null");
-                Assert.notNull(elements, "Elements must not be null");
-                this.prefix = prefix;
-                this.methodName = methodName;
-                this.params = new Object[elements.length];
-                System.arraycopy(elements, 0, this.params, 0, elements.length);
-                this.hashCode = prefix.hashCode();
-                this.hashCode = 31 * this.hashCode + methodName.hashCode();
-                this.hashCode = 31 * this.hashCode + Arrays.deepHashCode(this.params);
-            }
-
-            public boolean equals(Object other) {
-                return this == other || other instanceof PrefixedSimpleKey && this.prefix.equals(((PrefixedSimpleKey)other).prefix) && this.methodName.equals(((PrefixedSimpleKey)other).methodName) && Arrays.deepEquals(this.params, ((PrefixedSimpleKey)other).params);
-            }
-
-            public final int hashCode() {
-                return this.hashCode;
-            }
-
-            public String toString() {
-                return this.prefix + " " + this.getClass().getSimpleName() + this.methodName + " [" + StringUtils.arrayToCommaDelimitedString(this.params) + "]";
-            }
-        }
     }
 }
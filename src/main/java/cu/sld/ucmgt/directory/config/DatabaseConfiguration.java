@@ -0,0 +1,102 @@
+package cu.sld.ucmgt.directory.config;
+
+import com.hazelcast.core.HazelcastInstance;
+import com.zaxxer.hikari.HikariDataSource;
+import cu.sld.ucmgt.directory.config.datasource.ReadWriteRoutingDataSource;
+import cu.sld.ucmgt.directory.config.datasource.ReadYourWritesListener;
+import cu.sld.ucmgt.directory.config.datasource.ReadYourWritesTracker;
+import cu.sld.ucmgt.directory.config.datasource.ReplicaLagMonitor;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.bind.Bindable;
+import org.springframework.boot.context.properties.bind.Binder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.core.env.Environment;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+
+import javax.persistence.EntityManagerFactory;
+import javax.sql.DataSource;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Split the database traffic between the primary configured with {@code spring.datasource} and the
+ * replicas configured with {@code application.datasource.replicas}: read-only transactions go to the
+ * replicas, writes to the primary. Without replicas, the data source is auto-configured as usual.
+ * <p>
+ * Each target has its own Hikari pool, built with the {@code spring.datasource.hikari} settings
+ * and exporting its metrics with the pool name as tag.
+ */
+@Slf4j
+@Configuration
+@ConditionalOnProperty(prefix = "application.datasource", name = "replicas[0].url")
+public class DatabaseConfiguration {
+
+    @Bean
+    public ReadYourWritesTracker readYourWritesTracker(HazelcastInstance hazelcastInstance, AppProperties properties) {
+        return new ReadYourWritesTracker(hazelcastInstance, properties.getDatasource().getReadYourWritesSeconds());
+    }
+
+    @Bean
+    public ReadYourWritesListener readYourWritesListener(EntityManagerFactory entityManagerFactory,
+                                                         ReadYourWritesTracker readYourWritesTracker) {
+        return new ReadYourWritesListener(entityManagerFactory, readYourWritesTracker);
+    }
+
+    @Bean
+    public ReadWriteRoutingDataSource readWriteRoutingDataSource(DataSourceProperties dataSourceProperties,
+                                                                 AppProperties properties, Environment env,
+                                                                 ReadYourWritesTracker readYourWritesTracker,
+                                                                 ObjectProvider<MeterRegistry> meterRegistryProvider) {
+        MeterRegistry meterRegistry = meterRegistryProvider.getIfAvailable();
+        AppProperties.Datasource datasource = properties.getDatasource();
+        HikariDataSource primary = createPool(env, ReadWriteRoutingDataSource.PRIMARY, dataSourceProperties.determineUrl(),
+                dataSourceProperties.determineUsername(), dataSourceProperties.determinePassword(), meterRegistry);
+
+        Map<String, HikariDataSource> replicas = new LinkedHashMap<>();
+        List<AppProperties.Datasource.Replica> replicaProperties = datasource.getReplicas();
+        for (int i = 0; i < replicaProperties.size(); i++) {
+            AppProperties.Datasource.Replica replica = replicaProperties.get(i);
+            String name = "replica-" + (i + 1);
+            log.debug("Routing read-only transactions to {} at {}", name, replica.getUrl());
+            replicas.put(name, createPool(env, name, replica.getUrl(),
+                    replica.getUsername() != null ? replica.getUsername() : dataSourceProperties.determineUsername(),
+                    replica.getPassword() != null ? replica.getPassword() : dataSourceProperties.determinePassword(),
+                    meterRegistry));
+        }
+
+        ReplicaLagMonitor lagMonitor = new ReplicaLagMonitor(new LinkedHashMap<>(replicas),
+                datasource.getMaxLagSeconds(), meterRegistry);
+        lagMonitor.start(datasource.getLagCheckIntervalSeconds());
+        return new ReadWriteRoutingDataSource(primary, replicas, lagMonitor, readYourWritesTracker, meterRegistry);
+    }
+
+    @Bean
+    @Primary
+    public DataSource dataSource(ReadWriteRoutingDataSource readWriteRoutingDataSource) {
+        return new LazyConnectionDataSourceProxy(readWriteRoutingDataSource);
+    }
+
+    private HikariDataSource createPool(Environment env, String name, String url, String username, String password,
+                                        MeterRegistry meterRegistry) {
+        HikariDataSource dataSource = new HikariDataSource();
+        Binder.get(env).bind("spring.datasource.hikari", Bindable.ofInstance(dataSource));
+        dataSource.setPoolName("Hikari-" + name);
+        dataSource.setJdbcUrl(url);
+        dataSource.setUsername(username);
+        dataSource.setPassword(password);
+        if (!ReadWriteRoutingDataSource.PRIMARY.equals(name)) {
+            dataSource.setReadOnly(true);
+        }
+        if (meterRegistry != null) {
+            dataSource.setMetricRegistry(meterRegistry);
+        }
+        return dataSource;
+    }
+}
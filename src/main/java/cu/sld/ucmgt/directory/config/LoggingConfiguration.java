@@ -5,12 +5,16 @@ import ch.qos.logback.classic.LoggerContext;
 import ch.qos.logback.classic.boolex.OnMarkerEvaluator;
 import ch.qos.logback.classic.spi.ILoggingEvent;
 import ch.qos.logback.classic.spi.LoggerContextListener;
+import ch.qos.logback.core.Appender;
 import ch.qos.logback.core.ConsoleAppender;
 import ch.qos.logback.core.filter.EvaluatorFilter;
 import ch.qos.logback.core.spi.ContextAwareBase;
 import ch.qos.logback.core.spi.FilterReply;
 import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import cu.sld.ucmgt.directory.config.logging.AsyncLoggingMetrics;
+import cu.sld.ucmgt.directory.config.logging.BoundedAsyncAppender;
+import io.micrometer.core.instrument.binder.MeterBinder;
 import lombok.extern.slf4j.Slf4j;
 import net.logstash.logback.appender.LogstashTcpSocketAppender;
 import net.logstash.logback.composite.ContextJsonProvider;
@@ -24,11 +28,14 @@ import org.springframework.beans.factory.ObjectProvider;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.boot.info.BuildProperties;
 import org.springframework.cloud.context.config.annotation.RefreshScope;
+import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 
 
 import java.net.InetSocketAddress;
+import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 
 /*
@@ -39,27 +46,35 @@ import java.util.Map;
 @RefreshScope
 public class LoggingConfiguration {
 
+    private static final String CONSOLE_APPENDER_NAME = "CONSOLE";
+    private static final String ASYNC_CONSOLE_APPENDER_NAME = "ASYNC_CONSOLE";
+    private static final String LOGSTASH_APPENDER_NAME = "LOGSTASH";
+    private static final String ASYNC_LOGSTASH_APPENDER_NAME = "ASYNC_LOGSTASH";
+
+    private final LoggerContext context;
+    private final AppProperties.Logging logging;
+
     public LoggingConfiguration(@Value("${spring.application.name}") String appName,
                                 @Value("${server.port}") String serverPort,
                                 AppProperties properties,
                                 ObjectProvider<BuildProperties> buildProperties,
                                 ObjectMapper mapper) throws JsonProcessingException {
 
-        LoggerContext context = (LoggerContext) LoggerFactory.getILoggerFactory();
+        this.context = (LoggerContext) LoggerFactory.getILoggerFactory();
         Map<String, String> map = new HashMap<>();
         map.put("app_name", appName);
         map.put("app_port", serverPort);
         buildProperties.ifAvailable(entries -> map.put("version", entries.getVersion()));
         String customFields = mapper.writeValueAsString(map);
-        AppProperties.Logging logging = properties.getLogging();
+        this.logging = properties.getLogging();
         AppProperties.Logging.Logstash logstash = logging.getLogstash();
 
         if (logging.isUseJsonFormat()) {
-            addJsonConsoleAppender(context, customFields);
+            addJsonConsoleAppender(context, customFields, logging.getAsync());
         }
 
         if (logstash.isEnabled()) {
-            addLogstashTcpSocketAppender(context, customFields, logstash);
+            addLogstashTcpSocketAppender(context, customFields, logstash, logging.getAsync());
         }
 
         if (logstash.isEnabled() || logging.isUseJsonFormat()) {
@@ -71,27 +86,64 @@ public class LoggingConfiguration {
         }
     }
 
-    public static void addJsonConsoleAppender(LoggerContext context, String customFields) {
+    /**
+     * Publish the queue depth and the dropped events of the asynchronous appenders.
+     */
+    @Bean
+    public MeterBinder asyncLoggingMetrics() {
+        List<String> appenderNames = new ArrayList<>();
+        if (logging.isUseJsonFormat()) {
+            appenderNames.add(ASYNC_CONSOLE_APPENDER_NAME);
+        }
+        if (logging.getLogstash().isEnabled()) {
+            appenderNames.add(ASYNC_LOGSTASH_APPENDER_NAME);
+        }
+        return new AsyncLoggingMetrics(context, appenderNames);
+    }
+
+    public static void addJsonConsoleAppender(LoggerContext context, String customFields, AppProperties.Logging.Async asyncProperties) {
         log.info("Initializing Console loggingProperties");
         ConsoleAppender<ILoggingEvent> consoleAppender = new ConsoleAppender();
         consoleAppender.setContext(context);
         consoleAppender.setEncoder(compositeJsonEncoder(context, customFields));
-        consoleAppender.setName("CONSOLE");
+        consoleAppender.setName(CONSOLE_APPENDER_NAME);
         consoleAppender.start();
-        context.getLogger("ROOT").detachAppender("CONSOLE");
-        context.getLogger("ROOT").addAppender(consoleAppender);
+        context.getLogger("ROOT").detachAppender(CONSOLE_APPENDER_NAME);
+        context.getLogger("ROOT").detachAppender(ASYNC_CONSOLE_APPENDER_NAME);
+        context.getLogger("ROOT").addAppender(asyncAppender(context, ASYNC_CONSOLE_APPENDER_NAME, consoleAppender, asyncProperties));
     }
 
-    public static void addLogstashTcpSocketAppender(LoggerContext context, String customFields, AppProperties.Logging.Logstash logstashProperties) {
+    public static void addLogstashTcpSocketAppender(LoggerContext context, String customFields,
+                                                    AppProperties.Logging.Logstash logstashProperties,
+                                                    AppProperties.Logging.Async asyncProperties) {
         log.info("Initializing Logstash loggingProperties");
         LogstashTcpSocketAppender logstashAppender = new LogstashTcpSocketAppender();
         logstashAppender.addDestinations(new InetSocketAddress[]{new InetSocketAddress(logstashProperties.getHost(), logstashProperties.getPort())});
         logstashAppender.setContext(context);
         logstashAppender.setEncoder(logstashEncoder(customFields));
-        logstashAppender.setName("ASYNC_LOGSTASH");
+        logstashAppender.setName(LOGSTASH_APPENDER_NAME);
         logstashAppender.setQueueSize(logstashProperties.getQueueSize());
         logstashAppender.start();
-        context.getLogger("ROOT").addAppender(logstashAppender);
+        context.getLogger("ROOT").detachAppender(ASYNC_LOGSTASH_APPENDER_NAME);
+        context.getLogger("ROOT").addAppender(asyncAppender(context, ASYNC_LOGSTASH_APPENDER_NAME, logstashAppender, asyncProperties));
+    }
+
+    /**
+     * Wrap the appender in a bounded asynchronous stage, dropping the events up to the discard level when the
+     * queue is nearly full.
+     */
+    private static BoundedAsyncAppender asyncAppender(LoggerContext context, String name, Appender<ILoggingEvent> delegate,
+                                                      AppProperties.Logging.Async asyncProperties) {
+        BoundedAsyncAppender asyncAppender = new BoundedAsyncAppender();
+        asyncAppender.setContext(context);
+        asyncAppender.setName(name);
+        asyncAppender.setQueueSize(asyncProperties.getQueueSize());
+        asyncAppender.setDiscardingThreshold(asyncProperties.getDiscardingThreshold());
+        asyncAppender.setDiscardLevel(Level.toLevel(asyncProperties.getDiscardLevel(), null));
+        asyncAppender.setMaxFlushTime(asyncProperties.getMaxFlushTimeMillis());
+        asyncAppender.addAppender(delegate);
+        asyncAppender.start();
+        return asyncAppender;
     }
 
     public static void addContextListener(LoggerContext context, String customFields, AppProperties.Logging properties) {
@@ -113,7 +165,7 @@ public class LoggingConfiguration {
         metricsFilter.start();
         context.getLoggerList().forEach((logger) -> {
             logger.iteratorForAppenders().forEachRemaining((appender) -> {
-                if (!appender.getName().equals("ASYNC_LOGSTASH") && (!appender.getName().equals("CONSOLE") || !useJsonFormat)) {
+                if (!appender.getName().equals(ASYNC_LOGSTASH_APPENDER_NAME) && (!appender.getName().equals(ASYNC_CONSOLE_APPENDER_NAME) || !useJsonFormat)) {
                     log.debug("Filter metrics logs from the {} appender", appender.getName());
                     appender.setContext(context);
                     appender.addFilter(metricsFilter);
@@ -202,22 +254,24 @@ public class LoggingConfiguration {
 
         public void onStart(LoggerContext context) {
             if (this.loggingProperties.isUseJsonFormat()) {
-               addJsonConsoleAppender(context, this.customFields);
+                addJsonConsoleAppender(context, this.customFields, this.loggingProperties.getAsync());
             }
 
             if (this.loggingProperties.getLogstash().isEnabled()) {
-                addLogstashTcpSocketAppender(context, this.customFields, this.loggingProperties.getLogstash());
+                addLogstashTcpSocketAppender(context, this.customFields, this.loggingProperties.getLogstash(),
+                        this.loggingProperties.getAsync());
             }
 
         }
 
         public void onReset(LoggerContext context) {
             if (this.loggingProperties.isUseJsonFormat()) {
-                addJsonConsoleAppender(context, this.customFields);
+                addJsonConsoleAppender(context, this.customFields, this.loggingProperties.getAsync());
             }
 
             if (this.loggingProperties.getLogstash().isEnabled()) {
-                addLogstashTcpSocketAppender(context, this.customFields, this.loggingProperties.getLogstash());
+                addLogstashTcpSocketAppender(context, this.customFields, this.loggingProperties.getLogstash(),
+                        this.loggingProperties.getAsync());
             }
 
         }
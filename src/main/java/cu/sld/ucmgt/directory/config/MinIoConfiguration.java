@@ -1,14 +1,20 @@
 package cu.sld.ucmgt.directory.config;
 
+import cu.sld.ucmgt.directory.config.timing.StorageTimingListener;
 import io.minio.MinioClient;
+import io.minio.http.HttpUtils;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.context.annotation.Primary;
 
+import java.util.concurrent.TimeUnit;
+
 @Configuration
 public class MinIoConfiguration {
 
+    private static final long TIMEOUT_MILLIS = TimeUnit.MINUTES.toMillis(5);
+
     @Value("${minio.access.key}")
     private String accessKey;
 
@@ -24,6 +30,10 @@ public class MinIoConfiguration {
         return new MinioClient.Builder()
                 .credentials(accessKey, secretKey)
                 .endpoint(minioUrl)
+                .httpClient(HttpUtils.newDefaultHttpClient(TIMEOUT_MILLIS, TIMEOUT_MILLIS, TIMEOUT_MILLIS)
+                        .newBuilder()
+                        .eventListenerFactory(StorageTimingListener.FACTORY)
+                        .build())
                 .build();
     }
 }
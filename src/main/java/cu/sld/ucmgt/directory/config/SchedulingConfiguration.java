@@ -0,0 +1,47 @@
+package cu.sld.ucmgt.directory.config;
+
+import com.hazelcast.core.HazelcastInstance;
+import cu.sld.ucmgt.directory.aop.scheduling.ClusterJobAspect;
+import cu.sld.ucmgt.directory.config.scheduling.ScheduledJobLock;
+import cu.sld.ucmgt.directory.config.scheduling.ScheduledJobRegistry;
+import cu.sld.ucmgt.directory.config.scheduling.ScheduledJobsEndpoint;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.boot.actuate.autoconfigure.endpoint.condition.ConditionalOnAvailableEndpoint;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.EnableAspectJAutoProxy;
+import org.springframework.scheduling.annotation.EnableScheduling;
+
+/**
+ * Run the {@link org.springframework.scheduling.annotation.Scheduled} maintenance jobs, such as the audit events purge.
+ * The jobs annotated with {@link cu.sld.ucmgt.directory.config.scheduling.ClusterJob} run on a single node of the
+ * Hazelcast cluster.
+ */
+@Configuration
+@EnableScheduling
+@EnableAspectJAutoProxy
+public class SchedulingConfiguration {
+
+    @Bean
+    public ScheduledJobLock scheduledJobLock(HazelcastInstance hazelcastInstance) {
+        return new ScheduledJobLock(hazelcastInstance);
+    }
+
+    @Bean
+    public ScheduledJobRegistry scheduledJobRegistry(HazelcastInstance hazelcastInstance, MeterRegistry meterRegistry) {
+        return new ScheduledJobRegistry(hazelcastInstance.getMap(ScheduledJobRegistry.RUNS_MAP), meterRegistry,
+                hazelcastInstance.getCluster().getLocalMember().getAddress().toString());
+    }
+
+    @Bean
+    public ClusterJobAspect clusterJobAspect(ScheduledJobLock scheduledJobLock, ScheduledJobRegistry scheduledJobRegistry) {
+        return new ClusterJobAspect(scheduledJobLock, scheduledJobRegistry);
+    }
+
+    @Bean
+    @ConditionalOnAvailableEndpoint
+    public ScheduledJobsEndpoint scheduledJobsEndpoint(ScheduledJobLock scheduledJobLock,
+                                                       ScheduledJobRegistry scheduledJobRegistry) {
+        return new ScheduledJobsEndpoint(scheduledJobLock, scheduledJobRegistry);
+    }
+}
@@ -0,0 +1,39 @@
+package cu.sld.ucmgt.directory.config;
+
+import lombok.extern.slf4j.Slf4j;
+import org.flywaydb.core.Flyway;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.flyway.FlywayMigrationStrategy;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import javax.persistence.EntityManagerFactory;
+
+/**
+ * Tables and columns are still created by Hibernate ({@code ddl-auto: update}), the versioned Flyway
+ * migrations in {@code db/migration/{vendor}} add what Hibernate cannot: extensions and secondary indexes.
+ * They are applied once the {@link EntityManagerFactory} has updated the schema, instead of before it.
+ */
+@Slf4j
+@Configuration
+@ConditionalOnProperty(prefix = "spring.flyway", name = "enabled", matchIfMissing = true)
+public class SchemaMigrationConfiguration {
+
+    @Bean
+    public FlywayMigrationStrategy flywayMigrationStrategy() {
+        return flyway -> log.debug("Flyway migrations deferred until Hibernate has updated the schema");
+    }
+
+    @Bean
+    public SmartInitializingSingleton flywayMigration(ObjectProvider<Flyway> flyway,
+                                                      EntityManagerFactory entityManagerFactory) {
+        return () -> flyway.ifAvailable(migrations -> {
+            // with the deferred bootstrap mode the factory is built in background, wait until the schema is updated
+            entityManagerFactory.getMetamodel();
+            log.debug("Applying Flyway migrations");
+            migrations.migrate();
+        });
+    }
+}
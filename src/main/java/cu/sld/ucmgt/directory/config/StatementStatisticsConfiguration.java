@@ -0,0 +1,77 @@
+package cu.sld.ucmgt.directory.config;
+
+import cu.sld.ucmgt.directory.aop.statements.StatementStatisticsAspect;
+import cu.sld.ucmgt.directory.config.datasource.StatementCountingListener;
+import cu.sld.ucmgt.directory.web.filter.StatementStatisticsFilter;
+import io.micrometer.core.instrument.MeterRegistry;
+import net.ttddyy.dsproxy.support.ProxyDataSource;
+import net.ttddyy.dsproxy.support.ProxyDataSourceBuilder;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.security.SecurityProperties;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.EnableAspectJAutoProxy;
+
+import javax.sql.DataSource;
+
+/**
+ * Count the SQL statements executed by each HTTP request and each service method, through a proxy of the
+ * {@code dataSource} bean. Enabled with {@code application.datasource.statements.enabled}.
+ */
+@Configuration
+@EnableAspectJAutoProxy
+@ConditionalOnProperty(prefix = "application.datasource.statements", name = "enabled", matchIfMissing = true)
+public class StatementStatisticsConfiguration {
+
+    private static final String DATA_SOURCE_BEAN = "dataSource";
+
+    /**
+     * Wrap the data source used by JPA, the routing data source and the pools behind it are left as they are.
+     * Static, so the post processor is registered without initializing this configuration.
+     *
+     * @return the post processor proxying the {@code dataSource} bean.
+     */
+    @Bean
+    public static BeanPostProcessor statementCountingDataSourcePostProcessor() {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                if (!DATA_SOURCE_BEAN.equals(beanName) || !(bean instanceof DataSource) || bean instanceof ProxyDataSource) {
+                    return bean;
+                }
+                StatementCountingListener listener = new StatementCountingListener();
+                return ProxyDataSourceBuilder.create((DataSource) bean)
+                        .name(DATA_SOURCE_BEAN)
+                        .listener(listener)
+                        .methodListener(listener)
+                        .proxyResultSet()
+                        .build();
+            }
+        };
+    }
+
+    /**
+     * Registered before the Spring Security filter chain, so the statements of the whole request are counted.
+     * @param properties    the {@code application.datasource.statements} settings
+     * @param meterRegistry registry of the statement metrics
+     * @return the registration of the {@link StatementStatisticsFilter}
+     */
+    @Bean
+    public FilterRegistrationBean<StatementStatisticsFilter> statementStatisticsFilter(AppProperties properties,
+                                                                                       ObjectProvider<MeterRegistry> meterRegistry) {
+        FilterRegistrationBean<StatementStatisticsFilter> registration = new FilterRegistrationBean<>(
+                new StatementStatisticsFilter(properties.getDatasource().getStatements().getRepeatedThreshold(),
+                        meterRegistry.getIfAvailable()));
+        registration.addUrlPatterns("/api/*");
+        registration.setOrder(SecurityProperties.DEFAULT_FILTER_ORDER - 1);
+        return registration;
+    }
+
+    @Bean
+    public StatementStatisticsAspect statementStatisticsAspect(ObjectProvider<MeterRegistry> meterRegistry) {
+        return new StatementStatisticsAspect(meterRegistry.getIfAvailable());
+    }
+}
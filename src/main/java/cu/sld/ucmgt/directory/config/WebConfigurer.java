@@ -1,7 +1,12 @@
 package cu.sld.ucmgt.directory.config;
 
+import cu.sld.ucmgt.directory.web.filter.RequestCoalescingFilter;
+import io.micrometer.core.instrument.MeterRegistry;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.autoconfigure.security.SecurityProperties;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
 import org.springframework.boot.web.servlet.ServletContextInitializer;
 import org.springframework.context.MessageSource;
 import org.springframework.context.annotation.Bean;
@@ -52,6 +57,23 @@ public class WebConfigurer implements ServletContextInitializer {
         return new CorsFilter(source);
     }
 
+    /**
+     * Share one execution between identical concurrent GET requests to the configured endpoints.
+     * Registered after the Spring Security filter chain, so the authorities of the principal are known.
+     * @param meterRegistry registry of the coalescing metrics
+     * @return the registration of the {@link RequestCoalescingFilter}
+     */
+    @Bean
+    public FilterRegistrationBean<RequestCoalescingFilter> requestCoalescingFilter(ObjectProvider<MeterRegistry> meterRegistry) {
+        AppProperties.Http.Coalescing coalescing = properties.getHttp().getCoalescing();
+        FilterRegistrationBean<RequestCoalescingFilter> registration = new FilterRegistrationBean<>(
+                new RequestCoalescingFilter(coalescing.getTimeoutMillis(), meterRegistry.getIfAvailable()));
+        registration.setUrlPatterns(coalescing.getUrlPatterns());
+        registration.setOrder(SecurityProperties.DEFAULT_FILTER_ORDER + 1);
+        registration.setEnabled(coalescing.isEnabled());
+        return registration;
+    }
+
     /**
      * Set Message source to Hibernate constraints validator
      * @param messageSource source of message.properties
@@ -15,7 +15,7 @@ public class AuditEventConverter {
      * @param persistentAuditEvents the list to convert.
      * @return the converted list.
      */
-    List<AuditEvent> convertToAuditEvent(Iterable<PersistentAuditEvent> persistentAuditEvents) {
+    public List<AuditEvent> convertToAuditEvent(Iterable<PersistentAuditEvent> persistentAuditEvents) {
         if (persistentAuditEvents == null) {
             return Collections.emptyList();
         }
@@ -56,4 +56,22 @@ public class AuditEventConverter {
         }
         return result;
     }
+
+    /**
+     * Internal conversion. This method will allow to save additional data.
+     * By default, it will save the object as string.
+     *
+     * @param data the data to convert.
+     * @return a map of {@link String}, {@link String}.
+     */
+    public Map<String, String> convertDataToStrings(Map<String, Object> data) {
+        Map<String, String> results = new HashMap<>();
+
+        if (data != null) {
+            for (Map.Entry<String, Object> entry : data.entrySet()) {
+                results.put(entry.getKey(), Objects.toString(entry.getValue()));
+            }
+        }
+        return results;
+    }
 }
@@ -0,0 +1,170 @@
+package cu.sld.ucmgt.directory.config.audit;
+
+import cu.sld.ucmgt.directory.domain.PersistentAuditEvent;
+import cu.sld.ucmgt.directory.domain.id.TimeOrderedUUIDGenerationStrategy;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Timestamp;
+import java.util.*;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Write the {@link PersistentAuditEvent}s off the request threads.
+ * <p>
+ * The events are buffered in a bounded queue and written by a single background thread, in JDBC batches of up to
+ * the batch size, each batch in its own transaction on the primary. The events offered while the queue is full are
+ * dropped and counted, the login requests never wait for the database. On close, the buffered events are written
+ * before the thread ends, within the shutdown timeout.
+ */
+@Slf4j
+public class AuditEventWriter implements AutoCloseable {
+
+    public static final String METRIC_NAME = "audit.events";
+
+    private static final String INSERT_EVENT =
+            "INSERT INTO persistent_audit_event (event_id, principal, event_date, event_type) VALUES (?, ?, ?, ?)";
+    private static final String INSERT_DATA =
+            "INSERT INTO audit_evt_data (event_id, name, value) VALUES (?, ?, ?)";
+    private static final TimeZone UTC = TimeZone.getTimeZone("UTC");
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final BlockingQueue<PersistentAuditEvent> queue;
+    private final int batchSize;
+    private final long flushIntervalMillis;
+    private final long shutdownTimeoutMillis;
+    private final TimeOrderedUUIDGenerationStrategy idGenerator = new TimeOrderedUUIDGenerationStrategy();
+    private final Timer flushTimer;
+    private final Counter bufferFullCounter;
+    private final Counter flushFailedCounter;
+    private final Thread worker;
+    private volatile boolean running;
+
+    public AuditEventWriter(JdbcTemplate jdbcTemplate, TransactionTemplate transactionTemplate,
+                            MeterRegistry meterRegistry, int queueSize, int batchSize,
+                            long flushIntervalMillis, long shutdownTimeoutMillis) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = transactionTemplate;
+        this.queue = new ArrayBlockingQueue<>(queueSize);
+        this.batchSize = batchSize;
+        this.flushIntervalMillis = flushIntervalMillis;
+        this.shutdownTimeoutMillis = shutdownTimeoutMillis;
+        Gauge.builder(METRIC_NAME + ".buffer.depth", queue, Collection::size)
+                .description("Audit events waiting to be written")
+                .register(meterRegistry);
+        this.flushTimer = Timer.builder(METRIC_NAME + ".flush")
+                .description("Latency of the batches of audit events written to the database")
+                .register(meterRegistry);
+        this.bufferFullCounter = droppedCounter(meterRegistry, "buffer-full");
+        this.flushFailedCounter = droppedCounter(meterRegistry, "flush-failed");
+        this.worker = new Thread(this::run, "audit-event-writer");
+        this.worker.setDaemon(true);
+    }
+
+    public void start() {
+        running = true;
+        worker.start();
+    }
+
+    /**
+     * Buffer the event, it is written with the next batch.
+     *
+     * @param event the event to write.
+     * @return {@code false} if the buffer is full and the event was dropped.
+     */
+    public boolean offer(PersistentAuditEvent event) {
+        if (event.getId() == null) {
+            event.setId(idGenerator.generate());
+        }
+        if (queue.offer(event)) {
+            return true;
+        }
+        bufferFullCounter.increment();
+        log.debug("Audit event buffer full, dropping {}", event);
+        return false;
+    }
+
+    public int getBufferDepth() {
+        return queue.size();
+    }
+
+    /**
+     * Write the buffered events and stop the writer thread, waiting up to the shutdown timeout. The thread is not
+     * interrupted, so the batch being written is not rolled back.
+     */
+    @Override
+    public void close() {
+        running = false;
+        try {
+            worker.join(flushIntervalMillis + shutdownTimeoutMillis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        if (!queue.isEmpty()) {
+            log.warn("{} audit events were not written before the shutdown", queue.size());
+        }
+    }
+
+    private void run() {
+        List<PersistentAuditEvent> batch = new ArrayList<>(batchSize);
+        while (running) {
+            try {
+                PersistentAuditEvent first = queue.poll(flushIntervalMillis, TimeUnit.MILLISECONDS);
+                if (first != null) {
+                    batch.add(first);
+                    queue.drainTo(batch, batchSize - 1);
+                    flush(batch);
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                break;
+            }
+        }
+        while (queue.drainTo(batch, batchSize) > 0) {
+            flush(batch);
+        }
+    }
+
+    void flush(List<PersistentAuditEvent> batch) {
+        long start = System.nanoTime();
+        try {
+            transactionTemplate.executeWithoutResult(status -> write(batch));
+            flushTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        } catch (RuntimeException e) {
+            flushFailedCounter.increment(batch.size());
+            log.warn("Cannot write {} audit events: {}", batch.size(), e.toString());
+        } finally {
+            batch.clear();
+        }
+    }
+
+    private void write(List<PersistentAuditEvent> batch) {
+        jdbcTemplate.batchUpdate(INSERT_EVENT, batch, batch.size(), (ps, event) -> {
+            ps.setObject(1, event.getId());
+            ps.setString(2, event.getPrincipal());
+            ps.setTimestamp(3, event.getAuditEventDate() != null ? Timestamp.from(event.getAuditEventDate()) : null,
+                    Calendar.getInstance(UTC));
+            ps.setString(4, event.getAuditEventType());
+        });
+        List<Object[]> data = new ArrayList<>();
+        batch.forEach(event -> event.getData().forEach((name, value) -> data.add(new Object[]{event.getId(), name, value})));
+        if (!data.isEmpty()) {
+            jdbcTemplate.batchUpdate(INSERT_DATA, data);
+        }
+    }
+
+    private static Counter droppedCounter(MeterRegistry meterRegistry, String reason) {
+        return Counter.builder(METRIC_NAME + ".dropped")
+                .description("Audit events dropped before being written")
+                .tag("reason", reason)
+                .register(meterRegistry);
+    }
+}
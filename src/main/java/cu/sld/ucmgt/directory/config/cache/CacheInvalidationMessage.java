@@ -0,0 +1,51 @@
+package cu.sld.ucmgt.directory.config.cache;
+
+import com.hazelcast.nio.ObjectDataInput;
+import com.hazelcast.nio.ObjectDataOutput;
+import com.hazelcast.nio.serialization.IdentifiedDataSerializable;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.io.IOException;
+
+/**
+ * Message published in the cluster when an entry of a {@link TwoTierCache} changes,
+ * so the other members drop it from their local tier.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class CacheInvalidationMessage implements IdentifiedDataSerializable {
+
+    private String origin;
+    private String cacheName;
+    /**
+     * Changed key, or null when the whole cache was cleared
+     */
+    private Object key;
+
+    @Override
+    public int getFactoryId() {
+        return DirectoryDataSerializableFactory.FACTORY_ID;
+    }
+
+    @Override
+    public int getId() {
+        return DirectoryDataSerializableFactory.CACHE_INVALIDATION_MESSAGE_TYPE;
+    }
+
+    @Override
+    public void writeData(ObjectDataOutput out) throws IOException {
+        out.writeUTF(origin);
+        out.writeUTF(cacheName);
+        out.writeObject(key);
+    }
+
+    @Override
+    public void readData(ObjectDataInput in) throws IOException {
+        origin = in.readUTF();
+        cacheName = in.readUTF();
+        key = in.readObject();
+    }
+}
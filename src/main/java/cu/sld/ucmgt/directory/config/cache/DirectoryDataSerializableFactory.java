@@ -0,0 +1,33 @@
+package cu.sld.ucmgt.directory.config.cache;
+
+import com.hazelcast.nio.serialization.DataSerializableFactory;
+import com.hazelcast.nio.serialization.IdentifiedDataSerializable;
+
+/**
+ * Factory of the {@link IdentifiedDataSerializable} types of Directory stored or published in Hazelcast.
+ */
+public class DirectoryDataSerializableFactory implements DataSerializableFactory {
+
+    public static final int FACTORY_ID = 1000;
+
+    public static final int PREFIXED_SIMPLE_KEY_TYPE = 1;
+    public static final int CACHE_INVALIDATION_MESSAGE_TYPE = 2;
+    public static final int QUERY_RESULT_PAGE_TYPE = 3;
+    public static final int INCREMENT_COUNTER_TYPE = 4;
+
+    @Override
+    public IdentifiedDataSerializable create(int typeId) {
+        switch (typeId) {
+            case PREFIXED_SIMPLE_KEY_TYPE:
+                return new PrefixedSimpleKey();
+            case CACHE_INVALIDATION_MESSAGE_TYPE:
+                return new CacheInvalidationMessage();
+            case QUERY_RESULT_PAGE_TYPE:
+                return new QueryResultPage();
+            case INCREMENT_COUNTER_TYPE:
+                return new IncrementCounter();
+            default:
+                return null;
+        }
+    }
+}
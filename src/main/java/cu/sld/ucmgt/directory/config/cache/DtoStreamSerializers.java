@@ -0,0 +1,406 @@
+package cu.sld.ucmgt.directory.config.cache;
+
+import com.hazelcast.config.SerializationConfig;
+import com.hazelcast.config.SerializerConfig;
+import com.hazelcast.nio.ObjectDataInput;
+import com.hazelcast.nio.ObjectDataOutput;
+import com.hazelcast.nio.serialization.StreamSerializer;
+import cu.sld.ucmgt.directory.domain.Gender;
+import cu.sld.ucmgt.directory.domain.NomenclatureType;
+import cu.sld.ucmgt.directory.service.dto.*;
+
+import java.io.IOException;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.HashSet;
+import java.util.Set;
+import java.util.UUID;
+
+/**
+ * Hazelcast {@link StreamSerializer}s of the DTOs in {@code service.dto}. Fields are written positionally
+ * without class descriptors, which keeps the payload a fraction of the default Java serialization and
+ * leaves the DTOs free of Hazelcast types.
+ * <p>
+ * Any field added to a DTO must be added to its serializer as well.
+ */
+public final class DtoStreamSerializers {
+
+    public static final int NOMENCLATURE_DTO_TYPE = 1001;
+    public static final int PHONE_DTO_TYPE = 1002;
+    public static final int WORK_PLACE_DTO_TYPE = 1003;
+    public static final int EMPLOYEE_DTO_TYPE = 1004;
+    public static final int STUDENT_DTO_TYPE = 1005;
+
+    private DtoStreamSerializers() {
+    }
+
+    /**
+     * Register the serializers of the DTOs
+     *
+     * @param serializationConfig Hazelcast serialization configuration
+     */
+    public static void register(SerializationConfig serializationConfig) {
+        serializationConfig.addSerializerConfig(new SerializerConfig()
+                .setTypeClass(NomenclatureDTO.class).setImplementation(new NomenclatureDTOSerializer()));
+        serializationConfig.addSerializerConfig(new SerializerConfig()
+                .setTypeClass(PhoneDTO.class).setImplementation(new PhoneDTOSerializer()));
+        serializationConfig.addSerializerConfig(new SerializerConfig()
+                .setTypeClass(WorkPlaceDTO.class).setImplementation(new WorkPlaceDTOSerializer()));
+        serializationConfig.addSerializerConfig(new SerializerConfig()
+                .setTypeClass(EmployeeDTO.class).setImplementation(new EmployeeDTOSerializer()));
+        serializationConfig.addSerializerConfig(new SerializerConfig()
+                .setTypeClass(StudentDTO.class).setImplementation(new StudentDTOSerializer()));
+    }
+
+    public static class NomenclatureDTOSerializer implements StreamSerializer<NomenclatureDTO> {
+
+        @Override
+        public int getTypeId() {
+            return NOMENCLATURE_DTO_TYPE;
+        }
+
+        @Override
+        public void write(ObjectDataOutput out, NomenclatureDTO dto) throws IOException {
+            writeUUID(out, dto.getId());
+            out.writeUTF(dto.getName());
+            out.writeUTF(dto.getDescription());
+            out.writeUTF(dto.getDiscriminator() != null ? dto.getDiscriminator().name() : null);
+        }
+
+        @Override
+        public NomenclatureDTO read(ObjectDataInput in) throws IOException {
+            NomenclatureDTO dto = new NomenclatureDTO();
+            dto.setId(readUUID(in));
+            dto.setName(in.readUTF());
+            dto.setDescription(in.readUTF());
+            String discriminator = in.readUTF();
+            dto.setDiscriminator(discriminator != null ? NomenclatureType.valueOf(discriminator) : null);
+            return dto;
+        }
+
+        @Override
+        public void destroy() {
+        }
+    }
+
+    public static class PhoneDTOSerializer implements StreamSerializer<PhoneDTO> {
+
+        @Override
+        public int getTypeId() {
+            return PHONE_DTO_TYPE;
+        }
+
+        @Override
+        public void write(ObjectDataOutput out, PhoneDTO dto) throws IOException {
+            writeUUID(out, dto.getId());
+            out.writeUTF(dto.getNumber());
+            out.writeObject(dto.getActive());
+            out.writeUTF(dto.getDescription());
+            writeUUID(out, dto.getEmployeeId());
+            writeUUID(out, dto.getWorkPlaceId());
+            out.writeUTF(dto.getWorkPlaceName());
+            out.writeUTF(dto.getEmployeeName());
+            out.writeObject(dto.getWorkPlace());
+            out.writeObject(dto.getEmployee());
+        }
+
+        @Override
+        public PhoneDTO read(ObjectDataInput in) throws IOException {
+            PhoneDTO dto = new PhoneDTO();
+            dto.setId(readUUID(in));
+            dto.setNumber(in.readUTF());
+            dto.setActive(in.readObject());
+            dto.setDescription(in.readUTF());
+            dto.setEmployeeId(readUUID(in));
+            dto.setWorkPlaceId(readUUID(in));
+            dto.setWorkPlaceName(in.readUTF());
+            dto.setEmployeeName(in.readUTF());
+            dto.setWorkPlace(in.readObject());
+            dto.setEmployee(in.readObject());
+            return dto;
+        }
+
+        @Override
+        public void destroy() {
+        }
+    }
+
+    public static class WorkPlaceDTOSerializer implements StreamSerializer<WorkPlaceDTO> {
+
+        @Override
+        public int getTypeId() {
+            return WORK_PLACE_DTO_TYPE;
+        }
+
+        @Override
+        public void write(ObjectDataOutput out, WorkPlaceDTO dto) throws IOException {
+            writeUUID(out, dto.getId());
+            out.writeUTF(dto.getName());
+            out.writeUTF(dto.getEmail());
+            out.writeObject(dto.getActive());
+            out.writeUTF(dto.getDescription());
+            out.writeUTF(dto.getAvatarUrl());
+            writeUUIDs(out, dto.getEmployeeIds());
+            writeUUIDs(out, dto.getPhoneIds());
+            writeObjects(out, dto.getEmployees());
+            writeObjects(out, dto.getPhones());
+            out.writeObject(dto.getEmployeeCount());
+            out.writeObject(dto.getPhoneCount());
+        }
+
+        @Override
+        public WorkPlaceDTO read(ObjectDataInput in) throws IOException {
+            WorkPlaceDTO dto = new WorkPlaceDTO();
+            dto.setId(readUUID(in));
+            dto.setName(in.readUTF());
+            dto.setEmail(in.readUTF());
+            dto.setActive(in.readObject());
+            dto.setDescription(in.readUTF());
+            dto.setAvatarUrl(in.readUTF());
+            dto.setEmployeeIds(readUUIDs(in));
+            dto.setPhoneIds(readUUIDs(in));
+            dto.setEmployees(readObjects(in));
+            dto.setPhones(readObjects(in));
+            dto.setEmployeeCount(in.readObject());
+            dto.setPhoneCount(in.readObject());
+            return dto;
+        }
+
+        @Override
+        public void destroy() {
+        }
+    }
+
+    public static class EmployeeDTOSerializer implements StreamSerializer<EmployeeDTO> {
+
+        @Override
+        public int getTypeId() {
+            return EMPLOYEE_DTO_TYPE;
+        }
+
+        @Override
+        public void write(ObjectDataOutput out, EmployeeDTO dto) throws IOException {
+            writePerson(out, dto);
+            writeLocalDateTime(out, dto.getStartDate());
+            writeLocalDateTime(out, dto.getEndDate());
+            out.writeObject(dto.getBossWorkPlace());
+            out.writeObject(dto.getGraduateYears());
+            out.writeObject(dto.getIsGraduatedBySector());
+            out.writeObject(dto.getServiceYears());
+            out.writeUTF(dto.getRegisterNumber());
+            out.writeObject(dto.getSalary());
+            out.writeUTF(dto.getProfessionalNumber());
+            writeUUID(out, dto.getWorkPlaceId());
+            writeUUID(out, dto.getCategoryId());
+            writeUUID(out, dto.getScientificDegreeId());
+            writeUUID(out, dto.getTeachingCategoryId());
+            writeUUID(out, dto.getChargeId());
+            writeUUID(out, dto.getProfessionId());
+            writeObjects(out, dto.getPhones());
+            out.writeObject(dto.getCategory());
+            out.writeObject(dto.getScientificDegree());
+            out.writeObject(dto.getCharge());
+            out.writeObject(dto.getProfession());
+            out.writeObject(dto.getTeachingCategory());
+            out.writeObject(dto.getWorkPlace());
+            out.writeUTF(dto.getWorkPlaceName());
+            out.writeUTF(dto.getCategoryName());
+            out.writeUTF(dto.getScientificDegreeName());
+            out.writeUTF(dto.getTeachingCategoryName());
+            out.writeUTF(dto.getChargeName());
+            out.writeUTF(dto.getProfessionName());
+        }
+
+        @Override
+        public EmployeeDTO read(ObjectDataInput in) throws IOException {
+            EmployeeDTO dto = new EmployeeDTO();
+            readPerson(in, dto);
+            dto.setStartDate(readLocalDateTime(in));
+            dto.setEndDate(readLocalDateTime(in));
+            dto.setBossWorkPlace(in.readObject());
+            dto.setGraduateYears(in.readObject());
+            dto.setIsGraduatedBySector(in.readObject());
+            dto.setServiceYears(in.readObject());
+            dto.setRegisterNumber(in.readUTF());
+            dto.setSalary(in.readObject());
+            dto.setProfessionalNumber(in.readUTF());
+            dto.setWorkPlaceId(readUUID(in));
+            dto.setCategoryId(readUUID(in));
+            dto.setScientificDegreeId(readUUID(in));
+            dto.setTeachingCategoryId(readUUID(in));
+            dto.setChargeId(readUUID(in));
+            dto.setProfessionId(readUUID(in));
+            dto.setPhones(readObjects(in));
+            dto.setCategory(in.readObject());
+            dto.setScientificDegree(in.readObject());
+            dto.setCharge(in.readObject());
+            dto.setProfession(in.readObject());
+            dto.setTeachingCategory(in.readObject());
+            dto.setWorkPlace(in.readObject());
+            dto.setWorkPlaceName(in.readUTF());
+            dto.setCategoryName(in.readUTF());
+            dto.setScientificDegreeName(in.readUTF());
+            dto.setTeachingCategoryName(in.readUTF());
+            dto.setChargeName(in.readUTF());
+            dto.setProfessionName(in.readUTF());
+            return dto;
+        }
+
+        @Override
+        public void destroy() {
+        }
+    }
+
+    public static class StudentDTOSerializer implements StreamSerializer<StudentDTO> {
+
+        @Override
+        public int getTypeId() {
+            return STUDENT_DTO_TYPE;
+        }
+
+        @Override
+        public void write(ObjectDataOutput out, StudentDTO dto) throws IOException {
+            writePerson(out, dto);
+            out.writeUTF(dto.getClassRoom());
+            out.writeObject(dto.getUniversityYear());
+            out.writeUTF(dto.getResidence());
+            writeUUID(out, dto.getKindId());
+            writeUUID(out, dto.getStudyCenterId());
+            out.writeUTF(dto.getKindName());
+            out.writeUTF(dto.getStudyCenterName());
+            out.writeObject(dto.getStudyCenter());
+            out.writeObject(dto.getKind());
+        }
+
+        @Override
+        public StudentDTO read(ObjectDataInput in) throws IOException {
+            StudentDTO dto = new StudentDTO();
+            readPerson(in, dto);
+            dto.setClassRoom(in.readUTF());
+            dto.setUniversityYear(in.readObject());
+            dto.setResidence(in.readUTF());
+            dto.setKindId(readUUID(in));
+            dto.setStudyCenterId(readUUID(in));
+            dto.setKindName(in.readUTF());
+            dto.setStudyCenterName(in.readUTF());
+            dto.setStudyCenter(in.readObject());
+            dto.setKind(in.readObject());
+            return dto;
+        }
+
+        @Override
+        public void destroy() {
+        }
+    }
+
+    private static void writePerson(ObjectDataOutput out, PersonDTO dto) throws IOException {
+        writeUUID(out, dto.getId());
+        out.writeUTF(dto.getCi());
+        out.writeUTF(dto.getName());
+        out.writeUTF(dto.getAddress());
+        out.writeUTF(dto.getAvatarUrl());
+        out.writeUTF(dto.getFirstLastName());
+        out.writeUTF(dto.getSecondLastName());
+        out.writeUTF(dto.getEmail());
+        out.writeUTF(dto.getGender() != null ? dto.getGender().name() : null);
+        out.writeUTF(dto.getRace());
+        writeUUID(out, dto.getDistrictId());
+        writeUUID(out, dto.getSpecialtyId());
+        out.writeBoolean(dto.getBirthdate() != null);
+        if (dto.getBirthdate() != null) {
+            out.writeLong(dto.getBirthdate().toEpochDay());
+        }
+        out.writeObject(dto.getDistrict());
+        out.writeObject(dto.getSpecialty());
+        out.writeUTF(dto.getDistrictName());
+        out.writeUTF(dto.getSpecialtyName());
+    }
+
+    private static void readPerson(ObjectDataInput in, PersonDTO dto) throws IOException {
+        dto.setId(readUUID(in));
+        dto.setCi(in.readUTF());
+        dto.setName(in.readUTF());
+        dto.setAddress(in.readUTF());
+        dto.setAvatarUrl(in.readUTF());
+        dto.setFirstLastName(in.readUTF());
+        dto.setSecondLastName(in.readUTF());
+        dto.setEmail(in.readUTF());
+        String gender = in.readUTF();
+        dto.setGender(gender != null ? Gender.valueOf(gender) : null);
+        dto.setRace(in.readUTF());
+        dto.setDistrictId(readUUID(in));
+        dto.setSpecialtyId(readUUID(in));
+        dto.setBirthdate(in.readBoolean() ? LocalDate.ofEpochDay(in.readLong()) : null);
+        dto.setDistrict(in.readObject());
+        dto.setSpecialty(in.readObject());
+        dto.setDistrictName(in.readUTF());
+        dto.setSpecialtyName(in.readUTF());
+    }
+
+    private static void writeUUID(ObjectDataOutput out, UUID uuid) throws IOException {
+        out.writeBoolean(uuid != null);
+        if (uuid != null) {
+            out.writeLong(uuid.getMostSignificantBits());
+            out.writeLong(uuid.getLeastSignificantBits());
+        }
+    }
+
+    private static UUID readUUID(ObjectDataInput in) throws IOException {
+        return in.readBoolean() ? new UUID(in.readLong(), in.readLong()) : null;
+    }
+
+    private static void writeUUIDs(ObjectDataOutput out, Set<UUID> uuids) throws IOException {
+        out.writeInt(uuids != null ? uuids.size() : -1);
+        if (uuids != null) {
+            for (UUID uuid : uuids) {
+                writeUUID(out, uuid);
+            }
+        }
+    }
+
+    private static Set<UUID> readUUIDs(ObjectDataInput in) throws IOException {
+        int size = in.readInt();
+        if (size < 0) {
+            return null;
+        }
+        Set<UUID> uuids = new HashSet<>(size);
+        for (int i = 0; i < size; i++) {
+            uuids.add(readUUID(in));
+        }
+        return uuids;
+    }
+
+    private static void writeObjects(ObjectDataOutput out, Set<?> objects) throws IOException {
+        out.writeInt(objects != null ? objects.size() : -1);
+        if (objects != null) {
+            for (Object object : objects) {
+                out.writeObject(object);
+            }
+        }
+    }
+
+    private static <T> Set<T> readObjects(ObjectDataInput in) throws IOException {
+        int size = in.readInt();
+        if (size < 0) {
+            return null;
+        }
+        Set<T> objects = new HashSet<>(size);
+        for (int i = 0; i < size; i++) {
+            objects.add(in.readObject());
+        }
+        return objects;
+    }
+
+    private static void writeLocalDateTime(ObjectDataOutput out, LocalDateTime dateTime) throws IOException {
+        out.writeBoolean(dateTime != null);
+        if (dateTime != null) {
+            out.writeLong(dateTime.toEpochSecond(ZoneOffset.UTC));
+            out.writeInt(dateTime.getNano());
+        }
+    }
+
+    private static LocalDateTime readLocalDateTime(ObjectDataInput in) throws IOException {
+        return in.readBoolean() ? LocalDateTime.ofEpochSecond(in.readLong(), in.readInt(), ZoneOffset.UTC) : null;
+    }
+}
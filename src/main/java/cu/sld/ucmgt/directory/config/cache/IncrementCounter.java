@@ -0,0 +1,57 @@
+package cu.sld.ucmgt.directory.config.cache;
+
+import com.hazelcast.map.EntryBackupProcessor;
+import com.hazelcast.map.EntryProcessor;
+import com.hazelcast.nio.ObjectDataInput;
+import com.hazelcast.nio.ObjectDataOutput;
+import com.hazelcast.nio.serialization.IdentifiedDataSerializable;
+
+import java.util.Map;
+
+/**
+ * Entry processor incrementing the counter stored as the value of a map entry, a missing entry counts as 0.
+ * The increment runs on the member owning the partition of the key, so concurrent increments never return the
+ * same value, and is replayed on the backups.
+ * <p>
+ * Like any map entry, the counter is not linearizable when the cluster splits: each side keeps incrementing its
+ * own copy and one of them is dropped when the sides merge.
+ */
+public class IncrementCounter implements EntryProcessor<String, Long>, EntryBackupProcessor<String, Long>,
+        IdentifiedDataSerializable {
+
+    @Override
+    public Object process(Map.Entry<String, Long> entry) {
+        Long value = entry.getValue();
+        long incremented = value != null ? value + 1 : 1;
+        entry.setValue(incremented);
+        return incremented;
+    }
+
+    @Override
+    public EntryBackupProcessor<String, Long> getBackupProcessor() {
+        return this;
+    }
+
+    @Override
+    public void processBackup(Map.Entry<String, Long> entry) {
+        process(entry);
+    }
+
+    @Override
+    public int getFactoryId() {
+        return DirectoryDataSerializableFactory.FACTORY_ID;
+    }
+
+    @Override
+    public int getId() {
+        return DirectoryDataSerializableFactory.INCREMENT_COUNTER_TYPE;
+    }
+
+    @Override
+    public void writeData(ObjectDataOutput out) {
+    }
+
+    @Override
+    public void readData(ObjectDataInput in) {
+    }
+}
@@ -0,0 +1,84 @@
+package cu.sld.ucmgt.directory.config.cache;
+
+import com.hazelcast.nio.ObjectDataInput;
+import com.hazelcast.nio.ObjectDataOutput;
+import com.hazelcast.nio.serialization.IdentifiedDataSerializable;
+import org.springframework.util.Assert;
+import org.springframework.util.StringUtils;
+
+import java.io.IOException;
+import java.util.Arrays;
+
+/**
+ * Key of the Spring caches, built from a prefix identifying the application build, the method name and its arguments.
+ * Serialized by Hazelcast as {@link IdentifiedDataSerializable}.
+ */
+public class PrefixedSimpleKey implements IdentifiedDataSerializable {
+    private String prefix;
+    private Object[] params;
+    private String methodName;
+    private int hashCode;
+
+    public PrefixedSimpleKey() {
+        // used by Hazelcast to deserialize the key
+    }
+
+    public PrefixedSimpleKey(String prefix, String methodName, Object... elements) {
+        Assert.notNull(prefix, "Prefix must not be null");
+        Assert.notNull(elements, "Elements must not be null");
+        this.prefix = prefix;
+        this.methodName = methodName;
+        this.params = new Object[elements.length];
+        System.arraycopy(elements, 0, this.params, 0, elements.length);
+        this.hashCode = computeHashCode();
+    }
+
+    private int computeHashCode() {
+        int result = prefix.hashCode();
+        result = 31 * result + methodName.hashCode();
+        return 31 * result + Arrays.deepHashCode(this.params);
+    }
+
+    @Override
+    public int getFactoryId() {
+        return DirectoryDataSerializableFactory.FACTORY_ID;
+    }
+
+    @Override
+    public int getId() {
+        return DirectoryDataSerializableFactory.PREFIXED_SIMPLE_KEY_TYPE;
+    }
+
+    @Override
+    public void writeData(ObjectDataOutput out) throws IOException {
+        out.writeUTF(prefix);
+        out.writeUTF(methodName);
+        out.writeInt(params.length);
+        for (Object param : params) {
+            out.writeObject(param);
+        }
+    }
+
+    @Override
+    public void readData(ObjectDataInput in) throws IOException {
+        prefix = in.readUTF();
+        methodName = in.readUTF();
+        params = new Object[in.readInt()];
+        for (int i = 0; i < params.length; i++) {
+            params[i] = in.readObject();
+        }
+        hashCode = computeHashCode();
+    }
+
+    public boolean equals(Object other) {
+        return this == other || other instanceof PrefixedSimpleKey && this.prefix.equals(((PrefixedSimpleKey)other).prefix) && this.methodName.equals(((PrefixedSimpleKey)other).methodName) && Arrays.deepEquals(this.params, ((PrefixedSimpleKey)other).params);
+    }
+
+    public final int hashCode() {
+        return this.hashCode;
+    }
+
+    public String toString() {
+        return this.prefix + " " + this.getClass().getSimpleName() + this.methodName + " [" + StringUtils.arrayToCommaDelimitedString(this.params) + "]";
+    }
+}
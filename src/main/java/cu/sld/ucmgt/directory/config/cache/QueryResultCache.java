@@ -0,0 +1,159 @@
+package cu.sld.ucmgt.directory.config.cache;
+
+import com.hazelcast.core.HazelcastInstance;
+import com.hazelcast.core.IMap;
+import cu.sld.ucmgt.directory.config.datasource.ReadWriteRoutingDataSource;
+import cu.sld.ucmgt.directory.config.jfr.CriteriaQueryEvent;
+import cu.sld.ucmgt.directory.domain.Employee;
+import cu.sld.ucmgt.directory.domain.Nomenclature;
+import cu.sld.ucmgt.directory.domain.Phone;
+import cu.sld.ucmgt.directory.domain.Student;
+import cu.sld.ucmgt.directory.domain.WorkPlace;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.cache.Cache;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Supplier;
+
+/**
+ * Cache of the pages returned by the {@code findByCriteria} queries of the services.
+ * <p>
+ * Keys are made of the queried entity type, its current generation, the join operator, the criteria
+ * and the {@link Pageable}. Every committed change of an entity bumps the generation of the queries
+ * whose results can contain it, so stale pages are never read again and expire by themselves
+ * without scanning the keys. The generations are counters of the {@code query-results-generations} map, when the
+ * cluster splits the generations bumped by the side dropped on merge are lost, and the pages cached by the other
+ * side can be read until they expire.
+ * <p>
+ * The missing pages are loaded from the primary: a replica lagging behind could return rows older than the
+ * generation of the key. When the transaction is already reading from a replica, the page is returned without
+ * being cached.
+ * <p>
+ * Every query, cached or not, is recorded as a {@link CriteriaQueryEvent}.
+ */
+@Slf4j
+public class QueryResultCache {
+
+    public static final String CACHE_NAME = "query-results";
+    static final String GENERATIONS_MAP = "query-results-generations";
+
+    /**
+     * Queries whose results depend on each entity type, through filters or nested DTOs
+     */
+    private static final Map<Class<?>, List<Class<?>>> AFFECTED_QUERIES = new LinkedHashMap<>();
+
+    static {
+        AFFECTED_QUERIES.put(Employee.class, Arrays.asList(Employee.class, Phone.class, WorkPlace.class));
+        AFFECTED_QUERIES.put(Student.class, Collections.singletonList(Student.class));
+        AFFECTED_QUERIES.put(Phone.class, Arrays.asList(Phone.class, Employee.class, WorkPlace.class));
+        AFFECTED_QUERIES.put(WorkPlace.class, Arrays.asList(WorkPlace.class, Employee.class, Phone.class));
+        AFFECTED_QUERIES.put(Nomenclature.class, Arrays.asList(Nomenclature.class, Employee.class, Student.class));
+    }
+
+    private final Cache cache;
+    private final boolean enabled;
+    private final MeterRegistry meterRegistry;
+    private final IMap<String, Long> generations;
+
+    public QueryResultCache(Cache cache, HazelcastInstance hazelcastInstance, boolean enabled,
+                            MeterRegistry meterRegistry) {
+        this.cache = cache;
+        this.enabled = enabled;
+        this.meterRegistry = meterRegistry;
+        this.generations = hazelcastInstance.getMap(GENERATIONS_MAP);
+    }
+
+    /**
+     * Return the cached page for the query, loading and caching it when it is not present
+     *
+     * @param entityType queried entity type
+     * @param join       Logical operator to join expression: AND - OR
+     * @param criteria   the object which holds all the filters
+     * @param pageable   the pagination information
+     * @param loader     executes the query
+     * @return the page of DTOs
+     */
+    public <T> Page<T> get(Class<?> entityType, String join, Object criteria, Pageable pageable,
+                           Supplier<Page<T>> loader) {
+        CriteriaQueryEvent event = new CriteriaQueryEvent();
+        event.begin();
+        if (!enabled) {
+            Page<T> page = loader.get();
+            event.finish(entityType, join, criteria, page, false);
+            return page;
+        }
+        String key = createKey(entityType, join, criteria, pageable);
+        QueryResultPage resultPage = cache.get(key, QueryResultPage.class);
+        if (resultPage != null) {
+            count(entityType, "hit");
+            Page<T> page = resultPage.toPage(pageable);
+            event.finish(entityType, join, criteria, page, true);
+            return page;
+        }
+        Page<T> page = ReadWriteRoutingDataSource.readFromPrimary(loader);
+        if (ReadWriteRoutingDataSource.isReadingFromReplica()) {
+            count(entityType, "replica");
+        } else {
+            count(entityType, "miss");
+            cache.put(key, QueryResultPage.of(page));
+        }
+        event.finish(entityType, join, criteria, page, false);
+        return page;
+    }
+
+    /**
+     * Bump the generation of every query whose results can contain the changed entity
+     *
+     * @param changedType type of the changed entity
+     */
+    public void invalidate(Class<?> changedType) {
+        if (!enabled) {
+            return;
+        }
+        AFFECTED_QUERIES.entrySet().stream()
+                .filter(entry -> entry.getKey().isAssignableFrom(changedType))
+                .flatMap(entry -> entry.getValue().stream())
+                .distinct()
+                .forEach(queryType -> {
+                    long generation = (Long) generations.executeOnKey(queryType.getSimpleName(),
+                            new IncrementCounter());
+                    log.debug("{} queries moved to generation {} by a change of {}", queryType.getSimpleName(),
+                            generation, changedType.getSimpleName());
+                    if (meterRegistry != null) {
+                        meterRegistry.counter("cache.query.invalidations", "entity", queryType.getSimpleName())
+                                .increment();
+                    }
+                });
+    }
+
+    private String createKey(Class<?> entityType, String join, Object criteria, Pageable pageable) {
+        Long generation = generations.get(entityType.getSimpleName());
+        if (generation == null) {
+            generation = 0L;
+        }
+        // the services treat every operator other than AND as OR
+        String operator = "AND".equalsIgnoreCase(join) ? "AND" : "OR";
+        String page = pageable.isPaged()
+                ? pageable.getPageNumber() + ":" + pageable.getPageSize() + ":" + pageable.getSort()
+                : "unpaged:" + pageable.getSort();
+        return entityType.getSimpleName() + "#" + generation + ":" + operator + ":" + criteria + ":" + page;
+    }
+
+    private void count(Class<?> entityType, String result) {
+        if (meterRegistry != null) {
+            Counter.builder("cache.query.requests")
+                    .description("findByCriteria pages served from or loaded into the query result cache")
+                    .tags("entity", entityType.getSimpleName(), "result", result)
+                    .register(meterRegistry)
+                    .increment();
+        }
+    }
+}
@@ -0,0 +1,66 @@
+package cu.sld.ucmgt.directory.config.cache;
+
+import com.hazelcast.nio.ObjectDataInput;
+import com.hazelcast.nio.ObjectDataOutput;
+import com.hazelcast.nio.serialization.IdentifiedDataSerializable;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.Pageable;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Page of DTOs stored by the {@link QueryResultCache}. Only the content and the total are kept,
+ * the {@link Pageable} is part of the key and the {@link Page} is rebuilt from it.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class QueryResultPage implements IdentifiedDataSerializable {
+
+    private List<Object> content;
+    private long totalElements;
+
+    public static QueryResultPage of(Page<?> page) {
+        return new QueryResultPage(new ArrayList<>(page.getContent()), page.getTotalElements());
+    }
+
+    @SuppressWarnings("unchecked")
+    public <T> Page<T> toPage(Pageable pageable) {
+        return new PageImpl<>((List<T>) content, pageable, totalElements);
+    }
+
+    @Override
+    public int getFactoryId() {
+        return DirectoryDataSerializableFactory.FACTORY_ID;
+    }
+
+    @Override
+    public int getId() {
+        return DirectoryDataSerializableFactory.QUERY_RESULT_PAGE_TYPE;
+    }
+
+    @Override
+    public void writeData(ObjectDataOutput out) throws IOException {
+        out.writeLong(totalElements);
+        out.writeInt(content.size());
+        for (Object element : content) {
+            out.writeObject(element);
+        }
+    }
+
+    @Override
+    public void readData(ObjectDataInput in) throws IOException {
+        totalElements = in.readLong();
+        int size = in.readInt();
+        content = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            content.add(in.readObject());
+        }
+    }
+}
@@ -0,0 +1,143 @@
+package cu.sld.ucmgt.directory.config.cache;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.hazelcast.core.ITopic;
+import cu.sld.ucmgt.directory.config.jfr.CacheMissEvent;
+import org.springframework.cache.support.SimpleValueWrapper;
+import org.springframework.lang.NonNull;
+
+import java.util.concurrent.Callable;
+
+/**
+ * {@link org.springframework.cache.Cache} with a local Caffeine tier in front of the distributed Hazelcast tier.
+ * <p>
+ * Reads are served from the local tier and fall back to the distributed one. Writes go to both tiers and
+ * are announced in the cluster through a topic, so the other members drop the stale local entry.
+ * Concurrent loads of the same key are collapsed into a single call to the value loader.
+ * The misses of both tiers are recorded as {@link CacheMissEvent}s, timing the value loader when there is one.
+ */
+public class TwoTierCache implements org.springframework.cache.Cache {
+
+    private final String origin;
+    private final Cache<Object, ValueWrapper> localCache;
+    private final org.springframework.cache.Cache distributedCache;
+    private final ITopic<CacheInvalidationMessage> invalidationTopic;
+
+    public TwoTierCache(String origin, Cache<Object, ValueWrapper> localCache,
+                        org.springframework.cache.Cache distributedCache,
+                        ITopic<CacheInvalidationMessage> invalidationTopic) {
+        this.origin = origin;
+        this.localCache = localCache;
+        this.distributedCache = distributedCache;
+        this.invalidationTopic = invalidationTopic;
+    }
+
+    @Override
+    @NonNull
+    public String getName() {
+        return distributedCache.getName();
+    }
+
+    @Override
+    @NonNull
+    public Object getNativeCache() {
+        return distributedCache.getNativeCache();
+    }
+
+    public Cache<Object, ValueWrapper> getLocalCache() {
+        return localCache;
+    }
+
+    @Override
+    public ValueWrapper get(@NonNull Object key) {
+        ValueWrapper valueWrapper = localCache.getIfPresent(key);
+        if (valueWrapper != null) {
+            return valueWrapper;
+        }
+        valueWrapper = distributedCache.get(key);
+        if (valueWrapper != null) {
+            localCache.put(key, new SimpleValueWrapper(valueWrapper.get()));
+        } else {
+            new CacheMissEvent().finish(getName(), CacheMissEvent.SPRING, null);
+        }
+        return valueWrapper;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public <T> T get(@NonNull Object key, Class<T> type) {
+        ValueWrapper valueWrapper = get(key);
+        Object value = valueWrapper != null ? valueWrapper.get() : null;
+        if (value != null && type != null && !type.isInstance(value)) {
+            throw new IllegalStateException("Cached value is not of required type [" + type.getName() + "]: " + value);
+        }
+        return (T) value;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public <T> T get(@NonNull Object key, @NonNull Callable<T> valueLoader) {
+        // Caffeine runs the mapping function once per key on this member, the distributed
+        // tier locks the key while the value is loaded, so the loader runs once in the cluster.
+        // A failing loader surfaces as the ValueRetrievalException thrown by the distributed tier
+        return (T) localCache.get(key, k -> new SimpleValueWrapper(distributedCache.get(k, () -> load(valueLoader)))).get();
+    }
+
+    private <T> T load(Callable<T> valueLoader) throws Exception {
+        CacheMissEvent event = new CacheMissEvent();
+        event.begin();
+        try {
+            return valueLoader.call();
+        } finally {
+            event.finish(getName(), CacheMissEvent.SPRING, null);
+        }
+    }
+
+    @Override
+    public void put(@NonNull Object key, Object value) {
+        distributedCache.put(key, value);
+        localCache.put(key, new SimpleValueWrapper(value));
+        publishInvalidation(key);
+    }
+
+    @Override
+    public ValueWrapper putIfAbsent(@NonNull Object key, Object value) {
+        ValueWrapper existingValue = distributedCache.putIfAbsent(key, value);
+        if (existingValue == null) {
+            localCache.put(key, new SimpleValueWrapper(value));
+            publishInvalidation(key);
+        }
+        return existingValue;
+    }
+
+    @Override
+    public void evict(@NonNull Object key) {
+        distributedCache.evict(key);
+        localCache.invalidate(key);
+        publishInvalidation(key);
+    }
+
+    @Override
+    public void clear() {
+        distributedCache.clear();
+        localCache.invalidateAll();
+        publishInvalidation(null);
+    }
+
+    /**
+     * Drop an entry from the local tier after another member changed it
+     *
+     * @param key changed key or null to drop every entry
+     */
+    void invalidateLocal(Object key) {
+        if (key == null) {
+            localCache.invalidateAll();
+        } else {
+            localCache.invalidate(key);
+        }
+    }
+
+    private void publishInvalidation(Object key) {
+        invalidationTopic.publish(new CacheInvalidationMessage(origin, getName(), key));
+    }
+}
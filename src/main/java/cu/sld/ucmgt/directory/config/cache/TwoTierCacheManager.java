@@ -0,0 +1,100 @@
+package cu.sld.ucmgt.directory.config.cache;
+
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.hazelcast.core.HazelcastInstance;
+import com.hazelcast.core.IMap;
+import com.hazelcast.core.ITopic;
+import com.hazelcast.spring.cache.HazelcastCacheManager;
+import cu.sld.ucmgt.directory.config.AppProperties;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import io.micrometer.core.instrument.binder.cache.HazelcastCacheMetrics;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.lang.NonNull;
+
+import java.time.Duration;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * {@link CacheManager} creating {@link TwoTierCache}s: a bounded Caffeine cache local to the member
+ * in front of the Hazelcast distributed map with the same name.
+ * <p>
+ * Size and time to live of the local tier are configured with {@code application.cache.local}
+ * and can be overridden for each cache with {@code application.cache.local-caches.<name>}.
+ */
+@Slf4j
+public class TwoTierCacheManager implements CacheManager {
+
+    public static final String INVALIDATION_TOPIC = "directory-cache-invalidation";
+
+    /**
+     * Tags of the cache meters, shared with the Hibernate regions of {@code CacheConfiguration}.
+     */
+    public static final String LAYER_TAG = "layer";
+    public static final String TIER_TAG = "tier";
+
+    private static final String LAYER = "spring";
+
+    private final String origin;
+    private final MeterRegistry meterRegistry;
+    private final AppProperties.Cache properties;
+    private final HazelcastInstance hazelcastInstance;
+    private final HazelcastCacheManager distributedCacheManager;
+    private final ITopic<CacheInvalidationMessage> invalidationTopic;
+    private final ConcurrentMap<String, TwoTierCache> caches = new ConcurrentHashMap<>();
+
+    public TwoTierCacheManager(HazelcastInstance hazelcastInstance, AppProperties.Cache properties,
+                               MeterRegistry meterRegistry) {
+        this.properties = properties;
+        this.meterRegistry = meterRegistry;
+        this.hazelcastInstance = hazelcastInstance;
+        this.distributedCacheManager = new HazelcastCacheManager(hazelcastInstance);
+        this.origin = hazelcastInstance.getCluster().getLocalMember().getUuid();
+        this.invalidationTopic = hazelcastInstance.getTopic(INVALIDATION_TOPIC);
+        this.invalidationTopic.addMessageListener(message -> onInvalidation(message.getMessageObject()));
+    }
+
+    @Override
+    public Cache getCache(@NonNull String name) {
+        return caches.computeIfAbsent(name, this::createCache);
+    }
+
+    @Override
+    @NonNull
+    public Collection<String> getCacheNames() {
+        return Collections.unmodifiableSet(caches.keySet());
+    }
+
+    private TwoTierCache createCache(String name) {
+        log.debug("Creating two-tier cache {}", name);
+        AppProperties.Cache.Local local = properties.getLocalCaches().getOrDefault(name, properties.getLocal());
+        com.github.benmanes.caffeine.cache.Cache<Object, Cache.ValueWrapper> localCache = Caffeine.newBuilder()
+                .maximumSize(local.getMaximumSize())
+                .expireAfterWrite(Duration.ofSeconds(local.getTimeToLiveSeconds()))
+                .recordStats()
+                .build();
+        Cache distributedCache = distributedCacheManager.getCache(name);
+        if (meterRegistry != null) {
+            // same tag keys as the Hibernate regions, Prometheus requires one set of tag keys per meter name
+            CaffeineCacheMetrics.monitor(meterRegistry, localCache, name, LAYER_TAG, LAYER, TIER_TAG, "local");
+            IMap<Object, Object> distributedMap = hazelcastInstance.getMap(name);
+            HazelcastCacheMetrics.monitor(meterRegistry, distributedMap, LAYER_TAG, LAYER, TIER_TAG, "distributed");
+        }
+        return new TwoTierCache(origin, localCache, distributedCache, invalidationTopic);
+    }
+
+    private void onInvalidation(CacheInvalidationMessage message) {
+        if (origin.equals(message.getOrigin())) {
+            return;
+        }
+        TwoTierCache cache = caches.get(message.getCacheName());
+        if (cache != null) {
+            cache.invalidateLocal(message.getKey());
+        }
+    }
+}
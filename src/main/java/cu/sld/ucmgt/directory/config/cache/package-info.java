@@ -0,0 +1,4 @@
+/**
+ * Two-tier cache specific code.
+ */
+package cu.sld.ucmgt.directory.config.cache;
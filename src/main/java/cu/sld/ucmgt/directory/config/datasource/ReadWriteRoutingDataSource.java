@@ -0,0 +1,154 @@
+package cu.sld.ucmgt.directory.config.datasource;
+
+import com.zaxxer.hikari.HikariDataSource;
+import cu.sld.ucmgt.directory.security.SecurityUtils;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+import org.springframework.transaction.support.TransactionSynchronizationAdapter;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.sql.DataSource;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+
+/**
+ * {@link DataSource} sending the read-only transactions to a replica and everything else to the primary.
+ * <p>
+ * Reads stay on the primary when every replica lags more than the maximum allowed, or when the current
+ * user committed a change in the read-your-writes window. It must be wrapped in a
+ * {@link LazyConnectionDataSourceProxy}, so the connection is fetched once the transaction is marked as read-only.
+ * <p>
+ * The reads whose results outlive the transaction, such as the cached query pages, run in
+ * {@link #readFromPrimary(Supplier)}: a replica may not have replayed the changes already visible to the other nodes.
+ * The target of the current transaction is kept, so {@link #isReadingFromReplica()} tells when the connection was
+ * fetched from a replica before.
+ */
+public class ReadWriteRoutingDataSource extends AbstractRoutingDataSource implements AutoCloseable {
+
+    public static final String PRIMARY = "primary";
+
+    private static final String TARGET_RESOURCE = ReadWriteRoutingDataSource.class.getName() + ".target";
+    private static final ThreadLocal<Boolean> PRIMARY_REQUIRED = new ThreadLocal<>();
+
+    private final HikariDataSource primary;
+    private final ReplicaLagMonitor lagMonitor;
+    private final ReadYourWritesTracker readYourWritesTracker;
+    private final Map<String, HikariDataSource> replicas;
+    private final MeterRegistry meterRegistry;
+    private final Map<String, Counter> counters = new ConcurrentHashMap<>();
+
+    public ReadWriteRoutingDataSource(HikariDataSource primary, Map<String, HikariDataSource> replicas,
+                                      ReplicaLagMonitor lagMonitor, ReadYourWritesTracker readYourWritesTracker,
+                                      MeterRegistry meterRegistry) {
+        this.primary = primary;
+        this.replicas = replicas;
+        this.lagMonitor = lagMonitor;
+        this.meterRegistry = meterRegistry;
+        this.readYourWritesTracker = readYourWritesTracker;
+        Map<Object, Object> targetDataSources = new LinkedHashMap<>(replicas);
+        targetDataSources.put(PRIMARY, primary);
+        setTargetDataSources(targetDataSources);
+        setDefaultTargetDataSource(primary);
+    }
+
+    @Override
+    protected Object determineCurrentLookupKey() {
+        if (!TransactionSynchronizationManager.isCurrentTransactionReadOnly()) {
+            return route(PRIMARY, "write");
+        }
+        if (PRIMARY_REQUIRED.get() != null) {
+            return route(PRIMARY, "primary-required");
+        }
+        Optional<String> login = SecurityUtils.getCurrentUserLogin();
+        if (login.isPresent() && readYourWritesTracker.hasRecentWrite(login.get())) {
+            return route(PRIMARY, "read-your-writes");
+        }
+        return lagMonitor.nextReplica()
+                .map(replica -> route(replica, "read"))
+                .orElseGet(() -> route(PRIMARY, "replica-lag"));
+    }
+
+    /**
+     * Run the reads on the primary, when they fetch the connection of their transaction.
+     *
+     * @param reads the reads to run.
+     * @return the result of the reads.
+     */
+    public static <T> T readFromPrimary(Supplier<T> reads) {
+        Boolean previous = PRIMARY_REQUIRED.get();
+        PRIMARY_REQUIRED.set(Boolean.TRUE);
+        try {
+            return reads.get();
+        } finally {
+            if (previous == null) {
+                PRIMARY_REQUIRED.remove();
+            }
+        }
+    }
+
+    /**
+     * @return {@code true} when the connection of the current transaction was fetched from a replica.
+     */
+    public static boolean isReadingFromReplica() {
+        Object target = TransactionSynchronizationManager.getResource(TARGET_RESOURCE);
+        return target != null && !PRIMARY.equals(target);
+    }
+
+    private String route(String target, String reason) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()
+                && !TransactionSynchronizationManager.hasResource(TARGET_RESOURCE)) {
+            TransactionSynchronizationManager.bindResource(TARGET_RESOURCE, target);
+            TransactionSynchronizationManager.registerSynchronization(new TargetSynchronization(target));
+        }
+        if (meterRegistry != null) {
+            counterFor(target, reason).increment();
+        }
+        return target;
+    }
+
+    private Counter counterFor(String target, String reason) {
+        return counters.computeIfAbsent(target + ":" + reason, key -> Counter.builder("datasource.routing")
+                .description("Connections fetched for a transaction by target and reason")
+                .tags("target", target, "reason", reason)
+                .register(meterRegistry));
+    }
+
+    /**
+     * Keep the target bound to its transaction only, while it is suspended and once it completes
+     */
+    private static final class TargetSynchronization extends TransactionSynchronizationAdapter {
+
+        private final String target;
+
+        private TargetSynchronization(String target) {
+            this.target = target;
+        }
+
+        @Override
+        public void suspend() {
+            TransactionSynchronizationManager.unbindResourceIfPossible(TARGET_RESOURCE);
+        }
+
+        @Override
+        public void resume() {
+            TransactionSynchronizationManager.bindResource(TARGET_RESOURCE, target);
+        }
+
+        @Override
+        public void afterCompletion(int status) {
+            TransactionSynchronizationManager.unbindResourceIfPossible(TARGET_RESOURCE);
+        }
+    }
+
+    @Override
+    public void close() {
+        lagMonitor.close();
+        replicas.values().forEach(HikariDataSource::close);
+        primary.close();
+    }
+}
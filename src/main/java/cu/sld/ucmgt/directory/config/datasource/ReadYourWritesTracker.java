@@ -0,0 +1,55 @@
+package cu.sld.ucmgt.directory.config.datasource;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.hazelcast.core.HazelcastInstance;
+import com.hazelcast.core.IMap;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Remember the users who committed a change in the last seconds, so their read-only transactions
+ * keep reading from the primary until the replicas have replayed it.
+ * <p>
+ * The writes are shared with the cluster in a Hazelcast map expiring with the window, and kept
+ * in a local cache that avoids publishing every entity changed by a transaction and answers
+ * the reads of the users who wrote through this member.
+ */
+public class ReadYourWritesTracker {
+
+    public static final String MAP_NAME = "datasource-read-your-writes";
+    private static final long PUBLISH_INTERVAL_MILLIS = 1000;
+
+    private final int windowSeconds;
+    private final IMap<String, Long> writes;
+    private final Cache<String, Long> localWrites;
+
+    public ReadYourWritesTracker(HazelcastInstance hazelcastInstance, int windowSeconds) {
+        this.windowSeconds = windowSeconds;
+        this.writes = hazelcastInstance.getMap(MAP_NAME);
+        this.localWrites = Caffeine.newBuilder()
+                .expireAfterWrite(Duration.ofSeconds(Math.max(windowSeconds, 1)))
+                .build();
+    }
+
+    public void recordWrite(String login) {
+        if (windowSeconds <= 0) {
+            return;
+        }
+        long now = System.currentTimeMillis();
+        Long published = localWrites.getIfPresent(login);
+        if (published != null && now - published < PUBLISH_INTERVAL_MILLIS) {
+            return;
+        }
+        localWrites.put(login, now);
+        writes.set(login, now, windowSeconds, TimeUnit.SECONDS);
+    }
+
+    public boolean hasRecentWrite(String login) {
+        if (windowSeconds <= 0) {
+            return false;
+        }
+        return localWrites.getIfPresent(login) != null || writes.containsKey(login);
+    }
+}
@@ -0,0 +1,121 @@
+package cu.sld.ucmgt.directory.config.datasource;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Measure periodically the replication lag of every replica, only the replicas behind the primary
+ * by less than the maximum lag receive read-only transactions.
+ * <p>
+ * A replica whose WAL receiver is not streaming from the primary replays everything it received and looks
+ * caught up while it falls behind, it does not receive reads until it streams again. The status of the
+ * receiver is only visible to the members of {@code pg_read_all_stats}, without it a running receiver is
+ * taken as streaming.
+ */
+@Slf4j
+public class ReplicaLagMonitor implements AutoCloseable {
+
+    /**
+     * Whether the WAL receiver streams from the primary, and the seconds since the last replayed transaction,
+     * 0 when all the received WAL is replayed and null when the server is not a standby.
+     */
+    static final String LAG_QUERY = "SELECT EXISTS (SELECT 1 FROM pg_stat_wal_receiver "
+            + "WHERE pid IS NOT NULL AND COALESCE(status, 'streaming') = 'streaming'), "
+            + "CASE WHEN pg_last_wal_receive_lsn() = pg_last_wal_replay_lsn() THEN 0 "
+            + "ELSE EXTRACT(EPOCH FROM now() - pg_last_xact_replay_timestamp()) END";
+
+    private final int maxLagSeconds;
+    private final Map<String, DataSource> replicas;
+    private final AtomicInteger next = new AtomicInteger();
+    private final Map<String, Double> lags = new ConcurrentHashMap<>();
+    private final ScheduledExecutorService executor = Executors.newSingleThreadScheduledExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "replica-lag-monitor");
+        thread.setDaemon(true);
+        return thread;
+    });
+    private volatile List<String> healthyReplicas = Collections.emptyList();
+
+    public ReplicaLagMonitor(Map<String, DataSource> replicas, int maxLagSeconds, MeterRegistry meterRegistry) {
+        this.replicas = replicas;
+        this.maxLagSeconds = maxLagSeconds;
+        if (meterRegistry != null) {
+            replicas.keySet().forEach(replica -> Gauge.builder("datasource.replica.lag", lags,
+                    values -> values.getOrDefault(replica, Double.NaN))
+                    .description("Replication lag of the replica in seconds, NaN when unknown")
+                    .baseUnit("seconds")
+                    .tag("replica", replica)
+                    .register(meterRegistry));
+        }
+    }
+
+    public void start(int intervalSeconds) {
+        executor.scheduleWithFixedDelay(this::check, 0, intervalSeconds, TimeUnit.SECONDS);
+    }
+
+    /**
+     * @return the next replica able to serve reads, or empty when all of them lag behind
+     */
+    public Optional<String> nextReplica() {
+        List<String> candidates = healthyReplicas;
+        if (candidates.isEmpty()) {
+            return Optional.empty();
+        }
+        return Optional.of(candidates.get(Math.floorMod(next.getAndIncrement(), candidates.size())));
+    }
+
+    void check() {
+        List<String> healthy = new ArrayList<>();
+        replicas.forEach((replica, dataSource) -> {
+            Double lag = measureLag(replica, dataSource);
+            lags.put(replica, lag == null ? Double.NaN : lag);
+            if (lag != null && lag <= maxLagSeconds) {
+                healthy.add(replica);
+            } else if (healthyReplicas.contains(replica) && lag == null) {
+                log.warn("Replica {} does not stream from the primary, reads fall back to the primary", replica);
+            } else if (healthyReplicas.contains(replica)) {
+                log.warn("Replica {} lags {} seconds behind the primary, reads fall back to the primary", replica, lag);
+            }
+        });
+        healthyReplicas = Collections.unmodifiableList(healthy);
+    }
+
+    private Double measureLag(String replica, DataSource dataSource) {
+        try (Connection connection = dataSource.getConnection();
+             Statement statement = connection.createStatement();
+             ResultSet resultSet = statement.executeQuery(LAG_QUERY)) {
+            if (resultSet.next()) {
+                double lag = resultSet.getDouble(2);
+                if (resultSet.wasNull()) {
+                    return null;
+                }
+                // not streaming, the replica falls behind while it looks caught up
+                return resultSet.getBoolean(1) ? lag : null;
+            }
+        } catch (SQLException e) {
+            log.warn("Cannot measure the lag of replica {}: {}", replica, e.getMessage());
+        }
+        return null;
+    }
+
+    @Override
+    public void close() {
+        executor.shutdownNow();
+    }
+}
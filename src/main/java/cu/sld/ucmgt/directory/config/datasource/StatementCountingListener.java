@@ -0,0 +1,64 @@
+package cu.sld.ucmgt.directory.config.datasource;
+
+import cu.sld.ucmgt.directory.config.timing.BackendTimings;
+import net.ttddyy.dsproxy.ExecutionInfo;
+import net.ttddyy.dsproxy.QueryInfo;
+import net.ttddyy.dsproxy.listener.MethodExecutionContext;
+import net.ttddyy.dsproxy.listener.MethodExecutionListener;
+import net.ttddyy.dsproxy.listener.QueryExecutionListener;
+import net.ttddyy.dsproxy.listener.QueryUtils;
+
+import java.sql.ResultSet;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Listener of the proxied data source recording the executed statements, their time and the rows they
+ * read or changed in the open {@link StatementStatistics} scopes. Nothing is done when no scope is open.
+ * The time of the statements is also added to the {@link BackendTimings} of the request.
+ */
+public class StatementCountingListener implements QueryExecutionListener, MethodExecutionListener {
+
+    @Override
+    public void beforeQuery(ExecutionInfo execInfo, List<QueryInfo> queryInfoList) {
+        // the elapsed time is measured by the proxy
+    }
+
+    @Override
+    public void afterQuery(ExecutionInfo execInfo, List<QueryInfo> queryInfoList) {
+        BackendTimings.record(BackendTimings.Backend.DATABASE, queryInfoList.size(),
+                TimeUnit.MILLISECONDS.toNanos(execInfo.getElapsedTime()));
+        if (!StatementStatistics.isRecording()) {
+            return;
+        }
+        for (QueryInfo queryInfo : queryInfoList) {
+            String query = queryInfo.getQuery();
+            StatementStatistics.recordStatement(QueryUtils.getQueryType(query), query, execInfo.getElapsedTime());
+        }
+        Object result = execInfo.getResult();
+        if (result instanceof Integer) {
+            StatementStatistics.recordRows(Math.max((Integer) result, 0));
+        } else if (result instanceof int[]) {
+            long rows = 0;
+            for (int count : (int[]) result) {
+                rows += Math.max(count, 0);
+            }
+            StatementStatistics.recordRows(rows);
+        }
+    }
+
+    @Override
+    public void beforeMethod(MethodExecutionContext executionContext) {
+        // only the rows returned by ResultSet#next are counted
+    }
+
+    @Override
+    public void afterMethod(MethodExecutionContext executionContext) {
+        if (executionContext.getTarget() instanceof ResultSet
+                && "next".equals(executionContext.getMethod().getName())
+                && Boolean.TRUE.equals(executionContext.getResult())
+                && StatementStatistics.isRecording()) {
+            StatementStatistics.recordRows(1);
+        }
+    }
+}
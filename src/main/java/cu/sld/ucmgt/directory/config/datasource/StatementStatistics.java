@@ -0,0 +1,172 @@
+package cu.sld.ucmgt.directory.config.datasource;
+
+import net.ttddyy.dsproxy.QueryType;
+
+import java.util.ArrayDeque;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+
+/**
+ * SQL statements executed by the current thread while a scope is open, filled by {@link StatementCountingListener}.
+ * <p>
+ * Scopes nest: a statement is recorded in every scope open on the thread, so the statements of a service method
+ * are also counted by the HTTP request calling it. The statements are grouped by shape, the SQL with its literals
+ * and {@code IN} lists collapsed, to find the same statement repeated by a loop, the N+1 pattern.
+ */
+public final class StatementStatistics {
+
+    private static final ThreadLocal<Deque<StatementStatistics>> SCOPES = ThreadLocal.withInitial(ArrayDeque::new);
+
+    private static final Pattern STRING_LITERAL = Pattern.compile("'(?:[^']|'')*'");
+    private static final Pattern NUMBER_LITERAL = Pattern.compile("\\b\\d+(?:\\.\\d+)?\\b");
+    private static final Pattern IN_LIST = Pattern.compile("\\(\\s*\\?(?:\\s*,\\s*\\?)*\\s*\\)");
+    private static final Pattern WHITESPACE = Pattern.compile("\\s+");
+
+    private long selects;
+    private long inserts;
+    private long updates;
+    private long deletes;
+    private long others;
+    private long rows;
+    private long elapsedMillis;
+    private final Map<String, Integer> shapes = new HashMap<>();
+
+    private StatementStatistics() {
+    }
+
+    /**
+     * Open a scope on the current thread, it must be closed by the same thread with {@link #close()}.
+     *
+     * @return the statistics of the new scope.
+     */
+    public static StatementStatistics open() {
+        StatementStatistics statistics = new StatementStatistics();
+        SCOPES.get().push(statistics);
+        return statistics;
+    }
+
+    /**
+     * Stop recording in this scope and in the scopes opened after it and not closed yet.
+     */
+    public void close() {
+        Deque<StatementStatistics> scopes = SCOPES.get();
+        if (!scopes.contains(this)) {
+            return;
+        }
+        while (scopes.pop() != this) {
+            // scopes opened inside this one and left open by an exception
+        }
+        if (scopes.isEmpty()) {
+            SCOPES.remove();
+        }
+    }
+
+    static boolean isRecording() {
+        return !SCOPES.get().isEmpty();
+    }
+
+    static void recordStatement(QueryType type, String sql, long elapsedMillis) {
+        String shape = shapeOf(sql);
+        for (StatementStatistics statistics : SCOPES.get()) {
+            statistics.add(type, shape, elapsedMillis);
+        }
+    }
+
+    static void recordRows(long count) {
+        for (StatementStatistics statistics : SCOPES.get()) {
+            statistics.rows += count;
+        }
+    }
+
+    static String shapeOf(String sql) {
+        String shape = STRING_LITERAL.matcher(sql).replaceAll("?");
+        shape = NUMBER_LITERAL.matcher(shape).replaceAll("?");
+        shape = IN_LIST.matcher(shape).replaceAll("(?)");
+        return WHITESPACE.matcher(shape).replaceAll(" ").trim();
+    }
+
+    private void add(QueryType type, String shape, long elapsedMillis) {
+        switch (type) {
+            case SELECT:
+                selects++;
+                break;
+            case INSERT:
+                inserts++;
+                break;
+            case UPDATE:
+                updates++;
+                break;
+            case DELETE:
+                deletes++;
+                break;
+            default:
+                others++;
+        }
+        this.elapsedMillis += elapsedMillis;
+        shapes.merge(shape, 1, Integer::sum);
+    }
+
+    public long getStatements() {
+        return selects + inserts + updates + deletes + others;
+    }
+
+    public long getSelects() {
+        return selects;
+    }
+
+    public long getInserts() {
+        return inserts;
+    }
+
+    public long getUpdates() {
+        return updates;
+    }
+
+    public long getDeletes() {
+        return deletes;
+    }
+
+    public long getOthers() {
+        return others;
+    }
+
+    public long getRows() {
+        return rows;
+    }
+
+    public long getElapsedMillis() {
+        return elapsedMillis;
+    }
+
+    /**
+     * @param threshold the maximum executions of one statement shape.
+     * @return the shapes executed more than {@code threshold} times with their count, most repeated first.
+     */
+    public Map<String, Integer> getRepeatedStatements(int threshold) {
+        if (shapes.isEmpty()) {
+            return Collections.emptyMap();
+        }
+        return shapes.entrySet().stream()
+                .filter(shape -> shape.getValue() > threshold)
+                .sorted(Map.Entry.<String, Integer>comparingByValue().reversed())
+                .collect(Collectors.toMap(Map.Entry::getKey, Map.Entry::getValue, (a, b) -> a, LinkedHashMap::new));
+    }
+
+    @Override
+    public String toString() {
+        return "StatementStatistics{" +
+                "selects=" + selects +
+                ", inserts=" + inserts +
+                ", updates=" + updates +
+                ", deletes=" + deletes +
+                ", others=" + others +
+                ", rows=" + rows +
+                ", elapsedMillis=" + elapsedMillis +
+                '}';
+    }
+}
@@ -0,0 +1,4 @@
+/**
+ * Routing of the read-only transactions to the Postgres replicas.
+ */
+package cu.sld.ucmgt.directory.config.datasource;
@@ -0,0 +1,51 @@
+package cu.sld.ucmgt.directory.config.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * Miss of a Spring cache or of a Hibernate second-level cache region. The duration of the misses of the
+ * Spring caches is the time spent loading the value, the Hibernate misses are instant.
+ */
+@Name("cu.sld.ucmgt.directory.CacheMiss")
+@Label("Cache Miss")
+@Category({"Directory", "Cache"})
+@Description("Key not found in a cache")
+@StackTrace(false)
+public class CacheMissEvent extends Event {
+
+    public static final String SPRING = "spring";
+    public static final String HIBERNATE = "hibernate";
+
+    @Label("Cache")
+    @Description("Name of the Spring cache or of the Hibernate region")
+    String cache;
+
+    @Label("Source")
+    String source;
+
+    @Label("Role")
+    @Description("Entity or collection missed in the Hibernate region")
+    String role;
+
+    /**
+     * Commit the event when it is recorded.
+     *
+     * @param cache  the name of the cache.
+     * @param source {@link #SPRING} or {@link #HIBERNATE}.
+     * @param role   the missed entity or collection, {@code null} for the Spring caches.
+     */
+    public void finish(String cache, String source, String role) {
+        end();
+        if (shouldCommit()) {
+            this.cache = cache;
+            this.source = source;
+            this.role = role;
+            commit();
+        }
+    }
+}
@@ -0,0 +1,292 @@
+package cu.sld.ucmgt.directory.config.jfr;
+
+import jdk.jfr.EventType;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.metamodel.model.domain.NavigableRole;
+import org.hibernate.stat.internal.StatisticsImpl;
+
+/**
+ * Hibernate statistics emitting a {@link CacheMissEvent} for every miss of the second-level cache.
+ * <p>
+ * Hibernate only reports the misses when the statistics are enabled, so they are reported while a recording
+ * of the event is running. The other callbacks, and the counting of the misses, still follow
+ * {@code hibernate.generate_statistics}. They are created by the {@link CacheMissStatisticsFactory}.
+ */
+public class CacheMissStatistics extends StatisticsImpl {
+
+    private final EventType cacheMissEventType = EventType.getEventType(CacheMissEvent.class);
+
+    public CacheMissStatistics(SessionFactoryImplementor sessionFactory) {
+        super(sessionFactory);
+    }
+
+    @Override
+    public boolean isStatisticsEnabled() {
+        return super.isStatisticsEnabled() || cacheMissEventType.isEnabled();
+    }
+
+    @Override
+    public void entityCacheMiss(NavigableRole entityName, String regionName) {
+        if (cacheMissEventType.isEnabled()) {
+            new CacheMissEvent().finish(regionName, CacheMissEvent.HIBERNATE, entityName.getFullPath());
+        }
+        if (super.isStatisticsEnabled()) {
+            super.entityCacheMiss(entityName, regionName);
+        }
+    }
+
+    @Override
+    public void collectionCacheMiss(NavigableRole collectionRole, String regionName) {
+        if (cacheMissEventType.isEnabled()) {
+            new CacheMissEvent().finish(regionName, CacheMissEvent.HIBERNATE, collectionRole.getFullPath());
+        }
+        if (super.isStatisticsEnabled()) {
+            super.collectionCacheMiss(collectionRole, regionName);
+        }
+    }
+
+    @Override
+    public void openSession() {
+        if (super.isStatisticsEnabled()) {
+            super.openSession();
+        }
+    }
+
+    @Override
+    public void closeSession() {
+        if (super.isStatisticsEnabled()) {
+            super.closeSession();
+        }
+    }
+
+    @Override
+    public void flush() {
+        if (super.isStatisticsEnabled()) {
+            super.flush();
+        }
+    }
+
+    @Override
+    public void connect() {
+        if (super.isStatisticsEnabled()) {
+            super.connect();
+        }
+    }
+
+    @Override
+    public void prepareStatement() {
+        if (super.isStatisticsEnabled()) {
+            super.prepareStatement();
+        }
+    }
+
+    @Override
+    public void closeStatement() {
+        if (super.isStatisticsEnabled()) {
+            super.closeStatement();
+        }
+    }
+
+    @Override
+    public void endTransaction(boolean success) {
+        if (super.isStatisticsEnabled()) {
+            super.endTransaction(success);
+        }
+    }
+
+    @Override
+    public void loadEntity(String entityName) {
+        if (super.isStatisticsEnabled()) {
+            super.loadEntity(entityName);
+        }
+    }
+
+    @Override
+    public void fetchEntity(String entityName) {
+        if (super.isStatisticsEnabled()) {
+            super.fetchEntity(entityName);
+        }
+    }
+
+    @Override
+    public void updateEntity(String entityName) {
+        if (super.isStatisticsEnabled()) {
+            super.updateEntity(entityName);
+        }
+    }
+
+    @Override
+    public void insertEntity(String entityName) {
+        if (super.isStatisticsEnabled()) {
+            super.insertEntity(entityName);
+        }
+    }
+
+    @Override
+    public void deleteEntity(String entityName) {
+        if (super.isStatisticsEnabled()) {
+            super.deleteEntity(entityName);
+        }
+    }
+
+    @Override
+    public void optimisticFailure(String entityName) {
+        if (super.isStatisticsEnabled()) {
+            super.optimisticFailure(entityName);
+        }
+    }
+
+    @Override
+    public void loadCollection(String role) {
+        if (super.isStatisticsEnabled()) {
+            super.loadCollection(role);
+        }
+    }
+
+    @Override
+    public void fetchCollection(String role) {
+        if (super.isStatisticsEnabled()) {
+            super.fetchCollection(role);
+        }
+    }
+
+    @Override
+    public void updateCollection(String role) {
+        if (super.isStatisticsEnabled()) {
+            super.updateCollection(role);
+        }
+    }
+
+    @Override
+    public void recreateCollection(String role) {
+        if (super.isStatisticsEnabled()) {
+            super.recreateCollection(role);
+        }
+    }
+
+    @Override
+    public void removeCollection(String role) {
+        if (super.isStatisticsEnabled()) {
+            super.removeCollection(role);
+        }
+    }
+
+    @Override
+    public void entityCachePut(NavigableRole entityName, String regionName) {
+        if (super.isStatisticsEnabled()) {
+            super.entityCachePut(entityName, regionName);
+        }
+    }
+
+    @Override
+    public void entityCacheHit(NavigableRole entityName, String regionName) {
+        if (super.isStatisticsEnabled()) {
+            super.entityCacheHit(entityName, regionName);
+        }
+    }
+
+    @Override
+    public void collectionCachePut(NavigableRole collectionRole, String regionName) {
+        if (super.isStatisticsEnabled()) {
+            super.collectionCachePut(collectionRole, regionName);
+        }
+    }
+
+    @Override
+    public void collectionCacheHit(NavigableRole collectionRole, String regionName) {
+        if (super.isStatisticsEnabled()) {
+            super.collectionCacheHit(collectionRole, regionName);
+        }
+    }
+
+    @Override
+    public void naturalIdCachePut(NavigableRole rootEntityName, String regionName) {
+        if (super.isStatisticsEnabled()) {
+            super.naturalIdCachePut(rootEntityName, regionName);
+        }
+    }
+
+    @Override
+    public void naturalIdCacheHit(NavigableRole rootEntityName, String regionName) {
+        if (super.isStatisticsEnabled()) {
+            super.naturalIdCacheHit(rootEntityName, regionName);
+        }
+    }
+
+    @Override
+    public void naturalIdCacheMiss(NavigableRole rootEntityName, String regionName) {
+        if (super.isStatisticsEnabled()) {
+            super.naturalIdCacheMiss(rootEntityName, regionName);
+        }
+    }
+
+    @Override
+    public void naturalIdQueryExecuted(String rootEntityName, long executionTime) {
+        if (super.isStatisticsEnabled()) {
+            super.naturalIdQueryExecuted(rootEntityName, executionTime);
+        }
+    }
+
+    @Override
+    public void queryCachePut(String hql, String regionName) {
+        if (super.isStatisticsEnabled()) {
+            super.queryCachePut(hql, regionName);
+        }
+    }
+
+    @Override
+    public void queryCacheHit(String hql, String regionName) {
+        if (super.isStatisticsEnabled()) {
+            super.queryCacheHit(hql, regionName);
+        }
+    }
+
+    @Override
+    public void queryCacheMiss(String hql, String regionName) {
+        if (super.isStatisticsEnabled()) {
+            super.queryCacheMiss(hql, regionName);
+        }
+    }
+
+    @Override
+    public void queryExecuted(String hql, int rows, long time) {
+        if (super.isStatisticsEnabled()) {
+            super.queryExecuted(hql, rows, time);
+        }
+    }
+
+    @Override
+    public void queryPlanCacheHit(String query) {
+        if (super.isStatisticsEnabled()) {
+            super.queryPlanCacheHit(query);
+        }
+    }
+
+    @Override
+    public void queryPlanCacheMiss(String query) {
+        if (super.isStatisticsEnabled()) {
+            super.queryPlanCacheMiss(query);
+        }
+    }
+
+    @Override
+    public void updateTimestampsCacheHit() {
+        if (super.isStatisticsEnabled()) {
+            super.updateTimestampsCacheHit();
+        }
+    }
+
+    @Override
+    public void updateTimestampsCacheMiss() {
+        if (super.isStatisticsEnabled()) {
+            super.updateTimestampsCacheMiss();
+        }
+    }
+
+    @Override
+    public void updateTimestampsCachePut() {
+        if (super.isStatisticsEnabled()) {
+            super.updateTimestampsCachePut();
+        }
+    }
+}
@@ -0,0 +1,16 @@
+package cu.sld.ucmgt.directory.config.jfr;
+
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.stat.spi.StatisticsFactory;
+import org.hibernate.stat.spi.StatisticsImplementor;
+
+/**
+ * Factory of the {@link CacheMissStatistics}, set in the {@code hibernate.stats.factory} property.
+ */
+public class CacheMissStatisticsFactory implements StatisticsFactory {
+
+    @Override
+    public StatisticsImplementor buildStatistics(SessionFactoryImplementor sessionFactory) {
+        return new CacheMissStatistics(sessionFactory);
+    }
+}
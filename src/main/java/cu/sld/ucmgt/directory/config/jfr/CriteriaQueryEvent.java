@@ -0,0 +1,76 @@
+package cu.sld.ucmgt.directory.config.jfr;
+
+import cu.sld.ucmgt.directory.service.filter.Filter;
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+import org.springframework.data.domain.Page;
+import org.springframework.util.ReflectionUtils;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Call to the {@code findByCriteria} query of a service.
+ */
+@Name("cu.sld.ucmgt.directory.CriteriaQuery")
+@Label("Criteria Query")
+@Category({"Directory", "Database"})
+@Description("Page of entities matching a criteria")
+@StackTrace(false)
+public class CriteriaQueryEvent extends Event {
+
+    @Label("Entity")
+    String entity;
+
+    @Label("Active Filters")
+    int filters;
+
+    @Label("Join")
+    @Description("Logical operator joining the filters")
+    String join;
+
+    @Label("Rows")
+    int rows;
+
+    @Label("Cached")
+    @Description("Whether the page was served from the query result cache")
+    boolean cached;
+
+    /**
+     * Commit the event when it is recorded, the filters are only counted then.
+     *
+     * @param entityType the queried entity type.
+     * @param join       the join operator.
+     * @param criteria   the criteria of the query.
+     * @param page       the returned page.
+     * @param cached     whether the page was served from the cache.
+     */
+    public void finish(Class<?> entityType, String join, Object criteria, Page<?> page, boolean cached) {
+        end();
+        if (shouldCommit()) {
+            this.entity = entityType.getSimpleName();
+            this.filters = activeFilters(criteria);
+            this.join = join;
+            this.rows = page.getNumberOfElements();
+            this.cached = cached;
+            commit();
+        }
+    }
+
+    static int activeFilters(Object criteria) {
+        if (criteria == null) {
+            return 0;
+        }
+        AtomicInteger filters = new AtomicInteger();
+        ReflectionUtils.doWithFields(criteria.getClass(), field -> {
+            ReflectionUtils.makeAccessible(field);
+            if (ReflectionUtils.getField(field, criteria) != null) {
+                filters.incrementAndGet();
+            }
+        }, field -> Filter.class.isAssignableFrom(field.getType()));
+        return filters.get();
+    }
+}
@@ -0,0 +1,28 @@
+package cu.sld.ucmgt.directory.config.jfr;
+
+import cu.sld.ucmgt.directory.aop.timing.SyncListenerAspect;
+import cu.sld.ucmgt.directory.config.AppProperties;
+import org.springframework.boot.actuate.autoconfigure.endpoint.condition.ConditionalOnAvailableEndpoint;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.EnableAspectJAutoProxy;
+
+import java.time.Duration;
+
+@Configuration
+@EnableAspectJAutoProxy
+public class FlightRecorderConfiguration {
+
+    @Bean
+    public SyncListenerAspect syncListenerAspect() {
+        return new SyncListenerAspect();
+    }
+
+    @Bean
+    @ConditionalOnAvailableEndpoint
+    public FlightRecorderEndpoint flightRecorderEndpoint(AppProperties appProperties) {
+        AppProperties.Metrics.FlightRecorder flightRecorder = appProperties.getMetrics().getFlightRecorder();
+        return new FlightRecorderEndpoint(Duration.ofMinutes(flightRecorder.getMaxAgeMinutes()),
+                flightRecorder.getMaxSizeMb() * 1024L * 1024L);
+    }
+}
@@ -0,0 +1,130 @@
+package cu.sld.ucmgt.directory.config.jfr;
+
+import jdk.jfr.Configuration;
+import jdk.jfr.FlightRecorder;
+import jdk.jfr.Recording;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.actuate.endpoint.InvalidEndpointRequestException;
+import org.springframework.boot.actuate.endpoint.annotation.DeleteOperation;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.boot.actuate.endpoint.annotation.Selector;
+import org.springframework.boot.actuate.endpoint.annotation.WriteOperation;
+import org.springframework.core.io.InputStreamResource;
+import org.springframework.core.io.Resource;
+import org.springframework.lang.Nullable;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.text.ParseException;
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+/**
+ * Endpoint starting, stopping and downloading the Java Flight Recorder recordings of the JVM.
+ * <p>
+ * {@code GET} lists the recordings, {@code POST} starts a recording, {@code GET /{id}} downloads the data
+ * recorded so far and {@code DELETE /{id}} stops and closes the recording. The recordings started here are
+ * bounded in age and size, so a forgotten recording does not fill the disk.
+ */
+@Slf4j
+@Endpoint(id = "jfr")
+public class FlightRecorderEndpoint {
+
+    private static final String DEFAULT_SETTINGS = "profile";
+
+    private final Duration maxAge;
+    private final long maxSizeBytes;
+
+    public FlightRecorderEndpoint(Duration maxAge, long maxSizeBytes) {
+        this.maxAge = maxAge;
+        this.maxSizeBytes = maxSizeBytes;
+    }
+
+    @ReadOperation
+    public List<Map<String, Object>> recordings() {
+        return FlightRecorder.getFlightRecorder().getRecordings().stream()
+                .map(FlightRecorderEndpoint::describe)
+                .collect(Collectors.toList());
+    }
+
+    /**
+     * @param settings the JFR settings, {@code default} or {@code profile} when omitted.
+     * @param duration the duration of the recording in seconds, unlimited when omitted.
+     * @return the started recording.
+     */
+    @WriteOperation
+    public Map<String, Object> start(@Nullable String settings, @Nullable Long duration) {
+        Configuration configuration;
+        try {
+            configuration = Configuration.getConfiguration(settings != null ? settings : DEFAULT_SETTINGS);
+        } catch (IOException | ParseException e) {
+            throw new InvalidEndpointRequestException("Unknown settings " + settings, "Unknown settings");
+        }
+        Recording recording = new Recording(configuration);
+        recording.setName("directory-" + recording.getId());
+        recording.setToDisk(true);
+        recording.setMaxAge(maxAge);
+        recording.setMaxSize(maxSizeBytes);
+        if (duration != null) {
+            recording.setDuration(Duration.ofSeconds(duration));
+        }
+        recording.start();
+        log.info("Started flight recording {} with the {} settings", recording.getId(), configuration.getName());
+        return describe(recording);
+    }
+
+    /**
+     * @param id the recording.
+     * @return the data recorded so far, the recording keeps running.
+     * @throws IOException when the data cannot be written.
+     */
+    @ReadOperation(produces = "application/octet-stream")
+    public Resource download(@Selector long id) throws IOException {
+        Recording recording = find(id);
+        Path dump = Files.createTempFile("directory-" + id + "-", ".jfr");
+        try {
+            recording.dump(dump);
+            return new InputStreamResource(Files.newInputStream(dump, StandardOpenOption.DELETE_ON_CLOSE));
+        } catch (IOException | RuntimeException e) {
+            Files.deleteIfExists(dump);
+            throw e;
+        }
+    }
+
+    /**
+     * @param id the recording.
+     * @return the stopped recording.
+     */
+    @DeleteOperation
+    public Map<String, Object> stop(@Selector long id) {
+        Recording recording = find(id);
+        Map<String, Object> description = describe(recording);
+        recording.close();
+        log.info("Closed flight recording {}", id);
+        return description;
+    }
+
+    private Recording find(long id) {
+        return FlightRecorder.getFlightRecorder().getRecordings().stream()
+                .filter(recording -> recording.getId() == id)
+                .findFirst()
+                .orElseThrow(() -> new InvalidEndpointRequestException("No recording " + id, "Unknown recording"));
+    }
+
+    private static Map<String, Object> describe(Recording recording) {
+        Map<String, Object> description = new LinkedHashMap<>();
+        description.put("id", recording.getId());
+        description.put("name", recording.getName());
+        description.put("state", recording.getState());
+        description.put("startTime", recording.getStartTime());
+        description.put("duration", recording.getDuration());
+        description.put("size", recording.getSize());
+        return description;
+    }
+}
@@ -0,0 +1,89 @@
+package cu.sld.ucmgt.directory.config.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+import org.elasticsearch.action.bulk.BulkResponse;
+import org.elasticsearch.index.reindex.BulkByScrollResponse;
+
+/**
+ * Write of the documents of an Elasticsearch index, made by a synchronization listener of the services.
+ */
+@Name("cu.sld.ucmgt.directory.IndexSync")
+@Label("Index Synchronization")
+@Category({"Directory", "Elasticsearch"})
+@Description("Write of the documents of a search index")
+@StackTrace(false)
+public class IndexSyncEvent extends Event {
+
+    private static final ThreadLocal<String> LISTENER = new ThreadLocal<>();
+
+    @Label("Listener")
+    @Description("Listener of the services making the write, empty when the write is not made by a listener")
+    String listener;
+
+    @Label("Index")
+    String index;
+
+    @Label("Documents")
+    @Description("Documents written, updated or deleted")
+    long documents;
+
+    @Label("Failed")
+    boolean failed;
+
+    /**
+     * Bind the listener running on this thread.
+     *
+     * @param listener the listener, {@code null} to unbind.
+     * @return the listener bound before.
+     */
+    public static String bindListener(String listener) {
+        String previous = LISTENER.get();
+        if (listener != null) {
+            LISTENER.set(listener);
+        } else {
+            LISTENER.remove();
+        }
+        return previous;
+    }
+
+    /**
+     * Commit the event when it is recorded.
+     *
+     * @param index  the written index.
+     * @param result the response of the write, or the saved documents.
+     * @param failed whether the write failed.
+     */
+    public void finish(String index, Object result, boolean failed) {
+        end();
+        if (shouldCommit()) {
+            this.listener = LISTENER.get();
+            this.index = index;
+            this.documents = failed ? 0 : documents(result);
+            this.failed = failed;
+            commit();
+        }
+    }
+
+    private static long documents(Object result) {
+        if (result instanceof BulkResponse) {
+            return ((BulkResponse) result).getItems().length;
+        }
+        if (result instanceof BulkByScrollResponse) {
+            BulkByScrollResponse response = (BulkByScrollResponse) result;
+            return response.getCreated() + response.getUpdated() + response.getDeleted();
+        }
+        if (result instanceof Iterable) {
+            long documents = 0;
+            for (Object ignored : (Iterable<?>) result) {
+                documents++;
+            }
+            return documents;
+        }
+        return 1;
+    }
+}
@@ -0,0 +1,69 @@
+package cu.sld.ucmgt.directory.config.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.DataAmount;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * Operation of the {@code FileService} on the MinIO object storage.
+ */
+@Name("cu.sld.ucmgt.directory.Storage")
+@Label("Storage Operation")
+@Category({"Directory", "MinIO"})
+@Description("Operation on the object storage")
+@StackTrace(false)
+public class StorageEvent extends Event {
+
+    @Label("Operation")
+    String operation;
+
+    @Label("Bucket")
+    String bucket;
+
+    @Label("Object")
+    String object;
+
+    @Label("Size")
+    @DataAmount
+    long bytes;
+
+    @Label("Succeeded")
+    boolean succeeded;
+
+    /**
+     * Begin the timing of an operation.
+     *
+     * @param operation the name of the MinIO operation.
+     * @param bucket    the bucket.
+     * @param object    the object, or {@code null}.
+     * @param bytes     the size sent, 0 when nothing is sent.
+     * @return the event to finish when the operation returns.
+     */
+    public static StorageEvent start(String operation, String bucket, String object, long bytes) {
+        StorageEvent event = new StorageEvent();
+        event.operation = operation;
+        event.bucket = bucket;
+        event.object = object;
+        event.bytes = bytes;
+        event.begin();
+        return event;
+    }
+
+    public void succeeded() {
+        this.succeeded = true;
+    }
+
+    /**
+     * Commit the event when it is recorded.
+     */
+    public void finish() {
+        end();
+        if (shouldCommit()) {
+            commit();
+        }
+    }
+}
@@ -0,0 +1,4 @@
+/**
+ * Java Flight Recorder events of the directory and the endpoint managing the recordings.
+ */
+package cu.sld.ucmgt.directory.config.jfr;
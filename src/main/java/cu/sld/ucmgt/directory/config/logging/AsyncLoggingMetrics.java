@@ -0,0 +1,66 @@
+package cu.sld.ucmgt.directory.config.logging;
+
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.LoggerContext;
+import ch.qos.logback.classic.spi.ILoggingEvent;
+import ch.qos.logback.core.Appender;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.springframework.lang.NonNull;
+
+import java.util.List;
+
+/**
+ * Publish the queue depth and the dropped events of the {@link BoundedAsyncAppender}s of the root logger.
+ * The appenders are looked up by name on every read, as the logging context re-creates them when it is reset.
+ */
+public class AsyncLoggingMetrics implements MeterBinder {
+
+    private final LoggerContext context;
+    private final List<String> appenderNames;
+
+    public AsyncLoggingMetrics(LoggerContext context, List<String> appenderNames) {
+        this.context = context;
+        this.appenderNames = appenderNames;
+    }
+
+    @Override
+    public void bindTo(@NonNull MeterRegistry registry) {
+        appenderNames.forEach(name -> {
+            Gauge.builder("logging.async.queue.depth", this, metrics -> metrics.queueDepth(name))
+                    .description("Events waiting in the queue of the asynchronous appender")
+                    .tag("appender", name)
+                    .register(registry);
+            Gauge.builder("logging.async.queue.remaining", this, metrics -> metrics.remainingCapacity(name))
+                    .description("Remaining capacity of the queue of the asynchronous appender")
+                    .tag("appender", name)
+                    .register(registry);
+            FunctionCounter.builder("logging.async.dropped", this, metrics -> metrics.droppedEvents(name))
+                    .description("Events dropped by the asynchronous appender because its queue was nearly full")
+                    .tag("appender", name)
+                    .register(registry);
+        });
+    }
+
+    private double queueDepth(String name) {
+        BoundedAsyncAppender appender = appender(name);
+        return appender != null ? appender.getNumberOfElementsInQueue() : Double.NaN;
+    }
+
+    private double remainingCapacity(String name) {
+        BoundedAsyncAppender appender = appender(name);
+        return appender != null ? appender.getRemainingCapacity() : Double.NaN;
+    }
+
+    private double droppedEvents(String name) {
+        BoundedAsyncAppender appender = appender(name);
+        return appender != null ? appender.getDroppedEvents() : 0;
+    }
+
+    private BoundedAsyncAppender appender(String name) {
+        Appender<ILoggingEvent> appender = context.getLogger(Logger.ROOT_LOGGER_NAME).getAppender(name);
+        return appender instanceof BoundedAsyncAppender ? (BoundedAsyncAppender) appender : null;
+    }
+}
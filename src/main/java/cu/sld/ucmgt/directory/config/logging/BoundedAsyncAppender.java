@@ -0,0 +1,56 @@
+package cu.sld.ucmgt.directory.config.logging;
+
+import ch.qos.logback.classic.AsyncAppender;
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.spi.ILoggingEvent;
+
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * {@link AsyncAppender} moving the formatting and the I/O of its appender off the logging threads.
+ * <p>
+ * The queue is bounded. When its remaining capacity falls below the discarding threshold, the events up to the
+ * discard level are dropped and counted, the events above it, WARN and ERROR at least, are never dropped: the
+ * logging thread waits for room in the queue instead.
+ */
+public class BoundedAsyncAppender extends AsyncAppender {
+
+    private Level discardLevel = Level.INFO;
+    private final LongAdder droppedEvents = new LongAdder();
+
+    public BoundedAsyncAppender() {
+        setNeverBlock(false);
+    }
+
+    /**
+     * @param discardLevel the most severe level dropped under pressure, {@code null} to drop nothing.
+     *                     Levels above INFO are lowered to INFO.
+     */
+    public void setDiscardLevel(Level discardLevel) {
+        if (discardLevel != null && discardLevel.isGreaterOrEqual(Level.WARN)) {
+            addWarn("The " + discardLevel + " events are never discarded, discarding up to INFO");
+            discardLevel = Level.INFO;
+        }
+        this.discardLevel = discardLevel;
+    }
+
+    public Level getDiscardLevel() {
+        return discardLevel;
+    }
+
+    /**
+     * @return the events dropped since the appender was created.
+     */
+    public long getDroppedEvents() {
+        return droppedEvents.sum();
+    }
+
+    @Override
+    protected boolean isDiscardable(ILoggingEvent event) {
+        boolean discardable = discardLevel != null && discardLevel.isGreaterOrEqual(event.getLevel());
+        if (discardable) {
+            droppedEvents.increment();
+        }
+        return discardable;
+    }
+}
@@ -0,0 +1,4 @@
+/**
+ * Asynchronous stage of the JSON console and Logstash appenders.
+ */
+package cu.sld.ucmgt.directory.config.logging;
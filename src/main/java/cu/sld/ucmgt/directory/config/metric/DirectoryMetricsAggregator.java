@@ -0,0 +1,365 @@
+package cu.sld.ucmgt.directory.config.metric;
+
+import cu.sld.ucmgt.directory.web.filter.ServerTimingFilter;
+import io.micrometer.core.instrument.*;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.distribution.ValueAtPercentile;
+import lombok.extern.slf4j.Slf4j;
+
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Maintain the snapshot served by the {@link DirectoryMetricsEndpoint}.
+ * <p>
+ * The meters are sorted into the sections of the snapshot once, when they are added to the registry, and the
+ * snapshot is rebuilt periodically from those sections only. Reading the endpoint returns the last immutable
+ * snapshot, whatever the number of meters in the registry.
+ */
+@Slf4j
+public class DirectoryMetricsAggregator implements AutoCloseable {
+
+    static final String JVM = "jvm";
+    static final String HTTP = "http.server.requests";
+    static final String CACHE = "cache";
+    static final String BACKENDS = "backends";
+    static final String SEARCH_INDICES = "searchIndices";
+    static final String DATABASES = "databases";
+    static final String GARBAGE_COLLECTOR = "garbageCollector";
+    static final String PROCESS = "processMetrics";
+    static final String SERVICES = "services";
+
+    private static final List<String> CRUD_OPERATIONS = Arrays.asList("GET", "POST", "PUT", "DELETE");
+
+    private final MeterRegistry meterRegistry;
+    private final Map<String, Set<Meter>> sections = new ConcurrentHashMap<>();
+    private final ScheduledExecutorService executor = Executors.newSingleThreadScheduledExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "directory-metrics-aggregator");
+        thread.setDaemon(true);
+        return thread;
+    });
+    private volatile Map<String, Map> snapshot;
+
+    public DirectoryMetricsAggregator(MeterRegistry meterRegistry) {
+        this.meterRegistry = meterRegistry;
+        meterRegistry.config().onMeterAdded(this::add).onMeterRemoved(this::remove);
+        meterRegistry.forEachMeter(this::add);
+    }
+
+    public void start(int intervalSeconds) {
+        executor.scheduleWithFixedDelay(this::refresh, intervalSeconds, intervalSeconds, TimeUnit.SECONDS);
+    }
+
+    /**
+     * @return the last snapshot, built on the first call when the aggregator did not run yet.
+     */
+    public Map<String, Map> getSnapshot() {
+        Map<String, Map> current = snapshot;
+        return current != null ? current : refresh();
+    }
+
+    Map<String, Map> refresh() {
+        try {
+            Map<String, Map> results = new HashMap<>();
+            results.put(JVM, jvmMemoryMetrics());
+            results.putAll(httpRequestsMetrics());
+            results.put(CACHE, cacheMetrics());
+            results.put(BACKENDS, backendMetrics());
+            results.put(SEARCH_INDICES, searchIndexMetrics());
+            results.put(DATABASES, databaseMetrics());
+            results.put(GARBAGE_COLLECTOR, garbageCollectorMetrics());
+            results.put(PROCESS, processMetrics());
+            snapshot = immutable(results);
+        } catch (RuntimeException e) {
+            log.warn("Cannot aggregate the metrics snapshot: {}", e.toString());
+        }
+        return snapshot != null ? snapshot : Collections.emptyMap();
+    }
+
+    private void add(Meter meter) {
+        String section = sectionOf(meter.getId().getName());
+        if (section != null) {
+            sections.computeIfAbsent(section, key -> ConcurrentHashMap.newKeySet()).add(meter);
+        }
+    }
+
+    private void remove(Meter meter) {
+        String section = sectionOf(meter.getId().getName());
+        if (section != null) {
+            sections.getOrDefault(section, Collections.emptySet()).remove(meter);
+        }
+    }
+
+    static String sectionOf(String name) {
+        if (name.equals(HTTP)) {
+            return HTTP;
+        }
+        if (name.startsWith(ServerTimingFilter.METRIC_NAME)) {
+            return BACKENDS;
+        }
+        if (name.startsWith(IndexLagMonitor.METRIC_NAME) || name.startsWith(IndexLagMonitor.SYNC_METRIC_NAME)) {
+            return SEARCH_INDICES;
+        }
+        if (name.startsWith("jvm.memory.used") || name.startsWith("jvm.memory.max") || name.startsWith("jvm.memory.committed")) {
+            return JVM;
+        }
+        if (name.contains("jvm.gc") || name.contains("jvm.classes.loaded") || name.contains("jvm.classes.unloaded")) {
+            return GARBAGE_COLLECTOR;
+        }
+        if (name.contains("hikari")) {
+            return DATABASES;
+        }
+        if (name.contains("cache")) {
+            return CACHE;
+        }
+        if (name.contains("cpu") || name.contains("system") || name.contains("process")) {
+            return PROCESS;
+        }
+        return null;
+    }
+
+    private Collection<Meter> meters(String section) {
+        return sections.getOrDefault(section, Collections.emptySet());
+    }
+
+    private Map<String, Number> processMetrics() {
+        Map<String, Number> resultsProcess = new HashMap<>();
+        meters(PROCESS).forEach(meter -> {
+            if (meter instanceof TimeGauge) {
+                resultsProcess.put(meter.getId().getName(), ((TimeGauge) meter).value(TimeUnit.MILLISECONDS));
+            } else if (meter instanceof Gauge) {
+                resultsProcess.put(meter.getId().getName(), ((Gauge) meter).value());
+            }
+        });
+        return resultsProcess;
+    }
+
+    private Map<String, Object> garbageCollectorMetrics() {
+        Map<String, Object> resultsGarbageCollector = new HashMap<>();
+        double classesLoaded = 0.0D;
+        double classesUnloaded = 0.0D;
+        for (Meter meter : meters(GARBAGE_COLLECTOR)) {
+            String name = meter.getId().getName();
+            if (name.contains("jvm.classes.loaded")) {
+                classesLoaded += meter instanceof Gauge ? ((Gauge) meter).value() : 0.0D;
+            } else if (name.contains("jvm.classes.unloaded")) {
+                classesUnloaded += meter instanceof FunctionCounter ? ((FunctionCounter) meter).count() : 0.0D;
+            } else if (name.contains("jvm.gc.pause")) {
+                if (meter instanceof Timer) {
+                    resultsGarbageCollector.putIfAbsent(name, timerMetrics((Timer) meter, true));
+                }
+            } else if (meter instanceof Gauge) {
+                resultsGarbageCollector.put(name, ((Gauge) meter).value());
+            } else if (meter instanceof Counter) {
+                resultsGarbageCollector.put(name, ((Counter) meter).count());
+            }
+        }
+        resultsGarbageCollector.put("classesLoaded", classesLoaded);
+        resultsGarbageCollector.put("classesUnloaded", classesUnloaded);
+        return resultsGarbageCollector;
+    }
+
+    private Map<String, Map<String, Number>> databaseMetrics() {
+        Map<String, Map<String, Number>> resultsDatabase = new HashMap<>();
+        meters(DATABASES).forEach(meter -> {
+            String name = meter.getId().getName();
+            String key = name.substring(name.lastIndexOf('.') + 1);
+            if (meter instanceof Timer) {
+                resultsDatabase.computeIfAbsent(key, k -> new HashMap<>()).putAll(timerMetrics((Timer) meter, true));
+            } else if (meter instanceof Gauge) {
+                resultsDatabase.computeIfAbsent(key, k -> new HashMap<>()).put("value", ((Gauge) meter).value());
+            }
+        });
+        return resultsDatabase;
+    }
+
+    /**
+     * Aggregate the HTTP timers in one pass, by status code and by endpoint.
+     */
+    private Map<String, Map> httpRequestsMetrics() {
+        Map<String, Aggregate> perCode = new HashMap<>();
+        Map<String, Map<String, Aggregate>> perUri = new HashMap<>();
+        long countAllRequests = 0L;
+        for (Meter meter : meters(HTTP)) {
+            if (!(meter instanceof Timer)) {
+                continue;
+            }
+            Timer timer = (Timer) meter;
+            countAllRequests += timer.count();
+            perCode.computeIfAbsent(timer.getId().getTag("status"), code -> new Aggregate()).add(timer);
+            Map<String, Aggregate> perMethod = perUri.computeIfAbsent(timer.getId().getTag("uri"), uri -> new HashMap<>());
+            String method = timer.getId().getTag("method");
+            if (CRUD_OPERATIONS.contains(method)) {
+                perMethod.computeIfAbsent(method, operation -> new Aggregate()).add(timer);
+            }
+        }
+        Map<String, Map<String, Number>> resultsHttpPerCode = new HashMap<>();
+        perCode.forEach((code, aggregate) -> resultsHttpPerCode.put(code, aggregate.toMap()));
+        Map<String, Number> resultsHttpAll = new HashMap<>();
+        resultsHttpAll.put("count", countAllRequests);
+        Map<String, Map> resultsHttp = new HashMap<>();
+        resultsHttp.put("percode", resultsHttpPerCode);
+        resultsHttp.put("all", resultsHttpAll);
+
+        Map<String, Map> resultsHttpPerUri = new HashMap<>();
+        perUri.forEach((uri, perMethod) -> {
+            Map<String, Map<String, Number>> resultsPerUri = new HashMap<>();
+            perMethod.forEach((method, aggregate) -> {
+                if (aggregate.count != 0L) {
+                    resultsPerUri.put(method, aggregate.toMap());
+                }
+            });
+            resultsHttpPerUri.put(uri, resultsPerUri);
+        });
+
+        Map<String, Map> results = new HashMap<>();
+        results.put(HTTP, resultsHttp);
+        results.put(SERVICES, resultsHttpPerUri);
+        return results;
+    }
+
+    private Map<String, Map> backendMetrics() {
+        Map<List<String>, DistributionSummary> calls = new HashMap<>();
+        List<Timer> timers = new ArrayList<>();
+        meters(BACKENDS).forEach(meter -> {
+            if (meter instanceof Timer) {
+                timers.add((Timer) meter);
+            } else if (meter instanceof DistributionSummary) {
+                calls.put(backendKey(meter), (DistributionSummary) meter);
+            }
+        });
+        Map<String, Map> resultsPerUri = new HashMap<>();
+        timers.forEach(timer -> {
+            Map<String, Number> resultsPerBackend = new HashMap<>();
+            resultsPerBackend.put("count", timer.count());
+            resultsPerBackend.put("max", timer.max(TimeUnit.MILLISECONDS));
+            resultsPerBackend.put("mean", timer.mean(TimeUnit.MILLISECONDS));
+            DistributionSummary summary = calls.get(backendKey(timer));
+            if (summary != null) {
+                resultsPerBackend.put("calls", summary.mean());
+                resultsPerBackend.put("maxCalls", summary.max());
+            }
+            Meter.Id id = timer.getId();
+            Map<String, Map> resultsPerMethod = (Map) resultsPerUri.computeIfAbsent(id.getTag("uri"), key -> new HashMap());
+            ((Map) resultsPerMethod.computeIfAbsent(id.getTag("method"), key -> new HashMap()))
+                    .put(id.getTag("backend"), resultsPerBackend);
+        });
+        return resultsPerUri;
+    }
+
+    private static List<String> backendKey(Meter meter) {
+        Meter.Id id = meter.getId();
+        return Arrays.asList(id.getTag("uri"), id.getTag("method"), id.getTag("backend"));
+    }
+
+    private Map<String, Map<String, Number>> searchIndexMetrics() {
+        Map<String, Map<String, Number>> resultsPerIndex = new HashMap<>();
+        meters(SEARCH_INDICES).forEach(meter -> {
+            String index = meter.getId().getTag("index");
+            if (index == null) {
+                return;
+            }
+            Map<String, Number> resultsIndex = resultsPerIndex.computeIfAbsent(index, key -> new HashMap<>());
+            if (meter instanceof Timer) {
+                resultsIndex.putAll(timerMetrics((Timer) meter, false));
+            } else if (meter instanceof Gauge) {
+                resultsIndex.put(meter.getId().getName().substring("search.index.".length()), ((Gauge) meter).value());
+            } else if (meter instanceof Counter) {
+                // failed, rolled-back
+                resultsIndex.put(meter.getId().getName().substring(IndexLagMonitor.SYNC_METRIC_NAME.length() + 1),
+                        ((Counter) meter).count());
+            }
+        });
+        return resultsPerIndex;
+    }
+
+    private Map<String, Map<String, Number>> cacheMetrics() {
+        Map<String, Map<String, Number>> resultsCache = new HashMap<>();
+        meters(CACHE).forEach(meter -> {
+            String key = meter.getId().getName();
+            String name = meter.getId().getTag("name");
+            boolean counter = meter instanceof FunctionCounter && !key.contains("hibernate");
+            if (!counter && !(meter instanceof Gauge)) {
+                return;
+            }
+            if (name == null) {
+                log.warn("Missing name tag for metric {}", key);
+                return;
+            }
+            Map<String, Number> resultsPerCache = resultsCache.computeIfAbsent(name, k -> new HashMap<>());
+            if (counter) {
+                String result = meter.getId().getTag("result");
+                resultsPerCache.put(result != null ? key + "." + result : key, ((FunctionCounter) meter).count());
+            } else {
+                resultsPerCache.put(key, ((Gauge) meter).value());
+            }
+        });
+        return resultsCache;
+    }
+
+    private Map<String, Map<String, Number>> jvmMemoryMetrics() {
+        Map<String, Map<String, Number>> resultsJvm = new HashMap<>();
+        meters(JVM).forEach(meter -> {
+            if (!(meter instanceof Gauge)) {
+                return;
+            }
+            String name = meter.getId().getName();
+            String key = name.substring(name.lastIndexOf('.') + 1);
+            resultsJvm.computeIfAbsent(meter.getId().getTag("id"), id -> new HashMap<>()).put(key, ((Gauge) meter).value());
+        });
+        return resultsJvm;
+    }
+
+    private static Map<String, Number> timerMetrics(Timer timer, boolean totalTime) {
+        Map<String, Number> results = new HashMap<>();
+        results.put("count", timer.count());
+        results.put("max", timer.max(TimeUnit.MILLISECONDS));
+        results.put("mean", timer.mean(TimeUnit.MILLISECONDS));
+        if (totalTime) {
+            results.put("totalTime", timer.totalTime(TimeUnit.MILLISECONDS));
+        }
+        for (ValueAtPercentile percentile : timer.takeSnapshot().percentileValues()) {
+            results.put(String.valueOf(percentile.percentile()), percentile.value(TimeUnit.MILLISECONDS));
+        }
+        return results;
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <V> Map<String, V> immutable(Map<String, V> map) {
+        Map<String, V> copy = new HashMap<>(map.size());
+        map.forEach((key, value) -> copy.put(key, value instanceof Map ? (V) immutable((Map<String, Object>) value) : value));
+        return Collections.unmodifiableMap(copy);
+    }
+
+    @Override
+    public void close() {
+        executor.shutdownNow();
+    }
+
+    /**
+     * Count, maximum and total time of a group of timers.
+     */
+    private static final class Aggregate {
+
+        private long count;
+        private double max;
+        private double totalTime;
+
+        private void add(Timer timer) {
+            count += timer.count();
+            max = Math.max(max, timer.max(TimeUnit.MILLISECONDS));
+            totalTime += timer.totalTime(TimeUnit.MILLISECONDS);
+        }
+
+        private Map<String, Number> toMap() {
+            Map<String, Number> results = new HashMap<>();
+            results.put("count", count);
+            results.put("max", max);
+            results.put("mean", count != 0L ? totalTime / (double) count : 0.0D);
+            return results;
+        }
+    }
+}
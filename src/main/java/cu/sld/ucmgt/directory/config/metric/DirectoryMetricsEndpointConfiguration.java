@@ -1,5 +1,6 @@
 package cu.sld.ucmgt.directory.config.metric;
 
+import cu.sld.ucmgt.directory.config.AppProperties;
 import io.micrometer.core.annotation.Timed;
 import io.micrometer.core.instrument.MeterRegistry;
 import org.springframework.boot.actuate.autoconfigure.endpoint.condition.ConditionalOnAvailableEndpoint;
@@ -23,7 +24,16 @@ public class DirectoryMetricsEndpointConfiguration {
     //@ConditionalOnBean({MeterRegistry.class})
     @ConditionalOnMissingBean
     @ConditionalOnAvailableEndpoint
-    public DirectoryMetricsEndpoint directoryMetricsEndpoint(MeterRegistry meterRegistry){
-        return new DirectoryMetricsEndpoint(meterRegistry);
+    public DirectoryMetricsEndpoint directoryMetricsEndpoint(DirectoryMetricsAggregator directoryMetricsAggregator){
+        return new DirectoryMetricsEndpoint(directoryMetricsAggregator);
+    }
+
+    @Bean
+    @ConditionalOnMissingBean
+    @ConditionalOnAvailableEndpoint(endpoint = DirectoryMetricsEndpoint.class)
+    public DirectoryMetricsAggregator directoryMetricsAggregator(MeterRegistry meterRegistry, AppProperties appProperties) {
+        DirectoryMetricsAggregator aggregator = new DirectoryMetricsAggregator(meterRegistry);
+        aggregator.start(appProperties.getMetrics().getSnapshot().getIntervalSeconds());
+        return aggregator;
     }
 }
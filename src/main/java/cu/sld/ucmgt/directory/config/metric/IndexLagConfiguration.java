@@ -0,0 +1,22 @@
+package cu.sld.ucmgt.directory.config.metric;
+
+import cu.sld.ucmgt.directory.aop.timing.SearchTimingAspect;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.EnableAspectJAutoProxy;
+
+@Configuration
+@EnableAspectJAutoProxy
+public class IndexLagConfiguration {
+
+    @Bean
+    public IndexLagMonitor indexLagMonitor(MeterRegistry meterRegistry) {
+        return new IndexLagMonitor(meterRegistry);
+    }
+
+    @Bean
+    public SearchTimingAspect searchTimingAspect(IndexLagMonitor indexLagMonitor) {
+        return new SearchTimingAspect(indexLagMonitor);
+    }
+}
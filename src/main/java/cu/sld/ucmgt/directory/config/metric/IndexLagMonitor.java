@@ -0,0 +1,190 @@
+package cu.sld.ucmgt.directory.config.metric;
+
+import cu.sld.ucmgt.directory.config.jfr.IndexSyncEvent;
+import cu.sld.ucmgt.directory.config.timing.BackendTimings;
+import cu.sld.ucmgt.directory.config.timing.BackendTimings.Backend;
+import cu.sld.ucmgt.directory.config.timing.BackendTimings.TimedCall;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.lang.Nullable;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationAdapter;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Measure how long a committed change takes to become visible in the search indices.
+ * <p>
+ * Every index write carries the {@code lastModifiedDate} of its source entity, stamped by the auditing when
+ * the change is flushed, the lag is the time from that date until the written document is visible. The writes
+ * refresh the index, so an acknowledged document is searchable. The writes propagating a change to the
+ * documents of other indices do not know the date of the source entity, their lag is measured from the moment
+ * they are sent.
+ * <p>
+ * The writes sent from a read-write transaction precede the commit of their change, the document is only
+ * consistent with the database once the transaction commits. They stay pending until then, and their lag is
+ * measured up to the commit. The writes of the rolled back transactions are counted as
+ * {@code search.index.sync.rolled-back}, the index holds a change the database does not.
+ * <p>
+ * Per index, the lags are published as the {@code search.index.lag} histogram, the writes in flight as
+ * {@code search.index.sync.pending} and the failed writes as {@code search.index.sync.failed}. The
+ * {@code search.index.lag.max} gauge is the greatest of the recent lags and the age of the oldest write
+ * in flight, so a stuck synchronization raises it too. Every write is also recorded as an {@link IndexSyncEvent}.
+ */
+@Slf4j
+public class IndexLagMonitor {
+
+    public static final String METRIC_NAME = "search.index.lag";
+    public static final String SYNC_METRIC_NAME = "search.index.sync";
+
+    private final MeterRegistry meterRegistry;
+    private final Map<String, IndexState> indices = new ConcurrentHashMap<>();
+
+    public IndexLagMonitor(MeterRegistry meterRegistry) {
+        this.meterRegistry = meterRegistry;
+    }
+
+    /**
+     * Execute a write to the index, timing it as a call to Elasticsearch.
+     *
+     * @param index              the written index.
+     * @param sourceModifiedDate the {@code lastModifiedDate} of the flushed source entity, {@code null} when
+     *                           unknown.
+     * @param write              the write.
+     * @return the result of the write.
+     * @throws E the exception of the write, counted as a failed synchronization.
+     */
+    public <T, E extends Throwable> T write(String index, @Nullable Instant sourceModifiedDate,
+                                            TimedCall<T, E> write) throws E {
+        IndexState state = indices.computeIfAbsent(index, this::createState);
+        boolean beforeCommit = isInReadWriteTransaction();
+        Instant source = sourceModifiedDate != null ? sourceModifiedDate : Instant.now();
+        Long token = state.sequence.incrementAndGet();
+        state.pending.put(token, source);
+        IndexSyncEvent event = new IndexSyncEvent();
+        event.begin();
+        boolean settled = true;
+        try {
+            T result = BackendTimings.time(Backend.ELASTICSEARCH, write);
+            if (beforeCommit) {
+                TransactionSynchronizationManager.registerSynchronization(new CommitSynchronization(state, token, source));
+                settled = false;
+            } else {
+                state.visible(source);
+            }
+            event.finish(index, result, false);
+            return result;
+        } catch (Throwable e) {
+            state.failed.increment();
+            event.finish(index, null, true);
+            log.debug("Synchronization of the {} index failed: {}", index, e.toString());
+            throw e;
+        } finally {
+            if (settled) {
+                state.pending.remove(token);
+            }
+        }
+    }
+
+    private static boolean isInReadWriteTransaction() {
+        return TransactionSynchronizationManager.isSynchronizationActive()
+                && TransactionSynchronizationManager.isActualTransactionActive()
+                && !TransactionSynchronizationManager.isCurrentTransactionReadOnly();
+    }
+
+    private IndexState createState(String index) {
+        return new IndexState(index, meterRegistry);
+    }
+
+    private static final class IndexState {
+
+        private final AtomicLong sequence = new AtomicLong();
+        private final AtomicLong lastLagMillis = new AtomicLong();
+        private final Map<Long, Instant> pending = new ConcurrentHashMap<>();
+        private final Timer lag;
+        private final Counter failed;
+        private final Counter rolledBack;
+
+        private IndexState(String index, MeterRegistry registry) {
+            this.lag = Timer.builder(METRIC_NAME)
+                    .description("Time from the change of an entity to the acknowledgement of its refreshed index write")
+                    .tag("index", index)
+                    .publishPercentileHistogram()
+                    .publishPercentiles(0.5, 0.95, 0.99)
+                    .register(registry);
+            this.failed = Counter.builder(SYNC_METRIC_NAME + ".failed")
+                    .description("Index writes that failed")
+                    .tag("index", index)
+                    .register(registry);
+            this.rolledBack = Counter.builder(SYNC_METRIC_NAME + ".rolled-back")
+                    .description("Index writes of changes rolled back in the database")
+                    .tag("index", index)
+                    .register(registry);
+            Gauge.builder(SYNC_METRIC_NAME + ".pending", pending, Map::size)
+                    .description("Index writes sent and not acknowledged, or whose change is not committed yet")
+                    .tag("index", index)
+                    .register(registry);
+            Gauge.builder(METRIC_NAME + ".last", lastLagMillis, AtomicLong::get)
+                    .description("Lag of the last acknowledged index write")
+                    .tag("index", index)
+                    .baseUnit("milliseconds")
+                    .register(registry);
+            Gauge.builder(METRIC_NAME + ".max", this, IndexState::maxLagSeconds)
+                    .description("Greatest recent lag or age of the oldest index write in flight")
+                    .tag("index", index)
+                    .baseUnit("seconds")
+                    .register(registry);
+        }
+
+        private void visible(Instant source) {
+            long lagMillis = Math.max(Duration.between(source, Instant.now()).toMillis(), 0);
+            lastLagMillis.set(lagMillis);
+            lag.record(lagMillis, TimeUnit.MILLISECONDS);
+        }
+
+        private double maxLagSeconds() {
+            Instant now = Instant.now();
+            double oldestPending = pending.values().stream()
+                    .mapToDouble(source -> Duration.between(source, now).toMillis() / 1000.0)
+                    .max()
+                    .orElse(0.0);
+            return Math.max(lag.max(TimeUnit.SECONDS), oldestPending);
+        }
+    }
+
+    /**
+     * Settle a write sent before the commit of its change
+     */
+    private static final class CommitSynchronization extends TransactionSynchronizationAdapter {
+
+        private final IndexState state;
+        private final Long token;
+        private final Instant source;
+
+        private CommitSynchronization(IndexState state, Long token, Instant source) {
+            this.state = state;
+            this.token = token;
+            this.source = source;
+        }
+
+        @Override
+        public void afterCompletion(int status) {
+            state.pending.remove(token);
+            if (status == TransactionSynchronization.STATUS_COMMITTED) {
+                // the document was acknowledged before, it matches the database from the commit
+                state.visible(source);
+            } else {
+                state.rolledBack.increment();
+            }
+        }
+    }
+}
@@ -0,0 +1,28 @@
+package cu.sld.ucmgt.directory.config.metric;
+
+import cu.sld.ucmgt.directory.aop.timing.MethodTimingAspect;
+import cu.sld.ucmgt.directory.config.AppProperties;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.boot.actuate.autoconfigure.endpoint.condition.ConditionalOnAvailableEndpoint;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.EnableAspectJAutoProxy;
+
+@Configuration
+@EnableAspectJAutoProxy
+public class MethodTimingConfiguration {
+
+    @Bean
+    public MethodTimingAspect methodTimingAspect(MeterRegistry meterRegistry, AppProperties appProperties) {
+        AppProperties.Metrics.Methods methods = appProperties.getMetrics().getMethods();
+        return new MethodTimingAspect(meterRegistry,
+                new MethodTimingAspect.Settings(methods.isEnabled(), methods.getSampleRate(), methods.getPackages()),
+                methods.getMaxMethods());
+    }
+
+    @Bean
+    @ConditionalOnAvailableEndpoint
+    public MethodTimingEndpoint methodTimingEndpoint(MethodTimingAspect methodTimingAspect) {
+        return new MethodTimingEndpoint(methodTimingAspect);
+    }
+}
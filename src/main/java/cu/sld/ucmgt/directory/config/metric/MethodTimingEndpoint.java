@@ -0,0 +1,61 @@
+package cu.sld.ucmgt.directory.config.metric;
+
+import cu.sld.ucmgt.directory.aop.timing.MethodTimingAspect;
+import cu.sld.ucmgt.directory.aop.timing.MethodTimingAspect.Settings;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.actuate.endpoint.InvalidEndpointRequestException;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.boot.actuate.endpoint.annotation.WriteOperation;
+import org.springframework.lang.Nullable;
+import org.springframework.util.StringUtils;
+
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Endpoint reading and changing the settings of the {@link MethodTimingAspect} at runtime, the omitted
+ * parameters of a write keep their current value.
+ */
+@RequiredArgsConstructor
+@Endpoint(id = "methodtiming")
+public class MethodTimingEndpoint {
+    private final MethodTimingAspect methodTimingAspect;
+
+    @ReadOperation
+    public Map<String, Object> settings() {
+        Settings settings = methodTimingAspect.getSettings();
+        Map<String, Object> results = new LinkedHashMap<>();
+        results.put("enabled", settings.isEnabled());
+        results.put("sampleRate", settings.getSampleRate());
+        results.put("packages", settings.getPackages());
+        results.put("timedMethods", methodTimingAspect.getTimedMethods());
+        return results;
+    }
+
+    /**
+     * @param enabled    whether the methods are timed.
+     * @param sampleRate the fraction of the calls timed, between 0 and 1.
+     * @param packages   the timed packages, separated by commas.
+     * @return the new settings.
+     */
+    @WriteOperation
+    public Map<String, Object> configure(@Nullable Boolean enabled, @Nullable Double sampleRate,
+                                         @Nullable String packages) {
+        Settings current = methodTimingAspect.getSettings();
+        List<String> timedPackages = packages != null
+                ? Arrays.asList(StringUtils.tokenizeToStringArray(packages, ","))
+                : current.getPackages();
+        try {
+            methodTimingAspect.configure(new Settings(
+                    enabled != null ? enabled : current.isEnabled(),
+                    sampleRate != null ? sampleRate : current.getSampleRate(),
+                    timedPackages));
+        } catch (IllegalArgumentException e) {
+            throw new InvalidEndpointRequestException(e.getMessage(), e.getMessage());
+        }
+        return settings();
+    }
+}
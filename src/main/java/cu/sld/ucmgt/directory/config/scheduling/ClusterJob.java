@@ -0,0 +1,38 @@
+package cu.sld.ucmgt.directory.config.scheduling;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Run the annotated scheduled method on a single node of the Hazelcast cluster: the node holding the
+ * {@link JobLease} of the job runs it, the others skip it. The run is recorded in the {@link ScheduledJobRegistry}.
+ * <p>
+ * The lease is released as soon as the job ends, so a node firing the same schedule late, because of a skewed
+ * clock or a long pause, can get it after the run. Such a node finds the successful run in the registry and skips
+ * the firing as well, when it started less than {@link #minIntervalMinutes()} ago.
+ */
+@Documented
+@Target(ElementType.METHOD)
+@Retention(RetentionPolicy.RUNTIME)
+public @interface ClusterJob {
+
+    /**
+     * @return the name of the job, unique in the cluster.
+     */
+    String value();
+
+    /**
+     * @return the minutes after which the lease is released, when the node running the job hangs or leaves the
+     * cluster. Should be longer than the job.
+     */
+    long leaseMinutes() default 30;
+
+    /**
+     * @return the minutes after the start of a successful run during which the job is not run again, by any node.
+     * Should be longer than the clock skew between the nodes and shorter than the interval of the schedule.
+     */
+    long minIntervalMinutes() default 5;
+}
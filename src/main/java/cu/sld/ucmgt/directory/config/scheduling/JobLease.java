@@ -0,0 +1,64 @@
+package cu.sld.ucmgt.directory.config.scheduling;
+
+import lombok.Getter;
+
+import java.time.Instant;
+
+/**
+ * Lease of a job granted by the {@link ScheduledJobLock}, bound to the thread running the job.
+ * <p>
+ * The lease ends at its expiry date, or earlier when another node takes over the job: each grant carries a
+ * fence greater than the previous ones, so a node which lost its lease, after a long pause for instance, finds a
+ * greater fence in the cluster. Long jobs check their lease with {@link #checkValid()} before each unit of work.
+ * The check is advisory, see {@link ScheduledJobLock}.
+ */
+@Getter
+public class JobLease {
+
+    private static final ThreadLocal<JobLease> CURRENT = new ThreadLocal<>();
+
+    private final String job;
+    private final long fence;
+    private final Instant expiresAt;
+    private final ScheduledJobLock lock;
+
+    JobLease(String job, long fence, Instant expiresAt, ScheduledJobLock lock) {
+        this.job = job;
+        this.fence = fence;
+        this.expiresAt = expiresAt;
+        this.lock = lock;
+    }
+
+    /**
+     * @return {@code true} while the lease is not expired and no other node took over the job.
+     */
+    public boolean isValid() {
+        return Instant.now().isBefore(expiresAt) && lock.currentFence(job) == fence;
+    }
+
+    /**
+     * Stop the job running on the current thread when it lost its lease, nothing is checked outside a job.
+     *
+     * @throws IllegalStateException if the lease of the current job is no longer valid.
+     */
+    public static void checkValid() {
+        JobLease lease = CURRENT.get();
+        if (lease != null && !lease.isValid()) {
+            throw new IllegalStateException("Lost the lease of the job " + lease.job + " with fence " + lease.fence);
+        }
+    }
+
+    /**
+     * @param lease the lease of the job starting on the current thread, {@code null} once it ended.
+     * @return the previously bound lease.
+     */
+    public static JobLease bind(JobLease lease) {
+        JobLease previous = CURRENT.get();
+        if (lease != null) {
+            CURRENT.set(lease);
+        } else {
+            CURRENT.remove();
+        }
+        return previous;
+    }
+}
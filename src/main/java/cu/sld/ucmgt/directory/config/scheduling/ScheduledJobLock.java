@@ -0,0 +1,90 @@
+package cu.sld.ucmgt.directory.config.scheduling;
+
+import com.hazelcast.core.HazelcastInstance;
+import com.hazelcast.core.IMap;
+import cu.sld.ucmgt.directory.config.cache.IncrementCounter;
+import lombok.extern.slf4j.Slf4j;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cluster-wide lock of the scheduled jobs, backed by Hazelcast.
+ * <p>
+ * The lock of a job is the lock of its key in the {@code scheduled-job-fences} map, taken with a lease so it is
+ * released when the node running the job hangs or leaves the cluster. The value of the key is the fence of the
+ * current {@link JobLease}, incremented on each grant by the member owning the key.
+ * <p>
+ * The fence is advisory: it is only compared by the node holding the lease, in {@link JobLease#checkValid()},
+ * and not by the database the jobs write to. Neither the lock nor the fence is linearizable when the cluster
+ * splits, each side can grant the job. The jobs stop sooner once they lost their lease, but must stay correct
+ * when two nodes run them at once, as the chunked deletes of the audit purge do.
+ */
+@Slf4j
+public class ScheduledJobLock {
+
+    static final String FENCES_MAP = "scheduled-job-fences";
+
+    private final IMap<String, Long> fences;
+
+    public ScheduledJobLock(HazelcastInstance hazelcastInstance) {
+        this.fences = hazelcastInstance.getMap(FENCES_MAP);
+    }
+
+    /**
+     * Take the lock of the job without waiting.
+     *
+     * @param job       the name of the job.
+     * @param leaseTime the time after which the lock is released.
+     * @return the lease of the job, empty when another node holds it.
+     */
+    public Optional<JobLease> tryAcquire(String job, Duration leaseTime) {
+        try {
+            if (!fences.tryLock(job, 0, TimeUnit.MILLISECONDS, leaseTime.toMillis(), TimeUnit.MILLISECONDS)) {
+                return Optional.empty();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return Optional.empty();
+        }
+        Instant expiresAt = Instant.now().plus(leaseTime);
+        long fence = (Long) fences.executeOnKey(job, new IncrementCounter());
+        return Optional.of(new JobLease(job, fence, expiresAt, this));
+    }
+
+    /**
+     * Release the lock of the job, unless the lease expired and another node took the job over.
+     *
+     * @param lease the lease returned by {@link #tryAcquire(String, Duration)}.
+     */
+    public void release(JobLease lease) {
+        if (currentFence(lease.getJob()) != lease.getFence()) {
+            log.warn("The job {} was taken over by another node, fence {} is stale", lease.getJob(), lease.getFence());
+            return;
+        }
+        try {
+            fences.unlock(lease.getJob());
+        } catch (IllegalMonitorStateException e) {
+            log.warn("The lease of the job {} expired before the job ended", lease.getJob());
+        }
+    }
+
+    /**
+     * @param job the name of the job.
+     * @return whether a node holds the lock of the job.
+     */
+    public boolean isLocked(String job) {
+        return fences.isLocked(job);
+    }
+
+    /**
+     * @param job the name of the job.
+     * @return the fence of the last lease granted for the job, 0 if none was granted.
+     */
+    public long currentFence(String job) {
+        Long fence = fences.get(job);
+        return fence != null ? fence : 0;
+    }
+}
@@ -0,0 +1,131 @@
+package cu.sld.ucmgt.directory.config.scheduling;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.Getter;
+
+import java.io.Serializable;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Map;
+import java.util.Optional;
+import java.util.TreeMap;
+
+/**
+ * Registry of the last run of each scheduled job in the cluster: the node, the fence of its lease, the start,
+ * duration and outcome. The runs are kept in a Hazelcast map, so every node reads the same registry, and
+ * timed in the {@code scheduled.job} timer, tagged by job and outcome.
+ */
+public class ScheduledJobRegistry {
+
+    public static final String RUNS_MAP = "scheduled-job-runs";
+    public static final String METRIC_NAME = "scheduled.job";
+
+    private final Map<String, JobRun> runs;
+    private final MeterRegistry meterRegistry;
+    private final String node;
+
+    /**
+     * @param runs          the shared map of the runs.
+     * @param meterRegistry the registry of the run timers.
+     * @param node          the name of the local node.
+     */
+    public ScheduledJobRegistry(Map<String, JobRun> runs, MeterRegistry meterRegistry, String node) {
+        this.runs = runs;
+        this.meterRegistry = meterRegistry;
+        this.node = node;
+    }
+
+    /**
+     * Record a run of the job on the local node.
+     *
+     * @param lease     the lease under which the job ran.
+     * @param startedAt the start of the run.
+     * @param duration  the duration of the run.
+     * @param failure   the exception thrown by the job, {@code null} when it succeeded.
+     */
+    public void record(JobLease lease, Instant startedAt, Duration duration, Throwable failure) {
+        Outcome outcome = failure == null ? Outcome.SUCCESS : Outcome.FAILURE;
+        runs.put(lease.getJob(), new JobRun(lease.getJob(), node, lease.getFence(), startedAt, duration.toMillis(),
+                outcome, failure != null ? failure.toString() : null));
+        Timer.builder(METRIC_NAME)
+                .description("Duration of the scheduled jobs run by this node")
+                .tag("job", lease.getJob())
+                .tag("outcome", outcome.name())
+                .register(meterRegistry)
+                .record(duration);
+    }
+
+    /**
+     * Count a run skipped by the local node because another node holds the job.
+     *
+     * @param job the name of the job.
+     */
+    public void skipped(String job) {
+        Counter.builder(METRIC_NAME + ".skipped")
+                .description("Scheduled jobs skipped by this node, as another node was running them")
+                .tag("job", job)
+                .register(meterRegistry)
+                .increment();
+    }
+
+    /**
+     * @return the last run of every job, by job name.
+     */
+    public Map<String, JobRun> getRuns() {
+        return new TreeMap<>(runs);
+    }
+
+    /**
+     * @param job the name of the job.
+     * @return the last run of the job.
+     */
+    public Optional<JobRun> getRun(String job) {
+        return Optional.ofNullable(runs.get(job));
+    }
+
+    /**
+     * @param job   the name of the job.
+     * @param since the date from which the runs are considered.
+     * @return whether the last run of the job, on any node, succeeded and started after the date.
+     */
+    public boolean succeededSince(String job, Instant since) {
+        return getRun(job)
+                .filter(run -> run.getOutcome() == Outcome.SUCCESS)
+                .filter(run -> run.getStartedAt().isAfter(since))
+                .isPresent();
+    }
+
+    public enum Outcome {
+        SUCCESS, FAILURE
+    }
+
+    /**
+     * Last run of a job.
+     */
+    @Getter
+    public static class JobRun implements Serializable {
+
+        private static final long serialVersionUID = 1L;
+
+        private final String job;
+        private final String node;
+        private final long fence;
+        private final Instant startedAt;
+        private final long durationMillis;
+        private final Outcome outcome;
+        private final String error;
+
+        public JobRun(String job, String node, long fence, Instant startedAt, long durationMillis, Outcome outcome,
+                      String error) {
+            this.job = job;
+            this.node = node;
+            this.fence = fence;
+            this.startedAt = startedAt;
+            this.durationMillis = durationMillis;
+            this.outcome = outcome;
+            this.error = error;
+        }
+    }
+}
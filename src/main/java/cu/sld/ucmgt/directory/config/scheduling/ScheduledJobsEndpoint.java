@@ -0,0 +1,45 @@
+package cu.sld.ucmgt.directory.config.scheduling;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.boot.actuate.endpoint.annotation.Selector;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Endpoint listing the {@link ClusterJob}s of the cluster: the last run of each job and whether a node is
+ * running it now.
+ */
+@RequiredArgsConstructor
+@Endpoint(id = "scheduledjobs")
+public class ScheduledJobsEndpoint {
+
+    private final ScheduledJobLock scheduledJobLock;
+    private final ScheduledJobRegistry scheduledJobRegistry;
+
+    @ReadOperation
+    public Map<String, Map<String, Object>> jobs() {
+        Map<String, Map<String, Object>> results = new LinkedHashMap<>();
+        scheduledJobRegistry.getRuns().forEach((job, run) -> results.put(job, describe(job, run)));
+        return results;
+    }
+
+    /**
+     * @param job the name of the job.
+     * @return the last run of the job, {@code null} (404) if it never ran.
+     */
+    @ReadOperation
+    public Map<String, Object> job(@Selector String job) {
+        return scheduledJobRegistry.getRun(job).map(run -> describe(job, run)).orElse(null);
+    }
+
+    private Map<String, Object> describe(String job, ScheduledJobRegistry.JobRun run) {
+        Map<String, Object> result = new LinkedHashMap<>();
+        result.put("running", scheduledJobLock.isLocked(job));
+        result.put("fence", scheduledJobLock.currentFence(job));
+        result.put("lastRun", run);
+        return result;
+    }
+}
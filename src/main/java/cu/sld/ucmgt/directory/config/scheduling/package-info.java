@@ -0,0 +1,4 @@
+/**
+ * Cluster-wide single execution of the scheduled jobs and the registry of their runs.
+ */
+package cu.sld.ucmgt.directory.config.scheduling;
@@ -0,0 +1,131 @@
+package cu.sld.ucmgt.directory.config.timing;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Time and number of calls to each {@link Backend} while serving a request.
+ * <p>
+ * The timings are bound to the thread serving the request by {@link #start()}, the calls made by that thread
+ * are added with {@link #time(Backend, TimedCall)}. The calls completed by an I/O thread of a client add their
+ * time to the timings captured with {@link #current()} when the call was made, hence the atomic counters.
+ */
+public final class BackendTimings {
+
+    public enum Backend {
+        DATABASE("db", "Postgres"),
+        ELASTICSEARCH("es", "Elasticsearch"),
+        STORAGE("storage", "MinIO");
+
+        private final String metricName;
+        private final String description;
+
+        Backend(String metricName, String description) {
+            this.metricName = metricName;
+            this.description = description;
+        }
+
+        public String getMetricName() {
+            return metricName;
+        }
+
+        public String getDescription() {
+            return description;
+        }
+    }
+
+    @FunctionalInterface
+    public interface TimedCall<T, E extends Throwable> {
+        T call() throws E;
+    }
+
+    @FunctionalInterface
+    public interface TimedRunnable<E extends Throwable> {
+        void run() throws E;
+    }
+
+    private static final ThreadLocal<BackendTimings> CURRENT = new ThreadLocal<>();
+
+    private final long startNanos = System.nanoTime();
+    private final AtomicLongArray nanos = new AtomicLongArray(Backend.values().length);
+    private final AtomicLongArray calls = new AtomicLongArray(Backend.values().length);
+
+    private BackendTimings() {
+    }
+
+    /**
+     * Bind new timings to the current thread, unless timings are already bound.
+     *
+     * @return the new timings, or {@code null} when the thread already had timings.
+     */
+    public static BackendTimings start() {
+        if (CURRENT.get() != null) {
+            return null;
+        }
+        BackendTimings timings = new BackendTimings();
+        CURRENT.set(timings);
+        return timings;
+    }
+
+    /**
+     * Unbind the timings from the current thread.
+     */
+    public void stop() {
+        if (CURRENT.get() == this) {
+            CURRENT.remove();
+        }
+    }
+
+    /**
+     * @return the timings bound to the current thread, {@code null} outside of a request.
+     */
+    public static BackendTimings current() {
+        return CURRENT.get();
+    }
+
+    public static <T, E extends Throwable> T time(Backend backend, TimedCall<T, E> call) throws E {
+        BackendTimings timings = CURRENT.get();
+        if (timings == null) {
+            return call.call();
+        }
+        long start = System.nanoTime();
+        try {
+            return call.call();
+        } finally {
+            timings.add(backend, 1, System.nanoTime() - start);
+        }
+    }
+
+    public static <E extends Throwable> void run(Backend backend, TimedRunnable<E> runnable) throws E {
+        time(backend, () -> {
+            runnable.run();
+            return null;
+        });
+    }
+
+    /**
+     * Add calls timed by a client listener to the timings of the current thread.
+     */
+    public static void record(Backend backend, int callCount, long elapsedNanos) {
+        BackendTimings timings = CURRENT.get();
+        if (timings != null) {
+            timings.add(backend, callCount, elapsedNanos);
+        }
+    }
+
+    public void add(Backend backend, int callCount, long elapsedNanos) {
+        calls.addAndGet(backend.ordinal(), callCount);
+        nanos.addAndGet(backend.ordinal(), elapsedNanos);
+    }
+
+    public long getNanos(Backend backend) {
+        return nanos.get(backend.ordinal());
+    }
+
+    public long getCalls(Backend backend) {
+        return calls.get(backend.ordinal());
+    }
+
+    public long getElapsedNanos() {
+        return System.nanoTime() - startNanos;
+    }
+}
@@ -0,0 +1,45 @@
+package cu.sld.ucmgt.directory.config.timing;
+
+import cu.sld.ucmgt.directory.config.timing.BackendTimings.Backend;
+import okhttp3.Call;
+import okhttp3.EventListener;
+import org.springframework.lang.NonNull;
+
+import java.io.IOException;
+
+/**
+ * Listener of the HTTP calls of the MinIO client. The client completes its calls on the OkHttp threads,
+ * so the {@link BackendTimings} of the request are captured when the call is created, by the thread making it.
+ */
+public class StorageTimingListener extends EventListener {
+
+    public static final Factory FACTORY = call -> new StorageTimingListener(BackendTimings.current());
+
+    private final BackendTimings timings;
+    private volatile long startNanos;
+
+    private StorageTimingListener(BackendTimings timings) {
+        this.timings = timings;
+    }
+
+    @Override
+    public void callStart(@NonNull Call call) {
+        startNanos = System.nanoTime();
+    }
+
+    @Override
+    public void callEnd(@NonNull Call call) {
+        record();
+    }
+
+    @Override
+    public void callFailed(@NonNull Call call, @NonNull IOException ioe) {
+        record();
+    }
+
+    private void record() {
+        if (timings != null) {
+            timings.add(Backend.STORAGE, 1, System.nanoTime() - startNanos);
+        }
+    }
+}
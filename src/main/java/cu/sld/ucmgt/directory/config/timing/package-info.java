@@ -0,0 +1,4 @@
+/**
+ * Time spent by each request in the database, Elasticsearch and the object storage.
+ */
+package cu.sld.ucmgt.directory.config.timing;
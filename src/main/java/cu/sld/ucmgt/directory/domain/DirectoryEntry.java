@@ -0,0 +1,151 @@
+package cu.sld.ucmgt.directory.domain;
+
+import lombok.Data;
+import org.hibernate.annotations.Immutable;
+
+import javax.persistence.*;
+import java.io.Serializable;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Objects;
+import java.util.UUID;
+
+/**
+ * Flattened read projection of {@link Employee} and {@link Student} with the names of their nomenclatures
+ * and workplace, so the listings and filters read a single table instead of joining person, employee or
+ * student and every association. Rows are written in the same transaction as the person by
+ * {@link cu.sld.ucmgt.directory.repository.DirectoryEntryListener}, never through this entity.
+ */
+@Data
+@Entity
+@Immutable
+@Table(name = "directory_entry")
+public class DirectoryEntry implements Serializable {
+    private static final long serialVersionUID = 1L;
+
+    public enum Type {
+        EMPLOYEE, STUDENT
+    }
+
+    @Id
+    @Column(name = "id", updatable = false, nullable = false)
+    private UUID id;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false)
+    private Type type;
+
+    private String ci;
+
+    private String name;
+
+    private String email;
+
+    private String avatarUrl;
+
+    private String address;
+
+    private String firstLastName;
+
+    private String secondLastName;
+
+    @Enumerated(EnumType.STRING)
+    private Gender gender;
+
+    private LocalDate birthdate;
+
+    private String race;
+
+    private UUID districtId;
+
+    private String districtName;
+
+    private UUID specialtyId;
+
+    private String specialtyName;
+
+    // employee columns
+
+    private LocalDateTime startDate;
+
+    private LocalDateTime endDate;
+
+    private Integer graduateYears;
+
+    private Boolean isGraduatedBySector;
+
+    private Integer serviceYears;
+
+    private Integer salary;
+
+    private String registerNumber;
+
+    private Boolean bossWorkPlace;
+
+    private String professionalNumber;
+
+    private UUID workPlaceId;
+
+    private String workPlaceName;
+
+    private UUID categoryId;
+
+    private String categoryName;
+
+    private UUID scientificDegreeId;
+
+    private String scientificDegreeName;
+
+    private UUID teachingCategoryId;
+
+    private String teachingCategoryName;
+
+    private UUID chargeId;
+
+    private String chargeName;
+
+    private UUID professionId;
+
+    private String professionName;
+
+    // student columns
+
+    private String classRoom;
+
+    private Integer universityYear;
+
+    private String residence;
+
+    private UUID kindId;
+
+    private String kindName;
+
+    private UUID studyCenterId;
+
+    private String studyCenterName;
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (!(o instanceof DirectoryEntry)) return false;
+
+        return id != null && id.equals(((DirectoryEntry) o).id);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(id);
+    }
+
+    @Override
+    public String toString() {
+        return "DirectoryEntry{" +
+                "id=" + id +
+                ", type=" + type +
+                ", ci='" + ci + '\'' +
+                ", name='" + name + '\'' +
+                ", firstLastName='" + firstLastName + '\'' +
+                ", secondLastName='" + secondLastName + '\'' +
+                '}';
+    }
+}
@@ -1,11 +1,14 @@
 package cu.sld.ucmgt.directory.domain;
 
+import cu.sld.ucmgt.directory.domain.id.TimeOrderedUUIDGenerationStrategy;
 import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
 import com.google.common.base.Objects;
 import lombok.Data;
 import org.hibernate.annotations.Cache;
 import org.hibernate.annotations.CacheConcurrencyStrategy;
 import org.hibernate.annotations.GenericGenerator;
+import org.hibernate.annotations.Parameter;
+import org.hibernate.id.UUIDGenerator;
 
 import javax.persistence.*;
 import javax.validation.constraints.NotBlank;
@@ -22,7 +25,9 @@ public class Nomenclature extends AbstractAuditingEntity implements Serializable
 
     @Id
     @GeneratedValue(generator = "UUID")
-    @GenericGenerator(name = "UUID", strategy = "org.hibernate.id.UUIDGenerator")
+    @GenericGenerator(name = "UUID", strategy = "org.hibernate.id.UUIDGenerator", parameters = {
+            @Parameter(name = UUIDGenerator.UUID_GEN_STRATEGY_CLASS, value = TimeOrderedUUIDGenerationStrategy.STRATEGY_CLASS)
+    })
     @Column(name = "id", updatable = false, nullable = false)
     private UUID id;
 
@@ -35,12 +40,10 @@ public class Nomenclature extends AbstractAuditingEntity implements Serializable
     private NomenclatureType discriminator;
 
     @OneToMany(mappedBy = "district")
-    @Cache(usage = CacheConcurrencyStrategy.READ_WRITE)
     @JsonIgnoreProperties(value = { "district", "specialty" }, allowSetters = true)
     private Set<Person> peopleDistrict = new HashSet<>();
 
     @OneToMany(mappedBy = "specialty")
-    @Cache(usage = CacheConcurrencyStrategy.READ_WRITE)
     @JsonIgnoreProperties(value = { "district", "specialty" }, allowSetters = true)
     private Set<Person> peopleSpecialty = new HashSet<>();
 
@@ -53,7 +56,6 @@ public class Nomenclature extends AbstractAuditingEntity implements Serializable
             "scientificDegree",
             "teachingCategory"
     }, allowSetters = true)
-    @Cache(usage = CacheConcurrencyStrategy.READ_WRITE)
     private Set<Employee> employeesCategory = new HashSet<>();
 
     @OneToMany(mappedBy = "scientificDegree")
@@ -65,7 +67,6 @@ public class Nomenclature extends AbstractAuditingEntity implements Serializable
             "scientificDegree",
             "teachingCategory"
     }, allowSetters = true)
-    @Cache(usage = CacheConcurrencyStrategy.READ_WRITE)
     private Set<Employee> employeesScientificDegree = new HashSet<>();
 
     @OneToMany(mappedBy = "teachingCategory")
@@ -77,7 +78,6 @@ public class Nomenclature extends AbstractAuditingEntity implements Serializable
             "scientificDegree",
             "teachingCategory"
     }, allowSetters = true)
-    @Cache(usage = CacheConcurrencyStrategy.READ_WRITE)
     private Set<Employee> employeesTeachingCategory = new HashSet<>();
 
     @OneToMany(mappedBy = "charge")
@@ -89,7 +89,6 @@ public class Nomenclature extends AbstractAuditingEntity implements Serializable
             "scientificDegree",
             "teachingCategory"
     }, allowSetters = true)
-    @Cache(usage = CacheConcurrencyStrategy.READ_WRITE)
     private Set<Employee> employeesCharge = new HashSet<>();
 
     @OneToMany(mappedBy = "profession")
@@ -101,7 +100,6 @@ public class Nomenclature extends AbstractAuditingEntity implements Serializable
             "scientificDegree",
             "teachingCategory"
     }, allowSetters = true)
-    @Cache(usage = CacheConcurrencyStrategy.READ_WRITE)
     private Set<Employee> employeesProfession = new HashSet<>();
 
     @OneToMany(mappedBy = "kind")
@@ -111,7 +109,6 @@ public class Nomenclature extends AbstractAuditingEntity implements Serializable
             "specialty",
             "studyCenter"
     }, allowSetters = true)
-    @Cache(usage = CacheConcurrencyStrategy.READ_WRITE)
     private Set<Student> studentsKind = new HashSet<>();
 
     @OneToMany(mappedBy = "studyCenter")
@@ -121,7 +118,6 @@ public class Nomenclature extends AbstractAuditingEntity implements Serializable
             "specialty",
             "studyCenter"
     }, allowSetters = true)
-    @Cache(usage = CacheConcurrencyStrategy.READ_WRITE)
     private Set<Student> studentsStudyCenter = new HashSet<>();
 
 
@@ -1,7 +1,10 @@
 package cu.sld.ucmgt.directory.domain;
 
+import cu.sld.ucmgt.directory.domain.id.TimeOrderedUUIDGenerationStrategy;
 import lombok.Data;
 import org.hibernate.annotations.GenericGenerator;
+import org.hibernate.annotations.Parameter;
+import org.hibernate.id.UUIDGenerator;
 
 import javax.persistence.*;
 import javax.validation.constraints.NotNull;
@@ -24,7 +27,9 @@ public class PersistentAuditEvent implements Serializable {
 
     @Id
     @GeneratedValue(generator = "UUID")
-    @GenericGenerator(name = "UUID", strategy = "org.hibernate.id.UUIDGenerator")
+    @GenericGenerator(name = "UUID", strategy = "org.hibernate.id.UUIDGenerator", parameters = {
+            @Parameter(name = UUIDGenerator.UUID_GEN_STRATEGY_CLASS, value = TimeOrderedUUIDGenerationStrategy.STRATEGY_CLASS)
+    })
     @Column(name = "event_id", updatable = false, nullable = false)
     protected UUID id;
 
@@ -41,7 +46,9 @@ public class PersistentAuditEvent implements Serializable {
     @ElementCollection
     @MapKeyColumn(name = "name")
     @Column(name = "value")
-    @CollectionTable(name = "audit_evt_data", joinColumns = @JoinColumn(name = "event_id"))
+    // no foreign key, persistent_audit_event is partitioned by month, see V4__audit_event_partitions.sql
+    @CollectionTable(name = "audit_evt_data", joinColumns = @JoinColumn(name = "event_id"),
+            foreignKey = @ForeignKey(ConstraintMode.NO_CONSTRAINT))
     private Map<String, String> data = new HashMap<>();
 
     @Override
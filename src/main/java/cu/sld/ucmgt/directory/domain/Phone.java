@@ -1,10 +1,13 @@
 package cu.sld.ucmgt.directory.domain;
 
+import cu.sld.ucmgt.directory.domain.id.TimeOrderedUUIDGenerationStrategy;
 import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
 import lombok.Data;
 import org.hibernate.annotations.Cache;
 import org.hibernate.annotations.CacheConcurrencyStrategy;
 import org.hibernate.annotations.GenericGenerator;
+import org.hibernate.annotations.Parameter;
+import org.hibernate.id.UUIDGenerator;
 
 import javax.persistence.*;
 import javax.validation.constraints.NotBlank;
@@ -20,7 +23,9 @@ public class Phone extends AbstractAuditingEntity implements Serializable {
 
     @Id
     @GeneratedValue(generator = "UUID")
-    @GenericGenerator(name = "UUID", strategy = "org.hibernate.id.UUIDGenerator")
+    @GenericGenerator(name = "UUID", strategy = "org.hibernate.id.UUIDGenerator", parameters = {
+            @Parameter(name = UUIDGenerator.UUID_GEN_STRATEGY_CLASS, value = TimeOrderedUUIDGenerationStrategy.STRATEGY_CLASS)
+    })
     @Column(name = "id", updatable = false, nullable = false)
     private UUID id;
 
@@ -2,8 +2,7 @@ package cu.sld.ucmgt.directory.domain;
 
 import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
 import lombok.Data;
-import org.hibernate.annotations.Cache;
-import org.hibernate.annotations.CacheConcurrencyStrategy;
+import org.hibernate.annotations.DynamicUpdate;
 
 import javax.persistence.Entity;
 import javax.persistence.ManyToOne;
@@ -14,7 +13,7 @@ import java.util.Objects;
 
 @Data
 @Entity
-@Cache(usage = CacheConcurrencyStrategy.READ_WRITE)
+@DynamicUpdate
 public class Student extends Person implements Serializable {
 
     @NotBlank
@@ -1,9 +1,12 @@
 package cu.sld.ucmgt.directory.domain;
 
+import cu.sld.ucmgt.directory.domain.id.TimeOrderedUUIDGenerationStrategy;
 import lombok.Data;
 import org.hibernate.annotations.Cache;
 import org.hibernate.annotations.CacheConcurrencyStrategy;
 import org.hibernate.annotations.GenericGenerator;
+import org.hibernate.annotations.Parameter;
+import org.hibernate.id.UUIDGenerator;
 
 import javax.persistence.*;
 import javax.validation.constraints.Email;
@@ -22,7 +25,9 @@ public class WorkPlace extends AbstractAuditingEntity implements Serializable {
 
     @Id
     @GeneratedValue(generator = "UUID")
-    @GenericGenerator(name = "UUID", strategy = "org.hibernate.id.UUIDGenerator")
+    @GenericGenerator(name = "UUID", strategy = "org.hibernate.id.UUIDGenerator", parameters = {
+            @Parameter(name = UUIDGenerator.UUID_GEN_STRATEGY_CLASS, value = TimeOrderedUUIDGenerationStrategy.STRATEGY_CLASS)
+    })
     @Column(name = "id", updatable = false, nullable = false)
     private UUID id;
 
@@ -39,11 +44,9 @@ public class WorkPlace extends AbstractAuditingEntity implements Serializable {
     private String description;
 
     @OneToMany(mappedBy = "workPlace")
-    @Cache(usage = CacheConcurrencyStrategy.READ_WRITE)
     private Set<Employee> employees = new HashSet<>();
 
     @OneToMany(mappedBy = "workPlace", cascade = CascadeType.PERSIST, orphanRemoval = true)
-    @Cache(usage = CacheConcurrencyStrategy.READ_WRITE)
     private Set<Phone> phones = new HashSet<>();
 
     public void removeEmployee(Employee employee) {
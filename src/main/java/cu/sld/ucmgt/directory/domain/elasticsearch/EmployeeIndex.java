@@ -49,6 +49,7 @@ public class EmployeeIndex extends PersonIndex {
                 ", district='" + district + '\'' +
                 ", specialty='" + specialty + '\'' +
                 ", birthdate=" + birthdate +
+                ", lastModifiedDate=" + lastModifiedDate +
                 '}';
     }
 }
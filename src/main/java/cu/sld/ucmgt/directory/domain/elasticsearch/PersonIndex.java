@@ -17,7 +17,7 @@ import java.time.LocalDate;
 import java.util.UUID;
 
 @Data
-public abstract class PersonIndex {
+public abstract class PersonIndex implements SourceDocument {
 
     protected UUID id;
 
@@ -50,6 +50,9 @@ public abstract class PersonIndex {
     @Field(type = FieldType.Date, format = DateFormat.date_optional_time)
     protected LocalDate birthdate;
 
+    @Field(type = FieldType.Date, format = DateFormat.epoch_millis)
+    protected Long lastModifiedDate;
+
     @Override
     public boolean equals(Object o) {
         if (this == o) return true;
@@ -79,6 +82,7 @@ public abstract class PersonIndex {
                 ", district='" + district + '\'' +
                 ", specialty='" + specialty + '\'' +
                 ", birthdate=" + birthdate +
+                ", lastModifiedDate=" + lastModifiedDate +
                 '}';
     }
 }
@@ -1,6 +1,7 @@
 package cu.sld.ucmgt.directory.domain.elasticsearch;
 
 import lombok.Data;
+import org.springframework.data.elasticsearch.annotations.DateFormat;
 import org.springframework.data.elasticsearch.annotations.Document;
 import org.springframework.data.elasticsearch.annotations.Field;
 import org.springframework.data.elasticsearch.annotations.FieldType;
@@ -10,16 +11,21 @@ import java.util.UUID;
 
 @Data
 @Document(indexName = "phones")
-public class PhoneIndex {
+public class PhoneIndex implements SourceDocument {
 
     private UUID id;
 
     private String number;
 
+    private Boolean active;
+
     @Field(type = FieldType.Text)
     private String description;
 
     private EmployeeIndex employee;
 
     private WorkPlaceIndex workPlace;
+
+    @Field(type = FieldType.Date, format = DateFormat.epoch_millis)
+    private Long lastModifiedDate;
 }
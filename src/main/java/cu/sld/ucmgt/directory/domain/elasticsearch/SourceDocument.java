@@ -0,0 +1,13 @@
+package cu.sld.ucmgt.directory.domain.elasticsearch;
+
+/**
+ * Search document copied from an entity, stamped with the {@code lastModifiedDate} of that entity
+ * to measure how long its changes take to become searchable.
+ */
+public interface SourceDocument {
+
+    /**
+     * @return the {@code lastModifiedDate} of the source entity, in epoch milliseconds.
+     */
+    Long getLastModifiedDate();
+}
@@ -36,6 +36,7 @@ public class StudentIndex extends PersonIndex {
                 ", district='" + district + '\'' +
                 ", specialty='" + specialty + '\'' +
                 ", birthdate=" + birthdate +
+                ", lastModifiedDate=" + lastModifiedDate +
                 '}';
     }
 }
@@ -1,6 +1,7 @@
 package cu.sld.ucmgt.directory.domain.elasticsearch;
 
 import lombok.Data;
+import org.springframework.data.elasticsearch.annotations.DateFormat;
 import org.springframework.data.elasticsearch.annotations.Document;
 import org.springframework.data.elasticsearch.annotations.Field;
 import org.springframework.data.elasticsearch.annotations.FieldType;
@@ -11,7 +12,7 @@ import java.util.UUID;
 
 @Data
 @Document(indexName = "workplaces")
-public class WorkPlaceIndex {
+public class WorkPlaceIndex implements SourceDocument {
 
     private UUID id;
 
@@ -19,6 +20,8 @@ public class WorkPlaceIndex {
 
     private String email;
 
+    private Boolean active;
+
     private String avatarUrl;
 
     @Field(type = FieldType.Text)
@@ -27,4 +30,7 @@ public class WorkPlaceIndex {
     private Set<EmployeeIndex> employees = new HashSet<>();
 
     private Set<PhoneIndex> phones = new HashSet<>();
+
+    @Field(type = FieldType.Date, format = DateFormat.epoch_millis)
+    private Long lastModifiedDate;
 }
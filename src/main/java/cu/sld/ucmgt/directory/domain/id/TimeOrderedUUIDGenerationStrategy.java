@@ -0,0 +1,68 @@
+package cu.sld.ucmgt.directory.domain.id;
+
+import org.hibernate.engine.spi.SharedSessionContractImplementor;
+import org.hibernate.id.UUIDGenerationStrategy;
+
+import java.security.SecureRandom;
+import java.util.UUID;
+
+/**
+ * {@link UUIDGenerationStrategy} producing time-ordered UUIDs with the layout of the version 7 draft:
+ * 48 bits of Unix epoch milliseconds, the version, a 12 bits counter to keep ordering inside the same
+ * millisecond, the IETF variant and 62 random bits.
+ * <p>
+ * Consecutive ids land on the right edge of the primary and foreign key indices instead of random pages.
+ * Used through {@link org.hibernate.id.UUIDGenerator} with the {@code uuid_gen_strategy_class} parameter,
+ * so the ids are still plain {@link UUID}.
+ */
+public class TimeOrderedUUIDGenerationStrategy implements UUIDGenerationStrategy {
+
+    private static final long serialVersionUID = 1L;
+
+    public static final String STRATEGY_CLASS = "cu.sld.ucmgt.directory.domain.id.TimeOrderedUUIDGenerationStrategy";
+
+    private static final int MAX_COUNTER = 0xFFF;
+
+    private static final SecureRandom RANDOM = new SecureRandom();
+
+    private long lastTimestamp = -1L;
+
+    private int counter;
+
+    @Override
+    public int getGeneratedVersion() {
+        return 7;
+    }
+
+    @Override
+    public UUID generateUUID(SharedSessionContractImplementor session) {
+        return generate();
+    }
+
+    /**
+     * Generate a new time-ordered {@link UUID}, greater than every id previously generated by this instance.
+     *
+     * @return generated id
+     */
+    public UUID generate() {
+        long timestamp;
+        int sequence;
+        synchronized (this) {
+            long now = System.currentTimeMillis();
+            if (now > lastTimestamp) {
+                lastTimestamp = now;
+                // start at a random point of the lower half so the counter rarely overflows
+                counter = RANDOM.nextInt(MAX_COUNTER / 2);
+            } else if (++counter > MAX_COUNTER) {
+                // counter exhausted or clock moved backwards, borrow the next millisecond
+                lastTimestamp++;
+                counter = 0;
+            }
+            timestamp = lastTimestamp;
+            sequence = counter;
+        }
+        long mostSigBits = (timestamp << 16) | (0x7L << 12) | sequence;
+        long leastSigBits = (RANDOM.nextLong() & 0x3FFFFFFFFFFFFFFFL) | 0x8000000000000000L;
+        return new UUID(mostSigBits, leastSigBits);
+    }
+}
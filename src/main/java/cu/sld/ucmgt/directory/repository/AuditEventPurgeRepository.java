@@ -0,0 +1,148 @@
+package cu.sld.ucmgt.directory.repository;
+
+import cu.sld.ucmgt.directory.domain.PersistentAuditEvent;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeFormatter;
+import java.util.Collections;
+import java.util.List;
+import java.util.UUID;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+
+/**
+ * Bulk removal of the {@link PersistentAuditEvent}s, without loading them in the persistence context.
+ * <p>
+ * On Postgres, {@code persistent_audit_event} is partitioned by month (see {@code V4__audit_event_partitions.sql}):
+ * the expired months are dropped whole. The other rows are deleted in chunks, each chunk in its own transaction,
+ * with their {@code audit_evt_data} first. The events of the months without partition, kept in the default
+ * partition (see {@code V5__audit_event_default_partition.sql}), are among the latter.
+ */
+@Repository
+@RequiredArgsConstructor
+@Transactional(propagation = Propagation.REQUIRES_NEW)
+public class AuditEventPurgeRepository {
+
+    static final String PARTITION_PREFIX = "persistent_audit_event_";
+
+    private static final DateTimeFormatter PARTITION_SUFFIX = DateTimeFormatter.ofPattern("yyyy_MM");
+
+    private static final Pattern MONTH_PARTITION = Pattern.compile(PARTITION_PREFIX + "\\d{4}_\\d{2}");
+
+    private final JdbcTemplate jdbcTemplate;
+
+    private volatile Boolean partitioned;
+
+    /**
+     * @return {@code true} when the events are stored in monthly partitions.
+     */
+    @Transactional(propagation = Propagation.SUPPORTS, readOnly = true)
+    public boolean isPartitioned() {
+        Boolean result = partitioned;
+        if (result == null) {
+            result = jdbcTemplate.execute((ConnectionCallback<Boolean>) connection ->
+                    "PostgreSQL".equals(connection.getMetaData().getDatabaseProductName())) &&
+                    jdbcTemplate.queryForObject("SELECT COUNT(*) FROM pg_partitioned_table " +
+                            "WHERE partrelid = to_regclass('persistent_audit_event')", Integer.class) > 0;
+            partitioned = result;
+        }
+        return result;
+    }
+
+    /**
+     * @return the months of the existing partitions, in order, without the default partition.
+     */
+    @Transactional(propagation = Propagation.SUPPORTS, readOnly = true)
+    public List<YearMonth> findPartitions() {
+        if (!isPartitioned()) {
+            return Collections.emptyList();
+        }
+        return jdbcTemplate.queryForList("SELECT c.relname FROM pg_inherits i " +
+                "JOIN pg_class c ON c.oid = i.inhrelid " +
+                "WHERE i.inhparent = to_regclass('persistent_audit_event') ORDER BY c.relname", String.class)
+                .stream()
+                .filter(name -> MONTH_PARTITION.matcher(name).matches())
+                .map(name -> YearMonth.parse(name.substring(PARTITION_PREFIX.length()), PARTITION_SUFFIX))
+                .collect(Collectors.toList());
+    }
+
+    /**
+     * Create the partition of the month when it does not exist yet.
+     *
+     * @param month the month of the partition.
+     */
+    public void createPartition(YearMonth month) {
+        jdbcTemplate.queryForObject("SELECT create_audit_event_partition(?)", String.class, month.atDay(1));
+    }
+
+    /**
+     * Delete the data of a chunk of the events of a partition.
+     *
+     * @param month the month of the partition.
+     * @param after the last event of the previous chunk, {@code null} for the first chunk.
+     * @param limit the maximum number of events of the chunk.
+     * @return the events of the chunk, in order.
+     */
+    public List<UUID> deletePartitionDataChunk(YearMonth month, UUID after, int limit) {
+        String partition = partitionName(month);
+        List<UUID> ids = after == null
+                ? jdbcTemplate.queryForList("SELECT event_id FROM " + partition + " ORDER BY event_id LIMIT ?",
+                        UUID.class, limit)
+                : jdbcTemplate.queryForList("SELECT event_id FROM " + partition +
+                        " WHERE event_id > ? ORDER BY event_id LIMIT ?", UUID.class, after, limit);
+        deleteData(ids);
+        return ids;
+    }
+
+    /**
+     * Drop the partition of the month with its events, once their data is deleted.
+     *
+     * @param month the month of the partition.
+     */
+    public void dropPartition(YearMonth month) {
+        jdbcTemplate.execute("DROP TABLE IF EXISTS " + partitionName(month));
+    }
+
+    /**
+     * Delete a chunk of the events older than the given date, with their data.
+     *
+     * @param before the date before which the events are deleted.
+     * @param limit  the maximum number of events deleted.
+     * @return the number of events deleted.
+     */
+    public int deleteChunkBefore(Instant before, int limit) {
+        List<UUID> ids = jdbcTemplate.queryForList(
+                "SELECT event_id FROM persistent_audit_event WHERE event_date < ? LIMIT ?",
+                UUID.class, LocalDateTime.ofInstant(before, ZoneOffset.UTC), limit);
+        if (ids.isEmpty()) {
+            return 0;
+        }
+        deleteData(ids);
+        return jdbcTemplate.update("DELETE FROM persistent_audit_event WHERE event_id IN (" + placeholders(ids) + ")",
+                ids.toArray());
+    }
+
+    private void deleteData(List<UUID> ids) {
+        if (!ids.isEmpty()) {
+            jdbcTemplate.update("DELETE FROM audit_evt_data WHERE event_id IN (" + placeholders(ids) + ")",
+                    ids.toArray());
+        }
+    }
+
+    private static String partitionName(YearMonth month) {
+        return PARTITION_PREFIX + month.format(PARTITION_SUFFIX);
+    }
+
+    private static String placeholders(List<UUID> ids) {
+        return String.join(",", Collections.nCopies(ids.size(), "?"));
+    }
+}
@@ -0,0 +1,69 @@
+package cu.sld.ucmgt.directory.repository;
+
+import cu.sld.ucmgt.directory.config.Constants;
+import cu.sld.ucmgt.directory.config.audit.AuditEventConverter;
+import cu.sld.ucmgt.directory.config.audit.AuditEventWriter;
+import cu.sld.ucmgt.directory.domain.PersistentAuditEvent;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.actuate.audit.AuditEvent;
+import org.springframework.boot.actuate.audit.AuditEventRepository;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * An implementation of Spring Boot's {@link AuditEventRepository}.
+ * <p>
+ * The events are buffered by the {@link AuditEventWriter} and written in batches, so they are found a flush
+ * interval after being added.
+ */
+@Repository
+@RequiredArgsConstructor
+public class CustomAuditEventRepository implements AuditEventRepository {
+
+    private static final String AUTHORIZATION_FAILURE = "AUTHORIZATION_FAILURE";
+
+    /**
+     * Should be the same as the length of the {@code audit_evt_data.value} column.
+     */
+    protected static final int EVENT_DATA_COLUMN_MAX_LENGTH = 255;
+
+    private final AuditEventWriter auditEventWriter;
+    private final AuditEventConverter auditEventConverter;
+    private final PersistenceAuditEventRepository persistenceAuditEventRepository;
+
+    @Override
+    @Transactional(readOnly = true)
+    public List<AuditEvent> find(String principal, Instant after, String type) {
+        Iterable<PersistentAuditEvent> persistentAuditEvents =
+                persistenceAuditEventRepository.findByPrincipalAndAuditEventDateAfterAndAuditEventType(principal, after, type);
+        return auditEventConverter.convertToAuditEvent(persistentAuditEvents);
+    }
+
+    @Override
+    public void add(AuditEvent event) {
+        if (!AUTHORIZATION_FAILURE.equals(event.getType()) &&
+                !Constants.ANONYMOUS_USER.equals(event.getPrincipal())) {
+
+            PersistentAuditEvent persistentAuditEvent = new PersistentAuditEvent();
+            persistentAuditEvent.setPrincipal(event.getPrincipal());
+            persistentAuditEvent.setAuditEventType(event.getType());
+            persistentAuditEvent.setAuditEventDate(event.getTimestamp());
+            Map<String, String> eventData = auditEventConverter.convertDataToStrings(event.getData());
+            persistentAuditEvent.setData(truncate(eventData));
+            auditEventWriter.offer(persistentAuditEvent);
+        }
+    }
+
+    /**
+     * Truncate event data that might exceed column length.
+     */
+    private static Map<String, String> truncate(Map<String, String> data) {
+        data.replaceAll((key, value) -> value != null && value.length() > EVENT_DATA_COLUMN_MAX_LENGTH
+                ? value.substring(0, EVENT_DATA_COLUMN_MAX_LENGTH) : value);
+        return data;
+    }
+}
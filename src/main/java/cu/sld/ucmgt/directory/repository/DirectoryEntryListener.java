@@ -0,0 +1,209 @@
+package cu.sld.ucmgt.directory.repository;
+
+import cu.sld.ucmgt.directory.domain.DirectoryEntry;
+import cu.sld.ucmgt.directory.domain.Employee;
+import cu.sld.ucmgt.directory.domain.Nomenclature;
+import cu.sld.ucmgt.directory.domain.NomenclatureType;
+import cu.sld.ucmgt.directory.domain.Person;
+import cu.sld.ucmgt.directory.domain.Student;
+import cu.sld.ucmgt.directory.domain.WorkPlace;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.hibernate.engine.jdbc.spi.JdbcCoordinator;
+import org.hibernate.event.service.spi.EventListenerRegistry;
+import org.hibernate.event.spi.EventSource;
+import org.hibernate.event.spi.EventType;
+import org.hibernate.event.spi.PostDeleteEvent;
+import org.hibernate.event.spi.PostDeleteEventListener;
+import org.hibernate.event.spi.PostInsertEvent;
+import org.hibernate.event.spi.PostInsertEventListener;
+import org.hibernate.event.spi.PostUpdateEvent;
+import org.hibernate.event.spi.PostUpdateEventListener;
+import org.hibernate.internal.SessionFactoryImpl;
+import org.hibernate.persister.entity.EntityPersister;
+import org.hibernate.type.Type;
+import org.springframework.stereotype.Component;
+
+import javax.annotation.PostConstruct;
+import javax.persistence.EntityManagerFactory;
+import java.io.Serializable;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * Keep the {@link DirectoryEntry} projection in step with the people, nomenclatures and workplaces. The rows
+ * are written while the session is flushed, on the same connection and transaction as the changed entity,
+ * so a rollback discards both and a read in the same transaction already sees the projection updated.
+ * <p>
+ * An inserted or updated {@link Employee} or {@link Student} is copied again from its tables, a renamed
+ * {@link Nomenclature} or {@link WorkPlace} is written in the rows which reference it.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class DirectoryEntryListener implements PostInsertEventListener, PostUpdateEventListener,
+        PostDeleteEventListener {
+
+    private static final long serialVersionUID = 1L;
+
+    private static final String PERSON_COLUMNS = "id, type, ci, name, email, avatar_url, address, first_last_name, " +
+            "second_last_name, gender, birthdate, race, district_id, district_name, specialty_id, specialty_name";
+
+    private static final String PERSON_JOINS =
+            " LEFT JOIN nomenclature nd ON nd.id = p.district_id" +
+            " LEFT JOIN nomenclature ns ON ns.id = p.specialty_id";
+
+    static final String EMPLOYEE_INSERT = "INSERT INTO directory_entry (" + PERSON_COLUMNS + ", start_date, " +
+            "end_date, graduate_years, is_graduated_by_sector, service_years, salary, register_number, " +
+            "boss_work_place, professional_number, work_place_id, work_place_name, category_id, category_name, " +
+            "scientific_degree_id, scientific_degree_name, teaching_category_id, teaching_category_name, " +
+            "charge_id, charge_name, profession_id, profession_name) " +
+            "SELECT " + personValues(DirectoryEntry.Type.EMPLOYEE) + ", e.start_date, e.end_date, " +
+            "e.graduate_years, e.is_graduated_by_sector, e.service_years, e.salary, e.register_number, " +
+            "e.boss_work_place, e.professional_number, e.work_place_id, wp.name, e.category_id, nc.name, " +
+            "e.scientific_degree_id, nsd.name, e.teaching_category_id, ntc.name, e.charge_id, nch.name, " +
+            "e.profession_id, np.name " +
+            "FROM person p JOIN employee e ON e.id = p.id" + PERSON_JOINS +
+            " LEFT JOIN work_place wp ON wp.id = e.work_place_id" +
+            " LEFT JOIN nomenclature nc ON nc.id = e.category_id" +
+            " LEFT JOIN nomenclature nsd ON nsd.id = e.scientific_degree_id" +
+            " LEFT JOIN nomenclature ntc ON ntc.id = e.teaching_category_id" +
+            " LEFT JOIN nomenclature nch ON nch.id = e.charge_id" +
+            " LEFT JOIN nomenclature np ON np.id = e.profession_id" +
+            " WHERE p.id = ?";
+
+    static final String STUDENT_INSERT = "INSERT INTO directory_entry (" + PERSON_COLUMNS + ", class_room, " +
+            "university_year, residence, kind_id, kind_name, study_center_id, study_center_name) " +
+            "SELECT " + personValues(DirectoryEntry.Type.STUDENT) + ", s.class_room, s.university_year, " +
+            "s.residence, s.kind_id, nk.name, s.study_center_id, nsc.name " +
+            "FROM person p JOIN student s ON s.id = p.id" + PERSON_JOINS +
+            " LEFT JOIN nomenclature nk ON nk.id = s.kind_id" +
+            " LEFT JOIN nomenclature nsc ON nsc.id = s.study_center_id" +
+            " WHERE p.id = ?";
+
+    private static final String DELETE = "DELETE FROM directory_entry WHERE id = ?";
+
+    // prefix of the id and name columns holding each kind of nomenclature
+    private static final Map<NomenclatureType, String> NOMENCLATURE_COLUMNS = new EnumMap<>(NomenclatureType.class);
+
+    static {
+        NOMENCLATURE_COLUMNS.put(NomenclatureType.CATEGORIA, "category");
+        NOMENCLATURE_COLUMNS.put(NomenclatureType.CARGO, "charge");
+        NOMENCLATURE_COLUMNS.put(NomenclatureType.DISTRITO, "district");
+        NOMENCLATURE_COLUMNS.put(NomenclatureType.PROFESION, "profession");
+        NOMENCLATURE_COLUMNS.put(NomenclatureType.GRADO_CIENTIFICO, "scientific_degree");
+        NOMENCLATURE_COLUMNS.put(NomenclatureType.CATEGORIA_DOCENTE, "teaching_category");
+        NOMENCLATURE_COLUMNS.put(NomenclatureType.ESPECIALIDAD, "specialty");
+        NOMENCLATURE_COLUMNS.put(NomenclatureType.TIPO, "kind");
+        NOMENCLATURE_COLUMNS.put(NomenclatureType.CENTRO_ESTUDIO, "study_center");
+    }
+
+    private final transient EntityManagerFactory entityManagerFactory;
+
+    @PostConstruct
+    public void register() {
+        EventListenerRegistry registry = entityManagerFactory.unwrap(SessionFactoryImpl.class)
+                .getServiceRegistry()
+                .getService(EventListenerRegistry.class);
+        registry.appendListeners(EventType.POST_INSERT, this);
+        registry.appendListeners(EventType.POST_UPDATE, this);
+        registry.appendListeners(EventType.POST_DELETE, this);
+    }
+
+    @Override
+    public void onPostInsert(PostInsertEvent event) {
+        refresh(event.getEntity(), event.getId(), event.getPersister(), event.getSession());
+    }
+
+    @Override
+    public void onPostUpdate(PostUpdateEvent event) {
+        Object entity = event.getEntity();
+        if (entity instanceof Person) {
+            refresh(entity, event.getId(), event.getPersister(), event.getSession());
+        } else if (entity instanceof Nomenclature && nameChanged(event)) {
+            NomenclatureType discriminator = ((Nomenclature) entity).getDiscriminator();
+            Collection<String> columns = discriminator != null
+                    ? Collections.singletonList(NOMENCLATURE_COLUMNS.get(discriminator))
+                    : NOMENCLATURE_COLUMNS.values();
+            columns.forEach(column -> rename(column, ((Nomenclature) entity).getName(), event));
+        } else if (entity instanceof WorkPlace && nameChanged(event)) {
+            rename("work_place", ((WorkPlace) entity).getName(), event);
+        }
+    }
+
+    @Override
+    public void onPostDelete(PostDeleteEvent event) {
+        if (event.getEntity() instanceof Person) {
+            Type idType = event.getPersister().getIdentifierType();
+            executeUpdate(event.getSession(), DELETE,
+                    statement -> idType.nullSafeSet(statement, event.getId(), 1, event.getSession()));
+        }
+    }
+
+    @Override
+    public boolean requiresPostCommitHanding(EntityPersister persister) {
+        return false;
+    }
+
+    private void refresh(Object entity, Serializable id, EntityPersister persister, EventSource session) {
+        String insert = entity instanceof Employee ? EMPLOYEE_INSERT : entity instanceof Student ? STUDENT_INSERT : null;
+        if (insert == null) {
+            return;
+        }
+        log.trace("Refreshing DirectoryEntry with ID: {}", id);
+        Type idType = persister.getIdentifierType();
+        executeUpdate(session, DELETE, statement -> idType.nullSafeSet(statement, id, 1, session));
+        executeUpdate(session, insert, statement -> idType.nullSafeSet(statement, id, 1, session));
+    }
+
+    private void rename(String column, String name, PostUpdateEvent event) {
+        log.debug("Writing the new name of {} with ID: {} in DirectoryEntry", column, event.getId());
+        Type idType = event.getPersister().getIdentifierType();
+        executeUpdate(event.getSession(), "UPDATE directory_entry SET " + column + "_name = ? WHERE " + column + "_id = ?",
+                statement -> {
+                    statement.setString(1, name);
+                    idType.nullSafeSet(statement, event.getId(), 2, event.getSession());
+                });
+    }
+
+    private boolean nameChanged(PostUpdateEvent event) {
+        if (event.getOldState() == null) {
+            return true;
+        }
+        int index = Arrays.asList(event.getPersister().getPropertyNames()).indexOf("name");
+        return !Objects.equals(event.getOldState()[index], event.getState()[index]);
+    }
+
+    private void executeUpdate(EventSource session, String sql, ParameterBinder binder) {
+        JdbcCoordinator jdbcCoordinator = session.getJdbcCoordinator();
+        // statements batched earlier in this flush must reach the tables read by the projection
+        jdbcCoordinator.executeBatch();
+        PreparedStatement statement = jdbcCoordinator.getStatementPreparer().prepareStatement(sql);
+        try {
+            binder.bind(statement);
+            jdbcCoordinator.getResultSetReturn().executeUpdate(statement);
+        } catch (SQLException exception) {
+            throw session.getJdbcServices().getSqlExceptionHelper()
+                    .convert(exception, "could not write directory_entry", sql);
+        } finally {
+            jdbcCoordinator.getLogicalConnection().getResourceRegistry().release(statement);
+            jdbcCoordinator.afterStatementExecution();
+        }
+    }
+
+    private static String personValues(DirectoryEntry.Type type) {
+        return "p.id, '" + type.name() + "', p.ci, p.name, p.email, p.avatar_url, p.address, p.first_last_name, " +
+                "p.second_last_name, p.gender, p.birthdate, p.race, p.district_id, nd.name, p.specialty_id, ns.name";
+    }
+
+    @FunctionalInterface
+    private interface ParameterBinder {
+        void bind(PreparedStatement statement) throws SQLException;
+    }
+}
@@ -1,6 +1,8 @@
 package cu.sld.ucmgt.directory.repository;
 
 import cu.sld.ucmgt.directory.domain.Employee;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
@@ -12,6 +14,11 @@ import java.util.UUID;
 @Repository
 public interface EmployeeRepository extends JpaRepository<Employee, UUID>, JpaSpecificationExecutor<Employee> {
 
-    @EntityGraph(attributePaths = {"phones"})
+    @EntityGraph(attributePaths = {"phones", "district", "specialty", "workPlace", "category", "scientificDegree",
+            "teachingCategory", "charge", "profession"})
     Optional<Employee> findEmployeeWithAssociationsById(UUID uuid);
+
+    Page<Employee> findAllByWorkPlaceId(UUID workPlaceId, Pageable pageable);
+
+    long countByWorkPlaceId(UUID workPlaceId);
 }
@@ -16,7 +16,7 @@ import java.util.UUID;
 @Repository
 public interface PersistenceAuditEventRepository extends JpaRepository<PersistentAuditEvent, UUID> {
 
-    List<PersistentAuditEvent> findByAuditEventDateBefore(Instant before);
+    List<PersistentAuditEvent> findByPrincipalAndAuditEventDateAfterAndAuditEventType(String principal, Instant after, String type);
 
     Page<PersistentAuditEvent> findAllByAuditEventDateBetween(Instant fromDate, Instant toDate, Pageable pageable);
 }
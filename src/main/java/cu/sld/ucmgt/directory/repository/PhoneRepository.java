@@ -1,6 +1,8 @@
 package cu.sld.ucmgt.directory.repository;
 
 import cu.sld.ucmgt.directory.domain.Phone;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
 import org.springframework.stereotype.Repository;
@@ -15,4 +17,8 @@ import java.util.UUID;
 public interface PhoneRepository extends JpaRepository<Phone, UUID>, JpaSpecificationExecutor<Phone> {
 
     Optional<Phone> findPhoneByNumber(String number);
+
+    Page<Phone> findAllByWorkPlaceId(UUID workPlaceId, Pageable pageable);
+
+    long countByWorkPlaceId(UUID workPlaceId);
 }
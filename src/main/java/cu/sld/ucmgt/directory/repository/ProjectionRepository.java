@@ -0,0 +1,82 @@
+package cu.sld.ucmgt.directory.repository;
+
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.data.jpa.repository.query.QueryUtils;
+import org.springframework.data.repository.support.PageableExecutionUtils;
+import org.springframework.lang.Nullable;
+import org.springframework.stereotype.Repository;
+
+import javax.persistence.EntityManager;
+import javax.persistence.PersistenceContext;
+import javax.persistence.Tuple;
+import javax.persistence.TypedQuery;
+import javax.persistence.criteria.CriteriaBuilder;
+import javax.persistence.criteria.CriteriaQuery;
+import javax.persistence.criteria.Predicate;
+import javax.persistence.criteria.Root;
+import java.util.List;
+import java.util.stream.Collectors;
+
+/**
+ * Run the same {@link Specification} filters as {@link org.springframework.data.jpa.repository.JpaSpecificationExecutor},
+ * but selecting only the columns of a {@link TupleProjection} instead of the whole entities.
+ */
+@Repository
+public class ProjectionRepository {
+
+    @PersistenceContext
+    private EntityManager em;
+
+    /**
+     * Returns a {@link Page} of projections matching the {@link Specification}.
+     *
+     * @param domainClass   the queried entity.
+     * @param specification the filters, can be {@literal null}.
+     * @param pageable      the pagination and sort information.
+     * @param projection    the columns to read.
+     * @return the page of projections.
+     */
+    public <T, P> Page<P> findAll(Class<T> domainClass, @Nullable Specification<T> specification, Pageable pageable,
+                                  TupleProjection<T, P> projection) {
+        CriteriaBuilder builder = em.getCriteriaBuilder();
+        CriteriaQuery<Tuple> query = builder.createTupleQuery();
+        Root<T> root = query.from(domainClass);
+        applySpecification(specification, root, query, builder);
+        query.multiselect(projection.selections(root, query, builder));
+        if (pageable.getSort().isSorted()) {
+            query.orderBy(QueryUtils.toOrders(pageable.getSort(), root, builder));
+        }
+
+        TypedQuery<Tuple> typedQuery = em.createQuery(query);
+        if (pageable.isPaged()) {
+            typedQuery.setFirstResult((int) pageable.getOffset());
+            typedQuery.setMaxResults(pageable.getPageSize());
+        }
+        List<P> content = typedQuery.getResultList().stream()
+                .map(projection::toProjection)
+                .collect(Collectors.toList());
+        return PageableExecutionUtils.getPage(content, pageable, () -> count(domainClass, specification));
+    }
+
+    private <T> long count(Class<T> domainClass, @Nullable Specification<T> specification) {
+        CriteriaBuilder builder = em.getCriteriaBuilder();
+        CriteriaQuery<Long> query = builder.createQuery(Long.class);
+        Root<T> root = query.from(domainClass);
+        applySpecification(specification, root, query, builder);
+        query.select(builder.count(root));
+        return em.createQuery(query).getSingleResult();
+    }
+
+    private <T> void applySpecification(@Nullable Specification<T> specification, Root<T> root,
+                                        CriteriaQuery<?> query, CriteriaBuilder builder) {
+        if (specification == null) {
+            return;
+        }
+        Predicate predicate = specification.toPredicate(root, query, builder);
+        if (predicate != null) {
+            query.where(predicate);
+        }
+    }
+}
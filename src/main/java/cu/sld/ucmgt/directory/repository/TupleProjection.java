@@ -0,0 +1,89 @@
+package cu.sld.ucmgt.directory.repository;
+
+import javax.persistence.Tuple;
+import javax.persistence.criteria.CriteriaBuilder;
+import javax.persistence.criteria.CriteriaQuery;
+import javax.persistence.criteria.Expression;
+import javax.persistence.criteria.From;
+import javax.persistence.criteria.Join;
+import javax.persistence.criteria.JoinType;
+import javax.persistence.criteria.Root;
+import javax.persistence.criteria.Selection;
+import javax.persistence.metamodel.SingularAttribute;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.function.BiConsumer;
+import java.util.function.Supplier;
+
+/**
+ * Columns of an entity {@code T} read into a projection {@code P}. The columns are selected as a tuple, so
+ * the rows are never hydrated as managed entities nor snapshotted for dirty checking, and each value is copied
+ * to the projection with its setter. Used by {@link ProjectionRepository}.
+ *
+ * @param <T> the queried entity.
+ * @param <P> the projection built from each row.
+ */
+public final class TupleProjection<T, P> {
+
+    /**
+     * Expression selected for a column, the query is supplied to build correlated subqueries.
+     */
+    @FunctionalInterface
+    public interface Column<T, X> {
+        Expression<X> select(Root<T> root, CriteriaQuery<?> query, CriteriaBuilder builder);
+    }
+
+    private final Supplier<P> factory;
+    private final List<Column<T, ?>> columns = new ArrayList<>();
+    private final List<BiConsumer<P, Object>> setters = new ArrayList<>();
+
+    private TupleProjection(Supplier<P> factory) {
+        this.factory = factory;
+    }
+
+    public static <T, P> TupleProjection<T, P> of(Supplier<P> factory) {
+        return new TupleProjection<>(factory);
+    }
+
+    public <X> TupleProjection<T, P> column(SingularAttribute<? super T, X> attribute, BiConsumer<P, X> setter) {
+        return column((root, query, builder) -> root.get(attribute), setter);
+    }
+
+    @SuppressWarnings("unchecked")
+    public <X> TupleProjection<T, P> column(Column<T, X> column, BiConsumer<P, X> setter) {
+        columns.add(column);
+        setters.add((projection, value) -> setter.accept(projection, (X) value));
+        return this;
+    }
+
+    List<Selection<?>> selections(Root<T> root, CriteriaQuery<?> query, CriteriaBuilder builder) {
+        List<Selection<?>> selections = new ArrayList<>(columns.size());
+        columns.forEach(column -> selections.add(column.select(root, query, builder)));
+        return Collections.unmodifiableList(selections);
+    }
+
+    P toProjection(Tuple tuple) {
+        P projection = factory.get();
+        for (int i = 0; i < setters.size(); i++) {
+            setters.get(i).accept(projection, tuple.get(i));
+        }
+        return projection;
+    }
+
+    /**
+     * Left join of a to-one association, reusing the join when another column or a filter already made it.
+     *
+     * @param from      the entity holding the association.
+     * @param attribute the association.
+     * @return the join.
+     */
+    @SuppressWarnings("unchecked")
+    public static <X, Y> Join<X, Y> leftJoin(From<?, X> from, SingularAttribute<? super X, Y> attribute) {
+        return from.getJoins().stream()
+                .filter(join -> join.getAttribute().equals(attribute) && join.getJoinType() == JoinType.LEFT)
+                .map(join -> (Join<X, Y>) join)
+                .findFirst()
+                .orElseGet(() -> from.join(attribute, JoinType.LEFT));
+    }
+}
@@ -2,18 +2,28 @@ package cu.sld.ucmgt.directory.service;
 
 import cu.sld.ucmgt.directory.config.AppProperties;
 import cu.sld.ucmgt.directory.config.audit.AuditEventConverter;
+import cu.sld.ucmgt.directory.config.scheduling.ClusterJob;
+import cu.sld.ucmgt.directory.config.scheduling.JobLease;
+import cu.sld.ucmgt.directory.repository.AuditEventPurgeRepository;
 import cu.sld.ucmgt.directory.repository.PersistenceAuditEventRepository;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.boot.actuate.audit.AuditEvent;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.time.ZoneOffset;
 import java.time.temporal.ChronoUnit;
+import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
 
@@ -31,19 +41,70 @@ public class AuditEventService {
     private final AppProperties properties;
     private final AuditEventConverter auditEventConverter;
     private final PersistenceAuditEventRepository persistenceAuditEventRepository;
+    private final AuditEventPurgeRepository auditEventPurgeRepository;
 
     /**
      * Old audit events should be automatically deleted after 30 days.
      *
-     * This is scheduled to get fired at 12:00 (am).
+     * This is scheduled to get fired at 12:00 (am), by a single node of the cluster.
      */
     @Scheduled(cron = "0 0 12 * * ?")
+    @ClusterJob(value = "audit-event-purge", leaseMinutes = 60, minIntervalMinutes = 60)
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
     public void removeOldAuditEvents() {
-        persistenceAuditEventRepository.findByAuditEventDateBefore(Instant.now().minus(properties.getAuditEvents().getRetentionPeriod(), ChronoUnit.DAYS))
-                .forEach(persistentAuditEvent -> {
-                    log.debug("Deleting audit data {}", persistentAuditEvent);
-                    persistenceAuditEventRepository.delete(persistentAuditEvent);
+        removeAuditEventsBefore(Instant.now().minus(properties.getAuditEvents().getRetentionPeriod(), ChronoUnit.DAYS));
+    }
+
+    /**
+     * Create the monthly partitions of the current and of the next months, at startup and every day, apart from
+     * the purge: the events of a month without partition are kept in the default partition until it is created.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    @Scheduled(cron = "0 0 0 * * ?")
+    @ClusterJob(value = "audit-event-partitions", leaseMinutes = 10, minIntervalMinutes = 60)
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public void createPartitionsAhead() {
+        if (!auditEventPurgeRepository.isPartitioned()) {
+            return;
+        }
+        YearMonth now = YearMonth.now(ZoneOffset.UTC);
+        for (int i = 0; i <= properties.getAuditEvents().getPartitionsAhead(); i++) {
+            auditEventPurgeRepository.createPartition(now.plusMonths(i));
+        }
+    }
+
+    /**
+     * Create the partitions of the next months, drop the monthly partitions older than the date and delete the
+     * remaining older events in chunks. The purge stops before the next chunk once the node lost its
+     * {@link JobLease}.
+     *
+     * @param before the date before which the events are deleted.
+     */
+    void removeAuditEventsBefore(Instant before) {
+        AppProperties.AuditEvents auditEvents = properties.getAuditEvents();
+        createPartitionsAhead();
+        YearMonth current = YearMonth.from(LocalDateTime.ofInstant(before, ZoneOffset.UTC));
+        List<YearMonth> partitions = auditEventPurgeRepository.findPartitions();
+        partitions.stream()
+                .filter(month -> month.isBefore(current))
+                .forEach(month -> {
+                    List<UUID> chunk = auditEventPurgeRepository.deletePartitionDataChunk(month, null, auditEvents.getPurgeChunkSize());
+                    while (chunk.size() == auditEvents.getPurgeChunkSize()) {
+                        JobLease.checkValid();
+                        chunk = auditEventPurgeRepository.deletePartitionDataChunk(month, chunk.get(chunk.size() - 1),
+                                auditEvents.getPurgeChunkSize());
+                    }
+                    auditEventPurgeRepository.dropPartition(month);
+                    log.debug("Dropped the audit events of {}", month);
                 });
+        long deleted = 0;
+        int chunk;
+        do {
+            JobLease.checkValid();
+            chunk = auditEventPurgeRepository.deleteChunkBefore(before, auditEvents.getPurgeChunkSize());
+            deleted += chunk;
+        } while (chunk == auditEvents.getPurgeChunkSize());
+        log.debug("Deleted {} audit events before {}", deleted, before);
     }
 
     @Transactional(readOnly = true)
@@ -0,0 +1,488 @@
+package cu.sld.ucmgt.directory.service;
+
+import cu.sld.ucmgt.directory.domain.DirectoryEntry;
+import cu.sld.ucmgt.directory.domain.DirectoryEntry_;
+import cu.sld.ucmgt.directory.domain.Nomenclature;
+import cu.sld.ucmgt.directory.domain.WorkPlace;
+import cu.sld.ucmgt.directory.repository.NomenclatureRepository;
+import cu.sld.ucmgt.directory.repository.ProjectionRepository;
+import cu.sld.ucmgt.directory.repository.WorkPlaceRepository;
+import cu.sld.ucmgt.directory.service.criteria.EmployeeCriteria;
+import cu.sld.ucmgt.directory.service.criteria.StudentCriteria;
+import cu.sld.ucmgt.directory.service.dto.EmployeeDTO;
+import cu.sld.ucmgt.directory.service.dto.NomenclatureDTO;
+import cu.sld.ucmgt.directory.service.dto.PersonDTO;
+import cu.sld.ucmgt.directory.service.dto.StudentDTO;
+import cu.sld.ucmgt.directory.service.dto.WorkPlaceDTO;
+import cu.sld.ucmgt.directory.service.mapper.ListProjections;
+import cu.sld.ucmgt.directory.service.mapper.NomenclatureMapper;
+import cu.sld.ucmgt.directory.service.mapper.WorkPlaceMapper;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.util.StringUtils;
+
+import java.util.Collections;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.UUID;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * Service for the listings and filters of employees and students, which read the flattened
+ * {@link DirectoryEntry} projection instead of joining the person tables with their associations. Only the
+ * listed columns are selected, see {@link ListProjections}. The nested workplace and nomenclatures of the listed
+ * people are mapped as by the entity mappers, from the workplaces and nomenclatures referenced by the page, read
+ * with one query each. The sorts on the associations of the people, such as {@code workPlace.name}, are applied
+ * to the matching flat columns, {@code workPlaceName}.
+ */
+@Slf4j
+@Service
+@Transactional(readOnly = true)
+@RequiredArgsConstructor
+public class DirectoryEntryService extends QueryService<DirectoryEntry> {
+
+    private final ProjectionRepository projectionRepository;
+    private final NomenclatureRepository nomenclatureRepository;
+    private final WorkPlaceRepository workPlaceRepository;
+    private final NomenclatureMapper nomenclatureMapper;
+    private final WorkPlaceMapper workPlaceMapper;
+
+    /**
+     * Get all the employees.
+     *
+     * @param pageable the pagination information.
+     * @return the list of entities.
+     */
+    public Page<EmployeeDTO> getAllEmployees(Pageable pageable) {
+        return nestEmployeeAssociations(projectionRepository.findAll(DirectoryEntry.class,
+                typeSpecification(DirectoryEntry.Type.EMPLOYEE), flattenSort(pageable), ListProjections.EMPLOYEE));
+    }
+
+    /**
+     * Get all the students.
+     *
+     * @param pageable the pagination information.
+     * @return the list of entities.
+     */
+    public Page<StudentDTO> getAllStudents(Pageable pageable) {
+        return nestStudentAssociations(projectionRepository.findAll(DirectoryEntry.class,
+                typeSpecification(DirectoryEntry.Type.STUDENT), flattenSort(pageable), ListProjections.STUDENT));
+    }
+
+    /**
+     * Return a {@link Page} of {@link EmployeeDTO} which matches the criteria.
+     *
+     * @param operator_union Logical operator to join expression: AND - OR
+     * @param criteria       The object which holds all the filters, which the entities should match.
+     * @return the matching entities.
+     */
+    public Page<EmployeeDTO> findEmployees(String operator_union, EmployeeCriteria criteria, Pageable page) {
+        final Specification<DirectoryEntry> specification = Specification.where(typeSpecification(DirectoryEntry.Type.EMPLOYEE))
+                .and(createEmployeeSpecification(operator_union, criteria));
+        return nestEmployeeAssociations(projectionRepository.findAll(DirectoryEntry.class, specification,
+                flattenSort(page), ListProjections.EMPLOYEE));
+    }
+
+    /**
+     * Return a {@link Page} of {@link StudentDTO} which matches the criteria.
+     *
+     * @param operator_union Logical operator to join expression: AND - OR
+     * @param criteria       The object which holds all the filters, which the entities should match.
+     * @return the matching entities.
+     */
+    public Page<StudentDTO> findStudents(String operator_union, StudentCriteria criteria, Pageable page) {
+        final Specification<DirectoryEntry> specification = Specification.where(typeSpecification(DirectoryEntry.Type.STUDENT))
+                .and(createStudentSpecification(operator_union, criteria));
+        return nestStudentAssociations(projectionRepository.findAll(DirectoryEntry.class, specification,
+                flattenSort(page), ListProjections.STUDENT));
+    }
+
+    private Page<EmployeeDTO> nestEmployeeAssociations(Page<EmployeeDTO> page) {
+        Map<UUID, NomenclatureDTO> nomenclatures = findNomenclatures(page.stream()
+                .flatMap(employee -> Stream.of(employee.getDistrictId(), employee.getSpecialtyId(),
+                        employee.getCategoryId(), employee.getChargeId(), employee.getProfessionId(),
+                        employee.getScientificDegreeId(), employee.getTeachingCategoryId())));
+        Map<UUID, WorkPlaceDTO> workPlaces = findWorkPlaces(page.stream().map(EmployeeDTO::getWorkPlaceId));
+        page.forEach(employee -> {
+            nestPersonAssociations(employee, nomenclatures);
+            employee.setWorkPlace(workPlaces.get(employee.getWorkPlaceId()));
+            employee.setCategory(nomenclatures.get(employee.getCategoryId()));
+            employee.setCharge(nomenclatures.get(employee.getChargeId()));
+            employee.setProfession(nomenclatures.get(employee.getProfessionId()));
+            employee.setScientificDegree(nomenclatures.get(employee.getScientificDegreeId()));
+            employee.setTeachingCategory(nomenclatures.get(employee.getTeachingCategoryId()));
+        });
+        return page;
+    }
+
+    private Page<StudentDTO> nestStudentAssociations(Page<StudentDTO> page) {
+        Map<UUID, NomenclatureDTO> nomenclatures = findNomenclatures(page.stream()
+                .flatMap(student -> Stream.of(student.getDistrictId(), student.getSpecialtyId(),
+                        student.getKindId(), student.getStudyCenterId())));
+        page.forEach(student -> {
+            nestPersonAssociations(student, nomenclatures);
+            student.setKind(nomenclatures.get(student.getKindId()));
+            student.setStudyCenter(nomenclatures.get(student.getStudyCenterId()));
+        });
+        return page;
+    }
+
+    private void nestPersonAssociations(PersonDTO person, Map<UUID, NomenclatureDTO> nomenclatures) {
+        person.setDistrict(nomenclatures.get(person.getDistrictId()));
+        person.setSpecialty(nomenclatures.get(person.getSpecialtyId()));
+    }
+
+    private Map<UUID, NomenclatureDTO> findNomenclatures(Stream<UUID> ids) {
+        Set<UUID> distinctIds = ids.filter(Objects::nonNull).collect(Collectors.toSet());
+        if (distinctIds.isEmpty()) {
+            return Collections.emptyMap();
+        }
+        return nomenclatureRepository.findAllById(distinctIds).stream()
+                .collect(Collectors.toMap(Nomenclature::getId, nomenclatureMapper::toDto));
+    }
+
+    private Map<UUID, WorkPlaceDTO> findWorkPlaces(Stream<UUID> ids) {
+        Set<UUID> distinctIds = ids.filter(Objects::nonNull).collect(Collectors.toSet());
+        if (distinctIds.isEmpty()) {
+            return Collections.emptyMap();
+        }
+        return workPlaceRepository.findAllById(distinctIds).stream()
+                .collect(Collectors.toMap(WorkPlace::getId, workPlaceMapper::toDetailDto));
+    }
+
+    private Pageable flattenSort(Pageable pageable) {
+        if (pageable.isUnpaged() || pageable.getSort().isUnsorted()) {
+            return pageable;
+        }
+        Sort sort = Sort.by(pageable.getSort().stream()
+                .map(order -> order.withProperty(flattenProperty(order.getProperty())))
+                .collect(Collectors.toList()));
+        return PageRequest.of(pageable.getPageNumber(), pageable.getPageSize(), sort);
+    }
+
+    private String flattenProperty(String property) {
+        int dot = property.indexOf('.');
+        if (dot < 0 || property.indexOf('.', dot + 1) >= 0) {
+            return property;
+        }
+        // workPlace.name is the workPlaceName column
+        return property.substring(0, dot) + StringUtils.capitalize(property.substring(dot + 1));
+    }
+
+    private Specification<DirectoryEntry> typeSpecification(DirectoryEntry.Type type) {
+        return (root, query, builder) -> builder.equal(root.get(DirectoryEntry_.type), type);
+    }
+
+    /**
+     * Function to convert {@link EmployeeCriteria} to a {@link Specification}
+     *
+     * @param operator_union Logical operator to join expression: AND - OR
+     * @param criteria       The object which holds all the filters, which the entities should match.
+     * @return the matching {@link Specification} of the entity.
+     */
+    private Specification<DirectoryEntry> createEmployeeSpecification(String operator_union, EmployeeCriteria criteria) {
+        Specification<DirectoryEntry> specification = Specification.where(null);
+        if (criteria != null) {
+            if (operator_union.equalsIgnoreCase("AND")) {
+                if (criteria.getId() != null) {
+                    specification = specification.and(buildSpecification(criteria.getId(), DirectoryEntry_.id));
+                }
+                if (criteria.getSalary() != null) {
+                    specification = specification.and(buildSpecification(criteria.getSalary(), DirectoryEntry_.salary));
+                }
+                if (criteria.getCi() != null) {
+                    specification = specification.and(buildStringSpecification(criteria.getCi(), DirectoryEntry_.ci));
+                }
+                if (criteria.getName() != null) {
+                    specification = specification.and(buildStringSpecification(criteria.getName(), DirectoryEntry_.name));
+                }
+                if (criteria.getRace() != null) {
+                    specification = specification.and(buildStringSpecification(criteria.getRace(), DirectoryEntry_.race));
+                }
+                if (criteria.getEmail() != null) {
+                    specification = specification.and(buildStringSpecification(criteria.getEmail(), DirectoryEntry_.email));
+                }
+                if (criteria.getGender() != null) {
+                    specification = specification.and(buildSpecification(criteria.getGender(), DirectoryEntry_.gender));
+                }
+                if (criteria.getAddress() != null) {
+                    specification = specification.and(buildStringSpecification(criteria.getAddress(), DirectoryEntry_.address));
+                }
+                if (criteria.getDistrictName() != null) {
+                    specification = specification.and(buildSpecification(criteria.getDistrictName(), DirectoryEntry_.districtName));
+                }
+                if (criteria.getBirthdate() != null) {
+                    specification = specification.and(buildRangeSpecification(criteria.getBirthdate(), DirectoryEntry_.birthdate));
+                }
+                if (criteria.getSpecialtyName() != null) {
+                    specification = specification.and(buildSpecification(criteria.getSpecialtyName(), DirectoryEntry_.specialtyName));
+                }
+                if (criteria.getFirstLastName() != null) {
+                    specification = specification.and(buildStringSpecification(criteria.getFirstLastName(), DirectoryEntry_.firstLastName));
+                }
+                if (criteria.getWorkPlaceId() != null) {
+                    specification = specification.and(buildSpecification(criteria.getWorkPlaceId(), DirectoryEntry_.workPlaceId));
+                }
+                if (criteria.getSecondLastName() != null) {
+                    specification = specification.and(buildStringSpecification(criteria.getSecondLastName(), DirectoryEntry_.secondLastName));
+                }
+                if (criteria.getBossWorkPlace() != null) {
+                    specification = specification.and(buildSpecification(criteria.getBossWorkPlace(), DirectoryEntry_.bossWorkPlace));
+                }
+                if (criteria.getCategoryName() != null) {
+                    specification = specification.and(buildSpecification(criteria.getCategoryName(), DirectoryEntry_.categoryName));
+                }
+                if (criteria.getChargeName() != null) {
+                    specification = specification.and(buildSpecification(criteria.getChargeName(), DirectoryEntry_.chargeName));
+                }
+                if (criteria.getEndDate() != null) {
+                    specification = specification.and(buildRangeSpecification(criteria.getEndDate(), DirectoryEntry_.endDate));
+                }
+                if (criteria.getGraduateYears() != null) {
+                    specification = specification.and(buildRangeSpecification(criteria.getGraduateYears(), DirectoryEntry_.graduateYears));
+                }
+                if (criteria.getIsGraduatedBySector() != null) {
+                    specification = specification.and(buildSpecification(criteria.getIsGraduatedBySector(), DirectoryEntry_.isGraduatedBySector));
+                }
+                if (criteria.getProfessionalNumber() != null) {
+                    specification = specification.and(buildStringSpecification(criteria.getProfessionalNumber(), DirectoryEntry_.professionalNumber));
+                }
+                if (criteria.getProfessionName() != null) {
+                    specification = specification.and(buildSpecification(criteria.getProfessionName(), DirectoryEntry_.professionName));
+                }
+                if (criteria.getRegisterNumber() != null) {
+                    specification = specification.and(buildStringSpecification(criteria.getRegisterNumber(), DirectoryEntry_.registerNumber));
+                }
+                if (criteria.getScientificDegreeName() != null) {
+                    specification = specification.and(buildSpecification(criteria.getScientificDegreeName(), DirectoryEntry_.scientificDegreeName));
+                }
+                if (criteria.getServiceYears() != null) {
+                    specification = specification.and(buildRangeSpecification(criteria.getServiceYears(), DirectoryEntry_.serviceYears));
+                }
+                if (criteria.getStartDate() != null) {
+                    specification = specification.and(buildRangeSpecification(criteria.getStartDate(), DirectoryEntry_.startDate));
+                }
+                if (criteria.getTeachingCategoryName() != null) {
+                    specification = specification.and(buildSpecification(criteria.getTeachingCategoryName(), DirectoryEntry_.teachingCategoryName));
+                }
+                if (criteria.getWorkPlaceName() != null) {
+                    specification = specification.and(buildSpecification(criteria.getWorkPlaceName(), DirectoryEntry_.workPlaceName));
+                }
+            } else {
+                if (criteria.getId() != null) {
+                    specification = specification.or(buildSpecification(criteria.getId(), DirectoryEntry_.id));
+                }
+                if (criteria.getSalary() != null) {
+                    specification = specification.or(buildSpecification(criteria.getSalary(), DirectoryEntry_.salary));
+                }
+                if (criteria.getCi() != null) {
+                    specification = specification.or(buildStringSpecification(criteria.getCi(), DirectoryEntry_.ci));
+                }
+                if (criteria.getName() != null) {
+                    specification = specification.or(buildStringSpecification(criteria.getName(), DirectoryEntry_.name));
+                }
+                if (criteria.getRace() != null) {
+                    specification = specification.or(buildStringSpecification(criteria.getRace(), DirectoryEntry_.race));
+                }
+                if (criteria.getEmail() != null) {
+                    specification = specification.or(buildStringSpecification(criteria.getEmail(), DirectoryEntry_.email));
+                }
+                if (criteria.getWorkPlaceId() != null) {
+                    specification = specification.or(buildSpecification(criteria.getWorkPlaceId(), DirectoryEntry_.workPlaceId));
+                }
+                if (criteria.getGender() != null) {
+                    specification = specification.or(buildSpecification(criteria.getGender(), DirectoryEntry_.gender));
+                }
+                if (criteria.getAddress() != null) {
+                    specification = specification.or(buildStringSpecification(criteria.getAddress(), DirectoryEntry_.address));
+                }
+                if (criteria.getDistrictName() != null) {
+                    specification = specification.or(buildSpecification(criteria.getDistrictName(), DirectoryEntry_.districtName));
+                }
+                if (criteria.getBirthdate() != null) {
+                    specification = specification.or(buildRangeSpecification(criteria.getBirthdate(), DirectoryEntry_.birthdate));
+                }
+                if (criteria.getSpecialtyName() != null) {
+                    specification = specification.or(buildSpecification(criteria.getSpecialtyName(), DirectoryEntry_.specialtyName));
+                }
+                if (criteria.getFirstLastName() != null) {
+                    specification = specification.or(buildStringSpecification(criteria.getFirstLastName(), DirectoryEntry_.firstLastName));
+                }
+                if (criteria.getSecondLastName() != null) {
+                    specification = specification.or(buildStringSpecification(criteria.getSecondLastName(), DirectoryEntry_.secondLastName));
+                }
+                if (criteria.getBossWorkPlace() != null) {
+                    specification = specification.or(buildSpecification(criteria.getBossWorkPlace(), DirectoryEntry_.bossWorkPlace));
+                }
+                if (criteria.getCategoryName() != null) {
+                    specification = specification.or(buildSpecification(criteria.getCategoryName(), DirectoryEntry_.categoryName));
+                }
+                if (criteria.getChargeName() != null) {
+                    specification = specification.or(buildSpecification(criteria.getChargeName(), DirectoryEntry_.chargeName));
+                }
+                if (criteria.getEndDate() != null) {
+                    specification = specification.or(buildRangeSpecification(criteria.getEndDate(), DirectoryEntry_.endDate));
+                }
+                if (criteria.getGraduateYears() != null) {
+                    specification = specification.or(buildRangeSpecification(criteria.getGraduateYears(), DirectoryEntry_.graduateYears));
+                }
+                if (criteria.getIsGraduatedBySector() != null) {
+                    specification = specification.or(buildSpecification(criteria.getIsGraduatedBySector(), DirectoryEntry_.isGraduatedBySector));
+                }
+                if (criteria.getProfessionalNumber() != null) {
+                    specification = specification.or(buildStringSpecification(criteria.getProfessionalNumber(), DirectoryEntry_.professionalNumber));
+                }
+                if (criteria.getProfessionName() != null) {
+                    specification = specification.or(buildSpecification(criteria.getProfessionName(), DirectoryEntry_.professionName));
+                }
+                if (criteria.getRegisterNumber() != null) {
+                    specification = specification.or(buildStringSpecification(criteria.getRegisterNumber(), DirectoryEntry_.registerNumber));
+                }
+                if (criteria.getScientificDegreeName() != null) {
+                    specification = specification.or(buildSpecification(criteria.getScientificDegreeName(), DirectoryEntry_.scientificDegreeName));
+                }
+                if (criteria.getServiceYears() != null) {
+                    specification = specification.or(buildRangeSpecification(criteria.getServiceYears(), DirectoryEntry_.serviceYears));
+                }
+                if (criteria.getStartDate() != null) {
+                    specification = specification.or(buildRangeSpecification(criteria.getStartDate(), DirectoryEntry_.startDate));
+                }
+                if (criteria.getTeachingCategoryName() != null) {
+                    specification = specification.or(buildSpecification(criteria.getTeachingCategoryName(), DirectoryEntry_.teachingCategoryName));
+                }
+                if (criteria.getWorkPlaceName() != null) {
+                    specification = specification.or(buildSpecification(criteria.getWorkPlaceName(), DirectoryEntry_.workPlaceName));
+                }
+            }
+        }
+        return specification;
+    }
+
+    /**
+     * Function to convert {@link StudentCriteria} to a {@link Specification}
+     *
+     * @param operator_union Logical operator to join expression: AND - OR
+     * @param criteria       The object which holds all the filters, which the entities should match.
+     * @return the matching {@link Specification} of the entity.
+     */
+    private Specification<DirectoryEntry> createStudentSpecification(String operator_union, StudentCriteria criteria) {
+        Specification<DirectoryEntry> specification = Specification.where(null);
+        if (criteria != null) {
+            if (operator_union.equalsIgnoreCase("AND")) {
+                if (criteria.getId() != null) {
+                    specification = specification.and(buildSpecification(criteria.getId(), DirectoryEntry_.id));
+                }
+                if (criteria.getCi() != null) {
+                    specification = specification.and(buildStringSpecification(criteria.getCi(), DirectoryEntry_.ci));
+                }
+                if (criteria.getName() != null) {
+                    specification = specification.and(buildStringSpecification(criteria.getName(), DirectoryEntry_.name));
+                }
+                if (criteria.getRace() != null) {
+                    specification = specification.and(buildStringSpecification(criteria.getRace(), DirectoryEntry_.race));
+                }
+                if (criteria.getEmail() != null) {
+                    specification = specification.and(buildStringSpecification(criteria.getEmail(), DirectoryEntry_.email));
+                }
+                if (criteria.getGender() != null) {
+                    specification = specification.and(buildSpecification(criteria.getGender(), DirectoryEntry_.gender));
+                }
+                if (criteria.getAddress() != null) {
+                    specification = specification.and(buildStringSpecification(criteria.getAddress(), DirectoryEntry_.address));
+                }
+                if (criteria.getDistrictName() != null) {
+                    specification = specification.and(buildSpecification(criteria.getDistrictName(), DirectoryEntry_.districtName));
+                }
+                if (criteria.getBirthdate() != null) {
+                    specification = specification.and(buildRangeSpecification(criteria.getBirthdate(), DirectoryEntry_.birthdate));
+                }
+                if (criteria.getSpecialtyName() != null) {
+                    specification = specification.and(buildSpecification(criteria.getSpecialtyName(), DirectoryEntry_.specialtyName));
+                }
+                if (criteria.getFirstLastName() != null) {
+                    specification = specification.and(buildStringSpecification(criteria.getFirstLastName(), DirectoryEntry_.firstLastName));
+                }
+                if (criteria.getSecondLastName() != null) {
+                    specification = specification.and(buildStringSpecification(criteria.getSecondLastName(), DirectoryEntry_.secondLastName));
+                }
+                if (criteria.getClassRoom() !=null) {
+                    specification = specification.and(buildStringSpecification(criteria.getClassRoom(), DirectoryEntry_.classRoom));
+                }
+                if (criteria.getKindName() != null) {
+                    specification = specification.and(buildSpecification(criteria.getKindName(), DirectoryEntry_.kindName));
+                }
+                if (criteria.getResidence() != null) {
+                    specification = specification.and(buildStringSpecification(criteria.getResidence(), DirectoryEntry_.residence));
+                }
+                if (criteria.getStudyCenterName() != null) {
+                    specification = specification.and(buildSpecification(criteria.getStudyCenterName(), DirectoryEntry_.studyCenterName));
+                }
+                if (criteria.getUniversityYear() != null) {
+                    specification = specification.and(buildRangeSpecification(criteria.getUniversityYear(), DirectoryEntry_.universityYear));
+                }
+            } else {
+                if (criteria.getId() != null) {
+                    specification = specification.or(buildSpecification(criteria.getId(), DirectoryEntry_.id));
+                }
+                if (criteria.getCi() != null) {
+                    specification = specification.or(buildStringSpecification(criteria.getCi(), DirectoryEntry_.ci));
+                }
+                if (criteria.getName() != null) {
+                    specification = specification.or(buildStringSpecification(criteria.getName(), DirectoryEntry_.name));
+                }
+                if (criteria.getRace() != null) {
+                    specification = specification.or(buildStringSpecification(criteria.getRace(), DirectoryEntry_.race));
+                }
+                if (criteria.getEmail() != null) {
+                    specification = specification.or(buildStringSpecification(criteria.getEmail(), DirectoryEntry_.email));
+                }
+                if (criteria.getGender() != null) {
+                    specification = specification.or(buildSpecification(criteria.getGender(), DirectoryEntry_.gender));
+                }
+                if (criteria.getAddress() != null) {
+                    specification = specification.or(buildStringSpecification(criteria.getAddress(), DirectoryEntry_.address));
+                }
+                if (criteria.getDistrictName() != null) {
+                    specification = specification.or(buildSpecification(criteria.getDistrictName(), DirectoryEntry_.districtName));
+                }
+                if (criteria.getBirthdate() != null) {
+                    specification = specification.or(buildRangeSpecification(criteria.getBirthdate(), DirectoryEntry_.birthdate));
+                }
+                if (criteria.getSpecialtyName() != null) {
+                    specification = specification.or(buildSpecification(criteria.getSpecialtyName(), DirectoryEntry_.specialtyName));
+                }
+                if (criteria.getFirstLastName() != null) {
+                    specification = specification.or(buildStringSpecification(criteria.getFirstLastName(), DirectoryEntry_.firstLastName));
+                }
+                if (criteria.getSecondLastName() != null) {
+                    specification = specification.or(buildStringSpecification(criteria.getSecondLastName(), DirectoryEntry_.secondLastName));
+                }
+                if (criteria.getClassRoom() !=null) {
+                    specification = specification.or(buildStringSpecification(criteria.getClassRoom(), DirectoryEntry_.classRoom));
+                }
+                if (criteria.getKindName() != null) {
+                    specification = specification.or(buildSpecification(criteria.getKindName(), DirectoryEntry_.kindName));
+                }
+                if (criteria.getResidence() != null) {
+                    specification = specification.or(buildStringSpecification(criteria.getResidence(), DirectoryEntry_.residence));
+                }
+                if (criteria.getStudyCenterName() != null) {
+                    specification = specification.or(buildSpecification(criteria.getStudyCenterName(), DirectoryEntry_.studyCenterName));
+                }
+                if (criteria.getUniversityYear() != null) {
+                    specification = specification.or(buildRangeSpecification(criteria.getUniversityYear(), DirectoryEntry_.universityYear));
+                }
+            }
+        }
+        return specification;
+    }
+}
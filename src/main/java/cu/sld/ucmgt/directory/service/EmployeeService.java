@@ -1,5 +1,7 @@
 package cu.sld.ucmgt.directory.service;
 
+import cu.sld.ucmgt.directory.config.cache.QueryResultCache;
+import cu.sld.ucmgt.directory.config.metric.IndexLagMonitor;
 import cu.sld.ucmgt.directory.domain.*;
 import cu.sld.ucmgt.directory.domain.elasticsearch.EmployeeIndex;
 import cu.sld.ucmgt.directory.repository.EmployeeRepository;
@@ -9,6 +11,7 @@ import cu.sld.ucmgt.directory.repository.search.EmployeeSearchRepository;
 import cu.sld.ucmgt.directory.service.FileService.DeleteFileEvent;
 import cu.sld.ucmgt.directory.service.FileService.SaveFileEvent;
 import cu.sld.ucmgt.directory.service.NomenclatureService.SavedNomenclatureEvent;
+import cu.sld.ucmgt.directory.service.WorkPlaceService.ChangedWorkPlaceStatusEvent;
 import cu.sld.ucmgt.directory.service.WorkPlaceService.RemovedWorkPlaceIndexEvent;
 import cu.sld.ucmgt.directory.service.WorkPlaceService.SavedWorkPlaceIndexEvent;
 import cu.sld.ucmgt.directory.service.criteria.EmployeeCriteria;
@@ -22,23 +25,24 @@ import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.apache.commons.io.FilenameUtils;
 import org.elasticsearch.ElasticsearchException;
+import org.elasticsearch.action.support.WriteRequest;
+import org.elasticsearch.action.update.UpdateRequest;
 import org.elasticsearch.client.RequestOptions;
 import org.elasticsearch.client.RestHighLevelClient;
 import org.elasticsearch.index.query.BoolQueryBuilder;
 import org.elasticsearch.index.query.QueryBuilders;
 import org.elasticsearch.index.reindex.UpdateByQueryRequest;
+import org.elasticsearch.rest.RestStatus;
 import org.elasticsearch.script.Script;
 import org.elasticsearch.script.ScriptType;
 import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.context.event.EventListener;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
-import org.springframework.data.jpa.domain.Specification;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 import org.springframework.web.multipart.MultipartFile;
 
-import javax.persistence.criteria.JoinType;
 import java.io.IOException;
 import java.util.*;
 import java.util.stream.Collectors;
@@ -47,8 +51,11 @@ import java.util.stream.Collectors;
 @Service
 @Transactional
 @RequiredArgsConstructor
-public class EmployeeService extends QueryService<Employee> {
+public class EmployeeService {
 
+    private final QueryResultCache queryResultCache;
+    private final IndexLagMonitor indexLagMonitor;
+    private final DirectoryEntryService directoryEntryService;
     private final EmployeeMapper mapper;
     private final PhoneMapper phoneMapper;
     private final WorkPlaceMapper workPlaceMapper;
@@ -61,6 +68,8 @@ public class EmployeeService extends QueryService<Employee> {
     private final ApplicationEventPublisher eventPublisher;
     private final EmployeeSearchRepository searchRepository;
     private final NomenclatureRepository nomenclatureRepository;
+    // fields of EmployeeIndex which are not copied into PhoneIndex and WorkPlaceIndex
+    private static final Set<String> NOT_DENORMALIZED_FIELDS = Collections.singleton("bossWorkPlace");
 
     /**
      * Save a employee.
@@ -69,7 +78,8 @@ public class EmployeeService extends QueryService<Employee> {
      * @return the persisted entity.
      */
     public Employee save(Employee employee) {
-        repository.save(employee);
+        // the merged copy is the managed entity, stamped by the auditing listener on flush
+        employee = repository.save(employee);
         // find all nomenclatures and workplace to save in elasticsearch
         if (employee.getCategory() != null) {
             nomenclatureRepository.findById(employee.getCategory().getId()).ifPresent(employee::setCategory);
@@ -132,14 +142,16 @@ public class EmployeeService extends QueryService<Employee> {
      */
     public EmployeeDTO update(EmployeeDTO employeeDTO, MultipartFile avatar) {
         String oldFileName = "";
-        UUID employeeIdToRemove = null;
-        UUID workPlaceIdRemoved = null;
+        UUID oldWorkPlaceId = null;
+        Map<String, Object> oldEmployeeIndexMap = Collections.emptyMap();
         Employee employee = mapper.toEntity(employeeDTO);
         String newFileName = getFileName(employee, avatar);
 
         Optional<Employee> optionalEmployee = repository.findById(employeeDTO.getId());
         if (optionalEmployee.isPresent()) {
             Employee employeeFetched = optionalEmployee.get();
+            // snapshot of the searchable fields before the stored data is overwritten
+            oldEmployeeIndexMap = createEmployeeIndexMap(employeeFetched);
             // set avatarUrl to the new employee for avoid erase stored data
             employee.setAvatarUrl(employeeFetched.getAvatarUrl());
             // case: For renaming or updating a exists avatar
@@ -149,10 +161,8 @@ public class EmployeeService extends QueryService<Employee> {
                 newFileName = !extension.isBlank() ? newFileName + "." + extension : newFileName;
             }
 
-            // if employee should be removed own workplace
             if (employeeFetched.getWorkPlace() != null) {
-                employeeIdToRemove = employeeFetched.getId();
-                workPlaceIdRemoved = employeeFetched.getWorkPlace().getId();
+                oldWorkPlaceId = employeeFetched.getWorkPlace().getId();
             }
         }
 
@@ -162,8 +172,7 @@ public class EmployeeService extends QueryService<Employee> {
         }
 
         employee = this.save(employee);
-        searchRepository.save(employeeIndexMapper.toIndex(employee));
-        this.publishEmployeeEvent(employee, avatar, employeeIdToRemove, workPlaceIdRemoved, oldFileName, newFileName);
+        this.publishEmployeeEvent(employee, avatar, oldEmployeeIndexMap, oldWorkPlaceId, oldFileName, newFileName);
         return mapper.toDto(employee);
     }
 
@@ -213,11 +222,55 @@ public class EmployeeService extends QueryService<Employee> {
             workplaceMap.put("email", employee.getWorkPlace().getEmail());
             workplaceMap.put("id", employee.getWorkPlace().getId().toString());
             workplaceMap.put("description", employee.getWorkPlace().getDescription());
+            workplaceMap.put("active", employee.getWorkPlace().getActive());
             params.put("workPlace", workplaceMap);
         }
         return params;
     }
 
+    /**
+     * Create a map with all searchable fields of {@link EmployeeIndex}, that is, the fields shared with
+     * {@link cu.sld.ucmgt.directory.domain.elasticsearch.PhoneIndex} and
+     * {@link cu.sld.ucmgt.directory.domain.elasticsearch.WorkPlaceIndex} plus the own fields of {@link EmployeeIndex}
+     *
+     * @param employee {@link Employee} instance
+     * @return employeeIndexMap
+     */
+    private Map<String, Object> createEmployeeIndexMap(Employee employee) {
+        Map<String, Object> params = createEmployeeToEmployeeIndexMap(employee);
+        params.put("bossWorkPlace", employee.getBossWorkPlace());
+        return params;
+    }
+
+    /**
+     * Write only the changed fields in {@link EmployeeIndex}. If the document does not exist yet,
+     * it is fully indexed.
+     *
+     * @param employee      persisted entity
+     * @param changedFields fields to write
+     */
+    private void partialUpdateEmployeeIndex(Employee employee, Map<String, Object> changedFields) {
+        // flushed so the auditing listener stamps the entity, the lag is measured from that date
+        repository.flush();
+        Map<String, Object> document = new HashMap<>(changedFields);
+        document.put("lastModifiedDate", employee.getLastModifiedDate().toEpochMilli());
+        try {
+            UpdateRequest updateRequest = new UpdateRequest(INDEX_NAME, employee.getId().toString())
+                    .doc(document)
+                    .setRefreshPolicy(WriteRequest.RefreshPolicy.IMMEDIATE);
+            indexLagMonitor.write(INDEX_NAME, employee.getLastModifiedDate(),
+                    () -> highLevelClient.update(updateRequest, RequestOptions.DEFAULT));
+        } catch (ElasticsearchException exception) {
+            if (exception.status() != RestStatus.NOT_FOUND) {
+                throw exception;
+            }
+            log.debug("EmployeeIndex with ID: {} not was found, indexing the whole document", employee.getId());
+            searchRepository.save(employeeIndexMapper.toIndex(employee));
+        } catch (IOException e) {
+            e.printStackTrace();
+        }
+    }
+
 
     /**
      * Delete the employee by uid.
@@ -274,7 +327,7 @@ public class EmployeeService extends QueryService<Employee> {
                     .setAbortOnVersionConflict(true)
                     .setQuery(boolQueryBuilder)
                     .setScript(new Script(ScriptType.INLINE, "painless", updateCode, workPlaceIndexEvent.getWorkplaceIndexMap()));
-            highLevelClient.updateByQuery(updateByQueryRequest, RequestOptions.DEFAULT);
+            indexLagMonitor.write(INDEX_NAME, null, () -> highLevelClient.updateByQuery(updateByQueryRequest, RequestOptions.DEFAULT));
         } catch (IOException e) {
             e.printStackTrace();
         }
@@ -297,7 +350,7 @@ public class EmployeeService extends QueryService<Employee> {
                     .setAbortOnVersionConflict(true)
                     .setQuery(boolQueryBuilder)
                     .setScript(new Script(ScriptType.INLINE, "painless", updateCode, workPlaceIndexEvent.getWorkplaceIndexMap()));
-            highLevelClient.updateByQuery(updateByQueryRequest, RequestOptions.DEFAULT);
+            indexLagMonitor.write(INDEX_NAME, null, () -> highLevelClient.updateByQuery(updateByQueryRequest, RequestOptions.DEFAULT));
         } catch (IOException e) {
             e.printStackTrace();
         }
@@ -336,7 +389,7 @@ public class EmployeeService extends QueryService<Employee> {
     @Transactional(readOnly = true)
     public Page<EmployeeDTO> getAllEmployees(Pageable pageable) {
         log.debug("Request to get all Employees");
-        return repository.findAll(pageable).map(mapper::toDto);
+        return directoryEntryService.getAllEmployees(pageable);
     }
 
     /**
@@ -379,7 +432,7 @@ public class EmployeeService extends QueryService<Employee> {
                     .setAbortOnVersionConflict(true)
                     .setScript(new Script(ScriptType.INLINE, "painless", savedNomenclatureEvent.getUpdateCode(),
                             Collections.emptyMap()));
-            highLevelClient.updateByQuery(updateByQueryRequest, RequestOptions.DEFAULT);
+            indexLagMonitor.write(INDEX_NAME, null, () -> highLevelClient.updateByQuery(updateByQueryRequest, RequestOptions.DEFAULT));
         } catch (ElasticsearchException | IOException e) {
             e.printStackTrace();
         }
@@ -400,225 +453,49 @@ public class EmployeeService extends QueryService<Employee> {
                     .setQuery(boolQueryBuilder)
                     .setScript(new Script(ScriptType.INLINE, "painless",
                             "ctx._source.workPlace=null", Collections.emptyMap()));
-            highLevelClient.updateByQuery(updateByQueryRequest, RequestOptions.DEFAULT);
+            indexLagMonitor.write(INDEX_NAME, null, () -> highLevelClient.updateByQuery(updateByQueryRequest, RequestOptions.DEFAULT));
         } catch (IOException exception) {
             exception.printStackTrace();
         }
     }
 
     /**
-     * Return a {@link List} of {@link EmployeeDTO} which matches the criteria from the database.
+     * Listen {@link ChangedWorkPlaceStatusEvent} event to update the status of the workplace inside {@link EmployeeIndex}
      *
-     * @param operator_union Logical operator to join expression: AND - OR
-     * @param criteria       The object which holds all the filters, which the entities should match.
-     * @return the matching entities.
+     * @param event information about event
      */
-    public Page<EmployeeDTO> findByCriteria(String operator_union, EmployeeCriteria criteria, Pageable page) {
-        final Specification<Employee> specification = createSpecification(operator_union, criteria);
-        return repository.findAll(specification, page).map(mapper::toDto);
+    @EventListener(condition = "!#event.getWorkPlaceIds().isEmpty()")
+    public void updateWorkPlaceStatusInEmployeeIndex(ChangedWorkPlaceStatusEvent event) {
+        log.debug("Listening ChangedWorkPlaceStatusEvent event to update status of WorkPlaces {} in EmployeeIndex",
+                event.getWorkPlaceIds());
+        try {
+            BoolQueryBuilder boolQueryBuilder = QueryBuilders.boolQuery();
+            event.getWorkPlaceIds().forEach(workPlaceId ->
+                    boolQueryBuilder.should(QueryBuilders.matchQuery("workPlace.id", workPlaceId.toString())));
+            String updateCode = "if (ctx._source.workPlace != null) { ctx._source.workPlace.active = params.active }";
+            UpdateByQueryRequest updateByQueryRequest = new UpdateByQueryRequest(INDEX_NAME)
+                    .setRefresh(true)
+                    .setAbortOnVersionConflict(true)
+                    .setQuery(boolQueryBuilder)
+                    .setScript(new Script(ScriptType.INLINE, "painless", updateCode,
+                            Collections.singletonMap("active", event.getActive())));
+            indexLagMonitor.write(INDEX_NAME, null, () -> highLevelClient.updateByQuery(updateByQueryRequest, RequestOptions.DEFAULT));
+        } catch (IOException exception) {
+            exception.printStackTrace();
+        }
     }
 
     /**
-     * Function to convert {@link EmployeeCriteria} to a {@link Specification}
+     * Return a {@link List} of {@link EmployeeDTO} which matches the criteria from the database.
      *
      * @param operator_union Logical operator to join expression: AND - OR
      * @param criteria       The object which holds all the filters, which the entities should match.
-     * @return the matching {@link Specification} of the entity.
+     * @return the matching entities.
      */
-    private Specification<Employee> createSpecification(String operator_union, EmployeeCriteria criteria) {
-        Specification<Employee> specification = Specification.where(null);
-        if (criteria != null) {
-            if (operator_union.equalsIgnoreCase("AND")) {
-                if (criteria.getId() != null) {
-                    specification = specification.and(buildSpecification(criteria.getId(), Employee_.id));
-                }
-                if (criteria.getSalary() != null) {
-                    specification = specification.and(buildSpecification(criteria.getSalary(), Employee_.salary));
-                }
-                if (criteria.getCi() != null) {
-                    specification = specification.and(buildStringSpecification(criteria.getCi(), Employee_.ci));
-                }
-                if (criteria.getName() != null) {
-                    specification = specification.and(buildStringSpecification(criteria.getName(), Employee_.name));
-                }
-                if (criteria.getRace() != null) {
-                    specification = specification.and(buildStringSpecification(criteria.getRace(), Employee_.race));
-                }
-                if (criteria.getEmail() != null) {
-                    specification = specification.and(buildStringSpecification(criteria.getEmail(), Employee_.email));
-                }
-                if (criteria.getGender() != null) {
-                    specification = specification.and(buildSpecification(criteria.getGender(), Employee_.gender));
-                }
-                if (criteria.getAddress() != null) {
-                    specification = specification.and(buildStringSpecification(criteria.getAddress(), Employee_.address));
-                }
-                if (criteria.getDistrictName() != null) {
-                    specification = specification.and(buildSpecification(criteria.getDistrictName(),
-                            root -> root.join(Employee_.district, JoinType.LEFT).get(Nomenclature_.name)));
-                }
-                if (criteria.getBirthdate() != null) {
-                    specification = specification.and(buildRangeSpecification(criteria.getBirthdate(), Employee_.birthdate));
-                }
-                if (criteria.getSpecialtyName() != null) {
-                    specification = specification.and(buildSpecification(criteria.getSpecialtyName(),
-                            root -> root.join(Employee_.specialty, JoinType.LEFT).get(Nomenclature_.name)));
-                }
-                if (criteria.getFirstLastName() != null) {
-                    specification = specification.and(buildStringSpecification(criteria.getFirstLastName(), Employee_.firstLastName));
-                }
-                if (criteria.getWorkPlaceId() != null) {
-                    specification = specification.and(buildSpecification(criteria.getWorkPlaceId(),
-                            root -> root.join(Employee_.workPlace, JoinType.LEFT).get(WorkPlace_.id)));
-                }
-                if (criteria.getSecondLastName() != null) {
-                    specification = specification.and(buildStringSpecification(criteria.getSecondLastName(), Employee_.secondLastName));
-                }
-                if (criteria.getBossWorkPlace() != null) {
-                    specification = specification.and(buildSpecification(criteria.getBossWorkPlace(), Employee_.bossWorkPlace));
-                }
-                if (criteria.getCategoryName() != null) {
-                    specification = specification.and(buildSpecification(criteria.getCategoryName(),
-                            root -> root.join(Employee_.category).get(Nomenclature_.name)));
-                }
-                if (criteria.getChargeName() != null) {
-                    specification = specification.and(buildSpecification(criteria.getChargeName(),
-                            root -> root.join(Employee_.charge, JoinType.LEFT).get(Nomenclature_.name)));
-                }
-                if (criteria.getEndDate() != null) {
-                    specification = specification.and(buildRangeSpecification(criteria.getEndDate(), Employee_.endDate));
-                }
-                if (criteria.getGraduateYears() != null) {
-                    specification = specification.and(buildRangeSpecification(criteria.getGraduateYears(), Employee_.graduateYears));
-                }
-                if (criteria.getIsGraduatedBySector() != null) {
-                    specification = specification.and(buildSpecification(criteria.getIsGraduatedBySector(), Employee_.isGraduatedBySector));
-                }
-                if (criteria.getProfessionalNumber() != null) {
-                    specification = specification.and(buildStringSpecification(criteria.getProfessionalNumber(), Employee_.professionalNumber));
-                }
-                if (criteria.getProfessionName() != null) {
-                    specification = specification.and(buildSpecification(criteria.getProfessionName(),
-                            root -> root.join(Employee_.profession, JoinType.LEFT).get(Nomenclature_.name)));
-                }
-                if (criteria.getRegisterNumber() != null) {
-                    specification = specification.and(buildStringSpecification(criteria.getRegisterNumber(), Employee_.registerNumber));
-                }
-                if (criteria.getScientificDegreeName() != null) {
-                    specification = specification.and(buildSpecification(criteria.getScientificDegreeName(),
-                            root -> root.join(Employee_.scientificDegree, JoinType.LEFT).get(Nomenclature_.name)));
-                }
-                if (criteria.getServiceYears() != null) {
-                    specification = specification.and(buildRangeSpecification(criteria.getServiceYears(), Employee_.serviceYears));
-                }
-                if (criteria.getStartDate() != null) {
-                    specification = specification.and(buildRangeSpecification(criteria.getStartDate(), Employee_.startDate));
-                }
-                if (criteria.getTeachingCategoryName() != null) {
-                    specification = specification.and(buildSpecification(criteria.getTeachingCategoryName(),
-                            root -> root.join(Employee_.teachingCategory, JoinType.LEFT).get(Nomenclature_.name)));
-                }
-                if (criteria.getWorkPlaceName() != null) {
-                    specification = specification.and(buildSpecification(criteria.getWorkPlaceName(),
-                            root -> root.join(Employee_.workPlace, JoinType.LEFT).get(WorkPlace_.name)));
-                }
-            } else {
-                if (criteria.getId() != null) {
-                    specification = specification.or(buildSpecification(criteria.getId(), Employee_.id));
-                }
-                if (criteria.getSalary() != null) {
-                    specification = specification.or(buildSpecification(criteria.getSalary(), Employee_.salary));
-                }
-                if (criteria.getCi() != null) {
-                    specification = specification.or(buildStringSpecification(criteria.getCi(), Employee_.ci));
-                }
-                if (criteria.getName() != null) {
-                    specification = specification.or(buildStringSpecification(criteria.getName(), Employee_.name));
-                }
-                if (criteria.getRace() != null) {
-                    specification = specification.or(buildStringSpecification(criteria.getRace(), Employee_.race));
-                }
-                if (criteria.getEmail() != null) {
-                    specification = specification.or(buildStringSpecification(criteria.getEmail(), Employee_.email));
-                }
-                if (criteria.getWorkPlaceId() != null) {
-                    specification = specification.or(buildSpecification(criteria.getWorkPlaceId(),
-                            root -> root.join(Employee_.workPlace, JoinType.LEFT).get(WorkPlace_.id)));
-                }
-                if (criteria.getGender() != null) {
-                    specification = specification.or(buildSpecification(criteria.getGender(), Employee_.gender));
-                }
-                if (criteria.getAddress() != null) {
-                    specification = specification.or(buildStringSpecification(criteria.getAddress(), Employee_.address));
-                }
-                if (criteria.getDistrictName() != null) {
-                    specification = specification.or(buildSpecification(criteria.getDistrictName(),
-                            root -> root.join(Employee_.district, JoinType.LEFT).get(Nomenclature_.name)));
-                }
-                if (criteria.getBirthdate() != null) {
-                    specification = specification.or(buildRangeSpecification(criteria.getBirthdate(), Employee_.birthdate));
-                }
-                if (criteria.getSpecialtyName() != null) {
-                    specification = specification.or(buildSpecification(criteria.getSpecialtyName(),
-                            root -> root.join(Employee_.specialty, JoinType.LEFT).get(Nomenclature_.name)));
-                }
-                if (criteria.getFirstLastName() != null) {
-                    specification = specification.or(buildStringSpecification(criteria.getFirstLastName(), Employee_.firstLastName));
-                }
-                if (criteria.getSecondLastName() != null) {
-                    specification = specification.or(buildStringSpecification(criteria.getSecondLastName(), Employee_.secondLastName));
-                }
-                if (criteria.getBossWorkPlace() != null) {
-                    specification = specification.or(buildSpecification(criteria.getBossWorkPlace(), Employee_.bossWorkPlace));
-                }
-                if (criteria.getCategoryName() != null) {
-                    specification = specification.or(buildSpecification(criteria.getCategoryName(),
-                            root -> root.join(Employee_.category).get(Nomenclature_.name)));
-                }
-                if (criteria.getChargeName() != null) {
-                    specification = specification.or(buildSpecification(criteria.getChargeName(),
-                            root -> root.join(Employee_.charge, JoinType.LEFT).get(Nomenclature_.name)));
-                }
-                if (criteria.getEndDate() != null) {
-                    specification = specification.or(buildRangeSpecification(criteria.getEndDate(), Employee_.endDate));
-                }
-                if (criteria.getGraduateYears() != null) {
-                    specification = specification.or(buildRangeSpecification(criteria.getGraduateYears(), Employee_.graduateYears));
-                }
-                if (criteria.getIsGraduatedBySector() != null) {
-                    specification = specification.or(buildSpecification(criteria.getIsGraduatedBySector(), Employee_.isGraduatedBySector));
-                }
-                if (criteria.getProfessionalNumber() != null) {
-                    specification = specification.or(buildStringSpecification(criteria.getProfessionalNumber(), Employee_.professionalNumber));
-                }
-                if (criteria.getProfessionName() != null) {
-                    specification = specification.or(buildSpecification(criteria.getProfessionName(),
-                            root -> root.join(Employee_.profession, JoinType.LEFT).get(Nomenclature_.name)));
-                }
-                if (criteria.getRegisterNumber() != null) {
-                    specification = specification.or(buildStringSpecification(criteria.getRegisterNumber(), Employee_.registerNumber));
-                }
-                if (criteria.getScientificDegreeName() != null) {
-                    specification = specification.or(buildSpecification(criteria.getScientificDegreeName(),
-                            root -> root.join(Employee_.scientificDegree, JoinType.LEFT).get(Nomenclature_.name)));
-                }
-                if (criteria.getServiceYears() != null) {
-                    specification = specification.or(buildRangeSpecification(criteria.getServiceYears(), Employee_.serviceYears));
-                }
-                if (criteria.getStartDate() != null) {
-                    specification = specification.or(buildRangeSpecification(criteria.getStartDate(), Employee_.startDate));
-                }
-                if (criteria.getTeachingCategoryName() != null) {
-                    specification = specification.or(buildSpecification(criteria.getTeachingCategoryName(),
-                            root -> root.join(Employee_.teachingCategory, JoinType.LEFT).get(Nomenclature_.name)));
-                }
-                if (criteria.getWorkPlaceName() != null) {
-                    specification = specification.or(buildSpecification(criteria.getWorkPlaceName(),
-                            root -> root.join(Employee_.workPlace, JoinType.LEFT).get(WorkPlace_.name)));
-                }
-            }
-        }
-        return specification;
+    @Transactional(readOnly = true)
+    public Page<EmployeeDTO> findByCriteria(String operator_union, EmployeeCriteria criteria, Pageable page) {
+        return queryResultCache.get(Employee.class, operator_union, criteria, page,
+                () -> directoryEntryService.findEmployees(operator_union, criteria, page));
     }
 
     /**
@@ -658,12 +535,18 @@ public class EmployeeService extends QueryService<Employee> {
      */
     public EmployeeDTO partialUpdate(EmployeeDTO employeeDTO, MultipartFile avatar) {
         String oldFileName = "";
-        UUID employeeIdToRemove = null;
-        UUID workPlaceIdRemoved = null;
-        Optional<Employee> optionalEmployee = repository.findEmployeeWithAssociationsById(employeeDTO.getId());
+        UUID oldWorkPlaceId = null;
+        // phones are not touched by a partial update, so the collection is not fetched
+        Optional<Employee> optionalEmployee = repository.findById(employeeDTO.getId());
         if (optionalEmployee.isPresent()) {
             Employee employeeFetched = optionalEmployee.get();
+            // snapshot of the searchable fields before applying the changes
+            Map<String, Object> oldEmployeeIndexMap = createEmployeeIndexMap(employeeFetched);
+            if (employeeFetched.getWorkPlace() != null) {
+                oldWorkPlaceId = employeeFetched.getWorkPlace().getId();
+            }
             mapper.partialUpdate(employeeDTO, employeeFetched);
+            resolveSuppliedAssociations(employeeDTO, employeeFetched);
             String newFileName = getFileName(employeeFetched, avatar);
 
             // case: For renaming or updating a exists avatar
@@ -673,59 +556,105 @@ public class EmployeeService extends QueryService<Employee> {
                 newFileName = !extension.isBlank() ? newFileName + "." + extension : newFileName;
             }
 
-            // if employee should be removed own workplace
-            if (employeeFetched.getWorkPlace() != null) {
-                employeeIdToRemove = employeeFetched.getId();
-                workPlaceIdRemoved = employeeFetched.getWorkPlace().getId();
-            }
-
             // case: To store new avatar or update a exists avatar
             if (avatar != null || (!newFileName.equals(oldFileName) && !oldFileName.isBlank())) {
                 employeeFetched.setAvatarUrl(newFileName);
             }
 
-            this.save(employeeFetched);
-            searchRepository.save(employeeIndexMapper.toIndex(employeeFetched));
-           this.publishEmployeeEvent(employeeFetched,
-                   avatar, employeeIdToRemove,
-                   workPlaceIdRemoved, oldFileName, newFileName);
+            // employeeFetched is managed, the dynamic update statement with only the changed columns
+            // is issued on flush
+            this.publishEmployeeEvent(employeeFetched, avatar, oldEmployeeIndexMap,
+                    oldWorkPlaceId, oldFileName, newFileName);
             return mapper.toDto(employeeFetched);
         }
         return null;
     }
 
     /**
-     *  Publish event of the {@link Employee}
+     * Load only the nomenclatures and workplace whose identifiers were supplied in a partial update,
+     * the other associations of the {@link Employee} remain untouched
+     *
+     * @param employeeDTO partial information of the employee
+     * @param employee    managed entity
+     */
+    private void resolveSuppliedAssociations(EmployeeDTO employeeDTO, Employee employee) {
+        if (employeeDTO.getCategoryId() != null) {
+            nomenclatureRepository.findById(employeeDTO.getCategoryId()).ifPresent(employee::setCategory);
+        }
+        if (employeeDTO.getChargeId() != null) {
+            nomenclatureRepository.findById(employeeDTO.getChargeId()).ifPresent(employee::setCharge);
+        }
+        if (employeeDTO.getSpecialtyId() != null) {
+            nomenclatureRepository.findById(employeeDTO.getSpecialtyId()).ifPresent(employee::setSpecialty);
+        }
+        if (employeeDTO.getDistrictId() != null) {
+            nomenclatureRepository.findById(employeeDTO.getDistrictId()).ifPresent(employee::setDistrict);
+        }
+        if (employeeDTO.getProfessionId() != null) {
+            nomenclatureRepository.findById(employeeDTO.getProfessionId()).ifPresent(employee::setProfession);
+        }
+        if (employeeDTO.getScientificDegreeId() != null) {
+            nomenclatureRepository.findById(employeeDTO.getScientificDegreeId()).ifPresent(employee::setScientificDegree);
+        }
+        if (employeeDTO.getTeachingCategoryId() != null) {
+            nomenclatureRepository.findById(employeeDTO.getTeachingCategoryId()).ifPresent(employee::setTeachingCategory);
+        }
+        if (employeeDTO.getWorkPlaceId() != null) {
+            workPlaceRepository.findById(employeeDTO.getWorkPlaceId()).ifPresent(employee::setWorkPlace);
+        }
+    }
+
+    /**
+     *  Publish event of the {@link Employee}. {@link EmployeeIndex} is only written when a searchable field
+     *  changed, and the change is only propagated to {@link cu.sld.ucmgt.directory.domain.elasticsearch.PhoneIndex}
+     *  and {@link cu.sld.ucmgt.directory.domain.elasticsearch.WorkPlaceIndex} when a denormalized field changed.
+     *
      * @param employee entity to convert {@link Map}  of {@link Employee} and publish
      * @param file avatar of the {@link Employee} with content type image/png or image/jpeg
-     * @param employeeIdToRemove identifier of the {@link Employee} to remove inside their associations
-     * @param workPlaceId identifier of the {@link WorkPlace} for removing {@link Employee}
+     * @param oldEmployeeIndexMap searchable fields of the {@link Employee} before the update
+     * @param oldWorkPlaceId identifier of the {@link WorkPlace} of the {@link Employee} before the update
      * @param oldFileName old file name of avatar
      * @param newFileName new file name of avatar
      */
     private void publishEmployeeEvent(Employee employee, MultipartFile file,
-                                      UUID employeeIdToRemove, UUID workPlaceId,
+                                      Map<String, Object> oldEmployeeIndexMap, UUID oldWorkPlaceId,
                                       String oldFileName, String newFileName) {
-
-        // updating the EmployeeIndex belonging to PhoneIndex and WorkPlaceIndex
-        Map<String, Object> employeeIndexMap = createEmployeeToEmployeeIndexMap(employee);
-        if (employeeIdToRemove != null) {
-            final RemovedEmployeeIndexEvent removedEmployeeIndexEvent = RemovedEmployeeIndexEvent.builder()
-                    .workPlaceId(workPlaceId)
-                    .removedEmployeeId(employeeIdToRemove)
-                    .build();
-            eventPublisher.publishEvent(removedEmployeeIndexEvent);
-        }
         final SaveFileEvent saveFileEvent = SaveFileEvent.builder()
                 .newFileName(newFileName)
                 .oldFileName(oldFileName)
                 .fileInput(file)
                 .build();
+        eventPublisher.publishEvent(saveFileEvent);
+
+        Map<String, Object> changedFields = ServiceUtils.getChangedFields(oldEmployeeIndexMap,
+                createEmployeeIndexMap(employee));
+        if (changedFields.isEmpty()) {
+            log.debug("None searchable field changed in Employee with ID: {}, skipping reindex", employee.getId());
+            return;
+        }
+        partialUpdateEmployeeIndex(employee, changedFields);
+
+        boolean denormalizedFieldChanged = changedFields.keySet().stream()
+                .anyMatch(field -> !NOT_DENORMALIZED_FIELDS.contains(field));
+        if (!denormalizedFieldChanged) {
+            return;
+        }
+
+        // the employee must be removed from his old workplace only if the workplace was changed
+        UUID newWorkPlaceId = employee.getWorkPlace() != null ? employee.getWorkPlace().getId() : null;
+        if (oldWorkPlaceId != null && !oldWorkPlaceId.equals(newWorkPlaceId)) {
+            final RemovedEmployeeIndexEvent removedEmployeeIndexEvent = RemovedEmployeeIndexEvent.builder()
+                    .workPlaceId(oldWorkPlaceId)
+                    .removedEmployeeId(employee.getId())
+                    .build();
+            eventPublisher.publishEvent(removedEmployeeIndexEvent);
+        }
+
+        // updating the EmployeeIndex belonging to PhoneIndex and WorkPlaceIndex
         final SavedEmployeeIndexEvent savedEmployeeIndexEvent = SavedEmployeeIndexEvent.builder()
                 .employeeId(employee.getId().toString())
-                .params(employeeIndexMap)
+                .params(createEmployeeToEmployeeIndexMap(employee))
                 .build();
-        eventPublisher.publishEvent(saveFileEvent);
         eventPublisher.publishEvent(savedEmployeeIndexEvent);
     }
 
@@ -1,6 +1,7 @@
 package cu.sld.ucmgt.directory.service;
 
 import cu.sld.ucmgt.directory.config.AppProperties;
+import cu.sld.ucmgt.directory.config.jfr.StorageEvent;
 import cu.sld.ucmgt.directory.service.error.StorageException;
 import io.minio.*;
 import io.minio.errors.*;
@@ -87,6 +88,7 @@ public class FileService {
                     throw new StorageException("Can not storage with relative path outside current directory " + filename);
                 }
                 // Copy file to the target location (Replacing existing file with the same name)
+                StorageEvent event = StorageEvent.start("putObject", bucketName, filename, fileInput.getSize());
                 try (InputStream inputStream = file.get().getInputStream()) {
                     minioClient.putObject(PutObjectArgs.builder()
                             .bucket(bucketName)
@@ -94,6 +96,9 @@ public class FileService {
                             .stream(inputStream, fileInput.getSize(), -1)
                             .contentType(fileInput.getContentType())
                             .build());
+                    event.succeeded();
+                } finally {
+                    event.finish();
                 }
                 return filename;
             } catch (Exception e) {
@@ -110,8 +115,10 @@ public class FileService {
      * @return True if the file was deleted, False otherwise
      */
     public Boolean delete(String filename) {
+        StorageEvent event = StorageEvent.start("removeObject", bucketName, filename, 0);
         try {
             minioClient.removeObject(RemoveObjectArgs.builder().bucket(bucketName).object(filename).build());
+            event.succeeded();
             return true;
         } catch (IOException
                 | NoSuchAlgorithmException
@@ -123,6 +130,8 @@ public class FileService {
                 | XmlParserException
                 | ErrorResponseException exception) {
             log.error("Could not delete file", exception);
+        } finally {
+            event.finish();
         }
         return false;
     }
@@ -169,6 +178,7 @@ public class FileService {
             "&& #saveFileEvent.getOldFileName() != #saveFileEvent.getNewFileName()")
     public void renameAvatar(SaveFileEvent saveFileEvent) {
         if (!saveFileEvent.getNewFileName().isBlank() && !saveFileEvent.getOldFileName().isBlank()) {
+            StorageEvent event = StorageEvent.start("renameObject", bucketName, saveFileEvent.getOldFileName(), 0);
             try {
                 minioClient.copyObject(CopyObjectArgs.builder()
                         .bucket(bucketName)
@@ -181,6 +191,7 @@ public class FileService {
                         )
                         .build());
                 minioClient.removeObject(RemoveObjectArgs.builder().bucket(bucketName).object(saveFileEvent.oldFileName).build());
+                event.succeeded();
             } catch (ErrorResponseException
                     | InsufficientDataException
                     | InternalException
@@ -191,6 +202,8 @@ public class FileService {
                     | ServerException
                     | XmlParserException e) {
                 throw new StorageException("Could not rename file: " + saveFileEvent.getOldFileName(), e);
+            } finally {
+                event.finish();
             }
         }
     }
@@ -1,5 +1,6 @@
 package cu.sld.ucmgt.directory.service;
 
+import cu.sld.ucmgt.directory.config.cache.QueryResultCache;
 import cu.sld.ucmgt.directory.domain.Nomenclature;
 import cu.sld.ucmgt.directory.domain.NomenclatureType;
 import cu.sld.ucmgt.directory.domain.Nomenclature_;
@@ -28,6 +29,7 @@ import java.util.*;
 @RequiredArgsConstructor
 public class NomenclatureService extends QueryService<Nomenclature> {
 
+    private final QueryResultCache queryResultCache;
     private final NomenclatureMapper mapper;
     private final NomenclatureRepository repository;
     private final ApplicationEventPublisher eventPublisher;
@@ -175,6 +177,7 @@ public class NomenclatureService extends QueryService<Nomenclature> {
      * @param pageable      the pagination information.
      * @return the list of entities.
      */
+    @Transactional(readOnly = true)
     public Page<NomenclatureDTO> getAllByStatusAndDiscriminator(String operator_union, NomenclatureCriteria criteria,
                                                                 NomenclatureType discriminator, Pageable pageable) {
 
@@ -191,10 +194,13 @@ public class NomenclatureService extends QueryService<Nomenclature> {
      * @param criteria The object which holds all the filters, which the entities should match.
      * @return the matching entities.
      */
+    @Transactional(readOnly = true)
     public Page<NomenclatureDTO> findByCriteria(String operator_union, NomenclatureCriteria criteria, Pageable page) {
         log.debug("find by criteria : {}, page: {}", criteria, page);
-        final Specification<Nomenclature> specification = createSpecification(operator_union, criteria);
-        return repository.findAll(specification, page).map(mapper::toDto);
+        return queryResultCache.get(Nomenclature.class, operator_union, criteria, page, () -> {
+            final Specification<Nomenclature> specification = createSpecification(operator_union, criteria);
+            return repository.findAll(specification, page).map(mapper::toDto);
+        });
     }
 
     /**
@@ -1,5 +1,7 @@
 package cu.sld.ucmgt.directory.service;
 
+import cu.sld.ucmgt.directory.config.cache.QueryResultCache;
+import cu.sld.ucmgt.directory.config.metric.IndexLagMonitor;
 import cu.sld.ucmgt.directory.domain.Employee_;
 import cu.sld.ucmgt.directory.domain.Phone;
 import cu.sld.ucmgt.directory.domain.Phone_;
@@ -7,15 +9,18 @@ import cu.sld.ucmgt.directory.domain.WorkPlace_;
 import cu.sld.ucmgt.directory.domain.elasticsearch.PhoneIndex;
 import cu.sld.ucmgt.directory.repository.EmployeeRepository;
 import cu.sld.ucmgt.directory.repository.PhoneRepository;
+import cu.sld.ucmgt.directory.repository.ProjectionRepository;
 import cu.sld.ucmgt.directory.repository.WorkPlaceRepository;
 import cu.sld.ucmgt.directory.repository.search.PhoneSearchRepository;
 import cu.sld.ucmgt.directory.service.EmployeeService.RemovedEmployeeIndexEvent;
 import cu.sld.ucmgt.directory.service.EmployeeService.SavedEmployeeIndexEvent;
+import cu.sld.ucmgt.directory.service.WorkPlaceService.ChangedWorkPlaceStatusEvent;
 import cu.sld.ucmgt.directory.service.WorkPlaceService.RemovedWorkPlaceIndexEvent;
 import cu.sld.ucmgt.directory.service.WorkPlaceService.SavedWorkPlaceIndexEvent;
 import cu.sld.ucmgt.directory.service.criteria.PhoneCriteria;
 import cu.sld.ucmgt.directory.service.dto.PhoneDTO;
 import cu.sld.ucmgt.directory.service.mapper.EmployeeMapper;
+import cu.sld.ucmgt.directory.service.mapper.ListProjections;
 import cu.sld.ucmgt.directory.service.mapper.PhoneIndexMapper;
 import cu.sld.ucmgt.directory.service.mapper.PhoneMapper;
 import cu.sld.ucmgt.directory.service.mapper.WorkPlaceMapper;
@@ -24,12 +29,18 @@ import lombok.Builder;
 import lombok.Data;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.elasticsearch.action.bulk.BulkItemResponse;
+import org.elasticsearch.action.bulk.BulkRequest;
+import org.elasticsearch.action.bulk.BulkResponse;
+import org.elasticsearch.action.support.WriteRequest;
+import org.elasticsearch.action.update.UpdateRequest;
 import org.elasticsearch.client.RequestOptions;
 import org.elasticsearch.client.RestHighLevelClient;
 import org.elasticsearch.index.query.BoolQueryBuilder;
 import org.elasticsearch.index.query.QueryBuilders;
 import org.elasticsearch.index.reindex.DeleteByQueryRequest;
 import org.elasticsearch.index.reindex.UpdateByQueryRequest;
+import org.elasticsearch.rest.RestStatus;
 import org.elasticsearch.script.Script;
 import org.elasticsearch.script.ScriptType;
 import org.springframework.context.ApplicationEventPublisher;
@@ -42,7 +53,9 @@ import org.springframework.transaction.annotation.Transactional;
 
 import javax.persistence.criteria.JoinType;
 import java.io.IOException;
+import java.time.Instant;
 import java.util.*;
+import java.util.stream.Collectors;
 
 
 @Slf4j
@@ -51,6 +64,9 @@ import java.util.*;
 @RequiredArgsConstructor
 public class PhoneService extends QueryService<Phone> {
 
+    private final QueryResultCache queryResultCache;
+    private final IndexLagMonitor indexLagMonitor;
+    private final ProjectionRepository projectionRepository;
     private final PhoneMapper mapper;
     private final PhoneRepository repository;
     private final EmployeeMapper employeeMapper;
@@ -83,7 +99,8 @@ public class PhoneService extends QueryService<Phone> {
         } else {
             employeeRepository.findById(phone.getEmployee().getId()).ifPresent(phone::setEmployee);
         }
-        repository.save(phone);
+        // flushed so the auditing listener stamps the lastModifiedDate of the indexed document
+        phone = repository.saveAndFlush(phone);
         PhoneIndex phoneIndex = phoneIndexMapper.toIndex(phone);
         searchRepository.save(phoneIndex);
         Map<String, Object> phoneIndexMap = createPhoneIndexToPhoneIndexMap(phoneIndex);
@@ -107,12 +124,14 @@ public class PhoneService extends QueryService<Phone> {
         phoneMap.put("number", phoneIndex.getNumber());
         phoneMap.put("id", phoneIndex.getId().toString());
         phoneMap.put("description", phoneIndex.getDescription());
+        phoneMap.put("active", phoneIndex.getActive());
         if (phoneIndex.getWorkPlace() != null) {
             Map<String, Object> workPlaceMap = new HashMap<>();
             workPlaceMap.put("name", phoneIndex.getWorkPlace().getName());
             workPlaceMap.put("email", phoneIndex.getWorkPlace().getEmail());
             workPlaceMap.put("id", phoneIndex.getWorkPlace().getId().toString());
             workPlaceMap.put("description", phoneIndex.getWorkPlace().getDescription());
+            workPlaceMap.put("active", phoneIndex.getWorkPlace().getActive());
             phoneMap.put("workPlace", workPlaceMap);
         }
         return phoneMap;
@@ -130,7 +149,7 @@ public class PhoneService extends QueryService<Phone> {
                         .setAbortOnVersionConflict(true)
                         .setScript(new Script(ScriptType.INLINE, "painless", updateCode, employeeIndexEvent.getParams()))
                         .setQuery(QueryBuilders.matchQuery("employee.id", employeeIndexEvent.getEmployeeId()));
-                highLevelClient.updateByQuery(updateByQueryRequest, RequestOptions.DEFAULT);
+                indexLagMonitor.write(INDEX_NAME, null, () -> highLevelClient.updateByQuery(updateByQueryRequest, RequestOptions.DEFAULT));
             } catch (IOException e) {
                 e.printStackTrace();
             }
@@ -146,7 +165,7 @@ public class PhoneService extends QueryService<Phone> {
                     .setAbortOnVersionConflict(true)
                     .setQuery(QueryBuilders.matchQuery("workPlace.id",
                             workPlaceIndexEvent.getRemovedWorkPlaceIndexId().toString()));
-            highLevelClient.deleteByQuery(deleteByQueryRequest, RequestOptions.DEFAULT);
+            indexLagMonitor.write(INDEX_NAME, null, () -> highLevelClient.deleteByQuery(deleteByQueryRequest, RequestOptions.DEFAULT));
         } catch (IOException exception) {
             exception.printStackTrace();
         }
@@ -169,7 +188,7 @@ public class PhoneService extends QueryService<Phone> {
                     .setAbortOnVersionConflict(true)
                     .setQuery(QueryBuilders.matchQuery("workPlace.id", workPlaceIndexEvent.getWorkplaceId().toString()))
                     .setScript(new Script(ScriptType.INLINE, "painless", updateCode, workPlaceIndexEvent.getWorkplaceIndexMap()));
-            highLevelClient.updateByQuery(updateByQueryRequest, RequestOptions.DEFAULT);
+            indexLagMonitor.write(INDEX_NAME, null, () -> highLevelClient.updateByQuery(updateByQueryRequest, RequestOptions.DEFAULT));
         } catch (IOException e) {
             e.printStackTrace();
         }
@@ -206,7 +225,7 @@ public class PhoneService extends QueryService<Phone> {
                         .setRefresh(true)
                         .setAbortOnVersionConflict(true)
                         .setQuery(boolQueryBuilder);
-                highLevelClient.deleteByQuery(deleteByQueryRequest, RequestOptions.DEFAULT);
+                indexLagMonitor.write(INDEX_NAME, null, () -> highLevelClient.deleteByQuery(deleteByQueryRequest, RequestOptions.DEFAULT));
             }
         } catch (IOException exception) {
             log.error(exception.getMessage());
@@ -222,7 +241,7 @@ public class PhoneService extends QueryService<Phone> {
     @Transactional(readOnly = true)
     public Page<PhoneDTO> getAllPhones(Pageable pageable) {
         log.debug("Request to get all Phones");
-        return repository.findAll(pageable).map(mapper::toDto);
+        return projectionRepository.findAll(Phone.class, null, pageable, ListProjections.PHONE);
     }
 
     /**
@@ -294,38 +313,87 @@ public class PhoneService extends QueryService<Phone> {
      * @return true if changed status or false otherwise
      */
     public Boolean changeStatus(UUID id, Boolean status) {
-        log.debug("Request to change phone status to {} by ID {}", status, id);
-        Optional<Phone> phoneToUpdate = repository.findById(id);
-        if (phoneToUpdate.isPresent()) {
-            phoneToUpdate.get().setActive(status);
-            repository.save(phoneToUpdate.get());
-            if (status) {
-                // PhoneIndex must to be created because when Phone was disabled, PhoneIndex was removed
-                PhoneIndex phoneIndexToUpdate = phoneIndexMapper.toIndex(phoneToUpdate.get());
-                searchRepository.save(phoneIndexToUpdate);
-                Map<String, Object> phoneIndexMap = createPhoneIndexToPhoneIndexMap(phoneIndexToUpdate);
-                final SavedPhoneIndexEvent savedPhoneIndexEvent = SavedPhoneIndexEvent.builder()
-                        .phoneId(null)
-                        .phoneIndexMap(phoneIndexMap)
-                        .workPlaceId(phoneIndexToUpdate.getWorkPlace() != null ? phoneIndexToUpdate.getWorkPlace().getId() : null)
-                        .build();
-                eventPublisher.publishEvent(savedPhoneIndexEvent);
-            } else {
-                // PhoneIndex must to be removed because Phone was disabled
-                searchRepository.findPhoneIndexByNumber(phoneToUpdate.get().getNumber()).ifPresent(phoneIndexToDisable -> {
-                    searchRepository.delete(phoneIndexToDisable);
-                    final RemovedPhoneIndexEvent removedPhoneIndexEvent = RemovedPhoneIndexEvent.builder()
-                            .removedPhoneIndex(phoneIndexToDisable)
-                            .removedPhoneIndexId(phoneIndexToDisable.getId())
-                            .workPlaceId(phoneIndexToDisable.getWorkPlace() != null ?
-                                    phoneIndexToDisable.getWorkPlace().getId() : null)
+        return changeStatus(Collections.singleton(id), status) > 0;
+    }
+
+    /**
+     * Change the status of several phones at once. The documents are kept in the indices and disabled
+     * phones are filtered at query time, so only the active flag is written.
+     *
+     * @param ids    phone identifiers
+     * @param status true or false
+     * @return number of phones whose status was changed
+     */
+    public int changeStatus(Collection<UUID> ids, Boolean status) {
+        log.debug("Request to change status to {} of Phones: {}", status, ids);
+        List<Phone> phonesToUpdate = repository.findAllById(ids);
+        if (phonesToUpdate.isEmpty()) {
+            return 0;
+        }
+        phonesToUpdate.forEach(phone -> phone.setActive(status));
+        repository.saveAll(phonesToUpdate);
+        repository.flush();
+        Instant changed = Instant.now();
+        Map<UUID, Phone> phonesById = phonesToUpdate.stream().collect(Collectors.toMap(Phone::getId, phone -> phone));
+        BulkRequest bulkRequest = new BulkRequest().setRefreshPolicy(WriteRequest.RefreshPolicy.IMMEDIATE);
+        phonesById.keySet().forEach(phoneId -> bulkRequest.add(new UpdateRequest(INDEX_NAME, phoneId.toString())
+                .doc(Collections.singletonMap("active", status))));
+        try {
+            BulkResponse bulkResponse = indexLagMonitor.write(INDEX_NAME, changed, () -> highLevelClient.bulk(bulkRequest, RequestOptions.DEFAULT));
+            for (BulkItemResponse itemResponse : bulkResponse.getItems()) {
+                if (!itemResponse.isFailed()) {
+                    continue;
+                }
+                if (itemResponse.getFailure().getStatus() == RestStatus.NOT_FOUND) {
+                    // PhoneIndex was removed when the phone was disabled before the status was stored as a flag
+                    PhoneIndex phoneIndex = phoneIndexMapper.toIndex(phonesById.get(UUID.fromString(itemResponse.getId())));
+                    searchRepository.save(phoneIndex);
+                    final SavedPhoneIndexEvent savedPhoneIndexEvent = SavedPhoneIndexEvent.builder()
+                            .phoneId(null)
+                            .phoneIndexMap(createPhoneIndexToPhoneIndexMap(phoneIndex))
+                            .workPlaceId(phoneIndex.getWorkPlace() != null ? phoneIndex.getWorkPlace().getId() : null)
                             .build();
-                    eventPublisher.publishEvent(removedPhoneIndexEvent);
-                });
+                    eventPublisher.publishEvent(savedPhoneIndexEvent);
+                } else {
+                    log.error("Could not change status of PhoneIndex with ID: {}: {}", itemResponse.getId(),
+                            itemResponse.getFailureMessage());
+                }
             }
-            return true;
+        } catch (IOException e) {
+            e.printStackTrace();
+        }
+        final ChangedPhoneStatusEvent changedPhoneStatusEvent = ChangedPhoneStatusEvent.builder()
+                .phoneIds(new ArrayList<>(phonesById.keySet()))
+                .active(status)
+                .build();
+        eventPublisher.publishEvent(changedPhoneStatusEvent);
+        return phonesToUpdate.size();
+    }
+
+    /**
+     * Listen {@link ChangedWorkPlaceStatusEvent} event to update the status of the workplace inside {@link PhoneIndex}
+     *
+     * @param event information about event
+     */
+    @EventListener(condition = "!#event.getWorkPlaceIds().isEmpty()")
+    public void updateWorkPlaceStatusInPhoneIndex(ChangedWorkPlaceStatusEvent event) {
+        log.debug("Listening ChangedWorkPlaceStatusEvent event to update status of WorkPlaces {} in PhoneIndex",
+                event.getWorkPlaceIds());
+        try {
+            BoolQueryBuilder boolQueryBuilder = QueryBuilders.boolQuery();
+            event.getWorkPlaceIds().forEach(workPlaceId ->
+                    boolQueryBuilder.should(QueryBuilders.matchQuery("workPlace.id", workPlaceId.toString())));
+            String updateCode = "if (ctx._source.workPlace != null) { ctx._source.workPlace.active = params.active }";
+            UpdateByQueryRequest updateByQueryRequest = new UpdateByQueryRequest(INDEX_NAME)
+                    .setRefresh(true)
+                    .setAbortOnVersionConflict(true)
+                    .setQuery(boolQueryBuilder)
+                    .setScript(new Script(ScriptType.INLINE, "painless", updateCode,
+                            Collections.singletonMap("active", event.getActive())));
+            indexLagMonitor.write(INDEX_NAME, null, () -> highLevelClient.updateByQuery(updateByQueryRequest, RequestOptions.DEFAULT));
+        } catch (IOException e) {
+            e.printStackTrace();
         }
-        return false;
     }
 
     /**
@@ -335,9 +403,12 @@ public class PhoneService extends QueryService<Phone> {
      * @param criteria       The object which holds all the filters, which the entities should match.
      * @return the matching entities.
      */
+    @Transactional(readOnly = true)
     public Page<PhoneDTO> findByCriteria(String join, PhoneCriteria criteria, Pageable pageable) {
-        final Specification<Phone> specification = createSpecification(join, criteria);
-        return repository.findAll(specification, pageable).map(mapper::toDto);
+        return queryResultCache.get(Phone.class, join, criteria, pageable, () -> {
+            final Specification<Phone> specification = createSpecification(join, criteria);
+            return projectionRepository.findAll(Phone.class, specification, pageable, ListProjections.PHONE);
+        });
     }
 
     /**
@@ -396,6 +467,17 @@ public class PhoneService extends QueryService<Phone> {
         return specification;
     }
 
+    /**
+     *  Class to register a status change of several {@link PhoneIndex} as event
+     */
+    @Data
+    @Builder
+    @AllArgsConstructor
+    public static class ChangedPhoneStatusEvent {
+        private List<UUID> phoneIds;
+        private Boolean active;
+    }
+
     /**
      * Class to register a saved {@link PhoneIndex} as event
      */
@@ -1,9 +1,9 @@
 package cu.sld.ucmgt.directory.service;
 
+import cu.sld.ucmgt.directory.config.cache.QueryResultCache;
+import cu.sld.ucmgt.directory.config.metric.IndexLagMonitor;
 import cu.sld.ucmgt.directory.domain.NomenclatureType;
-import cu.sld.ucmgt.directory.domain.Nomenclature_;
 import cu.sld.ucmgt.directory.domain.Student;
-import cu.sld.ucmgt.directory.domain.Student_;
 import cu.sld.ucmgt.directory.domain.elasticsearch.StudentIndex;
 import cu.sld.ucmgt.directory.repository.NomenclatureRepository;
 import cu.sld.ucmgt.directory.repository.StudentRepository;
@@ -19,35 +19,36 @@ import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.apache.commons.io.FilenameUtils;
 import org.elasticsearch.ElasticsearchException;
+import org.elasticsearch.action.support.WriteRequest;
+import org.elasticsearch.action.update.UpdateRequest;
 import org.elasticsearch.client.RequestOptions;
 import org.elasticsearch.client.RestHighLevelClient;
 import org.elasticsearch.index.query.BoolQueryBuilder;
 import org.elasticsearch.index.query.QueryBuilders;
 import org.elasticsearch.index.reindex.UpdateByQueryRequest;
+import org.elasticsearch.rest.RestStatus;
 import org.elasticsearch.script.Script;
 import org.elasticsearch.script.ScriptType;
 import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.context.event.EventListener;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
-import org.springframework.data.jpa.domain.Specification;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 import org.springframework.web.multipart.MultipartFile;
 
-import javax.persistence.criteria.JoinType;
 import java.io.IOException;
-import java.util.Collections;
-import java.util.List;
-import java.util.Optional;
-import java.util.UUID;
+import java.util.*;
 
 
 @Slf4j
 @Service
 @Transactional
 @RequiredArgsConstructor
-public class StudentService extends QueryService<Student>{
+public class StudentService {
+    private final QueryResultCache queryResultCache;
+    private final IndexLagMonitor indexLagMonitor;
+    private final DirectoryEntryService directoryEntryService;
     private final StudentMapper mapper;
     private final StudentRepository repository;
     private final RestHighLevelClient highLevelClient;
@@ -74,7 +75,8 @@ public class StudentService extends QueryService<Student>{
      * @return the persisted entity.
      */
     public Student save(Student student) {
-        repository.save(student);
+        // the merged copy is the managed entity, stamped by the auditing listener on flush
+        student = repository.save(student);
         if (student.getDistrict() != null) {
             nomenclatureRepository.findById(student.getDistrict().getId()).ifPresent(student::setDistrict);
         }
@@ -146,6 +148,8 @@ public class StudentService extends QueryService<Student>{
         }
 
         student = this.save(student);
+        // flushed so the auditing listener stamps the lastModifiedDate of the indexed document
+        repository.flush();
         StudentIndex studentIndex = studentIndexMapper.toIndex(student);
         searchRepository.save(studentIndex);
 
@@ -187,7 +191,10 @@ public class StudentService extends QueryService<Student>{
         Optional<Student> optionalStudent =  repository.findById(studentDto.getId());
         if (optionalStudent.isPresent()) {
             Student existingStudent = optionalStudent.get();
+            // snapshot of the searchable fields before applying the changes
+            Map<String, Object> oldStudentIndexMap = createStudentIndexMap(existingStudent);
             mapper.partialUpdate(studentDto, existingStudent);
+            resolveSuppliedAssociations(studentDto, existingStudent);
             String newFileName = getFileName(existingStudent, avatar);
 
             // case: For renaming or updating a exists avatar
@@ -202,8 +209,8 @@ public class StudentService extends QueryService<Student>{
                 existingStudent.setAvatarUrl(newFileName);
             }
 
-            this.save(existingStudent);
-
+            // existingStudent is managed, the dynamic update statement with only the changed columns
+            // is issued on flush
             final FileService.SaveFileEvent saveFileEvent = FileService.SaveFileEvent.builder()
                     .newFileName(newFileName)
                     .oldFileName(oldFileName)
@@ -211,14 +218,96 @@ public class StudentService extends QueryService<Student>{
                     .build();
             eventPublisher.publishEvent(saveFileEvent);
 
-            StudentIndex studentIndex = studentIndexMapper.toIndex(existingStudent);
-            searchRepository.save(studentIndex);
+            Map<String, Object> changedFields = ServiceUtils.getChangedFields(oldStudentIndexMap,
+                    createStudentIndexMap(existingStudent));
+            if (changedFields.isEmpty()) {
+                log.debug("None searchable field changed in Student with ID: {}, skipping reindex", existingStudent.getId());
+            } else {
+                partialUpdateStudentIndex(existingStudent, changedFields);
+            }
             return mapper.toDto(existingStudent);
         } else {
             return null;
         }
     }
 
+    /**
+     * Load only the nomenclatures whose identifiers were supplied in a partial update,
+     * the other associations of the {@link Student} remain untouched
+     *
+     * @param studentDTO partial information of the student
+     * @param student    managed entity
+     */
+    private void resolveSuppliedAssociations(StudentDTO studentDTO, Student student) {
+        if (studentDTO.getDistrictId() != null) {
+            nomenclatureRepository.findById(studentDTO.getDistrictId()).ifPresent(student::setDistrict);
+        }
+        if (studentDTO.getSpecialtyId() != null) {
+            nomenclatureRepository.findById(studentDTO.getSpecialtyId()).ifPresent(student::setSpecialty);
+        }
+        if (studentDTO.getStudyCenterId() != null) {
+            nomenclatureRepository.findById(studentDTO.getStudyCenterId()).ifPresent(student::setStudyCenter);
+        }
+        if (studentDTO.getKindId() != null) {
+            nomenclatureRepository.findById(studentDTO.getKindId()).ifPresent(student::setKind);
+        }
+    }
+
+    /**
+     * Create a map with all searchable fields of {@link StudentIndex}
+     *
+     * @param student {@link Student} instance
+     * @return studentIndexMap
+     */
+    private Map<String, Object> createStudentIndexMap(Student student) {
+        Map<String, Object> params = new HashMap<>();
+        params.put("ci", student.getCi());
+        params.put("race", student.getRace());
+        params.put("name", student.getName());
+        params.put("email", student.getEmail());
+        params.put("gender", student.getGender());
+        params.put("address", student.getAddress());
+        params.put("avatarUrl", student.getAvatarUrl());
+        params.put("birthdate", student.getBirthdate());
+        params.put("classRoom", student.getClassRoom());
+        params.put("residence", student.getResidence());
+        params.put("firstLastName", student.getFirstLastName());
+        params.put("secondLastName", student.getSecondLastName());
+        params.put("universityYear", student.getUniversityYear());
+        params.put("district", student.getDistrict() != null ? student.getDistrict().getName() : null);
+        params.put("specialty", student.getSpecialty() != null ? student.getSpecialty().getName() : null);
+        return params;
+    }
+
+    /**
+     * Write only the changed fields in {@link StudentIndex}. If the document does not exist yet,
+     * it is fully indexed.
+     *
+     * @param student       persisted entity
+     * @param changedFields fields to write
+     */
+    private void partialUpdateStudentIndex(Student student, Map<String, Object> changedFields) {
+        // flushed so the auditing listener stamps the entity, the lag is measured from that date
+        repository.flush();
+        Map<String, Object> document = new HashMap<>(changedFields);
+        document.put("lastModifiedDate", student.getLastModifiedDate().toEpochMilli());
+        try {
+            UpdateRequest updateRequest = new UpdateRequest(INDEX_NAME, student.getId().toString())
+                    .doc(document)
+                    .setRefreshPolicy(WriteRequest.RefreshPolicy.IMMEDIATE);
+            indexLagMonitor.write(INDEX_NAME, student.getLastModifiedDate(),
+                    () -> highLevelClient.update(updateRequest, RequestOptions.DEFAULT));
+        } catch (ElasticsearchException exception) {
+            if (exception.status() != RestStatus.NOT_FOUND) {
+                throw exception;
+            }
+            log.debug("StudentIndex with ID: {} not was found, indexing the whole document", student.getId());
+            searchRepository.save(studentIndexMapper.toIndex(student));
+        } catch (IOException e) {
+            e.printStackTrace();
+        }
+    }
+
     /**
      * Set a new File Name
      *
@@ -261,7 +350,7 @@ public class StudentService extends QueryService<Student>{
     @Transactional(readOnly = true)
     public Page<StudentDTO> getAllStudents(Pageable pageable) {
         log.debug("Request to get all Students");
-        return repository.findAll(pageable).map(mapper::toDto);
+        return directoryEntryService.getAllStudents(pageable);
     }
 
     /**
@@ -293,7 +382,7 @@ public class StudentService extends QueryService<Student>{
                     .setAbortOnVersionConflict(true)
                     .setScript(new Script(ScriptType.INLINE, "painless", savedNomenclatureEvent.getUpdateCode(),
                             Collections.emptyMap()));
-            highLevelClient.updateByQuery(updateByQueryRequest, RequestOptions.DEFAULT);
+            indexLagMonitor.write(INDEX_NAME, null, () -> highLevelClient.updateByQuery(updateByQueryRequest, RequestOptions.DEFAULT));
         } catch (ElasticsearchException | IOException e) {
             e.printStackTrace();
         }
@@ -306,136 +395,10 @@ public class StudentService extends QueryService<Student>{
      * @param criteria       The object which holds all the filters, which the entities should match.
      * @return the matching entities.
      */
+    @Transactional(readOnly = true)
     public Page<StudentDTO> findByCriteria(String operator_union, StudentCriteria criteria, Pageable page) {
-        final Specification<Student> specification = createSpecification(operator_union, criteria);
-        return repository.findAll(specification, page).map(mapper::toDto);
-    }
-
-    /**
-     * Function to convert {@link StudentCriteria} to a {@link Specification}
-     *
-     * @param operator_union Logical operator to join expression: AND - OR
-     * @param criteria       The object which holds all the filters, which the entities should match.
-     * @return the matching {@link Specification} of the entity.
-     */
-    private Specification<Student> createSpecification(String operator_union, StudentCriteria criteria) {
-        Specification<Student> specification = Specification.where(null);
-        if (criteria != null) {
-            if (operator_union.equalsIgnoreCase("AND")) {
-                if (criteria.getId() != null) {
-                    specification = specification.and(buildSpecification(criteria.getId(), Student_.id));
-                }
-                if (criteria.getCi() != null) {
-                    specification = specification.and(buildStringSpecification(criteria.getCi(), Student_.ci));
-                }
-                if (criteria.getName() != null) {
-                    specification = specification.and(buildStringSpecification(criteria.getName(), Student_.name));
-                }
-                if (criteria.getRace() != null) {
-                    specification = specification.and(buildStringSpecification(criteria.getRace(), Student_.race));
-                }
-                if (criteria.getEmail() != null) {
-                    specification = specification.and(buildStringSpecification(criteria.getEmail(), Student_.email));
-                }
-                if (criteria.getGender() != null) {
-                    specification = specification.and(buildSpecification(criteria.getGender(), Student_.gender));
-                }
-                if (criteria.getAddress() != null) {
-                    specification = specification.and(buildStringSpecification(criteria.getAddress(), Student_.address));
-                }
-                if (criteria.getDistrictName() != null) {
-                    specification = specification.and(buildSpecification(criteria.getDistrictName(),
-                            root -> root.join(Student_.district, JoinType.LEFT).get(Nomenclature_.name)));
-                }
-                if (criteria.getBirthdate() != null) {
-                    specification = specification.and(buildRangeSpecification(criteria.getBirthdate(), Student_.birthdate));
-                }
-                if (criteria.getSpecialtyName() != null) {
-                    specification = specification.and(buildSpecification(criteria.getSpecialtyName(),
-                            root -> root.join(Student_.specialty, JoinType.LEFT).get(Nomenclature_.name)));
-                }
-                if (criteria.getFirstLastName() != null) {
-                    specification = specification.and(buildStringSpecification(criteria.getFirstLastName(), Student_.firstLastName));
-                }
-                if (criteria.getSecondLastName() != null) {
-                    specification = specification.and(buildStringSpecification(criteria.getSecondLastName(), Student_.secondLastName));
-                }
-                if (criteria.getClassRoom() !=null) {
-                    specification = specification.and(buildStringSpecification(criteria.getClassRoom(), Student_.classRoom));
-                }
-                if (criteria.getKindName() != null) {
-                    specification = specification.and(buildSpecification(criteria.getKindName(),
-                            root -> root.join(Student_.kind, JoinType.LEFT).get(Nomenclature_.name)));
-                }
-                if (criteria.getResidence() != null) {
-                    specification = specification.and(buildStringSpecification(criteria.getResidence(), Student_.residence));
-                }
-                if (criteria.getStudyCenterName() != null) {
-                    specification = specification.and(buildSpecification(criteria.getStudyCenterName(),
-                            root -> root.join(Student_.studyCenter, JoinType.LEFT).get(Nomenclature_.name)));
-                }
-                if (criteria.getUniversityYear() != null) {
-                    specification = specification.and(buildRangeSpecification(criteria.getUniversityYear(), Student_.universityYear));
-                }
-            } else {
-                if (criteria.getId() != null) {
-                    specification = specification.or(buildSpecification(criteria.getId(), Student_.id));
-                }
-                if (criteria.getCi() != null) {
-                    specification = specification.or(buildStringSpecification(criteria.getCi(), Student_.ci));
-                }
-                if (criteria.getName() != null) {
-                    specification = specification.or(buildStringSpecification(criteria.getName(), Student_.name));
-                }
-                if (criteria.getRace() != null) {
-                    specification = specification.or(buildStringSpecification(criteria.getRace(), Student_.race));
-                }
-                if (criteria.getEmail() != null) {
-                    specification = specification.or(buildStringSpecification(criteria.getEmail(), Student_.email));
-                }
-                if (criteria.getGender() != null) {
-                    specification = specification.or(buildSpecification(criteria.getGender(), Student_.gender));
-                }
-                if (criteria.getAddress() != null) {
-                    specification = specification.or(buildStringSpecification(criteria.getAddress(), Student_.address));
-                }
-                if (criteria.getDistrictName() != null) {
-                    specification = specification.or(buildSpecification(criteria.getDistrictName(),
-                            root -> root.join(Student_.district, JoinType.LEFT).get(Nomenclature_.name)));
-                }
-                if (criteria.getBirthdate() != null) {
-                    specification = specification.or(buildRangeSpecification(criteria.getBirthdate(), Student_.birthdate));
-                }
-                if (criteria.getSpecialtyName() != null) {
-                    specification = specification.or(buildSpecification(criteria.getSpecialtyName(),
-                            root -> root.join(Student_.specialty, JoinType.LEFT).get(Nomenclature_.name)));
-                }
-                if (criteria.getFirstLastName() != null) {
-                    specification = specification.or(buildStringSpecification(criteria.getFirstLastName(), Student_.firstLastName));
-                }
-                if (criteria.getSecondLastName() != null) {
-                    specification = specification.or(buildStringSpecification(criteria.getSecondLastName(), Student_.secondLastName));
-                }
-                if (criteria.getClassRoom() !=null) {
-                    specification = specification.or(buildStringSpecification(criteria.getClassRoom(), Student_.classRoom));
-                }
-                if (criteria.getKindName() != null) {
-                    specification = specification.or(buildSpecification(criteria.getKindName(),
-                            root -> root.join(Student_.kind, JoinType.LEFT).get(Nomenclature_.name)));
-                }
-                if (criteria.getResidence() != null) {
-                    specification = specification.or(buildStringSpecification(criteria.getResidence(), Student_.residence));
-                }
-                if (criteria.getStudyCenterName() != null) {
-                    specification = specification.or(buildSpecification(criteria.getStudyCenterName(),
-                            root -> root.join(Student_.studyCenter, JoinType.LEFT).get(Nomenclature_.name)));
-                }
-                if (criteria.getUniversityYear() != null) {
-                    specification = specification.or(buildRangeSpecification(criteria.getUniversityYear(), Student_.universityYear));
-                }
-            }
-        }
-        return specification;
+        return queryResultCache.get(Student.class, operator_union, criteria, page,
+                () -> directoryEntryService.findStudents(operator_union, criteria, page));
     }
 
     /**
@@ -1,5 +1,7 @@
 package cu.sld.ucmgt.directory.service;
 
+import cu.sld.ucmgt.directory.config.cache.QueryResultCache;
+import cu.sld.ucmgt.directory.config.metric.IndexLagMonitor;
 import cu.sld.ucmgt.directory.domain.Employee;
 import cu.sld.ucmgt.directory.domain.Phone;
 import cu.sld.ucmgt.directory.domain.WorkPlace;
@@ -7,15 +9,20 @@ import cu.sld.ucmgt.directory.domain.WorkPlace_;
 import cu.sld.ucmgt.directory.domain.elasticsearch.WorkPlaceIndex;
 import cu.sld.ucmgt.directory.repository.EmployeeRepository;
 import cu.sld.ucmgt.directory.repository.PhoneRepository;
+import cu.sld.ucmgt.directory.repository.ProjectionRepository;
 import cu.sld.ucmgt.directory.repository.WorkPlaceRepository;
 import cu.sld.ucmgt.directory.repository.search.WorkPlaceSearchRepository;
 import cu.sld.ucmgt.directory.service.EmployeeService.RemovedEmployeeIndexEvent;
 import cu.sld.ucmgt.directory.service.EmployeeService.SavedEmployeeIndexEvent;
+import cu.sld.ucmgt.directory.service.PhoneService.ChangedPhoneStatusEvent;
 import cu.sld.ucmgt.directory.service.PhoneService.RemovedPhoneIndexEvent;
 import cu.sld.ucmgt.directory.service.PhoneService.SavedPhoneIndexEvent;
 import cu.sld.ucmgt.directory.service.criteria.WorkPlaceCriteria;
+import cu.sld.ucmgt.directory.service.dto.EmployeeDTO;
+import cu.sld.ucmgt.directory.service.dto.PhoneDTO;
 import cu.sld.ucmgt.directory.service.dto.WorkPlaceDTO;
 import cu.sld.ucmgt.directory.service.mapper.EmployeeMapper;
+import cu.sld.ucmgt.directory.service.mapper.ListProjections;
 import cu.sld.ucmgt.directory.service.mapper.PhoneMapper;
 import cu.sld.ucmgt.directory.service.mapper.WorkPlaceIndexMapper;
 import cu.sld.ucmgt.directory.service.mapper.WorkPlaceMapper;
@@ -27,10 +34,17 @@ import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.apache.commons.io.FilenameUtils;
 import org.elasticsearch.ElasticsearchException;
+import org.elasticsearch.action.bulk.BulkItemResponse;
+import org.elasticsearch.action.bulk.BulkRequest;
+import org.elasticsearch.action.bulk.BulkResponse;
+import org.elasticsearch.action.support.WriteRequest;
+import org.elasticsearch.action.update.UpdateRequest;
 import org.elasticsearch.client.RequestOptions;
 import org.elasticsearch.client.RestHighLevelClient;
+import org.elasticsearch.index.query.BoolQueryBuilder;
 import org.elasticsearch.index.query.QueryBuilders;
 import org.elasticsearch.index.reindex.UpdateByQueryRequest;
+import org.elasticsearch.rest.RestStatus;
 import org.elasticsearch.script.Script;
 import org.elasticsearch.script.ScriptType;
 import org.springframework.context.ApplicationEventPublisher;
@@ -43,6 +57,7 @@ import org.springframework.transaction.annotation.Transactional;
 import org.springframework.web.multipart.MultipartFile;
 
 import java.io.IOException;
+import java.time.Instant;
 import java.util.*;
 import java.util.stream.Collectors;
 
@@ -52,6 +67,9 @@ import java.util.stream.Collectors;
 @RequiredArgsConstructor
 public class WorkPlaceService extends QueryService<WorkPlace>{
 
+    private final QueryResultCache queryResultCache;
+    private final IndexLagMonitor indexLagMonitor;
+    private final ProjectionRepository projectionRepository;
     private final WorkPlaceMapper mapper;
     private final PhoneMapper phoneMapper;
     private final EmployeeMapper employeeMapper;
@@ -120,9 +138,9 @@ public class WorkPlaceService extends QueryService<WorkPlace>{
         // find all employees and phones to saves
         loadAssociations(workPlaceDTO, workPlaceFetched);
 
+        boolean wasActive = Boolean.TRUE.equals(workPlaceFetched.getActive());
         workPlaceFetched.setName(workPlaceDTO.getName());
         workPlaceFetched.setEmail(workPlaceDTO.getEmail());
-        boolean oldStatus = workPlaceFetched.getActive();
         workPlaceFetched.setActive(workPlaceDTO.getActive());
         workPlaceFetched.setDescription(workPlaceDTO.getDescription());
 
@@ -139,7 +157,8 @@ public class WorkPlaceService extends QueryService<WorkPlace>{
             workPlaceFetched.setAvatarUrl(newFileName);
         }
 
-        repository.save(workPlaceFetched);
+        // flushed so the auditing listener stamps the lastModifiedDate of the indexed document
+        repository.saveAndFlush(workPlaceFetched);
 
 
         final FileService.SaveFileEvent saveFileEvent = FileService.SaveFileEvent.builder()
@@ -149,11 +168,9 @@ public class WorkPlaceService extends QueryService<WorkPlace>{
                     .build();
             eventPublisher.publishEvent(saveFileEvent);
 
-        if ((workPlaceDTO.getActive() && !oldStatus) || (!workPlaceDTO.getActive() && oldStatus)) {
-            switchStatus(workPlaceFetched, workPlaceDTO.getActive());
-        } else {
-            saveWorkPlaceIndex(workPlaceFetched, false);
-        }
+        // WorkPlaceIndex and its PhoneIndex could be missing only if the workplace was disabled before the status
+        // was stored as a flag, so the inactive workplaces are reindexed in full
+        saveWorkPlaceIndex(workPlaceFetched, !wasActive);
         return mapper.toDto(workPlaceFetched);
     }
 
@@ -229,6 +246,7 @@ public class WorkPlaceService extends QueryService<WorkPlace>{
         workPlaceIndexMap.put("id", workPlaceIndex.getId().toString());
         workPlaceIndexMap.put("name", workPlaceIndex.getName());
         workPlaceIndexMap.put("email", workPlaceIndex.getEmail());
+        workPlaceIndexMap.put("active", workPlaceIndex.getActive());
         workPlaceIndexMap.put("avatarUrl", workPlaceIndex.getAvatarUrl());
         workPlaceIndexMap.put("description", workPlaceIndex.getDescription());
         return workPlaceIndexMap;
@@ -254,7 +272,7 @@ public class WorkPlaceService extends QueryService<WorkPlace>{
                         .setAbortOnVersionConflict(true)
                         .setQuery(QueryBuilders.matchQuery("id", workPlaceId))
                         .setScript(new Script(ScriptType.INLINE, "painless", updateCode, employeeIndexEvent.getParams()));
-                highLevelClient.updateByQuery(updateByQueryRequest, RequestOptions.DEFAULT);
+                indexLagMonitor.write(INDEX_NAME, null, () -> highLevelClient.updateByQuery(updateByQueryRequest, RequestOptions.DEFAULT));
             } catch (IOException e) {
                 e.printStackTrace();
             }
@@ -278,7 +296,7 @@ public class WorkPlaceService extends QueryService<WorkPlace>{
              .setAbortOnVersionConflict(true)
              .setQuery(QueryBuilders.matchQuery("id", phoneIndexEvent.getWorkPlaceId().toString()))
              .setScript(new Script(ScriptType.INLINE, "painless", updateCode, phoneIndexEvent.getPhoneIndexMap()));
-            highLevelClient.updateByQuery(updateByQueryRequest, RequestOptions.DEFAULT);
+            indexLagMonitor.write(INDEX_NAME, null, () -> highLevelClient.updateByQuery(updateByQueryRequest, RequestOptions.DEFAULT));
         } catch (ElasticsearchException | IOException e) {
             e.printStackTrace();
         }
@@ -295,7 +313,7 @@ public class WorkPlaceService extends QueryService<WorkPlace>{
                     .setAbortOnVersionConflict(true)
                     .setQuery(QueryBuilders.matchQuery("id", event.getWorkPlaceId().toString()))
                     .setScript(new Script(ScriptType.INLINE, "painless", updateCode, Collections.emptyMap()));
-            highLevelClient.updateByQuery(updateByQueryRequest, RequestOptions.DEFAULT);
+            indexLagMonitor.write(INDEX_NAME, null, () -> highLevelClient.updateByQuery(updateByQueryRequest, RequestOptions.DEFAULT));
         } catch (ElasticsearchException | IOException exception) {
             exception.printStackTrace();
         }
@@ -312,7 +330,7 @@ public class WorkPlaceService extends QueryService<WorkPlace>{
                     .setRefresh(true)
                     .setAbortOnVersionConflict(true)
                     .setScript(new Script(ScriptType.INLINE, "painless", updateCode, Collections.emptyMap()));
-            highLevelClient.updateByQuery(updateByQueryRequest, RequestOptions.DEFAULT);
+            indexLagMonitor.write(INDEX_NAME, null, () -> highLevelClient.updateByQuery(updateByQueryRequest, RequestOptions.DEFAULT));
         }catch (IOException exception){
             exception.printStackTrace();
         }
@@ -347,16 +365,43 @@ public class WorkPlaceService extends QueryService<WorkPlace>{
      */
     @Transactional(readOnly = true)
     public Optional<WorkPlaceDTO> getWorkPlace(UUID uid) {
-       return repository
-                .findWorkPlaceWithAssociationsById(uid)
+        log.debug("Request to get WorkPlace : {}", uid);
+        return repository
+                .findById(uid)
                 .map(workPlace -> {
-                    WorkPlaceDTO workPlaceDTO = mapper.toDto(workPlace);
-                    workPlaceDTO.setEmployees(employeeMapper.toDtos(workPlace.getEmployees()));
-                    workPlaceDTO.setPhones(phoneMapper.toDtos(workPlace.getPhones()));
+                    WorkPlaceDTO workPlaceDTO = mapper.toDetailDto(workPlace);
+                    workPlaceDTO.setEmployeeCount(employeeRepository.countByWorkPlaceId(uid));
+                    workPlaceDTO.setPhoneCount(phoneRepository.countByWorkPlaceId(uid));
                     return workPlaceDTO;
                 });
     }
 
+    /**
+     * Get a page of the employees of a workplace.
+     *
+     * @param uid      the id of the workplace.
+     * @param pageable the pagination information.
+     * @return the page of employees.
+     */
+    @Transactional(readOnly = true)
+    public Page<EmployeeDTO> getWorkPlaceEmployees(UUID uid, Pageable pageable) {
+        log.debug("Request to get a page of Employees of WorkPlace : {}", uid);
+        return employeeRepository.findAllByWorkPlaceId(uid, pageable).map(employeeMapper::toDto);
+    }
+
+    /**
+     * Get a page of the phones of a workplace.
+     *
+     * @param uid      the id of the workplace.
+     * @param pageable the pagination information.
+     * @return the page of phones.
+     */
+    @Transactional(readOnly = true)
+    public Page<PhoneDTO> getWorkPlacePhones(UUID uid, Pageable pageable) {
+        log.debug("Request to get a page of Phones of WorkPlace : {}", uid);
+        return phoneRepository.findAllByWorkPlaceId(uid, pageable).map(phoneMapper::toDto);
+    }
+
     /**
      * Get all the workplaces.
      *
@@ -366,7 +411,7 @@ public class WorkPlaceService extends QueryService<WorkPlace>{
     @Transactional(readOnly = true)
     public Page<WorkPlaceDTO> getAllWorkPlaces(Pageable pageable) {
         log.debug("Request to get all WorkPlaces");
-        return repository.findAll(pageable).map(mapper::toDto);
+        return projectionRepository.findAll(WorkPlace.class, null, pageable, ListProjections.WORK_PLACE);
     }
 
     /**
@@ -377,38 +422,93 @@ public class WorkPlaceService extends QueryService<WorkPlace>{
      * @return true if changed status or false otherwise
      */
     public Boolean changeStatus(UUID id, Boolean status) {
-        Optional<WorkPlace> workPlaceToUpdate  = repository.findWorkPlaceWithAssociationsById(id);
-        if (workPlaceToUpdate.isPresent()){
-            workPlaceToUpdate.get().setActive(status);
-            repository.save(workPlaceToUpdate.get());
-            switchStatus(workPlaceToUpdate.get(), status);
-            return true;
-        }
-        return false;
+        return changeStatus(Collections.singleton(id), status) > 0;
+    }
+
+    /**
+     * Change the status of several workplaces at once
+     *
+     * @param ids    workplace identifiers
+     * @param status true or false
+     * @return number of workplaces whose status was changed
+     */
+    public int changeStatus(Collection<UUID> ids, Boolean status) {
+        log.debug("Request to change status to {} of WorkPlaces: {}", status, ids);
+        List<WorkPlace> workPlacesToUpdate = repository.findAllById(ids);
+        workPlacesToUpdate.forEach(workPlace -> workPlace.setActive(status));
+        repository.saveAll(workPlacesToUpdate);
+        repository.flush();
+        switchStatus(workPlacesToUpdate.stream().map(WorkPlace::getId).collect(Collectors.toList()), status,
+                Instant.now());
+        return workPlacesToUpdate.size();
     }
 
     /**
-     * Toggle the status of WorkPlaceIndex, if the status is false then WorkPlaceIndex must be removed;
-     * otherwise WorkPlaceIndex must be created
+     * Update the active flag of WorkPlaceIndex. The documents are kept in the indices and disabled
+     * workplaces are filtered at query time, so only the flag is written.
      *
-     * @param workPlaceToUpdate persisted entity
+     * @param workPlaceIds identifiers of the persisted entities
      * @param status request WorkPlace's status
+     * @param changed flush of the changed status
      */
-    private void switchStatus(WorkPlace workPlaceToUpdate, boolean status) {
-        if (status) {
-            // WorkPlaceIndex must to be created because when WorkPlace was disabled, WorkPlaceIndex was removed
-            saveWorkPlaceIndex(workPlaceToUpdate, true);
-        } else {
-            // WorkPlaceIndex must to be removed because WorkPlace was disabled
-            WorkPlaceIndex workPlaceIndex = searchRepository.findById(workPlaceToUpdate.getId())
-                    .orElseThrow(() -> new NoSuchElementException("WorkPlaceIndex with ID: "
-                            + workPlaceToUpdate.getId() + " not was found"));
-            searchRepository.delete(workPlaceIndex);
-            final RemovedWorkPlaceIndexEvent removedWorkPlaceIndexEvent = RemovedWorkPlaceIndexEvent.builder()
-                    .removedWorkPlaceIndexId(workPlaceIndex.getId())
-                    .removedWorkPlaceIndex(workPlaceIndex)
-                    .build();
-            eventPublisher.publishEvent(removedWorkPlaceIndexEvent);
+    private void switchStatus(List<UUID> workPlaceIds, boolean status, Instant changed) {
+        if (workPlaceIds.isEmpty()) {
+            return;
+        }
+        BulkRequest bulkRequest = new BulkRequest().setRefreshPolicy(WriteRequest.RefreshPolicy.IMMEDIATE);
+        workPlaceIds.forEach(workPlaceId -> bulkRequest.add(new UpdateRequest(INDEX_NAME, workPlaceId.toString())
+                .doc(Collections.singletonMap("active", status))));
+        try {
+            BulkResponse bulkResponse = indexLagMonitor.write(INDEX_NAME, changed, () -> highLevelClient.bulk(bulkRequest, RequestOptions.DEFAULT));
+            for (BulkItemResponse itemResponse : bulkResponse.getItems()) {
+                if (!itemResponse.isFailed()) {
+                    continue;
+                }
+                if (itemResponse.getFailure().getStatus() == RestStatus.NOT_FOUND) {
+                    // WorkPlaceIndex was removed when the workplace was disabled before the status was stored as a flag
+                    repository.findWorkPlaceWithAssociationsById(UUID.fromString(itemResponse.getId()))
+                            .ifPresent(workPlace -> saveWorkPlaceIndex(workPlace, true));
+                } else {
+                    log.error("Could not change status of WorkPlaceIndex with ID: {}: {}", itemResponse.getId(),
+                            itemResponse.getFailureMessage());
+                }
+            }
+        } catch (IOException e) {
+            e.printStackTrace();
+        }
+        final ChangedWorkPlaceStatusEvent changedWorkPlaceStatusEvent = ChangedWorkPlaceStatusEvent.builder()
+                .workPlaceIds(workPlaceIds)
+                .active(status)
+                .build();
+        eventPublisher.publishEvent(changedWorkPlaceStatusEvent);
+    }
+
+    /**
+     * Listen {@link ChangedPhoneStatusEvent} event to update the status of the phones inside {@link WorkPlaceIndex}
+     *
+     * @param event information about event
+     */
+    @EventListener(condition = "!#event.getPhoneIds().isEmpty()")
+    public void updatePhoneStatusInWorkPlaceIndex(ChangedPhoneStatusEvent event) {
+        log.debug("Listening ChangedPhoneStatusEvent event to update status of Phones {} in WorkPlaceIndex",
+                event.getPhoneIds());
+        try {
+            BoolQueryBuilder boolQueryBuilder = QueryBuilders.boolQuery();
+            List<String> phoneIds = event.getPhoneIds().stream().map(UUID::toString).collect(Collectors.toList());
+            phoneIds.forEach(phoneId -> boolQueryBuilder.should(QueryBuilders.matchQuery("phones.id", phoneId)));
+            Map<String, Object> params = new HashMap<>();
+            params.put("phoneIds", phoneIds);
+            params.put("active", event.getActive());
+            String updateCode = "for (phone in ctx._source.phones) { if (params.phoneIds.contains(phone.id)) " +
+                    "{ phone.active = params.active }}";
+            UpdateByQueryRequest updateByQueryRequest = new UpdateByQueryRequest(INDEX_NAME)
+                    .setRefresh(true)
+                    .setAbortOnVersionConflict(true)
+                    .setQuery(boolQueryBuilder)
+                    .setScript(new Script(ScriptType.INLINE, "painless", updateCode, params));
+            indexLagMonitor.write(INDEX_NAME, null, () -> highLevelClient.updateByQuery(updateByQueryRequest, RequestOptions.DEFAULT));
+        } catch (ElasticsearchException | IOException e) {
+            e.printStackTrace();
         }
     }
 
@@ -419,9 +519,12 @@ public class WorkPlaceService extends QueryService<WorkPlace>{
      * @param criteria       The object which holds all the filters, which the entities should match.
      * @return the matching entities.
      */
+    @Transactional(readOnly = true)
     public Page<WorkPlaceDTO> findByCriteria(String join, WorkPlaceCriteria criteria, Pageable pageable) {
-        final Specification<WorkPlace> specification = createSpecification(join, criteria);
-        return repository.findAll(specification, pageable).map(mapper::toDto);
+        return queryResultCache.get(WorkPlace.class, join, criteria, pageable, () -> {
+            final Specification<WorkPlace> specification = createSpecification(join, criteria);
+            return projectionRepository.findAll(WorkPlace.class, specification, pageable, ListProjections.WORK_PLACE);
+        });
     }
 
     /**
@@ -501,6 +604,17 @@ public class WorkPlaceService extends QueryService<WorkPlace>{
         WorkPlaceIndex removedWorkPlaceIndex;
     }
 
+    /**
+     *  Class to register a status change of several {@link WorkPlaceIndex} as event
+     */
+    @Data
+    @Builder
+    @AllArgsConstructor
+    public static class ChangedWorkPlaceStatusEvent {
+        private List<UUID> workPlaceIds;
+        private Boolean active;
+    }
+
     /**
      *  Class to register a saved {@link WorkPlaceIndex} as event
      */
@@ -59,4 +59,15 @@ public class StudentCriteria extends PersonCriteria {
         return Objects.hashCode(super.hashCode(), kindName, classRoom, residence, studyCenterName, universityYear);
     }
 
+    @Override
+    public String toString() {
+        return "StudentCriteria{" +
+                "kindName=" + kindName +
+                ", classRoom=" + classRoom +
+                ", residence=" + residence +
+                ", studyCenterName=" + studyCenterName +
+                ", universityYear=" + universityYear +
+                "} " + super.toString();
+    }
+
 }
@@ -35,6 +35,10 @@ public class WorkPlaceDTO implements Serializable {
 
     private Set<PhoneDTO> phones;
 
+    private Long employeeCount;
+
+    private Long phoneCount;
+
     @Override
     public boolean equals(Object o) {
         if (this == o) return true;
@@ -61,6 +65,8 @@ public class WorkPlaceDTO implements Serializable {
                 ", phoneIds=" + phoneIds +
                 ", employees=" + employees +
                 ", phones=" + phones +
+                ", employeeCount=" + employeeCount +
+                ", phoneCount=" + phoneCount +
                 '}';
     }
 }
@@ -41,6 +41,7 @@ public interface EmployeeMapper extends EntityMapper<EmployeeDTO, Employee> {
     @Mapping(source = "profession.name", target = "professionName")
     @Mapping(source = "scientificDegree.name", target = "scientificDegreeName")
     @Mapping(source = "teachingCategory.name", target = "teachingCategoryName")
+    @Mapping(source = "workPlace", target = "workPlace", qualifiedByName = "toDetailDto")
     EmployeeDTO toDto(Employee entity);
 
 
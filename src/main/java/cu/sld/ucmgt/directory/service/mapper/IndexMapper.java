@@ -1,5 +1,6 @@
 package cu.sld.ucmgt.directory.service.mapper;
 
+import java.time.Instant;
 import java.util.Set;
 
 /**
@@ -13,4 +14,11 @@ public interface IndexMapper<I, E> {
     I toIndex(E entity);
 
     Set<I> toIndices(Set<E> entities);
+
+    /**
+     * The {@code lastModifiedDate} of the entities is written as epoch milliseconds in the indices.
+     */
+    default Long toEpochMilli(Instant instant) {
+        return instant != null ? instant.toEpochMilli() : null;
+    }
 }
@@ -0,0 +1,123 @@
+package cu.sld.ucmgt.directory.service.mapper;
+
+import cu.sld.ucmgt.directory.domain.DirectoryEntry;
+import cu.sld.ucmgt.directory.domain.DirectoryEntry_;
+import cu.sld.ucmgt.directory.domain.Employee;
+import cu.sld.ucmgt.directory.domain.Employee_;
+import cu.sld.ucmgt.directory.domain.Phone;
+import cu.sld.ucmgt.directory.domain.Phone_;
+import cu.sld.ucmgt.directory.domain.WorkPlace;
+import cu.sld.ucmgt.directory.domain.WorkPlace_;
+import cu.sld.ucmgt.directory.repository.TupleProjection;
+import cu.sld.ucmgt.directory.service.dto.EmployeeDTO;
+import cu.sld.ucmgt.directory.service.dto.PhoneDTO;
+import cu.sld.ucmgt.directory.service.dto.StudentDTO;
+import cu.sld.ucmgt.directory.service.dto.WorkPlaceDTO;
+
+import javax.persistence.criteria.Root;
+import javax.persistence.criteria.Subquery;
+
+import static cu.sld.ucmgt.directory.repository.TupleProjection.leftJoin;
+
+/**
+ * Columns read by the list and filter endpoints, the DTOs are filled straight from the selected values
+ * without loading the entities. The nested workplace and nomenclatures of the people are not columns of the
+ * {@link DirectoryEntry}, they are nested by the {@link cu.sld.ucmgt.directory.service.DirectoryEntryService}.
+ */
+public final class ListProjections {
+
+    public static final TupleProjection<DirectoryEntry, EmployeeDTO> EMPLOYEE = TupleProjection.<DirectoryEntry, EmployeeDTO>of(EmployeeDTO::new)
+            .column(DirectoryEntry_.id, EmployeeDTO::setId)
+            .column(DirectoryEntry_.ci, EmployeeDTO::setCi)
+            .column(DirectoryEntry_.name, EmployeeDTO::setName)
+            .column(DirectoryEntry_.email, EmployeeDTO::setEmail)
+            .column(DirectoryEntry_.avatarUrl, EmployeeDTO::setAvatarUrl)
+            .column(DirectoryEntry_.address, EmployeeDTO::setAddress)
+            .column(DirectoryEntry_.firstLastName, EmployeeDTO::setFirstLastName)
+            .column(DirectoryEntry_.secondLastName, EmployeeDTO::setSecondLastName)
+            .column(DirectoryEntry_.gender, EmployeeDTO::setGender)
+            .column(DirectoryEntry_.birthdate, EmployeeDTO::setBirthdate)
+            .column(DirectoryEntry_.race, EmployeeDTO::setRace)
+            .column(DirectoryEntry_.districtId, EmployeeDTO::setDistrictId)
+            .column(DirectoryEntry_.districtName, EmployeeDTO::setDistrictName)
+            .column(DirectoryEntry_.specialtyId, EmployeeDTO::setSpecialtyId)
+            .column(DirectoryEntry_.specialtyName, EmployeeDTO::setSpecialtyName)
+            .column(DirectoryEntry_.startDate, EmployeeDTO::setStartDate)
+            .column(DirectoryEntry_.endDate, EmployeeDTO::setEndDate)
+            .column(DirectoryEntry_.graduateYears, EmployeeDTO::setGraduateYears)
+            .column(DirectoryEntry_.isGraduatedBySector, EmployeeDTO::setIsGraduatedBySector)
+            .column(DirectoryEntry_.serviceYears, EmployeeDTO::setServiceYears)
+            .column(DirectoryEntry_.salary, EmployeeDTO::setSalary)
+            .column(DirectoryEntry_.registerNumber, EmployeeDTO::setRegisterNumber)
+            .column(DirectoryEntry_.bossWorkPlace, EmployeeDTO::setBossWorkPlace)
+            .column(DirectoryEntry_.professionalNumber, EmployeeDTO::setProfessionalNumber)
+            .column(DirectoryEntry_.workPlaceId, EmployeeDTO::setWorkPlaceId)
+            .column(DirectoryEntry_.workPlaceName, EmployeeDTO::setWorkPlaceName)
+            .column(DirectoryEntry_.categoryId, EmployeeDTO::setCategoryId)
+            .column(DirectoryEntry_.categoryName, EmployeeDTO::setCategoryName)
+            .column(DirectoryEntry_.scientificDegreeId, EmployeeDTO::setScientificDegreeId)
+            .column(DirectoryEntry_.scientificDegreeName, EmployeeDTO::setScientificDegreeName)
+            .column(DirectoryEntry_.teachingCategoryId, EmployeeDTO::setTeachingCategoryId)
+            .column(DirectoryEntry_.teachingCategoryName, EmployeeDTO::setTeachingCategoryName)
+            .column(DirectoryEntry_.chargeId, EmployeeDTO::setChargeId)
+            .column(DirectoryEntry_.chargeName, EmployeeDTO::setChargeName)
+            .column(DirectoryEntry_.professionId, EmployeeDTO::setProfessionId)
+            .column(DirectoryEntry_.professionName, EmployeeDTO::setProfessionName);
+
+    public static final TupleProjection<DirectoryEntry, StudentDTO> STUDENT = TupleProjection.<DirectoryEntry, StudentDTO>of(StudentDTO::new)
+            .column(DirectoryEntry_.id, StudentDTO::setId)
+            .column(DirectoryEntry_.ci, StudentDTO::setCi)
+            .column(DirectoryEntry_.name, StudentDTO::setName)
+            .column(DirectoryEntry_.email, StudentDTO::setEmail)
+            .column(DirectoryEntry_.avatarUrl, StudentDTO::setAvatarUrl)
+            .column(DirectoryEntry_.address, StudentDTO::setAddress)
+            .column(DirectoryEntry_.firstLastName, StudentDTO::setFirstLastName)
+            .column(DirectoryEntry_.secondLastName, StudentDTO::setSecondLastName)
+            .column(DirectoryEntry_.gender, StudentDTO::setGender)
+            .column(DirectoryEntry_.birthdate, StudentDTO::setBirthdate)
+            .column(DirectoryEntry_.race, StudentDTO::setRace)
+            .column(DirectoryEntry_.districtId, StudentDTO::setDistrictId)
+            .column(DirectoryEntry_.districtName, StudentDTO::setDistrictName)
+            .column(DirectoryEntry_.specialtyId, StudentDTO::setSpecialtyId)
+            .column(DirectoryEntry_.specialtyName, StudentDTO::setSpecialtyName)
+            .column(DirectoryEntry_.classRoom, StudentDTO::setClassRoom)
+            .column(DirectoryEntry_.universityYear, StudentDTO::setUniversityYear)
+            .column(DirectoryEntry_.residence, StudentDTO::setResidence)
+            .column(DirectoryEntry_.kindId, StudentDTO::setKindId)
+            .column(DirectoryEntry_.kindName, StudentDTO::setKindName)
+            .column(DirectoryEntry_.studyCenterId, StudentDTO::setStudyCenterId)
+            .column(DirectoryEntry_.studyCenterName, StudentDTO::setStudyCenterName);
+
+    public static final TupleProjection<Phone, PhoneDTO> PHONE = TupleProjection.<Phone, PhoneDTO>of(PhoneDTO::new)
+            .column(Phone_.id, PhoneDTO::setId)
+            .column(Phone_.number, PhoneDTO::setNumber)
+            .column(Phone_.active, PhoneDTO::setActive)
+            .column(Phone_.description, PhoneDTO::setDescription)
+            .column((root, query, builder) -> leftJoin(root, Phone_.employee).get(Employee_.id), PhoneDTO::setEmployeeId)
+            .column((root, query, builder) -> leftJoin(root, Phone_.employee).get(Employee_.name), PhoneDTO::setEmployeeName)
+            .column((root, query, builder) -> leftJoin(root, Phone_.workPlace).get(WorkPlace_.id), PhoneDTO::setWorkPlaceId)
+            .column((root, query, builder) -> leftJoin(root, Phone_.workPlace).get(WorkPlace_.name), PhoneDTO::setWorkPlaceName);
+
+    public static final TupleProjection<WorkPlace, WorkPlaceDTO> WORK_PLACE = TupleProjection.<WorkPlace, WorkPlaceDTO>of(WorkPlaceDTO::new)
+            .column(WorkPlace_.id, WorkPlaceDTO::setId)
+            .column(WorkPlace_.name, WorkPlaceDTO::setName)
+            .column(WorkPlace_.email, WorkPlaceDTO::setEmail)
+            .column(WorkPlace_.active, WorkPlaceDTO::setActive)
+            .column(WorkPlace_.description, WorkPlaceDTO::setDescription)
+            .column(WorkPlace_.avatarUrl, WorkPlaceDTO::setAvatarUrl)
+            .column((root, query, builder) -> {
+                Subquery<Long> employeeCount = query.subquery(Long.class);
+                Root<Employee> employee = employeeCount.from(Employee.class);
+                return employeeCount.select(builder.count(employee))
+                        .where(builder.equal(employee.get(Employee_.workPlace), root));
+            }, WorkPlaceDTO::setEmployeeCount)
+            .column((root, query, builder) -> {
+                Subquery<Long> phoneCount = query.subquery(Long.class);
+                Root<Phone> phone = phoneCount.from(Phone.class);
+                return phoneCount.select(builder.count(phone))
+                        .where(builder.equal(phone.get(Phone_.workPlace), root));
+            }, WorkPlaceDTO::setPhoneCount);
+
+    private ListProjections() {
+    }
+}
@@ -7,6 +7,7 @@ import cu.sld.ucmgt.directory.domain.elasticsearch.WorkPlaceIndex;
 import org.mapstruct.Mapper;
 import org.mapstruct.factory.Mappers;
 
+import java.time.Instant;
 import java.util.HashSet;
 import java.util.Set;
 
@@ -29,8 +30,10 @@ public abstract class WorkPlaceIndexMapper {
         workPlaceIndex.setId( workPlace.getId() );
         workPlaceIndex.setName( workPlace.getName() );
         workPlaceIndex.setEmail(workPlace.getEmail());
+        workPlaceIndex.setActive(workPlace.getActive());
         workPlaceIndex.setAvatarUrl(workPlace.getAvatarUrl());
         workPlaceIndex.setDescription(workPlace.getDescription());
+        workPlaceIndex.setLastModifiedDate(toEpochMilli(workPlace.getLastModifiedDate()));
         workPlaceIndex.setEmployees( employeeIndexMapper.toIndices( workPlace.getEmployees() ) );
         workPlaceIndex.setPhones( mapPhonesToPhoneIndices( workPlace.getPhones() ) );
 
@@ -48,6 +51,8 @@ public abstract class WorkPlaceIndexMapper {
             phoneIndex.setId(phone.getId());
             phoneIndex.setDescription(phone.getDescription());
             phoneIndex.setNumber(phone.getNumber());
+            phoneIndex.setActive(phone.getActive());
+            phoneIndex.setLastModifiedDate(toEpochMilli(phone.getLastModifiedDate()));
             set.add( phoneIndex );
         }
 
@@ -55,4 +60,8 @@ public abstract class WorkPlaceIndexMapper {
     }
 
     public abstract Set<WorkPlaceIndex> toIndices(Set<WorkPlace> workPlaces);
+
+    protected Long toEpochMilli(Instant instant) {
+        return instant != null ? instant.toEpochMilli() : null;
+    }
 }
@@ -7,6 +7,7 @@ import cu.sld.ucmgt.directory.service.dto.WorkPlaceDTO;
 import org.mapstruct.IterableMapping;
 import org.mapstruct.Mapper;
 import org.mapstruct.Mapping;
+import org.mapstruct.Named;
 
 import java.util.Set;
 import java.util.UUID;
@@ -26,8 +27,23 @@ public interface WorkPlaceMapper extends EntityMapper<WorkPlaceDTO, WorkPlace> {
     @Mapping(target = "employees", ignore = true)
     @Mapping(source = "phones", target = "phoneIds")
     @Mapping(source = "employees", target = "employeeIds")
+    @Mapping(target = "phoneCount", ignore = true)
+    @Mapping(target = "employeeCount", ignore = true)
     WorkPlaceDTO toDto(WorkPlace entity);
 
+    /**
+     * Map a {@link WorkPlace} without touching its employees and phones collections,
+     * so lazy associations are never initialized.
+     */
+    @Named("toDetailDto")
+    @Mapping(target = "phones", ignore = true)
+    @Mapping(target = "phoneIds", ignore = true)
+    @Mapping(target = "employees", ignore = true)
+    @Mapping(target = "employeeIds", ignore = true)
+    @Mapping(target = "phoneCount", ignore = true)
+    @Mapping(target = "employeeCount", ignore = true)
+    WorkPlaceDTO toDetailDto(WorkPlace entity);
+
     @IterableMapping(elementTargetType = UUID.class)
     Set<UUID> mapToEmployeeToUUID(Set<Employee> employees);
 
@@ -3,6 +3,12 @@ package cu.sld.ucmgt.directory.service.utils;
 import cu.sld.ucmgt.directory.domain.Person;
 import org.springframework.web.multipart.MultipartFile;
 
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+
 public final class ServiceUtils {
 
     /**
@@ -35,4 +41,25 @@ public final class ServiceUtils {
         fileName = fileName + "@" + person.getId().toString();
         return fileName;
     }
+
+    /**
+     * Compare two flattened index documents and return the fields whose value changed.
+     * Fields missing in {@code after} are returned with a {@code null} value, so the result
+     * can be sent as a partial update document.
+     *
+     * @param before index fields before the change
+     * @param after  index fields after the change
+     * @return changed fields with their new value, empty if nothing changed
+     */
+    public static Map<String, Object> getChangedFields(Map<String, Object> before, Map<String, Object> after) {
+        Map<String, Object> changedFields = new HashMap<>();
+        Set<String> fields = new HashSet<>(before.keySet());
+        fields.addAll(after.keySet());
+        fields.forEach(field -> {
+            if (!Objects.equals(before.get(field), after.get(field))) {
+                changedFields.put(field, after.get(field));
+            }
+        });
+        return changedFields;
+    }
 }
@@ -0,0 +1,93 @@
+package cu.sld.ucmgt.directory.web.filter;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.lang.NonNull;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.servlet.HandlerMapping;
+
+import javax.servlet.FilterChain;
+import javax.servlet.ServletException;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+
+/**
+ * Filter measuring the heap allocated by the thread serving each request.
+ * <p>
+ * The allocated bytes are published by endpoint as {@code http.server.requests.allocation}, and a request
+ * allocating more than the budget is logged with a warning. The work done by other threads on behalf of the
+ * request, such as the Elasticsearch and MinIO client threads, is not counted. Without support of the JVM
+ * for the allocation counters the filter does nothing.
+ */
+@Slf4j
+public class AllocationFilter extends OncePerRequestFilter {
+
+    public static final String METRIC_NAME = "http.server.requests.allocation";
+    private static final String UNKNOWN_URI = "UNKNOWN";
+
+    private final long budgetBytes;
+    private final MeterRegistry meterRegistry;
+    private final com.sun.management.ThreadMXBean threadMXBean;
+
+    public AllocationFilter(long budgetBytes, MeterRegistry meterRegistry) {
+        this.budgetBytes = budgetBytes;
+        this.meterRegistry = meterRegistry;
+        this.threadMXBean = allocationCounter(ManagementFactory.getThreadMXBean());
+    }
+
+    private static com.sun.management.ThreadMXBean allocationCounter(ThreadMXBean threadMXBean) {
+        if (!(threadMXBean instanceof com.sun.management.ThreadMXBean)) {
+            log.warn("The JVM does not count the memory allocated by the threads, the allocation of the requests is not measured");
+            return null;
+        }
+        com.sun.management.ThreadMXBean allocationCounter = (com.sun.management.ThreadMXBean) threadMXBean;
+        if (!allocationCounter.isThreadAllocatedMemorySupported()) {
+            log.warn("The JVM does not count the memory allocated by the threads, the allocation of the requests is not measured");
+            return null;
+        }
+        if (!allocationCounter.isThreadAllocatedMemoryEnabled()) {
+            allocationCounter.setThreadAllocatedMemoryEnabled(true);
+        }
+        return allocationCounter;
+    }
+
+    @Override
+    protected void doFilterInternal(@NonNull HttpServletRequest request, @NonNull HttpServletResponse response,
+                                    @NonNull FilterChain filterChain) throws ServletException, IOException {
+        if (threadMXBean == null) {
+            filterChain.doFilter(request, response);
+            return;
+        }
+        long threadId = Thread.currentThread().getId();
+        long start = threadMXBean.getThreadAllocatedBytes(threadId);
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            long allocated = threadMXBean.getThreadAllocatedBytes(threadId) - start;
+            if (start >= 0 && allocated >= 0) {
+                record(request, allocated);
+            }
+        }
+    }
+
+    private void record(HttpServletRequest request, long allocated) {
+        Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+        String uri = pattern != null ? pattern.toString() : UNKNOWN_URI;
+        if (allocated > budgetBytes) {
+            log.warn("{} {} allocated {} KB, above the budget of {} KB", request.getMethod(), request.getRequestURI(),
+                    allocated / 1024, budgetBytes / 1024);
+        }
+        if (meterRegistry != null) {
+            DistributionSummary.builder(METRIC_NAME)
+                    .description("Heap allocated by the thread serving an HTTP request")
+                    .baseUnit("bytes")
+                    .tags("method", request.getMethod(), "uri", uri)
+                    .register(meterRegistry)
+                    .record(allocated);
+        }
+    }
+}
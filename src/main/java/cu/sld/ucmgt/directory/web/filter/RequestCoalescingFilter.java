@@ -0,0 +1,229 @@
+package cu.sld.ucmgt.directory.web.filter;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.lang.NonNull;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.util.ContentCachingResponseWrapper;
+
+import javax.servlet.FilterChain;
+import javax.servlet.ServletException;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.TreeSet;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Collectors;
+
+/**
+ * Filter sharing one execution between identical GET requests received while the first one is in flight.
+ * <p>
+ * The first request of a key runs the chain and buffers its response, the requests arriving before it
+ * completes wait for it and receive a copy of its status, representation headers and body. The headers
+ * specific to the leading request, such as {@code Set-Cookie}, are never shared: only the ones listed in
+ * {@link #SHARED_HEADERS} are copied. Nothing is kept once the response is written, this is not a cache.
+ * The key is made of the normalized URI, the headers used for content negotiation and the authorities of
+ * the principal, so only the idempotent endpoints whose response depends on those alone must be mapped to
+ * this filter.
+ */
+@Slf4j
+public class RequestCoalescingFilter extends OncePerRequestFilter {
+
+    private static final String METRIC_NAME = "http.server.requests.coalescing";
+
+    /**
+     * Headers describing the representation, the same for every request of a key, including the pagination
+     * headers of {@code PaginationUtil}. Content-Type and Content-Length are written apart.
+     */
+    static final Set<String> SHARED_HEADERS = new TreeSet<>(String.CASE_INSENSITIVE_ORDER);
+
+    static {
+        SHARED_HEADERS.addAll(List.of(HttpHeaders.CONTENT_LANGUAGE, HttpHeaders.ETAG, HttpHeaders.CACHE_CONTROL,
+                HttpHeaders.EXPIRES, HttpHeaders.LAST_MODIFIED, HttpHeaders.VARY, HttpHeaders.LINK,
+                "X-Total-Count", "X-Sort", "X-Size", "X-Page", "X-Pageable"));
+    }
+
+    private final long timeoutMillis;
+    private final Counter leaderCounter;
+    private final Counter coalescedCounter;
+    private final Counter fallbackCounter;
+    private final AtomicLong requestCount = new AtomicLong();
+    private final AtomicLong coalescedCount = new AtomicLong();
+    private final ConcurrentMap<String, CompletableFuture<CoalescedResponse>> inFlight = new ConcurrentHashMap<>();
+
+    public RequestCoalescingFilter(long timeoutMillis, MeterRegistry meterRegistry) {
+        this.timeoutMillis = timeoutMillis;
+        if (meterRegistry != null) {
+            this.leaderCounter = registerCounter(meterRegistry, "leader",
+                    "Requests executing the chain for their key");
+            this.coalescedCounter = registerCounter(meterRegistry, "coalesced",
+                    "Requests answered with the response of an in-flight request");
+            this.fallbackCounter = registerCounter(meterRegistry, "fallback",
+                    "Requests executed by themselves after the in-flight request failed or timed out");
+            Gauge.builder(METRIC_NAME + ".ratio", this, RequestCoalescingFilter::getCoalescingRatio)
+                    .description("Share of the coalesced requests over the requests mapped to the filter")
+                    .register(meterRegistry);
+        } else {
+            this.leaderCounter = null;
+            this.coalescedCounter = null;
+            this.fallbackCounter = null;
+        }
+    }
+
+    @Override
+    protected void doFilterInternal(@NonNull HttpServletRequest request, @NonNull HttpServletResponse response,
+                                    @NonNull FilterChain filterChain) throws ServletException, IOException {
+        if (!HttpMethod.GET.matches(request.getMethod())) {
+            filterChain.doFilter(request, response);
+            return;
+        }
+        requestCount.incrementAndGet();
+        String key = createKey(request);
+        CompletableFuture<CoalescedResponse> future = new CompletableFuture<>();
+        CompletableFuture<CoalescedResponse> inFlightResponse = inFlight.putIfAbsent(key, future);
+        if (inFlightResponse == null) {
+            executeAsLeader(key, future, request, response, filterChain);
+            return;
+        }
+
+        CoalescedResponse coalescedResponse;
+        try {
+            coalescedResponse = inFlightResponse.get(timeoutMillis, TimeUnit.MILLISECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            increment(fallbackCounter);
+            filterChain.doFilter(request, response);
+            return;
+        } catch (ExecutionException | TimeoutException e) {
+            log.debug("In-flight request {} did not complete, executing it again: {}", key, e.toString());
+            increment(fallbackCounter);
+            filterChain.doFilter(request, response);
+            return;
+        }
+        coalescedCount.incrementAndGet();
+        increment(coalescedCounter);
+        coalescedResponse.writeTo(response);
+    }
+
+    private void executeAsLeader(String key, CompletableFuture<CoalescedResponse> future, HttpServletRequest request,
+                                 HttpServletResponse response, FilterChain filterChain) throws ServletException, IOException {
+        increment(leaderCounter);
+        ContentCachingResponseWrapper responseWrapper = new ContentCachingResponseWrapper(response);
+        try {
+            filterChain.doFilter(request, responseWrapper);
+            future.complete(CoalescedResponse.of(responseWrapper));
+        } catch (IOException | ServletException | RuntimeException e) {
+            future.completeExceptionally(e);
+            throw e;
+        } finally {
+            inFlight.remove(key, future);
+        }
+        responseWrapper.copyBodyToResponse();
+    }
+
+    private String createKey(HttpServletRequest request) {
+        Map<String, String[]> parameters = new TreeMap<>(request.getParameterMap());
+        String query = parameters.entrySet().stream()
+                .map(parameter -> parameter.getKey() + "=" + String.join(",", parameter.getValue()))
+                .collect(Collectors.joining("&"));
+        return request.getRequestURI() + "?" + query
+                + "|" + request.getHeader(HttpHeaders.ACCEPT)
+                + "|" + request.getHeader(HttpHeaders.ACCEPT_LANGUAGE)
+                + "|" + getPrincipalScope();
+    }
+
+    private String getPrincipalScope() {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        if (authentication == null || !authentication.isAuthenticated()) {
+            return "anonymous";
+        }
+        return authentication.getAuthorities().stream()
+                .map(GrantedAuthority::getAuthority)
+                .sorted()
+                .collect(Collectors.joining(","));
+    }
+
+    private double getCoalescingRatio() {
+        long total = requestCount.get();
+        return total == 0 ? 0 : (double) coalescedCount.get() / total;
+    }
+
+    private Counter registerCounter(MeterRegistry meterRegistry, String result, String description) {
+        return Counter.builder(METRIC_NAME)
+                .description(description)
+                .tag("result", result)
+                .register(meterRegistry);
+    }
+
+    private void increment(Counter counter) {
+        if (counter != null) {
+            counter.increment();
+        }
+    }
+
+    /**
+     * Status, representation headers and body of the response written by the leading request
+     */
+    private static final class CoalescedResponse {
+
+        private final int status;
+        private final byte[] body;
+        private final String contentType;
+        private final Map<String, List<String>> headers;
+
+        private CoalescedResponse(int status, String contentType, Map<String, List<String>> headers, byte[] body) {
+            this.status = status;
+            this.body = body;
+            this.headers = headers;
+            this.contentType = contentType;
+        }
+
+        static CoalescedResponse of(ContentCachingResponseWrapper response) {
+            Map<String, List<String>> headers = new LinkedHashMap<>();
+            for (String name : response.getHeaderNames()) {
+                if (SHARED_HEADERS.contains(name)) {
+                    Collection<String> values = response.getHeaders(name);
+                    headers.put(name, new ArrayList<>(values));
+                }
+            }
+            return new CoalescedResponse(response.getStatus(), response.getContentType(), headers,
+                    response.getContentAsByteArray());
+        }
+
+        void writeTo(HttpServletResponse response) throws IOException {
+            response.setStatus(status);
+            // headers already set by the filters before this one are kept as they are
+            headers.forEach((name, values) -> {
+                if (!response.containsHeader(name)) {
+                    values.forEach(value -> response.addHeader(name, value));
+                }
+            });
+            if (contentType != null) {
+                response.setContentType(contentType);
+            }
+            response.setContentLength(body.length);
+            response.getOutputStream().write(body);
+            response.flushBuffer();
+        }
+    }
+}
@@ -0,0 +1,129 @@
+package cu.sld.ucmgt.directory.web.filter;
+
+import cu.sld.ucmgt.directory.config.timing.BackendTimings;
+import cu.sld.ucmgt.directory.config.timing.BackendTimings.Backend;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.lang.NonNull;
+import org.springframework.security.web.util.OnCommittedResponseWrapper;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.servlet.HandlerMapping;
+
+import javax.servlet.FilterChain;
+import javax.servlet.ServletException;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import java.io.IOException;
+import java.util.Locale;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Filter measuring the time each request spends in Postgres, Elasticsearch and MinIO.
+ * <p>
+ * The breakdown is written in the {@code Server-Timing} header when the response is committed, so the browser
+ * tools show it next to the request, and published by endpoint as {@code http.server.requests.backend}, with the
+ * number of calls per backend in {@code http.server.requests.backend.calls} to follow the write amplification.
+ */
+public class ServerTimingFilter extends OncePerRequestFilter {
+
+    public static final String SERVER_TIMING_HEADER = "Server-Timing";
+    public static final String METRIC_NAME = "http.server.requests.backend";
+    private static final String UNKNOWN_URI = "UNKNOWN";
+
+    private final MeterRegistry meterRegistry;
+
+    public ServerTimingFilter(MeterRegistry meterRegistry) {
+        this.meterRegistry = meterRegistry;
+    }
+
+    @Override
+    protected void doFilterInternal(@NonNull HttpServletRequest request, @NonNull HttpServletResponse response,
+                                    @NonNull FilterChain filterChain) throws ServletException, IOException {
+        BackendTimings timings = BackendTimings.start();
+        if (timings == null) {
+            filterChain.doFilter(request, response);
+            return;
+        }
+        ServerTimingResponseWrapper responseWrapper = new ServerTimingResponseWrapper(response, timings);
+        try {
+            filterChain.doFilter(request, responseWrapper);
+            responseWrapper.addServerTimingHeader();
+        } finally {
+            timings.stop();
+            record(request, timings);
+        }
+    }
+
+    private void record(HttpServletRequest request, BackendTimings timings) {
+        if (meterRegistry == null) {
+            return;
+        }
+        Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+        Tags tags = Tags.of("method", request.getMethod(), "uri", pattern != null ? pattern.toString() : UNKNOWN_URI);
+        for (Backend backend : Backend.values()) {
+            long calls = timings.getCalls(backend);
+            if (calls == 0) {
+                continue;
+            }
+            Tags backendTags = tags.and("backend", backend.getMetricName());
+            Timer.builder(METRIC_NAME)
+                    .description("Time spent by an HTTP request in a backend")
+                    .tags(backendTags)
+                    .register(meterRegistry)
+                    .record(timings.getNanos(backend), TimeUnit.NANOSECONDS);
+            DistributionSummary.builder(METRIC_NAME + ".calls")
+                    .description("Calls made by an HTTP request to a backend")
+                    .tags(backendTags)
+                    .register(meterRegistry)
+                    .record(calls);
+        }
+    }
+
+    static String serverTiming(BackendTimings timings) {
+        StringBuilder header = new StringBuilder();
+        for (Backend backend : Backend.values()) {
+            long calls = timings.getCalls(backend);
+            if (calls == 0) {
+                continue;
+            }
+            header.append(backend.getMetricName())
+                    .append(";desc=\"").append(backend.getDescription()).append(", ").append(calls)
+                    .append(calls == 1 ? " call" : " calls").append('"')
+                    .append(";dur=").append(toMillis(timings.getNanos(backend)))
+                    .append(", ");
+        }
+        return header.append("total;dur=").append(toMillis(timings.getElapsedNanos())).toString();
+    }
+
+    private static String toMillis(long nanos) {
+        return String.format(Locale.ROOT, "%.1f", nanos / 1_000_000.0);
+    }
+
+    /**
+     * Adds the header once, before the status and headers are sent.
+     */
+    private static class ServerTimingResponseWrapper extends OnCommittedResponseWrapper {
+
+        private final BackendTimings timings;
+        private boolean headerAdded;
+
+        ServerTimingResponseWrapper(HttpServletResponse response, BackendTimings timings) {
+            super(response);
+            this.timings = timings;
+        }
+
+        @Override
+        protected void onResponseCommitted() {
+            addServerTimingHeader();
+        }
+
+        void addServerTimingHeader() {
+            if (!headerAdded && !isCommitted()) {
+                headerAdded = true;
+                addHeader(SERVER_TIMING_HEADER, serverTiming(timings));
+            }
+        }
+    }
+}
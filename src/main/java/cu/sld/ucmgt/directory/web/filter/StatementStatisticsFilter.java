@@ -0,0 +1,95 @@
+package cu.sld.ucmgt.directory.web.filter;
+
+import cu.sld.ucmgt.directory.config.datasource.StatementStatistics;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.lang.NonNull;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.servlet.HandlerMapping;
+
+import javax.servlet.FilterChain;
+import javax.servlet.ServletException;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import java.io.IOException;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Filter counting the SQL statements, the rows and the database time of each HTTP request.
+ * <p>
+ * The counts are published by endpoint, the handler mapping pattern, and a request executing the same
+ * statement shape more than the threshold is logged with a warning and counted in
+ * {@code datasource.statements.repeated}, it is usually a lazy association loaded in a loop.
+ */
+@Slf4j
+public class StatementStatisticsFilter extends OncePerRequestFilter {
+
+    private static final String METRIC_NAME = "datasource.statements";
+    private static final String UNKNOWN_ENDPOINT = "UNKNOWN";
+
+    private final int repeatedThreshold;
+    private final MeterRegistry meterRegistry;
+
+    public StatementStatisticsFilter(int repeatedThreshold, MeterRegistry meterRegistry) {
+        this.repeatedThreshold = repeatedThreshold;
+        this.meterRegistry = meterRegistry;
+    }
+
+    @Override
+    protected void doFilterInternal(@NonNull HttpServletRequest request, @NonNull HttpServletResponse response,
+                                    @NonNull FilterChain filterChain) throws ServletException, IOException {
+        StatementStatistics statistics = StatementStatistics.open();
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            statistics.close();
+            record(request, statistics);
+        }
+    }
+
+    private void record(HttpServletRequest request, StatementStatistics statistics) {
+        if (statistics.getStatements() == 0) {
+            return;
+        }
+        Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+        String endpoint = pattern != null ? pattern.toString() : UNKNOWN_ENDPOINT;
+        Map<String, Integer> repeated = statistics.getRepeatedStatements(repeatedThreshold);
+        if (!repeated.isEmpty()) {
+            log.warn("{} {} executed {} statements, repeated: {}", request.getMethod(), endpoint,
+                    statistics.getStatements(), repeated);
+        } else {
+            log.debug("{} {} executed {}", request.getMethod(), endpoint, statistics);
+        }
+        if (meterRegistry == null) {
+            return;
+        }
+        Tags tags = Tags.of("method", request.getMethod(), "endpoint", endpoint);
+        DistributionSummary.builder(METRIC_NAME)
+                .description("SQL statements executed by an HTTP request")
+                .tags(tags)
+                .register(meterRegistry)
+                .record(statistics.getStatements());
+        DistributionSummary.builder(METRIC_NAME + ".rows")
+                .description("Rows read or changed by the SQL statements of an HTTP request")
+                .tags(tags)
+                .register(meterRegistry)
+                .record(statistics.getRows());
+        Timer.builder(METRIC_NAME + ".time")
+                .description("Time spent executing the SQL statements of an HTTP request")
+                .tags(tags)
+                .register(meterRegistry)
+                .record(statistics.getElapsedMillis(), TimeUnit.MILLISECONDS);
+        if (!repeated.isEmpty()) {
+            Counter.builder(METRIC_NAME + ".repeated")
+                    .description("HTTP requests executing the same statement more than the threshold")
+                    .tags(tags)
+                    .register(meterRegistry)
+                    .increment();
+        }
+    }
+}
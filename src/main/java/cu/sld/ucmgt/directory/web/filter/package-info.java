@@ -0,0 +1,4 @@
+/**
+ * Servlet filters.
+ */
+package cu.sld.ucmgt.directory.web.filter;
@@ -7,6 +7,7 @@ import cu.sld.ucmgt.directory.web.rest.errors.BadRequestAlertException;
 import cu.sld.ucmgt.directory.web.rest.util.HeaderUtil;
 import cu.sld.ucmgt.directory.web.rest.util.PaginationUtil;
 import cu.sld.ucmgt.directory.web.rest.util.ResponseUtil;
+import cu.sld.ucmgt.directory.web.rest.vm.BulkChangeStatusVM;
 import cu.sld.ucmgt.directory.web.rest.vm.ChangeStatusVM;
 import io.swagger.annotations.ApiOperation;
 import io.swagger.annotations.ApiParam;
@@ -169,6 +170,19 @@ public class PhoneResource {
         return ResponseEntity.ok().body(result);
     }
 
+    /**
+     * {@code PUT  /phones/status/bulk} : Change status of several existing phones.
+     *
+     * @param bulkChangeStatusVM the information to change status.
+     * @return the {@link ResponseEntity} with status {@code 200 (OK)} and with body the number of changed phones
+     */
+    @PutMapping("/phones/status/bulk")
+    public ResponseEntity<Integer> updateStatusPhones(@Valid @RequestBody BulkChangeStatusVM bulkChangeStatusVM) {
+        log.debug("REST request to update status Phones : {}", bulkChangeStatusVM);
+        int result = service.changeStatus(bulkChangeStatusVM.getIds(), bulkChangeStatusVM.getStatus());
+        return ResponseEntity.ok().body(result);
+    }
+
     /**
      * {@code GET  /phones/filtered/{join}} : get all the filtered phones.
      *
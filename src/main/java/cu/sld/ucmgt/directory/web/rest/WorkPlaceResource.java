@@ -2,11 +2,14 @@ package cu.sld.ucmgt.directory.web.rest;
 
 import cu.sld.ucmgt.directory.service.WorkPlaceService;
 import cu.sld.ucmgt.directory.service.criteria.WorkPlaceCriteria;
+import cu.sld.ucmgt.directory.service.dto.EmployeeDTO;
+import cu.sld.ucmgt.directory.service.dto.PhoneDTO;
 import cu.sld.ucmgt.directory.service.dto.WorkPlaceDTO;
 import cu.sld.ucmgt.directory.web.rest.errors.BadRequestAlertException;
 import cu.sld.ucmgt.directory.web.rest.util.HeaderUtil;
 import cu.sld.ucmgt.directory.web.rest.util.PaginationUtil;
 import cu.sld.ucmgt.directory.web.rest.util.ResponseUtil;
+import cu.sld.ucmgt.directory.web.rest.vm.BulkChangeStatusVM;
 import cu.sld.ucmgt.directory.web.rest.vm.ChangeStatusVM;
 import io.swagger.annotations.ApiOperation;
 import io.swagger.annotations.ApiParam;
@@ -115,8 +118,8 @@ public class WorkPlaceResource {
      * {@code GET  /workplaces/:id} : get the "id" workplace.
      *
      * @param uid the id of the workPlaceDTO to retrieve.
-     * @return the {@link ResponseEntity} with status {@code 200 (OK)} and with body the workPlaceDTO
-     * or with status {@code 404 (Not Found)}.
+     * @return the {@link ResponseEntity} with status {@code 200 (OK)} and with body the workPlaceDTO holding
+     * only the number of employees and phones, or with status {@code 404 (Not Found)}.
      */
     @GetMapping("/workplaces/{id}")
     public ResponseEntity<WorkPlaceDTO> getWorkPlace(@PathVariable(name = "id") UUID uid) {
@@ -125,6 +128,42 @@ public class WorkPlaceResource {
         return ResponseUtil.wrapOrNotFound(workplaceFetched);
     }
 
+    /**
+     * {@code GET  /workplaces/:id/employees} : get a page of the employees of the "id" workplace.
+     *
+     * @param uid      the id of the workplace.
+     * @param pageable the pagination information.
+     * @return the {@link ResponseEntity} with status {@code 200 (OK)} and the list of employees in body.
+     */
+    @GetMapping("/workplaces/{id}/employees")
+    public ResponseEntity<List<EmployeeDTO>> getWorkPlaceEmployees(@PathVariable(name = "id") UUID uid, Pageable pageable) {
+        log.debug("REST request to get a page of Employees of WorkPlace : {}", uid);
+        Page<EmployeeDTO> page = service.getWorkPlaceEmployees(uid, pageable);
+        HttpHeaders headers = PaginationUtil.generatePaginationHeaders(
+                ServletUriComponentsBuilder.fromCurrentRequest(),
+                page
+        );
+        return ResponseEntity.ok().headers(headers).body(page.getContent());
+    }
+
+    /**
+     * {@code GET  /workplaces/:id/phones} : get a page of the phones of the "id" workplace.
+     *
+     * @param uid      the id of the workplace.
+     * @param pageable the pagination information.
+     * @return the {@link ResponseEntity} with status {@code 200 (OK)} and the list of phones in body.
+     */
+    @GetMapping("/workplaces/{id}/phones")
+    public ResponseEntity<List<PhoneDTO>> getWorkPlacePhones(@PathVariable(name = "id") UUID uid, Pageable pageable) {
+        log.debug("REST request to get a page of Phones of WorkPlace : {}", uid);
+        Page<PhoneDTO> page = service.getWorkPlacePhones(uid, pageable);
+        HttpHeaders headers = PaginationUtil.generatePaginationHeaders(
+                ServletUriComponentsBuilder.fromCurrentRequest(),
+                page
+        );
+        return ResponseEntity.ok().headers(headers).body(page.getContent());
+    }
+
     /**
      * {@code GET  /workplaces} : get all the workplace.
      *
@@ -155,6 +194,19 @@ public class WorkPlaceResource {
         return ResponseEntity.ok().body(result);
     }
 
+    /**
+     * {@code PUT  /workplaces/status/bulk} : Change status of several existing workplaces.
+     *
+     * @param bulkChangeStatusVM the information to change status.
+     * @return the {@link ResponseEntity} with status {@code 200 (OK)} and with body the number of changed workplaces
+     */
+    @PutMapping("/workplaces/status/bulk")
+    public ResponseEntity<Integer> updateStatusWorkPlaces(@Valid @RequestBody BulkChangeStatusVM bulkChangeStatusVM) {
+        log.debug("REST request to update status WorkPlaces : {}", bulkChangeStatusVM);
+        int result = service.changeStatus(bulkChangeStatusVM.getIds(), bulkChangeStatusVM.getStatus());
+        return ResponseEntity.ok().body(result);
+    }
+
     /**
      * {@code GET  /workplaces/filtered/{join}} : get all the filtered workplaces.
      *
@@ -0,0 +1,39 @@
+package cu.sld.ucmgt.directory.web.rest.vm;
+
+import javax.validation.constraints.NotEmpty;
+import javax.validation.constraints.NotNull;
+import java.util.Set;
+import java.util.UUID;
+
+public class BulkChangeStatusVM {
+
+    @NotEmpty
+    private Set<UUID> ids;
+
+    @NotNull
+    private Boolean status;
+
+    public Set<UUID> getIds() {
+        return ids;
+    }
+
+    public void setIds(Set<UUID> ids) {
+        this.ids = ids;
+    }
+
+    public Boolean getStatus() {
+        return status;
+    }
+
+    public void setStatus(Boolean status) {
+        this.status = status;
+    }
+
+    @Override
+    public String toString() {
+        return "BulkChangeStatusVM{" +
+                "ids=" + ids +
+                ", status=" + status +
+                '}';
+    }
+}
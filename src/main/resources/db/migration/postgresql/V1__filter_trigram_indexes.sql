@@ -0,0 +1,28 @@
+-- StringFilter.contains is translated by QueryService.likeUpperSpecification to
+-- UPPER(column) LIKE '%VALUE%', which only a trigram index on the same UPPER()
+-- expression can serve. The nomenclature and work_place names back the joined
+-- *Name filters of the criteria.
+CREATE EXTENSION IF NOT EXISTS pg_trgm;
+
+CREATE INDEX IF NOT EXISTS idx_person_ci_upper_trgm ON person USING gin (UPPER(ci) gin_trgm_ops);
+CREATE INDEX IF NOT EXISTS idx_person_name_upper_trgm ON person USING gin (UPPER(name) gin_trgm_ops);
+CREATE INDEX IF NOT EXISTS idx_person_race_upper_trgm ON person USING gin (UPPER(race) gin_trgm_ops);
+CREATE INDEX IF NOT EXISTS idx_person_email_upper_trgm ON person USING gin (UPPER(email) gin_trgm_ops);
+CREATE INDEX IF NOT EXISTS idx_person_address_upper_trgm ON person USING gin (UPPER(address) gin_trgm_ops);
+CREATE INDEX IF NOT EXISTS idx_person_first_last_name_upper_trgm ON person USING gin (UPPER(first_last_name) gin_trgm_ops);
+CREATE INDEX IF NOT EXISTS idx_person_second_last_name_upper_trgm ON person USING gin (UPPER(second_last_name) gin_trgm_ops);
+
+CREATE INDEX IF NOT EXISTS idx_employee_register_number_upper_trgm ON employee USING gin (UPPER(register_number) gin_trgm_ops);
+CREATE INDEX IF NOT EXISTS idx_employee_professional_number_upper_trgm ON employee USING gin (UPPER(professional_number) gin_trgm_ops);
+
+CREATE INDEX IF NOT EXISTS idx_student_class_room_upper_trgm ON student USING gin (UPPER(class_room) gin_trgm_ops);
+CREATE INDEX IF NOT EXISTS idx_student_residence_upper_trgm ON student USING gin (UPPER(residence) gin_trgm_ops);
+
+CREATE INDEX IF NOT EXISTS idx_phone_number_upper_trgm ON phone USING gin (UPPER(number) gin_trgm_ops);
+CREATE INDEX IF NOT EXISTS idx_phone_description_upper_trgm ON phone USING gin (UPPER(description) gin_trgm_ops);
+
+CREATE INDEX IF NOT EXISTS idx_work_place_name_upper_trgm ON work_place USING gin (UPPER(name) gin_trgm_ops);
+CREATE INDEX IF NOT EXISTS idx_work_place_email_upper_trgm ON work_place USING gin (UPPER(email) gin_trgm_ops);
+CREATE INDEX IF NOT EXISTS idx_work_place_description_upper_trgm ON work_place USING gin (UPPER(description) gin_trgm_ops);
+
+CREATE INDEX IF NOT EXISTS idx_nomenclature_name_upper_trgm ON nomenclature USING gin (UPPER(name) gin_trgm_ops);
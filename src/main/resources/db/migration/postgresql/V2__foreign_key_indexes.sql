@@ -0,0 +1,19 @@
+-- Postgres does not index the referencing side of a foreign key. These columns are
+-- joined by the criteria queries and scanned when a nomenclature, workplace or
+-- employee is deleted.
+
+CREATE INDEX IF NOT EXISTS idx_person_district_id ON person (district_id);
+CREATE INDEX IF NOT EXISTS idx_person_specialty_id ON person (specialty_id);
+
+CREATE INDEX IF NOT EXISTS idx_employee_work_place_id ON employee (work_place_id);
+CREATE INDEX IF NOT EXISTS idx_employee_category_id ON employee (category_id);
+CREATE INDEX IF NOT EXISTS idx_employee_scientific_degree_id ON employee (scientific_degree_id);
+CREATE INDEX IF NOT EXISTS idx_employee_teaching_category_id ON employee (teaching_category_id);
+CREATE INDEX IF NOT EXISTS idx_employee_charge_id ON employee (charge_id);
+CREATE INDEX IF NOT EXISTS idx_employee_profession_id ON employee (profession_id);
+
+CREATE INDEX IF NOT EXISTS idx_student_kind_id ON student (kind_id);
+CREATE INDEX IF NOT EXISTS idx_student_study_center_id ON student (study_center_id);
+
+CREATE INDEX IF NOT EXISTS idx_phone_employee_id ON phone (employee_id);
+CREATE INDEX IF NOT EXISTS idx_phone_work_place_id ON phone (work_place_id);
@@ -0,0 +1,56 @@
+-- directory_entry is created by Hibernate from the DirectoryEntry entity and kept up
+-- to date by DirectoryEntryListener. Copy the people stored before the projection
+-- existed, with the same statements the listener runs for a single person.
+INSERT INTO directory_entry (id, type, ci, name, email, avatar_url, address, first_last_name, second_last_name,
+                             gender, birthdate, race, district_id, district_name, specialty_id, specialty_name,
+                             start_date, end_date, graduate_years, is_graduated_by_sector, service_years, salary,
+                             register_number, boss_work_place, professional_number, work_place_id, work_place_name,
+                             category_id, category_name, scientific_degree_id, scientific_degree_name,
+                             teaching_category_id, teaching_category_name, charge_id, charge_name,
+                             profession_id, profession_name)
+SELECT p.id, 'EMPLOYEE', p.ci, p.name, p.email, p.avatar_url, p.address, p.first_last_name, p.second_last_name,
+       p.gender, p.birthdate, p.race, p.district_id, nd.name, p.specialty_id, ns.name,
+       e.start_date, e.end_date, e.graduate_years, e.is_graduated_by_sector, e.service_years, e.salary,
+       e.register_number, e.boss_work_place, e.professional_number, e.work_place_id, wp.name,
+       e.category_id, nc.name, e.scientific_degree_id, nsd.name,
+       e.teaching_category_id, ntc.name, e.charge_id, nch.name,
+       e.profession_id, np.name
+FROM person p
+         JOIN employee e ON e.id = p.id
+         LEFT JOIN nomenclature nd ON nd.id = p.district_id
+         LEFT JOIN nomenclature ns ON ns.id = p.specialty_id
+         LEFT JOIN work_place wp ON wp.id = e.work_place_id
+         LEFT JOIN nomenclature nc ON nc.id = e.category_id
+         LEFT JOIN nomenclature nsd ON nsd.id = e.scientific_degree_id
+         LEFT JOIN nomenclature ntc ON ntc.id = e.teaching_category_id
+         LEFT JOIN nomenclature nch ON nch.id = e.charge_id
+         LEFT JOIN nomenclature np ON np.id = e.profession_id
+WHERE NOT EXISTS(SELECT 1 FROM directory_entry de WHERE de.id = p.id);
+
+INSERT INTO directory_entry (id, type, ci, name, email, avatar_url, address, first_last_name, second_last_name,
+                             gender, birthdate, race, district_id, district_name, specialty_id, specialty_name,
+                             class_room, university_year, residence, kind_id, kind_name,
+                             study_center_id, study_center_name)
+SELECT p.id, 'STUDENT', p.ci, p.name, p.email, p.avatar_url, p.address, p.first_last_name, p.second_last_name,
+       p.gender, p.birthdate, p.race, p.district_id, nd.name, p.specialty_id, ns.name,
+       s.class_room, s.university_year, s.residence, s.kind_id, nk.name,
+       s.study_center_id, nsc.name
+FROM person p
+         JOIN student s ON s.id = p.id
+         LEFT JOIN nomenclature nd ON nd.id = p.district_id
+         LEFT JOIN nomenclature ns ON ns.id = p.specialty_id
+         LEFT JOIN nomenclature nk ON nk.id = s.kind_id
+         LEFT JOIN nomenclature nsc ON nsc.id = s.study_center_id
+WHERE NOT EXISTS(SELECT 1 FROM directory_entry de WHERE de.id = p.id);
+
+-- every listing and filter restricts the type, the contains filters are served
+-- by the trigram indexes as in V1
+CREATE INDEX IF NOT EXISTS idx_directory_entry_type ON directory_entry (type);
+CREATE INDEX IF NOT EXISTS idx_directory_entry_work_place_id ON directory_entry (work_place_id);
+
+CREATE INDEX IF NOT EXISTS idx_directory_entry_ci_upper_trgm ON directory_entry USING gin (UPPER(ci) gin_trgm_ops);
+CREATE INDEX IF NOT EXISTS idx_directory_entry_name_upper_trgm ON directory_entry USING gin (UPPER(name) gin_trgm_ops);
+CREATE INDEX IF NOT EXISTS idx_directory_entry_email_upper_trgm ON directory_entry USING gin (UPPER(email) gin_trgm_ops);
+CREATE INDEX IF NOT EXISTS idx_directory_entry_first_last_name_upper_trgm ON directory_entry USING gin (UPPER(first_last_name) gin_trgm_ops);
+CREATE INDEX IF NOT EXISTS idx_directory_entry_second_last_name_upper_trgm ON directory_entry USING gin (UPPER(second_last_name) gin_trgm_ops);
+CREATE INDEX IF NOT EXISTS idx_directory_entry_register_number_upper_trgm ON directory_entry USING gin (UPPER(register_number) gin_trgm_ops);
@@ -0,0 +1,47 @@
+-- persistent_audit_event is created by Hibernate from the PersistentAuditEvent entity.
+-- It is replaced by a table partitioned by month on event_date: the expired months are
+-- dropped whole by AuditEventService, and the queries by date only read the months
+-- they cover. Postgres 10 cannot declare keys or indexes on the partitioned table,
+-- create_audit_event_partition adds them to each partition.
+-- audit_evt_data is not partitioned, its rows are deleted in chunks before their month
+-- is dropped, so it can no longer reference persistent_audit_event.
+
+CREATE OR REPLACE FUNCTION create_audit_event_partition(month date) RETURNS text AS $$
+DECLARE
+    first_day date := date_trunc('month', month);
+    partition text := 'persistent_audit_event_' || to_char(first_day, 'YYYY_MM');
+BEGIN
+    IF to_regclass(partition) IS NULL THEN
+        EXECUTE format('CREATE TABLE %I PARTITION OF persistent_audit_event FOR VALUES FROM (%L) TO (%L)',
+                       partition, first_day, first_day + interval '1 month');
+        EXECUTE format('ALTER TABLE %I ADD PRIMARY KEY (event_id)', partition);
+        EXECUTE format('CREATE INDEX %I ON %I (event_date)', 'idx_' || partition || '_event_date', partition);
+    END IF;
+    RETURN partition;
+END;
+$$ LANGUAGE plpgsql;
+
+ALTER TABLE persistent_audit_event RENAME TO persistent_audit_event_unpartitioned;
+
+CREATE TABLE persistent_audit_event
+(
+    event_id   uuid         NOT NULL,
+    principal  varchar(255) NOT NULL,
+    event_date timestamp    NOT NULL,
+    event_type varchar(255)
+) PARTITION BY RANGE (event_date);
+
+-- event_date holds UTC, see hibernate.jdbc.time_zone
+SELECT create_audit_event_partition(month::date)
+FROM generate_series(
+             date_trunc('month', LEAST((SELECT MIN(event_date) FROM persistent_audit_event_unpartitioned),
+                                       now() AT TIME ZONE 'UTC')),
+             date_trunc('month', now() AT TIME ZONE 'UTC') + interval '3 months',
+             interval '1 month') AS month;
+
+INSERT INTO persistent_audit_event (event_id, principal, event_date, event_type)
+SELECT event_id, principal, COALESCE(event_date, now() AT TIME ZONE 'UTC'), event_type
+FROM persistent_audit_event_unpartitioned;
+
+-- drops the foreign key of audit_evt_data as well
+DROP TABLE persistent_audit_event_unpartitioned CASCADE;
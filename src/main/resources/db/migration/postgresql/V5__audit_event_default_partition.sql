@@ -0,0 +1,32 @@
+-- Events of a month without partition went nowhere: the insert failed and AuditEventWriter
+-- dropped its whole batch. They now land in a DEFAULT partition (Postgres 11+), so the
+-- audit keeps being written when the partitions ahead were not created in time.
+-- Creating the partition of a month moves its events out of the default partition, which
+-- would otherwise reject the new partition. The expired events of the default partition
+-- are deleted in chunks by AuditEventService, like the unpartitioned ones.
+
+CREATE TABLE IF NOT EXISTS persistent_audit_event_default PARTITION OF persistent_audit_event DEFAULT;
+ALTER TABLE persistent_audit_event_default ADD PRIMARY KEY (event_id);
+CREATE INDEX idx_persistent_audit_event_default_event_date ON persistent_audit_event_default (event_date);
+
+CREATE OR REPLACE FUNCTION create_audit_event_partition(month date) RETURNS text AS $$
+DECLARE
+    first_day date := date_trunc('month', month);
+    next_month date := first_day + interval '1 month';
+    partition text := 'persistent_audit_event_' || to_char(first_day, 'YYYY_MM');
+BEGIN
+    IF to_regclass(partition) IS NULL THEN
+        ALTER TABLE persistent_audit_event DETACH PARTITION persistent_audit_event_default;
+        EXECUTE format('CREATE TABLE %I PARTITION OF persistent_audit_event FOR VALUES FROM (%L) TO (%L)',
+                       partition, first_day, next_month);
+        EXECUTE format('ALTER TABLE %I ADD PRIMARY KEY (event_id)', partition);
+        EXECUTE format('CREATE INDEX %I ON %I (event_date)', 'idx_' || partition || '_event_date', partition);
+        EXECUTE format('INSERT INTO %I (event_id, principal, event_date, event_type) ' ||
+                       'SELECT event_id, principal, event_date, event_type FROM persistent_audit_event_default ' ||
+                       'WHERE event_date >= %L AND event_date < %L', partition, first_day, next_month);
+        DELETE FROM persistent_audit_event_default WHERE event_date >= first_day AND event_date < next_month;
+        ALTER TABLE persistent_audit_event ATTACH PARTITION persistent_audit_event_default DEFAULT;
+    END IF;
+    RETURN partition;
+END;
+$$ LANGUAGE plpgsql;
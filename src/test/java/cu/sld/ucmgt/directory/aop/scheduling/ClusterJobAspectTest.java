@@ -0,0 +1,156 @@
+package cu.sld.ucmgt.directory.aop.scheduling;
+
+import com.hazelcast.core.HazelcastInstance;
+import com.hazelcast.core.IMap;
+import cu.sld.ucmgt.directory.config.cache.IncrementCounter;
+import cu.sld.ucmgt.directory.config.scheduling.ClusterJob;
+import cu.sld.ucmgt.directory.config.scheduling.JobLease;
+import cu.sld.ucmgt.directory.config.scheduling.ScheduledJobLock;
+import cu.sld.ucmgt.directory.config.scheduling.ScheduledJobRegistry;
+import cu.sld.ucmgt.directory.config.scheduling.ScheduledJobRegistry.JobRun;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.aop.aspectj.annotation.AspectJProxyFactory;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.AbstractMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Test class for the {@link ClusterJobAspect}.
+ */
+public class ClusterJobAspectTest {
+
+    private static final String JOB = "test-job";
+
+    private IMap<String, Long> fences;
+    private Map<String, JobRun> runs;
+    private SimpleMeterRegistry meterRegistry;
+    private Job target;
+    private Job job;
+
+    @BeforeEach
+    @SuppressWarnings("unchecked")
+    public void setup() throws InterruptedException {
+        fences = mock(IMap.class);
+        Map<String, Long> values = new ConcurrentHashMap<>();
+        values.put(JOB, 6L);
+        doAnswer(invocation -> values.put(invocation.getArgument(0), invocation.getArgument(1)))
+                .when(fences).set(anyString(), anyLong());
+        when(fences.get(anyString())).thenAnswer(invocation -> values.get(invocation.<String>getArgument(0)));
+        when(fences.executeOnKey(anyString(), any(IncrementCounter.class))).thenAnswer(invocation -> {
+            Map.Entry<String, Long> entry = new AbstractMap.SimpleEntry<>(invocation.getArgument(0),
+                    values.get(invocation.<String>getArgument(0)));
+            Object result = invocation.<IncrementCounter>getArgument(1).process(entry);
+            values.put(entry.getKey(), entry.getValue());
+            return result;
+        });
+        when(fences.tryLock(anyString(), anyLong(), any(), anyLong(), any())).thenReturn(true);
+        HazelcastInstance hazelcastInstance = mock(HazelcastInstance.class);
+        when(hazelcastInstance.<String, Long>getMap(anyString())).thenReturn(fences);
+
+        runs = new ConcurrentHashMap<>();
+        meterRegistry = new SimpleMeterRegistry();
+        ScheduledJobLock lock = new ScheduledJobLock(hazelcastInstance);
+        ScheduledJobRegistry registry = new ScheduledJobRegistry(runs, meterRegistry, "node-1");
+        target = new Job();
+        AspectJProxyFactory factory = new AspectJProxyFactory(target);
+        factory.setProxyTargetClass(true);
+        factory.addAspect(new ClusterJobAspect(lock, registry));
+        job = factory.getProxy();
+    }
+
+    @Test
+    public void testJobRunsUnderItsLeaseAndIsRecorded() {
+        job.run();
+
+        assertThat(target.runs.get()).isEqualTo(1);
+        JobRun run = runs.get(JOB);
+        assertThat(run.getNode()).isEqualTo("node-1");
+        assertThat(run.getFence()).isEqualTo(7L);
+        assertThat(run.getOutcome()).isEqualTo(ScheduledJobRegistry.Outcome.SUCCESS);
+        assertThat(meterRegistry.get(ScheduledJobRegistry.METRIC_NAME).tag("job", JOB).timer().count()).isEqualTo(1);
+        verify(fences).unlock(JOB);
+    }
+
+    @Test
+    public void testJobIsSkippedWhileAnotherNodeHoldsTheLease() throws InterruptedException {
+        when(fences.tryLock(anyString(), anyLong(), any(), anyLong(), any())).thenReturn(false);
+
+        job.run();
+
+        assertThat(target.runs.get()).isZero();
+        assertThat(runs).isEmpty();
+        assertThat(meterRegistry.get(ScheduledJobRegistry.METRIC_NAME + ".skipped").counter().count()).isEqualTo(1);
+        verify(fences, never()).unlock(anyString());
+    }
+
+    @Test
+    public void testJobIsSkippedWhenAlreadyRunInTheSameSlot() {
+        job.run();
+        job.run();
+
+        assertThat(target.runs.get()).isEqualTo(1);
+        assertThat(runs.get(JOB).getFence()).isEqualTo(7L);
+        assertThat(meterRegistry.get(ScheduledJobRegistry.METRIC_NAME).tag("job", JOB).timer().count()).isEqualTo(1);
+        assertThat(meterRegistry.get(ScheduledJobRegistry.METRIC_NAME + ".skipped").counter().count()).isEqualTo(1);
+        verify(fences, times(2)).unlock(JOB);
+    }
+
+    @Test
+    public void testJobRunsAgainAfterAFailedRunInTheSameSlot() {
+        target.takeOver = () -> {
+            throw new IllegalStateException("first run fails");
+        };
+        assertThatThrownBy(job::run).isInstanceOf(IllegalStateException.class);
+        target.takeOver = () -> { };
+
+        job.run();
+
+        assertThat(target.runs.get()).isEqualTo(1);
+        assertThat(runs.get(JOB).getOutcome()).isEqualTo(ScheduledJobRegistry.Outcome.SUCCESS);
+    }
+
+    @Test
+    public void testJobRunsAgainAfterItsMinimumInterval() {
+        runs.put(JOB, new JobRun(JOB, "node-2", 6L, Instant.now().minus(Duration.ofMinutes(6)), 1000,
+                ScheduledJobRegistry.Outcome.SUCCESS, null));
+
+        job.run();
+
+        assertThat(target.runs.get()).isEqualTo(1);
+        assertThat(runs.get(JOB).getNode()).isEqualTo("node-1");
+    }
+
+    @Test
+    public void testJobStopsOnceAnotherNodeTookItOver() {
+        target.takeOver = () -> fences.set(JOB, 8L);
+
+        assertThatThrownBy(job::run).isInstanceOf(IllegalStateException.class);
+
+        assertThat(runs.get(JOB).getOutcome()).isEqualTo(ScheduledJobRegistry.Outcome.FAILURE);
+        verify(fences, never()).unlock(anyString());
+    }
+
+    public static class Job {
+
+        private final AtomicInteger runs = new AtomicInteger();
+        private Runnable takeOver = () -> { };
+
+        @ClusterJob(JOB)
+        public void run() {
+            takeOver.run();
+            JobLease.checkValid();
+            runs.incrementAndGet();
+        }
+    }
+}
@@ -0,0 +1,75 @@
+package cu.sld.ucmgt.directory.config;
+
+import cu.sld.ucmgt.directory.DirectoryApp;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.sql.ResultSet;
+import java.sql.Statement;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Integration tests for the migrations applied by {@link SchemaMigrationConfiguration}, checking on Postgres
+ * that the queries built by the criteria filters are planned with the created indexes.
+ * Sequential scans are disabled, otherwise the planner prefers them on the empty tables.
+ */
+@SpringBootTest(classes = {DirectoryApp.class, TestSecurityConfiguration.class})
+@ActiveProfiles("testcontainers")
+public class SchemaMigrationIT {
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Test
+    public void testContainsFilterUsesTrigramIndex() {
+        assertThat(explain("SELECT p.id FROM person p WHERE UPPER(p.name) LIKE '%JUAN%'"))
+                .contains("idx_person_name_upper_trgm");
+        assertThat(explain("SELECT e.id FROM employee e WHERE UPPER(e.register_number) LIKE '%123%'"))
+                .contains("idx_employee_register_number_upper_trgm");
+        assertThat(explain("SELECT s.id FROM student s WHERE UPPER(s.residence) LIKE '%BECA%'"))
+                .contains("idx_student_residence_upper_trgm");
+        assertThat(explain("SELECT p.id FROM phone p WHERE UPPER(p.number) LIKE '%4321%'"))
+                .contains("idx_phone_number_upper_trgm");
+        assertThat(explain("SELECT w.id FROM work_place w WHERE UPPER(w.name) LIKE '%HOSPITAL%'"))
+                .contains("idx_work_place_name_upper_trgm");
+    }
+
+    @Test
+    public void testJoinedNameFilterUsesTrigramIndex() {
+        assertThat(explain("SELECT e.id FROM employee e INNER JOIN nomenclature n ON e.charge_id = n.id "
+                + "WHERE UPPER(n.name) LIKE '%DIRECTOR%'"))
+                .contains("idx_nomenclature_name_upper_trgm");
+    }
+
+    @Test
+    public void testForeignKeyLookupUsesIndex() {
+        assertThat(explain("SELECT p.id FROM phone p WHERE p.work_place_id = '00000000-0000-0000-0000-000000000000'"))
+                .contains("idx_phone_work_place_id");
+        assertThat(explain("SELECT p.id FROM person p WHERE p.district_id = '00000000-0000-0000-0000-000000000000'"))
+                .contains("idx_person_district_id");
+        assertThat(explain("SELECT e.id FROM employee e WHERE e.charge_id = '00000000-0000-0000-0000-000000000000'"))
+                .contains("idx_employee_charge_id");
+    }
+
+    private String explain(String query) {
+        return jdbcTemplate.execute((ConnectionCallback<String>) connection -> {
+            StringBuilder plan = new StringBuilder();
+            try (Statement statement = connection.createStatement()) {
+                statement.execute("SET LOCAL enable_seqscan = off");
+                try (ResultSet resultSet = statement.executeQuery("EXPLAIN " + query)) {
+                    while (resultSet.next()) {
+                        plan.append(resultSet.getString(1)).append('\n');
+                    }
+                }
+            } finally {
+                connection.rollback();
+            }
+            return plan.toString();
+        });
+    }
+}
@@ -0,0 +1,97 @@
+package cu.sld.ucmgt.directory.config.audit;
+
+import cu.sld.ucmgt.directory.domain.PersistentAuditEvent;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentMatchers;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Instant;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Test class for the {@link AuditEventWriter}.
+ */
+public class AuditEventWriterTest {
+
+    private JdbcTemplate jdbcTemplate;
+    private SimpleMeterRegistry meterRegistry;
+    private AuditEventWriter writer;
+
+    @BeforeEach
+    public void setup() {
+        jdbcTemplate = mock(JdbcTemplate.class);
+        meterRegistry = new SimpleMeterRegistry();
+        writer = new AuditEventWriter(jdbcTemplate, new TransactionTemplate(mock(PlatformTransactionManager.class)),
+                meterRegistry, 2, 2, 50, 5000);
+    }
+
+    @Test
+    public void testEventsBeyondTheBufferAreDropped() {
+        assertThat(writer.offer(event("admin"))).isTrue();
+        assertThat(writer.offer(event("user"))).isTrue();
+        assertThat(writer.offer(event("system"))).isFalse();
+
+        assertThat(writer.getBufferDepth()).isEqualTo(2);
+        assertThat(meterRegistry.get(AuditEventWriter.METRIC_NAME + ".buffer.depth").gauge().value()).isEqualTo(2);
+        assertThat(meterRegistry.get(AuditEventWriter.METRIC_NAME + ".dropped").tag("reason", "buffer-full")
+                .counter().count()).isEqualTo(1);
+    }
+
+    @Test
+    public void testBufferedEventsAreWrittenOnClose() {
+        List<Integer> batchSizes = new CopyOnWriteArrayList<>();
+        doAnswer(invocation -> {
+            batchSizes.add(((List<?>) invocation.getArgument(1)).size());
+            return null;
+        }).when(jdbcTemplate).batchUpdate(startsWith("INSERT INTO persistent_audit_event"), anyList(), anyInt(), any());
+        PersistentAuditEvent admin = event("admin");
+        admin.getData().put("remoteAddress", "127.0.0.1");
+
+        writer.offer(admin);
+        writer.offer(event("user"));
+        writer.start();
+        writer.close();
+
+        assertThat(batchSizes.stream().mapToInt(Integer::intValue).sum()).isEqualTo(2);
+        assertThat(admin.getId()).isNotNull();
+        verify(jdbcTemplate).batchUpdate(startsWith("INSERT INTO audit_evt_data"),
+                ArgumentMatchers.<List<Object[]>>argThat(data -> data.size() == 1
+                        && Arrays.equals(data.get(0), new Object[]{admin.getId(), "remoteAddress", "127.0.0.1"})));
+        assertThat(writer.getBufferDepth()).isZero();
+        assertThat(meterRegistry.get(AuditEventWriter.METRIC_NAME + ".flush").timer().count()).isEqualTo(batchSizes.size());
+    }
+
+    @Test
+    public void testFailedBatchIsCountedAsDropped() {
+        when(jdbcTemplate.batchUpdate(anyString(), anyList(), anyInt(), any()))
+                .thenThrow(new DataAccessResourceFailureException("connection refused"));
+        writer.offer(event("admin"));
+        writer.offer(event("user"));
+
+        writer.start();
+        writer.close();
+
+        assertThat(meterRegistry.get(AuditEventWriter.METRIC_NAME + ".dropped").tag("reason", "flush-failed")
+                .counter().count()).isEqualTo(2);
+        assertThat(meterRegistry.get(AuditEventWriter.METRIC_NAME + ".flush").timer().count()).isZero();
+    }
+
+    private static PersistentAuditEvent event(String principal) {
+        PersistentAuditEvent event = new PersistentAuditEvent();
+        event.setPrincipal(principal);
+        event.setAuditEventType("AUTHENTICATION_SUCCESS");
+        event.setAuditEventDate(Instant.now());
+        return event;
+    }
+}
@@ -0,0 +1,136 @@
+package cu.sld.ucmgt.directory.config.cache;
+
+import com.hazelcast.config.SerializationConfig;
+import com.hazelcast.internal.serialization.InternalSerializationService;
+import com.hazelcast.internal.serialization.impl.DefaultSerializationServiceBuilder;
+import com.hazelcast.nio.serialization.Data;
+import cu.sld.ucmgt.directory.domain.Gender;
+import cu.sld.ucmgt.directory.domain.NomenclatureType;
+import cu.sld.ucmgt.directory.service.dto.EmployeeDTO;
+import cu.sld.ucmgt.directory.service.dto.NomenclatureDTO;
+import lombok.extern.slf4j.Slf4j;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cost and size of a cached {@link QueryResultPage} of employees written and read by Hazelcast, with the DTOs
+ * written by the {@link DtoStreamSerializers}, and with the default Java serialization of the same DTOs. The payload
+ * sizes are logged once per trial, the allocations are reported by the GC profiler.
+ * <p>
+ * Run with {@code ./mvnw test-compile exec:java -Dexec.classpathScope=test
+ * -Dexec.mainClass=cu.sld.ucmgt.directory.config.cache.DtoSerializationBenchmark}.
+ */
+@Slf4j
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Fork(1)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+public class DtoSerializationBenchmark {
+
+    /**
+     * Employees of the cached page.
+     */
+    @Param({"20", "100"})
+    public int pageSize;
+
+    private InternalSerializationService streamSerialization;
+    private InternalSerializationService javaSerialization;
+    private QueryResultPage page;
+    private Data streamData;
+    private Data javaData;
+
+    @Setup
+    public void setup() {
+        SerializationConfig streamSerializationConfig = createSerializationConfig();
+        DtoStreamSerializers.register(streamSerializationConfig);
+        streamSerialization = new DefaultSerializationServiceBuilder().setConfig(streamSerializationConfig).build();
+        javaSerialization = new DefaultSerializationServiceBuilder().setConfig(createSerializationConfig()).build();
+
+        ArrayList<EmployeeDTO> employees = new ArrayList<>(pageSize);
+        for (int i = 0; i < pageSize; i++) {
+            employees.add(createEmployeeDTO(i));
+        }
+        page = QueryResultPage.of(new PageImpl<>(employees, PageRequest.of(0, pageSize), 1000));
+        streamData = streamSerialization.toData(page);
+        javaData = javaSerialization.toData(page);
+        log.info("{} employees: {} bytes with the stream serializers, {} bytes with Java serialization",
+                pageSize, streamData.totalSize(), javaData.totalSize());
+    }
+
+    @Benchmark
+    public Data streamSerializersWrite() {
+        return streamSerialization.toData(page);
+    }
+
+    @Benchmark
+    public Object streamSerializersRead() {
+        return streamSerialization.toObject(streamData);
+    }
+
+    @Benchmark
+    public Data javaSerializationWrite() {
+        return javaSerialization.toData(page);
+    }
+
+    @Benchmark
+    public Object javaSerializationRead() {
+        return javaSerialization.toObject(javaData);
+    }
+
+    /**
+     * The page is written by the same factory with both services, only the serialization of the DTOs differs.
+     */
+    private static SerializationConfig createSerializationConfig() {
+        SerializationConfig serializationConfig = new SerializationConfig();
+        serializationConfig.addDataSerializableFactory(DirectoryDataSerializableFactory.FACTORY_ID,
+                new DirectoryDataSerializableFactory());
+        return serializationConfig;
+    }
+
+    private static EmployeeDTO createEmployeeDTO(int index) {
+        EmployeeDTO employeeDTO = new EmployeeDTO();
+        employeeDTO.setId(UUID.randomUUID());
+        employeeDTO.setCi(String.format("910209%05d", index));
+        employeeDTO.setName("Juan " + index);
+        employeeDTO.setFirstLastName("Perez");
+        employeeDTO.setSecondLastName("Garcia");
+        employeeDTO.setEmail("juan" + index + "@mail.com");
+        employeeDTO.setAddress("Calle 23 No. " + index);
+        employeeDTO.setGender(Gender.Masculino);
+        employeeDTO.setBirthdate(LocalDate.of(1991, 2, 9));
+        employeeDTO.setStartDate(LocalDateTime.of(2015, 9, 1, 8, 0));
+        employeeDTO.setBossWorkPlace(false);
+        employeeDTO.setServiceYears(6);
+        employeeDTO.setRegisterNumber(Integer.toString(1000 + index));
+        employeeDTO.setWorkPlaceId(UUID.randomUUID());
+        employeeDTO.setWorkPlaceName("Hospital");
+        NomenclatureDTO charge = new NomenclatureDTO();
+        charge.setId(UUID.randomUUID());
+        charge.setName("Director");
+        charge.setDiscriminator(NomenclatureType.CARGO);
+        employeeDTO.setChargeId(charge.getId());
+        employeeDTO.setChargeName(charge.getName());
+        employeeDTO.setCharge(charge);
+        return employeeDTO;
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(DtoSerializationBenchmark.class.getSimpleName())
+                .addProfiler(GCProfiler.class)
+                .build()).run();
+    }
+}
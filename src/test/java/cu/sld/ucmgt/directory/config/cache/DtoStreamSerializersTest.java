@@ -0,0 +1,109 @@
+package cu.sld.ucmgt.directory.config.cache;
+
+import com.hazelcast.config.SerializationConfig;
+import com.hazelcast.internal.serialization.InternalSerializationService;
+import com.hazelcast.internal.serialization.impl.DefaultSerializationServiceBuilder;
+import com.hazelcast.nio.serialization.Data;
+import cu.sld.ucmgt.directory.domain.Gender;
+import cu.sld.ucmgt.directory.domain.NomenclatureType;
+import cu.sld.ucmgt.directory.service.dto.EmployeeDTO;
+import cu.sld.ucmgt.directory.service.dto.NomenclatureDTO;
+import cu.sld.ucmgt.directory.service.dto.WorkPlaceDTO;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.ObjectOutputStream;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Collections;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Test class for the {@link DtoStreamSerializers} and the {@link DirectoryDataSerializableFactory} types,
+ * comparing the payload with the default Java serialization.
+ */
+public class DtoStreamSerializersTest {
+
+    private InternalSerializationService serializationService;
+
+    @BeforeEach
+    public void setup() {
+        SerializationConfig serializationConfig = new SerializationConfig();
+        serializationConfig.addDataSerializableFactory(DirectoryDataSerializableFactory.FACTORY_ID,
+                new DirectoryDataSerializableFactory());
+        DtoStreamSerializers.register(serializationConfig);
+        serializationService = new DefaultSerializationServiceBuilder().setConfig(serializationConfig).build();
+    }
+
+    @Test
+    public void testEmployeeDTORoundTripIsSmallerThanJavaSerialization() throws IOException {
+        EmployeeDTO employeeDTO = createEmployeeDTO();
+
+        Data data = serializationService.toData(employeeDTO);
+        EmployeeDTO result = serializationService.toObject(data);
+
+        assertThat(result).isEqualToComparingFieldByFieldRecursively(employeeDTO);
+        assertThat(data.totalSize()).isLessThan(javaSerializedSize(employeeDTO));
+    }
+
+    @Test
+    public void testNestedDTORoundTrip() {
+        EmployeeDTO employeeDTO = createEmployeeDTO();
+        NomenclatureDTO charge = new NomenclatureDTO();
+        charge.setId(UUID.randomUUID());
+        charge.setName("Director");
+        charge.setDiscriminator(NomenclatureType.CARGO);
+        employeeDTO.setCharge(charge);
+        WorkPlaceDTO workPlaceDTO = new WorkPlaceDTO();
+        workPlaceDTO.setId(employeeDTO.getWorkPlaceId());
+        workPlaceDTO.setName("Hospital");
+        workPlaceDTO.setPhoneIds(Collections.singleton(UUID.randomUUID()));
+        employeeDTO.setWorkPlace(workPlaceDTO);
+
+        EmployeeDTO result = serializationService.toObject(serializationService.toData(employeeDTO));
+
+        assertThat(result).isEqualToComparingFieldByFieldRecursively(employeeDTO);
+    }
+
+    @Test
+    public void testPrefixedSimpleKeyRoundTrip() {
+        PrefixedSimpleKey key = new PrefixedSimpleKey("abc1234", "findByCriteria", "AND", 1, "name");
+
+        PrefixedSimpleKey result = serializationService.toObject(serializationService.toData(key));
+
+        assertThat(result).isEqualTo(key);
+        assertThat(result.hashCode()).isEqualTo(key.hashCode());
+    }
+
+    private EmployeeDTO createEmployeeDTO() {
+        EmployeeDTO employeeDTO = new EmployeeDTO();
+        employeeDTO.setId(UUID.randomUUID());
+        employeeDTO.setCi("91020942457");
+        employeeDTO.setName("Juan");
+        employeeDTO.setFirstLastName("Perez");
+        employeeDTO.setSecondLastName("Garcia");
+        employeeDTO.setEmail("juan@mail.com");
+        employeeDTO.setGender(Gender.Masculino);
+        employeeDTO.setBirthdate(LocalDate.of(1991, 2, 9));
+        employeeDTO.setStartDate(LocalDateTime.of(2015, 9, 1, 8, 0));
+        employeeDTO.setBossWorkPlace(false);
+        employeeDTO.setServiceYears(6);
+        employeeDTO.setRegisterNumber("1234");
+        employeeDTO.setWorkPlaceId(UUID.randomUUID());
+        employeeDTO.setWorkPlaceName("Hospital");
+        employeeDTO.setChargeName("Director");
+        return employeeDTO;
+    }
+
+    private int javaSerializedSize(Object object) throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (ObjectOutputStream out = new ObjectOutputStream(bytes)) {
+            out.writeObject(object);
+        }
+        return bytes.size();
+    }
+}
@@ -0,0 +1,80 @@
+package cu.sld.ucmgt.directory.config.cache;
+
+import cu.sld.ucmgt.directory.DirectoryApp;
+import cu.sld.ucmgt.directory.config.TestSecurityConfiguration;
+import cu.sld.ucmgt.directory.domain.Employee;
+import cu.sld.ucmgt.directory.domain.Person;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.CacheRegionStatistics;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.persistence.EntityManager;
+import javax.persistence.EntityManagerFactory;
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Integration tests for the second-level cache region of the {@link Person} hierarchy.
+ */
+@SpringBootTest(classes = {DirectoryApp.class, TestSecurityConfiguration.class}, properties = {
+        "spring.jpa.properties.hibernate.cache.use_second_level_cache=true",
+        "spring.jpa.properties.hibernate.cache.region.factory_class=com.hazelcast.hibernate.HazelcastCacheRegionFactory",
+        "spring.jpa.properties.hibernate.cache.hazelcast.instance_name=directory",
+        "spring.jpa.properties.hibernate.generate_statistics=true"
+})
+public class PersonCacheRegionIT {
+
+    @Autowired
+    private EntityManager em;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private TransactionTemplate transactionTemplate;
+    private Statistics statistics;
+    private UUID employeeId;
+
+    @BeforeEach
+    public void initTest() {
+        transactionTemplate = new TransactionTemplate(transactionManager);
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        employeeId = transactionTemplate.execute(status -> {
+            Employee employee = new Employee();
+            employee.setName("Juan");
+            employee.setAddress("Calle 23");
+            employee.setRace("Negro");
+            employee.setRegisterNumber("12345");
+            employee.setStartDate(LocalDateTime.now());
+            em.persist(employee);
+            return employee.getId();
+        });
+        statistics.clear();
+    }
+
+    @AfterEach
+    public void tearDown() {
+        transactionTemplate.executeWithoutResult(status -> em.remove(em.find(Employee.class, employeeId)));
+    }
+
+    @Test
+    public void findEmployeeIsServedFromThePersonRegion() {
+        transactionTemplate.executeWithoutResult(status -> em.find(Employee.class, employeeId));
+        transactionTemplate.executeWithoutResult(status -> em.find(Person.class, employeeId));
+
+        CacheRegionStatistics region = statistics.getDomainDataRegionStatistics(Person.class.getName());
+        assertThat(region.getHitCount()).isEqualTo(2);
+        assertThat(statistics.getEntityLoadCount()).isZero();
+    }
+}
@@ -0,0 +1,184 @@
+package cu.sld.ucmgt.directory.config.cache;
+
+import com.hazelcast.core.HazelcastInstance;
+import com.hazelcast.core.IMap;
+import com.zaxxer.hikari.HikariDataSource;
+import cu.sld.ucmgt.directory.config.datasource.ReadWriteRoutingDataSource;
+import cu.sld.ucmgt.directory.config.datasource.ReadYourWritesTracker;
+import cu.sld.ucmgt.directory.config.datasource.ReplicaLagMonitor;
+import cu.sld.ucmgt.directory.domain.Employee;
+import cu.sld.ucmgt.directory.domain.Nomenclature;
+import cu.sld.ucmgt.directory.domain.Student;
+import cu.sld.ucmgt.directory.service.criteria.StudentCriteria;
+import cu.sld.ucmgt.directory.service.filter.StringFilter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.cache.concurrent.ConcurrentMapCache;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+
+import java.util.AbstractMap;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * Test class for the {@link QueryResultCache}.
+ */
+public class QueryResultCacheTest {
+
+    private final Pageable pageable = PageRequest.of(0, 20);
+    private final AtomicInteger executedQueries = new AtomicInteger();
+
+    private MeterRegistry meterRegistry;
+    private QueryResultCache queryResultCache;
+    private HikariDataSource primary;
+    private HikariDataSource replica;
+    private ReadWriteRoutingDataSource routingDataSource;
+
+    @BeforeEach
+    @SuppressWarnings("unchecked")
+    public void setup() {
+        Map<String, Long> values = new HashMap<>();
+        IMap<String, Long> generations = mock(IMap.class);
+        when(generations.get(anyString())).thenAnswer(invocation -> values.get(invocation.<String>getArgument(0)));
+        when(generations.executeOnKey(anyString(), any(IncrementCounter.class))).thenAnswer(invocation -> {
+            Map.Entry<String, Long> entry = new AbstractMap.SimpleEntry<>(invocation.getArgument(0),
+                    values.get(invocation.<String>getArgument(0)));
+            Object result = invocation.<IncrementCounter>getArgument(1).process(entry);
+            values.put(entry.getKey(), entry.getValue());
+            return result;
+        });
+        HazelcastInstance hazelcastInstance = mock(HazelcastInstance.class);
+        when(hazelcastInstance.<String, Long>getMap(QueryResultCache.GENERATIONS_MAP)).thenReturn(generations);
+        meterRegistry = new SimpleMeterRegistry();
+        queryResultCache = new QueryResultCache(new ConcurrentMapCache(QueryResultCache.CACHE_NAME),
+                hazelcastInstance, true, meterRegistry);
+    }
+
+    @AfterEach
+    public void tearDown() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.getSynchronizations()
+                    .forEach(synchronization -> synchronization.afterCompletion(TransactionSynchronization.STATUS_COMMITTED));
+            TransactionSynchronizationManager.clear();
+        }
+    }
+
+    @Test
+    public void testMissIsLoadedFromThePrimary() throws SQLException {
+        startReadOnlyTransaction();
+
+        findStudentsWithConnection("Juan");
+        findStudentsWithConnection("Juan");
+
+        assertThat(executedQueries.get()).isEqualTo(1);
+        verify(primary).getConnection();
+        verify(replica, never()).getConnection();
+    }
+
+    @Test
+    public void testPageReadFromReplicaIsNotCached() throws SQLException {
+        startReadOnlyTransaction();
+        routingDataSource.getConnection();
+
+        findStudents("AND", "Juan");
+        findStudents("AND", "Juan");
+
+        assertThat(executedQueries.get()).isEqualTo(2);
+        assertThat(meterRegistry.get("cache.query.requests").tag("result", "replica").counter().count()).isEqualTo(2);
+        verify(primary, never()).getConnection();
+    }
+
+    @Test
+    public void testSameQueryIsExecutedOnce() {
+        Page<String> first = findStudents("and", "Juan");
+        Page<String> second = findStudents("AND", "Juan");
+
+        assertThat(executedQueries.get()).isEqualTo(1);
+        assertThat(second.getContent()).isEqualTo(first.getContent());
+        assertThat(second.getTotalElements()).isEqualTo(first.getTotalElements());
+        assertThat(meterRegistry.get("cache.query.requests").tag("result", "hit").counter().count()).isEqualTo(1);
+        assertThat(meterRegistry.get("cache.query.requests").tag("result", "miss").counter().count()).isEqualTo(1);
+    }
+
+    @Test
+    public void testDifferentCriteriaAreCachedApart() {
+        findStudents("AND", "Juan");
+        findStudents("AND", "Pedro");
+        findStudents("OR", "Juan");
+
+        assertThat(executedQueries.get()).isEqualTo(3);
+    }
+
+    @Test
+    public void testChangeOfAffectingEntityBumpsGeneration() {
+        findStudents("AND", "Juan");
+
+        queryResultCache.invalidate(Employee.class);
+        findStudents("AND", "Juan");
+        assertThat(executedQueries.get()).isEqualTo(1);
+
+        queryResultCache.invalidate(Nomenclature.class);
+        findStudents("AND", "Juan");
+        assertThat(executedQueries.get()).isEqualTo(2);
+    }
+
+    private void startReadOnlyTransaction() throws SQLException {
+        primary = mock(HikariDataSource.class);
+        replica = mock(HikariDataSource.class);
+        when(primary.getConnection()).thenReturn(mock(Connection.class));
+        when(replica.getConnection()).thenReturn(mock(Connection.class));
+        ReplicaLagMonitor lagMonitor = mock(ReplicaLagMonitor.class);
+        when(lagMonitor.nextReplica()).thenReturn(Optional.of("replica-1"));
+        routingDataSource = new ReadWriteRoutingDataSource(primary, Collections.singletonMap("replica-1", replica),
+                lagMonitor, mock(ReadYourWritesTracker.class), null);
+        routingDataSource.afterPropertiesSet();
+        TransactionSynchronizationManager.initSynchronization();
+        TransactionSynchronizationManager.setCurrentTransactionReadOnly(true);
+    }
+
+    private void findStudentsWithConnection(String name) {
+        StudentCriteria criteria = new StudentCriteria();
+        queryResultCache.get(Student.class, "AND", criteria, pageable, () -> {
+            executedQueries.incrementAndGet();
+            try {
+                routingDataSource.getConnection();
+            } catch (SQLException e) {
+                throw new IllegalStateException(e);
+            }
+            return new PageImpl<>(Collections.singletonList(name), pageable, 1);
+        });
+    }
+
+    private Page<String> findStudents(String join, String name) {
+        StudentCriteria criteria = new StudentCriteria();
+        StringFilter nameFilter = new StringFilter();
+        nameFilter.setContains(name);
+        criteria.setName(nameFilter);
+        return queryResultCache.get(Student.class, join, criteria, pageable, () -> {
+            executedQueries.incrementAndGet();
+            return new PageImpl<>(Collections.singletonList(name), pageable, 1);
+        });
+    }
+}
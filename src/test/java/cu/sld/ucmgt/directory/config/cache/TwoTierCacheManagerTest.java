@@ -0,0 +1,56 @@
+package cu.sld.ucmgt.directory.config.cache;
+
+import com.hazelcast.core.HazelcastInstance;
+import com.hazelcast.core.IMap;
+import cu.sld.ucmgt.directory.config.AppProperties;
+import cu.sld.ucmgt.directory.config.CacheConfiguration;
+import cu.sld.ucmgt.directory.domain.Nomenclature;
+import io.micrometer.prometheus.PrometheusConfig;
+import io.micrometer.prometheus.PrometheusMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.autoconfigure.web.ServerProperties;
+import org.springframework.cloud.client.discovery.DiscoveryClient;
+import org.springframework.core.env.Environment;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.*;
+
+/**
+ * Test class for the meters of the {@link TwoTierCacheManager}.
+ */
+public class TwoTierCacheManagerTest {
+
+    private HazelcastInstance hazelcastInstance;
+    private PrometheusMeterRegistry meterRegistry;
+
+    @BeforeEach
+    public void setup() {
+        hazelcastInstance = mock(HazelcastInstance.class, RETURNS_DEEP_STUBS);
+        when(hazelcastInstance.getCluster().getLocalMember().getUuid()).thenReturn("member");
+        when(hazelcastInstance.getMap(anyString())).thenAnswer(invocation -> {
+            IMap<?, ?> map = mock(IMap.class);
+            when(map.getName()).thenReturn(invocation.getArgument(0));
+            return map;
+        });
+        meterRegistry = new PrometheusMeterRegistry(PrometheusConfig.DEFAULT);
+    }
+
+    @Test
+    public void testCacheAndHibernateRegionMetersShareTheirTagKeys() {
+        new CacheConfiguration(mock(Environment.class), mock(DiscoveryClient.class), new ServerProperties())
+                .hibernateCacheRegionMetrics(hazelcastInstance)
+                .bindTo(meterRegistry);
+
+        new TwoTierCacheManager(hazelcastInstance, new AppProperties().getCache(), meterRegistry)
+                .getCache(QueryResultCache.CACHE_NAME);
+
+        assertThat(meterRegistry.find("cache.gets").tags("cache", Nomenclature.class.getName(), "layer", "hibernate")
+                .meters()).isNotEmpty();
+        assertThat(meterRegistry.find("cache.gets").tags("cache", QueryResultCache.CACHE_NAME, "tier", "local")
+                .meters()).isNotEmpty();
+        assertThat(meterRegistry.find("cache.gets").tags("cache", QueryResultCache.CACHE_NAME, "tier", "distributed")
+                .meters()).isNotEmpty();
+    }
+}
@@ -0,0 +1,87 @@
+package cu.sld.ucmgt.directory.config.cache;
+
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.hazelcast.core.ITopic;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.cache.concurrent.ConcurrentMapCache;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+/**
+ * Test class for the {@link TwoTierCache}.
+ */
+public class TwoTierCacheTest {
+
+    private TwoTierCache cache;
+    private ConcurrentMapCache distributedCache;
+    private ITopic<CacheInvalidationMessage> topic;
+
+    @BeforeEach
+    @SuppressWarnings("unchecked")
+    public void setup() {
+        topic = mock(ITopic.class);
+        distributedCache = new ConcurrentMapCache("test");
+        cache = new TwoTierCache("member", Caffeine.newBuilder().maximumSize(10).build(), distributedCache, topic);
+    }
+
+    @Test
+    public void testReadFromDistributedTierFillsLocalTier() {
+        distributedCache.put("key", "value");
+
+        assertThat(cache.get("key", String.class)).isEqualTo("value");
+        assertThat(cache.getLocalCache().getIfPresent("key")).isNotNull();
+    }
+
+    @Test
+    public void testPutAndEvictPublishInvalidation() {
+        cache.put("key", "value");
+        assertThat(distributedCache.get("key", String.class)).isEqualTo("value");
+
+        cache.evict("key");
+        assertThat(distributedCache.get("key")).isNull();
+        assertThat(cache.getLocalCache().getIfPresent("key")).isNull();
+        verify(topic, times(2)).publish(any(CacheInvalidationMessage.class));
+    }
+
+    @Test
+    public void testInvalidateLocalKeepsDistributedTier() {
+        cache.put("key", "value");
+
+        cache.invalidateLocal("key");
+
+        assertThat(cache.getLocalCache().getIfPresent("key")).isNull();
+        assertThat(cache.get("key", String.class)).isEqualTo("value");
+    }
+
+    @Test
+    public void testConcurrentLoadsCallLoaderOnce() throws Exception {
+        AtomicInteger calls = new AtomicInteger();
+        CountDownLatch start = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        for (int i = 0; i < 8; i++) {
+            executor.submit(() -> {
+                start.await();
+                return cache.get("key", () -> {
+                    calls.incrementAndGet();
+                    Thread.sleep(50);
+                    return "value";
+                });
+            });
+        }
+        start.countDown();
+        executor.shutdown();
+        assertThat(executor.awaitTermination(5, TimeUnit.SECONDS)).isTrue();
+
+        assertThat(calls.get()).isEqualTo(1);
+        assertThat(cache.get("key", String.class)).isEqualTo("value");
+    }
+}
@@ -0,0 +1,64 @@
+package cu.sld.ucmgt.directory.config.datasource;
+
+import org.junit.jupiter.api.Test;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.Collections;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * Test class for the {@link ReplicaLagMonitor}.
+ */
+public class ReplicaLagMonitorTest {
+
+    @Test
+    public void testStreamingReplicaWithinTheMaximumLagServesReads() throws SQLException {
+        ReplicaLagMonitor monitor = new ReplicaLagMonitor(Collections.singletonMap("replica-1", replica(true, 0)),
+                10, null);
+
+        monitor.check();
+
+        assertThat(monitor.nextReplica()).contains("replica-1");
+    }
+
+    @Test
+    public void testReplicaNotStreamingFromThePrimaryDoesNotServeReads() throws SQLException {
+        ReplicaLagMonitor monitor = new ReplicaLagMonitor(Collections.singletonMap("replica-1", replica(false, 0)),
+                10, null);
+
+        monitor.check();
+
+        assertThat(monitor.nextReplica()).isEmpty();
+    }
+
+    @Test
+    public void testReplicaBehindTheMaximumLagDoesNotServeReads() throws SQLException {
+        ReplicaLagMonitor monitor = new ReplicaLagMonitor(Collections.singletonMap("replica-1", replica(true, 30)),
+                10, null);
+
+        monitor.check();
+
+        assertThat(monitor.nextReplica()).isEmpty();
+    }
+
+    private DataSource replica(boolean streaming, double lag) throws SQLException {
+        DataSource dataSource = mock(DataSource.class);
+        Connection connection = mock(Connection.class);
+        Statement statement = mock(Statement.class);
+        ResultSet resultSet = mock(ResultSet.class);
+        when(dataSource.getConnection()).thenReturn(connection);
+        when(connection.createStatement()).thenReturn(statement);
+        when(statement.executeQuery(ReplicaLagMonitor.LAG_QUERY)).thenReturn(resultSet);
+        when(resultSet.next()).thenReturn(true);
+        when(resultSet.getBoolean(1)).thenReturn(streaming);
+        when(resultSet.getDouble(2)).thenReturn(lag);
+        return dataSource;
+    }
+}
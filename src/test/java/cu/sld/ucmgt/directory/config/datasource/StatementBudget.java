@@ -0,0 +1,64 @@
+package cu.sld.ucmgt.directory.config.datasource;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Assertions on the SQL statements executed by a block of test code, counted by {@link StatementStatistics}.
+ * <pre>
+ * StatementBudget.of(() -> restMockMvc.perform(get("/api/employees/{id}", id)).andExpect(status().isOk()))
+ *     .hasSelectsAtMost(2)
+ *     .hasNoRepeatedStatements();
+ * </pre>
+ * MockMvc runs the request in the test thread, so its statements are recorded. Flush the pending changes
+ * before the block, otherwise their statements are counted too.
+ */
+public final class StatementBudget {
+
+    private static final int REPEATED_THRESHOLD = 1;
+
+    @FunctionalInterface
+    public interface Block {
+        void run() throws Exception;
+    }
+
+    private final StatementStatistics statistics;
+
+    private StatementBudget(StatementStatistics statistics) {
+        this.statistics = statistics;
+    }
+
+    public static StatementBudget of(Block block) throws Exception {
+        StatementStatistics statistics = StatementStatistics.open();
+        try {
+            block.run();
+        } finally {
+            statistics.close();
+        }
+        return new StatementBudget(statistics);
+    }
+
+    public StatementBudget hasStatementsAtMost(long max) {
+        assertThat(statistics.getStatements()).as("statements, %s", statistics).isLessThanOrEqualTo(max);
+        return this;
+    }
+
+    public StatementBudget hasSelectsAtMost(long max) {
+        assertThat(statistics.getSelects()).as("selects, %s", statistics).isLessThanOrEqualTo(max);
+        return this;
+    }
+
+    public StatementBudget hasNoWrites() {
+        assertThat(statistics.getInserts() + statistics.getUpdates() + statistics.getDeletes())
+                .as("inserts, updates and deletes, %s", statistics).isZero();
+        return this;
+    }
+
+    public StatementBudget hasNoRepeatedStatements() {
+        assertThat(statistics.getRepeatedStatements(REPEATED_THRESHOLD)).as("repeated statements").isEmpty();
+        return this;
+    }
+
+    public StatementStatistics getStatistics() {
+        return statistics;
+    }
+}
@@ -0,0 +1,108 @@
+package cu.sld.ucmgt.directory.config.jfr;
+
+import cu.sld.ucmgt.directory.config.metric.IndexLagMonitor;
+import cu.sld.ucmgt.directory.service.criteria.EmployeeCriteria;
+import cu.sld.ucmgt.directory.service.filter.StringFilter;
+import cu.sld.ucmgt.directory.service.filter.UUIDFilter;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jdk.jfr.Recording;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.metamodel.model.domain.NavigableRole;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.Test;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.RETURNS_DEEP_STUBS;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * Test class for the Java Flight Recorder events.
+ */
+public class FlightRecorderEventsTest {
+
+    @Test
+    public void testIndexWritesAreRecorded() throws Exception {
+        IndexLagMonitor indexLagMonitor = new IndexLagMonitor(new SimpleMeterRegistry());
+        Path file = Files.createTempFile("index-sync", ".jfr");
+        try (Recording recording = new Recording()) {
+            recording.enable(IndexSyncEvent.class);
+            recording.start();
+            String previous = IndexSyncEvent.bindListener("EmployeeService.updateEmployees");
+            try {
+                indexLagMonitor.write("employees", null, () -> Arrays.asList("first", "second"));
+            } finally {
+                IndexSyncEvent.bindListener(previous);
+            }
+            recording.stop();
+            recording.dump(file);
+
+            List<RecordedEvent> events = RecordingFile.readAllEvents(file).stream()
+                    .filter(event -> event.getEventType().getName().equals("cu.sld.ucmgt.directory.IndexSync"))
+                    .collect(Collectors.toList());
+            assertThat(events).hasSize(1);
+            assertThat(events.get(0).getString("listener")).isEqualTo("EmployeeService.updateEmployees");
+            assertThat(events.get(0).getString("index")).isEqualTo("employees");
+            assertThat(events.get(0).getLong("documents")).isEqualTo(2);
+            assertThat(events.get(0).getBoolean("failed")).isFalse();
+        } finally {
+            Files.deleteIfExists(file);
+        }
+    }
+
+    @Test
+    public void testOnlySetFiltersAreActive() {
+        EmployeeCriteria criteria = new EmployeeCriteria();
+        assertThat(CriteriaQueryEvent.activeFilters(criteria)).isZero();
+
+        criteria.setChargeName(new StringFilter());
+        criteria.setWorkPlaceId(new UUIDFilter());
+        criteria.setCi(new StringFilter());
+
+        assertThat(CriteriaQueryEvent.activeFilters(criteria)).isEqualTo(3);
+    }
+
+    @Test
+    public void testCacheMissesAreRecordedWithoutGlobalStatistics() throws Exception {
+        SessionFactoryImplementor sessionFactory = mock(SessionFactoryImplementor.class, RETURNS_DEEP_STUBS);
+        when(sessionFactory.getSessionFactoryOptions().getQueryStatisticsMaxSize())
+                .thenReturn(Statistics.DEFAULT_QUERY_STATISTICS_MAX_SIZE);
+        CacheMissStatistics statistics = new CacheMissStatistics(sessionFactory);
+        assertThat(statistics.isStatisticsEnabled()).isFalse();
+
+        Path file = Files.createTempFile("cache-miss", ".jfr");
+        try (Recording recording = new Recording()) {
+            recording.enable(CacheMissEvent.class);
+            recording.start();
+            assertThat(statistics.isStatisticsEnabled()).isTrue();
+            statistics.openSession();
+            statistics.entityCacheMiss(new NavigableRole("cu.sld.ucmgt.directory.domain.Person"),
+                    "cu.sld.ucmgt.directory.domain.Person");
+            recording.stop();
+            recording.dump(file);
+
+            List<RecordedEvent> events = RecordingFile.readAllEvents(file).stream()
+                    .filter(event -> event.getEventType().getName().equals("cu.sld.ucmgt.directory.CacheMiss"))
+                    .collect(Collectors.toList());
+            assertThat(events).hasSize(1);
+            assertThat(events.get(0).getString("source")).isEqualTo(CacheMissEvent.HIBERNATE);
+            assertThat(events.get(0).getString("role")).isEqualTo("cu.sld.ucmgt.directory.domain.Person");
+            assertThat(statistics.getSessionOpenCount()).isZero();
+        } finally {
+            Files.deleteIfExists(file);
+        }
+        assertThat(statistics.isStatisticsEnabled()).isFalse();
+
+        statistics.setStatisticsEnabled(true);
+        statistics.openSession();
+        assertThat(statistics.getSessionOpenCount()).isEqualTo(1);
+    }
+}
@@ -0,0 +1,112 @@
+package cu.sld.ucmgt.directory.config.logging;
+
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.LoggerContext;
+import ch.qos.logback.classic.spi.ILoggingEvent;
+import ch.qos.logback.classic.spi.LoggingEvent;
+import ch.qos.logback.core.read.ListAppender;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.Collections;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Test class for the {@link BoundedAsyncAppender}.
+ */
+public class BoundedAsyncAppenderTest {
+
+    private static final String APPENDER_NAME = "ASYNC_TEST";
+
+    private LoggerContext context;
+    private ListAppender<ILoggingEvent> delegate;
+    private BoundedAsyncAppender appender;
+
+    @BeforeEach
+    public void setup() {
+        context = new LoggerContext();
+        delegate = new ListAppender<>();
+        delegate.setContext(context);
+        delegate.start();
+        appender = new BoundedAsyncAppender();
+        appender.setContext(context);
+        appender.setName(APPENDER_NAME);
+        appender.setQueueSize(16);
+        // Above the queue size, the queue is always considered nearly full
+        appender.setDiscardingThreshold(17);
+        appender.addAppender(delegate);
+    }
+
+    @AfterEach
+    public void tearDown() {
+        appender.stop();
+    }
+
+    @Test
+    public void testDebugAndInfoAreDroppedUnderPressure() {
+        appender.start();
+
+        appender.doAppend(event(Level.DEBUG));
+        appender.doAppend(event(Level.INFO));
+        appender.doAppend(event(Level.WARN));
+        appender.doAppend(event(Level.ERROR));
+        appender.stop();
+
+        assertThat(delegate.list).extracting(ILoggingEvent::getLevel).containsExactly(Level.WARN, Level.ERROR);
+        assertThat(appender.getDroppedEvents()).isEqualTo(2);
+    }
+
+    @Test
+    public void testWarnIsNeverDiscarded() {
+        appender.setDiscardLevel(Level.ERROR);
+        appender.start();
+
+        appender.doAppend(event(Level.WARN));
+        appender.doAppend(event(Level.ERROR));
+        appender.stop();
+
+        assertThat(appender.getDiscardLevel()).isEqualTo(Level.INFO);
+        assertThat(delegate.list).hasSize(2);
+        assertThat(appender.getDroppedEvents()).isZero();
+    }
+
+    @Test
+    public void testNothingIsDroppedWithoutDiscardLevel() {
+        appender.setDiscardLevel(null);
+        appender.start();
+
+        appender.doAppend(event(Level.DEBUG));
+        appender.doAppend(event(Level.INFO));
+        appender.stop();
+
+        assertThat(delegate.list).hasSize(2);
+    }
+
+    @Test
+    public void testMetricsFollowTheAppenderOfTheRootLogger() {
+        SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+        new AsyncLoggingMetrics(context, Collections.singletonList(APPENDER_NAME)).bindTo(meterRegistry);
+        appender.start();
+        context.getLogger(Logger.ROOT_LOGGER_NAME).addAppender(appender);
+
+        appender.doAppend(event(Level.INFO));
+
+        assertThat(meterRegistry.get("logging.async.dropped").tag("appender", APPENDER_NAME).functionCounter().count())
+                .isEqualTo(1);
+        assertThat(meterRegistry.get("logging.async.queue.remaining").tag("appender", APPENDER_NAME).gauge().value())
+                .isLessThanOrEqualTo(16);
+    }
+
+    private LoggingEvent event(Level level) {
+        LoggingEvent event = new LoggingEvent();
+        event.setLoggerName(BoundedAsyncAppenderTest.class.getName());
+        event.setLevel(level);
+        event.setMessage("message");
+        event.setTimeStamp(System.currentTimeMillis());
+        return event;
+    }
+}
@@ -0,0 +1,88 @@
+package cu.sld.ucmgt.directory.config.metric;
+
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Test class for the {@link DirectoryMetricsAggregator}.
+ */
+public class DirectoryMetricsAggregatorTest {
+
+    private SimpleMeterRegistry meterRegistry;
+    private DirectoryMetricsAggregator aggregator;
+
+    @BeforeEach
+    public void setup() {
+        meterRegistry = new SimpleMeterRegistry();
+        aggregator = new DirectoryMetricsAggregator(meterRegistry);
+    }
+
+    @Test
+    public void testHttpTimersAreAggregatedByStatusAndEndpoint() {
+        request("/api/employees", "GET", "200", 10);
+        request("/api/employees", "GET", "200", 30);
+        request("/api/employees", "PUT", "400", 5);
+        request("/api/employees", "OPTIONS", "200", 1);
+
+        Map<String, Map> snapshot = aggregator.refresh();
+
+        Map<String, Map> http = snapshot.get(DirectoryMetricsAggregator.HTTP);
+        assertThat(((Map) http.get("all")).get("count")).isEqualTo(4L);
+        Map<String, Number> ok = (Map<String, Number>) http.get("percode").get("200");
+        assertThat(ok.get("count")).isEqualTo(3L);
+        assertThat(ok.get("max")).isEqualTo(30.0);
+        Map<String, Map<String, Number>> employees = (Map) snapshot.get(DirectoryMetricsAggregator.SERVICES).get("/api/employees");
+        assertThat(employees).containsOnlyKeys("GET", "PUT");
+        assertThat(employees.get("GET").get("mean")).isEqualTo(20.0);
+    }
+
+    @Test
+    public void testSnapshotIsServedUntilTheNextRefresh() {
+        meterRegistry.gauge("jvm.memory.used", Tags.of("id", "heap"), 42);
+        Map<String, Map> snapshot = aggregator.getSnapshot();
+
+        request("/api/students", "GET", "200", 10);
+
+        assertThat(aggregator.getSnapshot()).isSameAs(snapshot);
+        assertThat(((Map) snapshot.get(DirectoryMetricsAggregator.JVM).get("heap")).get("used")).isEqualTo(42.0);
+        assertThatThrownBy(() -> snapshot.put("jvm", null)).isInstanceOf(UnsupportedOperationException.class);
+        assertThat(aggregator.refresh().get(DirectoryMetricsAggregator.SERVICES)).containsKey("/api/students");
+    }
+
+    @Test
+    public void testMetersOutsideTheSnapshotAreIgnored() {
+        assertThat(DirectoryMetricsAggregator.sectionOf("datasource.statements")).isNull();
+        assertThat(DirectoryMetricsAggregator.sectionOf("http.server.requests.backend.calls"))
+                .isEqualTo(DirectoryMetricsAggregator.BACKENDS);
+        assertThat(DirectoryMetricsAggregator.sectionOf("search.index.sync.pending"))
+                .isEqualTo(DirectoryMetricsAggregator.SEARCH_INDICES);
+    }
+
+    @Test
+    public void testIndexSyncCountersAreKeyedByName() {
+        meterRegistry.counter(IndexLagMonitor.SYNC_METRIC_NAME + ".failed", "index", "employees").increment(2);
+        meterRegistry.counter(IndexLagMonitor.SYNC_METRIC_NAME + ".rolled-back", "index", "employees").increment();
+
+        Map<String, Number> employees = (Map<String, Number>) aggregator.refresh()
+                .get(DirectoryMetricsAggregator.SEARCH_INDICES).get("employees");
+
+        assertThat(employees.get("failed")).isEqualTo(2.0);
+        assertThat(employees.get("rolled-back")).isEqualTo(1.0);
+    }
+
+    private void request(String uri, String method, String status, long millis) {
+        Timer.builder("http.server.requests")
+                .tags("uri", uri, "method", method, "status", status)
+                .register(meterRegistry)
+                .record(millis, TimeUnit.MILLISECONDS);
+    }
+}
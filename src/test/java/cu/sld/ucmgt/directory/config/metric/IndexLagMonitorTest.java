@@ -0,0 +1,132 @@
+package cu.sld.ucmgt.directory.config.metric;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.io.IOException;
+import java.time.Instant;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Test class for the {@link IndexLagMonitor}.
+ */
+public class IndexLagMonitorTest {
+
+    private static final String INDEX = "employees";
+
+    private SimpleMeterRegistry meterRegistry;
+    private IndexLagMonitor indexLagMonitor;
+
+    @BeforeEach
+    public void setup() {
+        meterRegistry = new SimpleMeterRegistry();
+        indexLagMonitor = new IndexLagMonitor(meterRegistry);
+    }
+
+    @AfterEach
+    public void tearDown() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.clear();
+        }
+    }
+
+    @Test
+    public void testLagIsMeasuredFromTheSourceModifiedDate() {
+        Instant modified = Instant.now().minusSeconds(2);
+
+        String result = indexLagMonitor.write(INDEX, modified, () -> {
+            assertThat(meterRegistry.get(IndexLagMonitor.SYNC_METRIC_NAME + ".pending").tag("index", INDEX).gauge().value())
+                    .isEqualTo(1);
+            assertThat(meterRegistry.get(IndexLagMonitor.METRIC_NAME + ".max").tag("index", INDEX).gauge().value())
+                    .isGreaterThanOrEqualTo(2);
+            return "indexed";
+        });
+
+        assertThat(result).isEqualTo("indexed");
+        assertThat(meterRegistry.get(IndexLagMonitor.METRIC_NAME).tag("index", INDEX).timer().count()).isEqualTo(1);
+        assertThat(meterRegistry.get(IndexLagMonitor.METRIC_NAME).tag("index", INDEX).timer().max(TimeUnit.MILLISECONDS))
+                .isGreaterThanOrEqualTo(2000);
+        assertThat(meterRegistry.get(IndexLagMonitor.METRIC_NAME + ".last").tag("index", INDEX).gauge().value())
+                .isGreaterThanOrEqualTo(2000);
+        assertThat(meterRegistry.get(IndexLagMonitor.SYNC_METRIC_NAME + ".pending").tag("index", INDEX).gauge().value())
+                .isZero();
+    }
+
+    @Test
+    public void testFailedWriteIsCounted() {
+        assertThatThrownBy(() -> indexLagMonitor.write(INDEX, null, () -> {
+            throw new IOException("connection refused");
+        })).isInstanceOf(IOException.class);
+
+        assertThat(meterRegistry.get(IndexLagMonitor.SYNC_METRIC_NAME + ".failed").tag("index", INDEX).counter().count())
+                .isEqualTo(1);
+        assertThat(meterRegistry.get(IndexLagMonitor.METRIC_NAME).tag("index", INDEX).timer().count()).isZero();
+        assertThat(meterRegistry.get(IndexLagMonitor.SYNC_METRIC_NAME + ".pending").tag("index", INDEX).gauge().value())
+                .isZero();
+    }
+
+    @Test
+    public void testWriteBeforeCommitIsMeasuredUpToTheCommit() {
+        beginTransaction();
+
+        indexLagMonitor.write(INDEX, Instant.now().minusSeconds(2), () -> "indexed");
+
+        assertThat(meterRegistry.get(IndexLagMonitor.SYNC_METRIC_NAME + ".pending").tag("index", INDEX).gauge().value())
+                .isEqualTo(1);
+        assertThat(meterRegistry.get(IndexLagMonitor.METRIC_NAME).tag("index", INDEX).timer().count()).isZero();
+
+        completeTransaction(TransactionSynchronization.STATUS_COMMITTED);
+
+        assertThat(meterRegistry.get(IndexLagMonitor.METRIC_NAME).tag("index", INDEX).timer().count()).isEqualTo(1);
+        assertThat(meterRegistry.get(IndexLagMonitor.METRIC_NAME).tag("index", INDEX).timer().max(TimeUnit.MILLISECONDS))
+                .isBetween(2000.0, 60000.0);
+        assertThat(meterRegistry.get(IndexLagMonitor.SYNC_METRIC_NAME + ".pending").tag("index", INDEX).gauge().value())
+                .isZero();
+    }
+
+    @Test
+    public void testWriteWithoutSourceDateIsMeasuredFromItsSendingToTheCommit() throws InterruptedException {
+        beginTransaction();
+
+        indexLagMonitor.write(INDEX, null, () -> "indexed");
+        Thread.sleep(200);
+        completeTransaction(TransactionSynchronization.STATUS_COMMITTED);
+
+        assertThat(meterRegistry.get(IndexLagMonitor.METRIC_NAME).tag("index", INDEX).timer().max(TimeUnit.MILLISECONDS))
+                .isGreaterThanOrEqualTo(200);
+        assertThat(meterRegistry.get(IndexLagMonitor.METRIC_NAME + ".last").tag("index", INDEX).gauge().value())
+                .isGreaterThanOrEqualTo(200);
+    }
+
+    @Test
+    public void testWriteOfRolledBackChangeIsCounted() {
+        beginTransaction();
+
+        indexLagMonitor.write(INDEX, null, () -> "indexed");
+        completeTransaction(TransactionSynchronization.STATUS_ROLLED_BACK);
+
+        assertThat(meterRegistry.get(IndexLagMonitor.SYNC_METRIC_NAME + ".rolled-back").tag("index", INDEX).counter().count())
+                .isEqualTo(1);
+        assertThat(meterRegistry.get(IndexLagMonitor.METRIC_NAME).tag("index", INDEX).timer().count()).isZero();
+        assertThat(meterRegistry.get(IndexLagMonitor.SYNC_METRIC_NAME + ".pending").tag("index", INDEX).gauge().value())
+                .isZero();
+    }
+
+    private void beginTransaction() {
+        TransactionSynchronizationManager.initSynchronization();
+        TransactionSynchronizationManager.setActualTransactionActive(true);
+    }
+
+    private void completeTransaction(int status) {
+        TransactionSynchronizationManager.getSynchronizations()
+                .forEach(synchronization -> synchronization.afterCompletion(status));
+        TransactionSynchronizationManager.clear();
+    }
+}
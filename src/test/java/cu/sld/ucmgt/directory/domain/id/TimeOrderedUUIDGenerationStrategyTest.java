@@ -0,0 +1,51 @@
+package cu.sld.ucmgt.directory.domain.id;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.HashSet;
+import java.util.Set;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Test class for the {@link TimeOrderedUUIDGenerationStrategy}.
+ */
+public class TimeOrderedUUIDGenerationStrategyTest {
+
+    private final TimeOrderedUUIDGenerationStrategy strategy = new TimeOrderedUUIDGenerationStrategy();
+
+    @Test
+    public void testGeneratedVersionAndVariant() {
+        UUID uuid = strategy.generate();
+
+        assertThat(uuid.version()).isEqualTo(strategy.getGeneratedVersion());
+        assertThat(uuid.variant()).isEqualTo(2);
+    }
+
+    @Test
+    public void testGeneratedIdsAreOrderedAndUnique() {
+        Set<UUID> generated = new HashSet<>();
+        UUID previous = strategy.generate();
+        generated.add(previous);
+        for (int i = 0; i < 100_000; i++) {
+            UUID current = strategy.generate();
+            // the string form follows the byte order used by the database to compare uuid values
+            assertThat(current.toString()).isGreaterThan(previous.toString());
+            generated.add(current);
+            previous = current;
+        }
+        assertThat(generated).hasSize(100_001);
+    }
+
+    @Test
+    public void testTimestampIsEmbedded() {
+        long before = System.currentTimeMillis();
+        UUID uuid = strategy.generate();
+        long after = System.currentTimeMillis();
+
+        long timestamp = uuid.getMostSignificantBits() >>> 16;
+        // the counter may borrow a few milliseconds when it overflows
+        assertThat(timestamp).isBetween(before, after + 100);
+    }
+}
@@ -0,0 +1,97 @@
+package cu.sld.ucmgt.directory.domain.id;
+
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+/**
+ * Cost of inserting rows keyed by random version 4 UUIDs and by the ids of the
+ * {@link TimeOrderedUUIDGenerationStrategy}, in a table whose primary key index already holds {@link #rows} entries.
+ * The random ids are spread over the whole index, the time-ordered ones append to its right edge. Runs on an
+ * in-memory H2 database, the gap is wider on Postgres, whose index pages are read from disk.
+ * <p>
+ * Run with {@code ./mvnw test-compile exec:java -Dexec.classpathScope=test
+ * -Dexec.mainClass=cu.sld.ucmgt.directory.domain.id.UUIDInsertBenchmark}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Fork(1)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+public class UUIDInsertBenchmark {
+
+    private static final int BATCH_SIZE = 100;
+
+    /**
+     * Rows in the table before the measured inserts.
+     */
+    @Param({"100000", "1000000"})
+    public int rows;
+
+    private final TimeOrderedUUIDGenerationStrategy timeOrdered = new TimeOrderedUUIDGenerationStrategy();
+    private Connection connection;
+    private PreparedStatement randomInsert;
+    private PreparedStatement timeOrderedInsert;
+
+    @Setup(Level.Trial)
+    public void setup() throws SQLException {
+        connection = DriverManager.getConnection("jdbc:h2:mem:uuid_insert_benchmark;DB_CLOSE_DELAY=-1");
+        connection.setAutoCommit(false);
+        try (Statement statement = connection.createStatement()) {
+            statement.execute("CREATE TABLE random_id (id UUID PRIMARY KEY, name VARCHAR(255))");
+            statement.execute("CREATE TABLE time_ordered_id (id UUID PRIMARY KEY, name VARCHAR(255))");
+        }
+        randomInsert = connection.prepareStatement("INSERT INTO random_id (id, name) VALUES (?, ?)");
+        timeOrderedInsert = connection.prepareStatement("INSERT INTO time_ordered_id (id, name) VALUES (?, ?)");
+        for (int i = 0; i < rows; i += BATCH_SIZE) {
+            insert(randomInsert, UUID::randomUUID);
+            insert(timeOrderedInsert, timeOrdered::generate);
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws SQLException {
+        try (Statement statement = connection.createStatement()) {
+            statement.execute("DROP ALL OBJECTS");
+        }
+        connection.close();
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(BATCH_SIZE)
+    public int[] randomUUID() throws SQLException {
+        return insert(randomInsert, UUID::randomUUID);
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(BATCH_SIZE)
+    public int[] timeOrderedUUID() throws SQLException {
+        return insert(timeOrderedInsert, timeOrdered::generate);
+    }
+
+    private int[] insert(PreparedStatement insert, Supplier<UUID> ids) throws SQLException {
+        for (int i = 0; i < BATCH_SIZE; i++) {
+            insert.setObject(1, ids.get());
+            insert.setString(2, "Employee");
+            insert.addBatch();
+        }
+        int[] counts = insert.executeBatch();
+        connection.commit();
+        return counts;
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder().include(UUIDInsertBenchmark.class.getSimpleName()).build()).run();
+    }
+}
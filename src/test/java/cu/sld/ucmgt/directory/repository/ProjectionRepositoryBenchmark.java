@@ -0,0 +1,161 @@
+package cu.sld.ucmgt.directory.repository;
+
+import cu.sld.ucmgt.directory.domain.Employee;
+import cu.sld.ucmgt.directory.domain.Phone;
+import cu.sld.ucmgt.directory.domain.WorkPlace;
+import cu.sld.ucmgt.directory.service.dto.PhoneDTO;
+import cu.sld.ucmgt.directory.service.mapper.ListProjections;
+import cu.sld.ucmgt.directory.service.mapper.PhoneMapper;
+import org.hibernate.dialect.H2Dialect;
+import org.mapstruct.factory.Mappers;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.orm.jpa.LocalContainerEntityManagerFactoryBean;
+import org.springframework.orm.jpa.SharedEntityManagerCreator;
+import org.springframework.orm.jpa.vendor.HibernateJpaVendorAdapter;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import javax.persistence.EntityManager;
+import javax.persistence.EntityManagerFactory;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Properties;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+/**
+ * Latency and allocation of a page of phones read by the {@link ProjectionRepository} with
+ * {@link ListProjections#PHONE}, and read as {@link Phone} entities mapped by the {@link PhoneMapper}, as the phones
+ * were listed before. The entities bring their eager employee and work place, with the nomenclatures of the employee.
+ * Runs on an in-memory H2 database, the allocations are reported by the GC profiler.
+ * <p>
+ * Run with {@code ./mvnw test-compile exec:java -Dexec.classpathScope=test
+ * -Dexec.mainClass=cu.sld.ucmgt.directory.repository.ProjectionRepositoryBenchmark}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Fork(1)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+public class ProjectionRepositoryBenchmark {
+
+    private static final int WORK_PLACES = 20;
+    private static final int EMPLOYEES = 200;
+    private static final int PHONES = 2000;
+
+    /**
+     * Phones of the listed page.
+     */
+    @Param({"100", "1000"})
+    public int pageSize;
+
+    private final PhoneMapper phoneMapper = Mappers.getMapper(PhoneMapper.class);
+    private LocalContainerEntityManagerFactoryBean factoryBean;
+    private EntityManagerFactory entityManagerFactory;
+    private ProjectionRepository projectionRepository;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        DriverManagerDataSource dataSource = new DriverManagerDataSource("jdbc:h2:mem:projection_benchmark;DB_CLOSE_DELAY=-1");
+        Properties jpaProperties = new Properties();
+        jpaProperties.setProperty("hibernate.dialect", H2Dialect.class.getName());
+        jpaProperties.setProperty("hibernate.hbm2ddl.auto", "create-drop");
+        jpaProperties.setProperty("javax.persistence.validation.mode", "none");
+        factoryBean = new LocalContainerEntityManagerFactoryBean();
+        factoryBean.setDataSource(dataSource);
+        factoryBean.setPackagesToScan("cu.sld.ucmgt.directory.domain");
+        factoryBean.setJpaVendorAdapter(new HibernateJpaVendorAdapter());
+        factoryBean.setJpaProperties(jpaProperties);
+        factoryBean.afterPropertiesSet();
+        entityManagerFactory = factoryBean.getObject();
+
+        projectionRepository = new ProjectionRepository();
+        ReflectionTestUtils.setField(projectionRepository, "em",
+                SharedEntityManagerCreator.createSharedEntityManager(entityManagerFactory));
+        populate();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        factoryBean.destroy();
+    }
+
+    @Benchmark
+    public Page<PhoneDTO> projection() {
+        return projectionRepository.findAll(Phone.class, null, PageRequest.of(0, pageSize), ListProjections.PHONE);
+    }
+
+    @Benchmark
+    public Page<PhoneDTO> entityMapping() {
+        EntityManager em = entityManagerFactory.createEntityManager();
+        try {
+            List<PhoneDTO> content = em.createQuery("SELECT p FROM Phone p", Phone.class)
+                    .setFirstResult(0)
+                    .setMaxResults(pageSize)
+                    .getResultStream()
+                    .map(phoneMapper::toDto)
+                    .collect(Collectors.toList());
+            long total = em.createQuery("SELECT COUNT(p) FROM Phone p", Long.class).getSingleResult();
+            return new PageImpl<>(content, PageRequest.of(0, pageSize), total);
+        } finally {
+            em.close();
+        }
+    }
+
+    private void populate() {
+        EntityManager em = entityManagerFactory.createEntityManager();
+        em.getTransaction().begin();
+        List<WorkPlace> workPlaces = new ArrayList<>(WORK_PLACES);
+        for (int i = 0; i < WORK_PLACES; i++) {
+            WorkPlace workPlace = new WorkPlace();
+            workPlace.setName("Hospital " + i);
+            workPlace.setEmail("hospital" + i + "@mail.com");
+            workPlace.setActive(true);
+            workPlace.setCreatedBy("system");
+            em.persist(workPlace);
+            workPlaces.add(workPlace);
+        }
+        List<Employee> employees = new ArrayList<>(EMPLOYEES);
+        for (int i = 0; i < EMPLOYEES; i++) {
+            Employee employee = new Employee();
+            employee.setName("Juan " + i);
+            employee.setAddress("Calle 23 No. " + i);
+            employee.setRace("Negro");
+            employee.setRegisterNumber(Integer.toString(1000 + i));
+            employee.setStartDate(LocalDateTime.of(2015, 9, 1, 8, 0));
+            employee.setWorkPlace(workPlaces.get(i % WORK_PLACES));
+            employee.setCreatedBy("system");
+            em.persist(employee);
+            employees.add(employee);
+        }
+        for (int i = 0; i < PHONES; i++) {
+            Phone phone = new Phone();
+            phone.setNumber(Integer.toString(21000000 + i));
+            phone.setActive(true);
+            phone.setWorkPlace(workPlaces.get(i % WORK_PLACES));
+            if (i % 2 == 0) {
+                phone.setEmployee(employees.get(i / 2 % EMPLOYEES));
+            }
+            phone.setCreatedBy("system");
+            em.persist(phone);
+        }
+        em.getTransaction().commit();
+        em.close();
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(ProjectionRepositoryBenchmark.class.getSimpleName())
+                .addProfiler(GCProfiler.class)
+                .build()).run();
+    }
+}
@@ -0,0 +1,96 @@
+package cu.sld.ucmgt.directory.repository;
+
+import cu.sld.ucmgt.directory.DirectoryApp;
+import cu.sld.ucmgt.directory.config.TestSecurityConfiguration;
+import cu.sld.ucmgt.directory.domain.Phone;
+import cu.sld.ucmgt.directory.domain.Phone_;
+import cu.sld.ucmgt.directory.domain.WorkPlace;
+import cu.sld.ucmgt.directory.domain.WorkPlace_;
+import cu.sld.ucmgt.directory.service.dto.PhoneDTO;
+import cu.sld.ucmgt.directory.service.dto.WorkPlaceDTO;
+import cu.sld.ucmgt.directory.service.mapper.ListProjections;
+import org.hibernate.Session;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.transaction.annotation.Transactional;
+
+import javax.persistence.EntityManager;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Integration tests for the {@link ProjectionRepository}.
+ */
+@SpringBootTest(classes = {DirectoryApp.class, TestSecurityConfiguration.class})
+public class ProjectionRepositoryIT {
+
+    @Autowired
+    private EntityManager em;
+
+    @Autowired
+    private ProjectionRepository projectionRepository;
+
+    private WorkPlace workPlace;
+
+    @BeforeEach
+    public void initTest() {
+        workPlace = new WorkPlace();
+        workPlace.setName("TIC");
+        workPlace.setActive(true);
+        workPlace.setEmail("tic@infomed.sld.cu");
+        workPlace.setDescription("Lorem input");
+    }
+
+    @Test
+    @Transactional
+    public void findAllReadsTheColumnsWithoutManagingEntities() {
+        em.persist(workPlace);
+        Phone phone = new Phone();
+        phone.setNumber("78372133");
+        phone.setActive(true);
+        phone.setWorkPlace(workPlace);
+        em.persist(phone);
+        em.flush();
+        em.clear();
+
+        Specification<Phone> specification = (root, query, builder) -> builder.equal(root.get(Phone_.number), "78372133");
+        Page<PhoneDTO> phones = projectionRepository.findAll(Phone.class, specification, PageRequest.of(0, 20),
+                ListProjections.PHONE);
+
+        assertThat(phones.getTotalElements()).isEqualTo(1);
+        PhoneDTO phoneDTO = phones.getContent().get(0);
+        assertThat(phoneDTO.getId()).isEqualTo(phone.getId());
+        assertThat(phoneDTO.getActive()).isTrue();
+        assertThat(phoneDTO.getWorkPlaceId()).isEqualTo(workPlace.getId());
+        assertThat(phoneDTO.getWorkPlaceName()).isEqualTo("TIC");
+        assertThat(phoneDTO.getEmployeeId()).isNull();
+        assertThat(em.unwrap(Session.class).getStatistics().getEntityCount()).isZero();
+    }
+
+    @Test
+    @Transactional
+    public void findAllCountsTheWorkPlaceAssociations() {
+        em.persist(workPlace);
+        Phone phone = new Phone();
+        phone.setNumber("78372133");
+        phone.setActive(true);
+        phone.setWorkPlace(workPlace);
+        em.persist(phone);
+        em.flush();
+        em.clear();
+
+        Specification<WorkPlace> specification = (root, query, builder) -> builder.equal(root.get(WorkPlace_.id), workPlace.getId());
+        Page<WorkPlaceDTO> workPlaces = projectionRepository.findAll(WorkPlace.class, specification, PageRequest.of(0, 20),
+                ListProjections.WORK_PLACE);
+
+        assertThat(workPlaces.getContent()).hasSize(1);
+        assertThat(workPlaces.getContent().get(0).getName()).isEqualTo("TIC");
+        assertThat(workPlaces.getContent().get(0).getPhoneCount()).isEqualTo(1L);
+        assertThat(workPlaces.getContent().get(0).getEmployeeCount()).isZero();
+    }
+}
@@ -0,0 +1,97 @@
+package cu.sld.ucmgt.directory.service;
+
+import cu.sld.ucmgt.directory.config.AppProperties;
+import cu.sld.ucmgt.directory.config.audit.AuditEventConverter;
+import cu.sld.ucmgt.directory.repository.AuditEventPurgeRepository;
+import cu.sld.ucmgt.directory.repository.PersistenceAuditEventRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.InOrder;
+
+import java.time.Instant;
+import java.time.YearMonth;
+import java.time.ZoneOffset;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Test class for the purge of the {@link AuditEventService}.
+ */
+public class AuditEventServiceTest {
+
+    private static final Instant BEFORE = Instant.parse("2026-03-15T00:00:00Z");
+
+    private AuditEventPurgeRepository purgeRepository;
+    private AuditEventService service;
+
+    @BeforeEach
+    public void setup() {
+        AppProperties properties = new AppProperties();
+        properties.getAuditEvents().setRetentionPeriod(30).setPurgeChunkSize(2).setPartitionsAhead(1);
+        purgeRepository = mock(AuditEventPurgeRepository.class);
+        service = new AuditEventService(properties, new AuditEventConverter(), mock(PersistenceAuditEventRepository.class),
+                purgeRepository);
+    }
+
+    @Test
+    public void testExpiredPartitionsAreDroppedAfterTheirData() {
+        YearMonth january = YearMonth.of(2026, 1);
+        UUID first = UUID.randomUUID();
+        UUID second = UUID.randomUUID();
+        when(purgeRepository.isPartitioned()).thenReturn(true);
+        when(purgeRepository.findPartitions()).thenReturn(Arrays.asList(january, YearMonth.of(2026, 3)));
+        when(purgeRepository.deletePartitionDataChunk(january, null, 2)).thenReturn(Arrays.asList(first, second));
+        when(purgeRepository.deletePartitionDataChunk(january, second, 2)).thenReturn(Collections.emptyList());
+
+        service.removeAuditEventsBefore(BEFORE);
+
+        InOrder inOrder = inOrder(purgeRepository);
+        inOrder.verify(purgeRepository).createPartition(YearMonth.now(ZoneOffset.UTC).plusMonths(1));
+        inOrder.verify(purgeRepository).deletePartitionDataChunk(january, second, 2);
+        inOrder.verify(purgeRepository).dropPartition(january);
+        inOrder.verify(purgeRepository).deleteChunkBefore(BEFORE, 2);
+        verify(purgeRepository, never()).dropPartition(YearMonth.of(2026, 3));
+    }
+
+    @Test
+    public void testPartitionsAheadAreCreatedBeforeAFailingPurge() {
+        when(purgeRepository.isPartitioned()).thenReturn(true);
+        when(purgeRepository.findPartitions()).thenReturn(Collections.emptyList());
+        when(purgeRepository.deleteChunkBefore(BEFORE, 2)).thenThrow(new IllegalStateException("lease lost"));
+
+        assertThatThrownBy(() -> service.removeAuditEventsBefore(BEFORE)).isInstanceOf(IllegalStateException.class);
+
+        YearMonth now = YearMonth.now(ZoneOffset.UTC);
+        verify(purgeRepository).createPartition(now);
+        verify(purgeRepository).createPartition(now.plusMonths(1));
+    }
+
+    @Test
+    public void testPartitionsAheadAreCreatedApartFromThePurge() {
+        when(purgeRepository.isPartitioned()).thenReturn(true);
+
+        service.createPartitionsAhead();
+
+        YearMonth now = YearMonth.now(ZoneOffset.UTC);
+        verify(purgeRepository).createPartition(now);
+        verify(purgeRepository).createPartition(now.plusMonths(1));
+        verify(purgeRepository, never()).findPartitions();
+        verify(purgeRepository, never()).deleteChunkBefore(any(), anyInt());
+    }
+
+    @Test
+    public void testRemainingEventsAreDeletedInChunks() {
+        when(purgeRepository.findPartitions()).thenReturn(Collections.emptyList());
+        when(purgeRepository.deleteChunkBefore(BEFORE, 2)).thenReturn(2, 2, 1);
+
+        service.removeAuditEventsBefore(BEFORE);
+
+        verify(purgeRepository, times(3)).deleteChunkBefore(BEFORE, 2);
+        verify(purgeRepository, never()).createPartition(any());
+    }
+}
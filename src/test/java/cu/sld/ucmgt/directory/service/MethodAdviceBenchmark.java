@@ -0,0 +1,140 @@
+package cu.sld.ucmgt.directory.service;
+
+import ch.qos.logback.classic.Level;
+import cu.sld.ucmgt.directory.aop.timing.MethodTimingAspect;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.aop.aspectj.annotation.AspectJProxyFactory;
+import org.springframework.stereotype.Service;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Overhead of the advice around the service methods: the enter/exit logging advice previously applied by the
+ * {@code LoggingAspect}, and the {@link MethodTimingAspect} disabled, sampling and timing every call.
+ * <p>
+ * Run with {@code ./mvnw test-compile exec:java -Dexec.classpathScope=test
+ * -Dexec.mainClass=cu.sld.ucmgt.directory.service.MethodAdviceBenchmark}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Fork(1)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+public class MethodAdviceBenchmark {
+
+    private static final List<Integer> VALUES = Arrays.asList(1, 2, 3, 4, 5);
+    private static final List<String> PACKAGES = Collections.singletonList("cu.sld.ucmgt.directory.service");
+
+    /**
+     * Level of the logger of the benchmarked service, the logging advice formats the arguments from DEBUG.
+     */
+    @Param({"INFO", "DEBUG"})
+    public String logLevel;
+
+    private EchoService plain;
+    private EchoService logged;
+    private EchoService timingDisabled;
+    private EchoService timingSampled;
+    private EchoService timed;
+
+    @Setup
+    public void setup() {
+        ch.qos.logback.classic.Logger logger = (ch.qos.logback.classic.Logger) LoggerFactory.getLogger(EchoService.class);
+        logger.setLevel(Level.toLevel(logLevel));
+        logger.setAdditive(false);
+
+        SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+        plain = proxy(null);
+        logged = proxy(new EnterExitLoggingAspect());
+        timingDisabled = proxy(new MethodTimingAspect(meterRegistry,
+                new MethodTimingAspect.Settings(false, 1.0, PACKAGES), 500));
+        timingSampled = proxy(new MethodTimingAspect(meterRegistry,
+                new MethodTimingAspect.Settings(true, 0.1, PACKAGES), 500));
+        timed = proxy(new MethodTimingAspect(meterRegistry,
+                new MethodTimingAspect.Settings(true, 1.0, PACKAGES), 500));
+    }
+
+    @Benchmark
+    public int noAdvice() {
+        return plain.sum("values", VALUES);
+    }
+
+    @Benchmark
+    public int enterExitLogging() {
+        return logged.sum("values", VALUES);
+    }
+
+    @Benchmark
+    public int timingDisabled() {
+        return timingDisabled.sum("values", VALUES);
+    }
+
+    @Benchmark
+    public int timingSampled() {
+        return timingSampled.sum("values", VALUES);
+    }
+
+    @Benchmark
+    public int timingEveryCall() {
+        return timed.sum("values", VALUES);
+    }
+
+    private static EchoService proxy(Object aspect) {
+        AspectJProxyFactory factory = new AspectJProxyFactory(new EchoService());
+        factory.setProxyTargetClass(true);
+        if (aspect != null) {
+            factory.addAspect(aspect);
+        }
+        return factory.getProxy();
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder().include(MethodAdviceBenchmark.class.getSimpleName()).build()).run();
+    }
+
+    @Service
+    public static class EchoService {
+
+        public int sum(String name, List<Integer> values) {
+            return name.length() + values.stream().mapToInt(Integer::intValue).sum();
+        }
+    }
+
+    /**
+     * The enter/exit advice removed from the {@code LoggingAspect}, kept as the baseline.
+     */
+    @Aspect
+    public static class EnterExitLoggingAspect {
+
+        @Around("within(@org.springframework.stereotype.Service *) && within(cu.sld.ucmgt.directory.service..*)")
+        public Object logAround(ProceedingJoinPoint joinPoint) throws Throwable {
+            Logger log = LoggerFactory.getLogger(joinPoint.getSignature().getDeclaringTypeName());
+            if (log.isDebugEnabled()) {
+                log.debug("Enter: {}() with argument[s] = {}", joinPoint.getSignature().getName(), Arrays.toString(joinPoint.getArgs()));
+            }
+            try {
+                Object result = joinPoint.proceed();
+                if (log.isDebugEnabled()) {
+                    log.debug("Exit: {}() with result = {}", joinPoint.getSignature().getName(), result);
+                }
+                return result;
+            } catch (IllegalArgumentException e) {
+                log.error("Illegal argument: {} in {}()", Arrays.toString(joinPoint.getArgs()), joinPoint.getSignature().getName());
+                throw e;
+            }
+        }
+    }
+}
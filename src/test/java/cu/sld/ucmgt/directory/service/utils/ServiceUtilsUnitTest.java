@@ -0,0 +1,44 @@
+package cu.sld.ucmgt.directory.service.utils;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.HashMap;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Test class for the {@link ServiceUtils} utility class.
+ */
+public class ServiceUtilsUnitTest {
+
+    @Test
+    public void testGetChangedFieldsWithoutChanges() {
+        Map<String, Object> before = new HashMap<>();
+        before.put("name", "Juan");
+        before.put("email", "juan@mail.com");
+        Map<String, Object> after = new HashMap<>(before);
+
+        assertThat(ServiceUtils.getChangedFields(before, after)).isEmpty();
+    }
+
+    @Test
+    public void testGetChangedFields() {
+        Map<String, Object> workPlace = new HashMap<>();
+        workPlace.put("name", "Hospital");
+        Map<String, Object> before = new HashMap<>();
+        before.put("name", "Juan");
+        before.put("email", "juan@mail.com");
+        before.put("workPlace", workPlace);
+        Map<String, Object> after = new HashMap<>();
+        after.put("name", "Pedro");
+        after.put("email", "juan@mail.com");
+        after.put("race", "Blanca");
+
+        Map<String, Object> changedFields = ServiceUtils.getChangedFields(before, after);
+        assertThat(changedFields).hasSize(3);
+        assertThat(changedFields).containsEntry("name", "Pedro");
+        assertThat(changedFields).containsEntry("race", "Blanca");
+        assertThat(changedFields).containsEntry("workPlace", null);
+    }
+}
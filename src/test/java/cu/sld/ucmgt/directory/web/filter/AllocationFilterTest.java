@@ -0,0 +1,40 @@
+package cu.sld.ucmgt.directory.web.filter;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.web.servlet.HandlerMapping;
+
+import javax.servlet.FilterChain;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Test class for the {@link AllocationFilter}.
+ */
+public class AllocationFilterTest {
+
+    private static final int ALLOCATED_BYTES = 4 * 1024 * 1024;
+
+    private static byte[] allocated;
+
+    @Test
+    public void testAllocationIsRecordedByEndpoint() throws Exception {
+        SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+        AllocationFilter filter = new AllocationFilter(1024, meterRegistry);
+        FilterChain chain = (request, response) -> {
+            request.setAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE, "/api/workplaces/{id}");
+            allocated = new byte[ALLOCATED_BYTES];
+        };
+
+        filter.doFilter(new MockHttpServletRequest("GET", "/api/workplaces/1"), new MockHttpServletResponse(), chain);
+
+        DistributionSummary summary = meterRegistry.get(AllocationFilter.METRIC_NAME)
+                .tags("method", "GET", "uri", "/api/workplaces/{id}").summary();
+        assertThat(summary.count()).isEqualTo(1);
+        assertThat(summary.totalAmount()).isGreaterThanOrEqualTo(ALLOCATED_BYTES);
+        assertThat(allocated).hasSize(ALLOCATED_BYTES);
+    }
+}
@@ -0,0 +1,143 @@
+package cu.sld.ucmgt.directory.web.filter;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import javax.servlet.FilterChain;
+import javax.servlet.http.HttpServletResponse;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Test class for the {@link RequestCoalescingFilter}.
+ */
+public class RequestCoalescingFilterTest {
+
+    private SimpleMeterRegistry meterRegistry;
+    private RequestCoalescingFilter filter;
+    private final AtomicInteger executions = new AtomicInteger();
+
+    @BeforeEach
+    public void setup() {
+        meterRegistry = new SimpleMeterRegistry();
+        filter = new RequestCoalescingFilter(5000, meterRegistry);
+    }
+
+    @Test
+    public void testConcurrentIdenticalRequestsShareOneExecution() throws Exception {
+        CountDownLatch release = new CountDownLatch(1);
+        FilterChain chain = (request, response) -> {
+            executions.incrementAndGet();
+            try {
+                release.await(5, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            response.setContentType("application/json");
+            ((HttpServletResponse) response).setHeader("X-Total-Count", "1");
+            response.getOutputStream().write("[{\"name\":\"Hospital\"}]".getBytes(StandardCharsets.UTF_8));
+        };
+
+        ExecutorService executor = Executors.newFixedThreadPool(2);
+        try {
+            Future<MockHttpServletResponse> leader = executor.submit(() -> execute(chain, "page=0&size=20"));
+            waitForExecutions(1);
+            Future<MockHttpServletResponse> follower = executor.submit(() -> execute(chain, "size=20&page=0"));
+            Thread.sleep(200);
+            release.countDown();
+
+            for (MockHttpServletResponse response : new MockHttpServletResponse[]{leader.get(), follower.get()}) {
+                assertThat(response.getContentAsString()).isEqualTo("[{\"name\":\"Hospital\"}]");
+                assertThat(response.getHeader("X-Total-Count")).isEqualTo("1");
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+        assertThat(executions.get()).isEqualTo(1);
+        assertThat(meterRegistry.get("http.server.requests.coalescing").tag("result", "coalesced").counter().count())
+                .isEqualTo(1);
+        assertThat(meterRegistry.get("http.server.requests.coalescing.ratio").gauge().value()).isEqualTo(0.5);
+    }
+
+    @Test
+    public void testLeaderCookiesAreNotShared() throws Exception {
+        CountDownLatch release = new CountDownLatch(1);
+        FilterChain chain = (request, response) -> {
+            executions.incrementAndGet();
+            try {
+                release.await(5, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            HttpServletResponse httpResponse = (HttpServletResponse) response;
+            httpResponse.addHeader("Set-Cookie", "XSRF-TOKEN=leader; Path=/");
+            httpResponse.setHeader("Server-Timing", "db;dur=12");
+            httpResponse.setHeader("X-Total-Count", "1");
+            httpResponse.setHeader("Cache-Control", "no-cache");
+            response.getOutputStream().write("[]".getBytes(StandardCharsets.UTF_8));
+        };
+
+        ExecutorService executor = Executors.newFixedThreadPool(2);
+        try {
+            Future<MockHttpServletResponse> leader = executor.submit(() -> execute(chain, "page=0"));
+            waitForExecutions(1);
+            Future<MockHttpServletResponse> follower = executor.submit(() -> execute(chain, "page=0"));
+            Thread.sleep(200);
+            release.countDown();
+
+            assertThat(leader.get().getHeader("Set-Cookie")).isEqualTo("XSRF-TOKEN=leader; Path=/");
+            MockHttpServletResponse coalesced = follower.get();
+            assertThat(coalesced.getContentAsString()).isEqualTo("[]");
+            assertThat(coalesced.getHeader("X-Total-Count")).isEqualTo("1");
+            assertThat(coalesced.getHeader("Cache-Control")).isEqualTo("no-cache");
+            assertThat(coalesced.getHeader("Set-Cookie")).isNull();
+            assertThat(coalesced.getCookies()).isEmpty();
+            assertThat(coalesced.getHeader("Server-Timing")).isNull();
+        } finally {
+            executor.shutdownNow();
+        }
+        assertThat(executions.get()).isEqualTo(1);
+    }
+
+    @Test
+    public void testSequentialRequestsAreNotCached() throws Exception {
+        FilterChain chain = (request, response) -> {
+            executions.incrementAndGet();
+            response.getOutputStream().write("[]".getBytes(StandardCharsets.UTF_8));
+        };
+
+        execute(chain, "page=0");
+        execute(chain, "page=0");
+
+        assertThat(executions.get()).isEqualTo(2);
+    }
+
+    private MockHttpServletResponse execute(FilterChain chain, String query) throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/workplaces");
+        request.setQueryString(query);
+        for (String parameter : query.split("&")) {
+            String[] pair = parameter.split("=");
+            request.addParameter(pair[0], pair[1]);
+        }
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        filter.doFilter(request, response, chain);
+        return response;
+    }
+
+    private void waitForExecutions(int expected) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + 5000;
+        while (executions.get() < expected && System.currentTimeMillis() < deadline) {
+            Thread.sleep(10);
+        }
+    }
+}
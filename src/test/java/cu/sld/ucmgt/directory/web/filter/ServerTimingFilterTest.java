@@ -0,0 +1,58 @@
+package cu.sld.ucmgt.directory.web.filter;
+
+import cu.sld.ucmgt.directory.config.timing.BackendTimings;
+import cu.sld.ucmgt.directory.config.timing.BackendTimings.Backend;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.web.servlet.HandlerMapping;
+
+import javax.servlet.FilterChain;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Test class for the {@link ServerTimingFilter}.
+ */
+public class ServerTimingFilterTest {
+
+    private SimpleMeterRegistry meterRegistry;
+    private ServerTimingFilter filter;
+
+    @BeforeEach
+    public void setup() {
+        meterRegistry = new SimpleMeterRegistry();
+        filter = new ServerTimingFilter(meterRegistry);
+    }
+
+    @Test
+    public void testServerTimingHeaderIsAddedBeforeTheBodyIsWritten() throws Exception {
+        FilterChain chain = (request, response) -> {
+            request.setAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE, "/api/employees");
+            BackendTimings.run(Backend.ELASTICSEARCH, () -> LockSupport.parkNanos(TimeUnit.MILLISECONDS.toNanos(5)));
+            BackendTimings.run(Backend.ELASTICSEARCH, () -> LockSupport.parkNanos(TimeUnit.MILLISECONDS.toNanos(5)));
+            BackendTimings.record(Backend.DATABASE, 3, TimeUnit.MILLISECONDS.toNanos(2));
+            response.getOutputStream().write("{}".getBytes(StandardCharsets.UTF_8));
+            response.flushBuffer();
+        };
+        MockHttpServletRequest request = new MockHttpServletRequest("PUT", "/api/employees");
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        filter.doFilter(request, response, chain);
+
+        String serverTiming = response.getHeader(ServerTimingFilter.SERVER_TIMING_HEADER);
+        assertThat(serverTiming).startsWith("db;desc=\"Postgres, 3 calls\";dur=2.0, es;desc=\"Elasticsearch, 2 calls\";dur=");
+        assertThat(serverTiming).contains("total;dur=");
+        assertThat(serverTiming).doesNotContain("storage");
+        assertThat(meterRegistry.get(ServerTimingFilter.METRIC_NAME + ".calls")
+                .tags("uri", "/api/employees", "method", "PUT", "backend", "es").summary().max()).isEqualTo(2);
+        assertThat(meterRegistry.get(ServerTimingFilter.METRIC_NAME)
+                .tags("uri", "/api/employees", "method", "PUT", "backend", "db").timer().count()).isEqualTo(1);
+        assertThat(BackendTimings.current()).isNull();
+    }
+}
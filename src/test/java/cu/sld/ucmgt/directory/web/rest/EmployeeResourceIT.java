@@ -6,6 +6,8 @@ import com.google.common.collect.ImmutableList;
 import cu.sld.ucmgt.directory.DirectoryApp;
 import cu.sld.ucmgt.directory.TestUtil;
 import cu.sld.ucmgt.directory.config.TestSecurityConfiguration;
+import cu.sld.ucmgt.directory.config.datasource.StatementBudget;
+import cu.sld.ucmgt.directory.config.datasource.StatementStatistics;
 import cu.sld.ucmgt.directory.domain.*;
 import cu.sld.ucmgt.directory.domain.elasticsearch.EmployeeIndex;
 import cu.sld.ucmgt.directory.domain.elasticsearch.PhoneIndex;
@@ -35,8 +37,10 @@ import org.springframework.test.web.servlet.MvcResult;
 import org.springframework.transaction.annotation.Transactional;
 
 import javax.persistence.EntityManager;
+import java.io.IOException;
 import java.time.*;
 import java.util.*;
+import java.util.stream.Collectors;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.hamcrest.Matchers.hasItem;
@@ -77,6 +81,8 @@ public class EmployeeResourceIT extends PersonIT {
     private static final LocalDateTime UPDATE_START_DATE = LocalDateTime.now(ZoneId.systemDefault()).withNano(0);
     private static final LocalDateTime DEFAULT_START_DATE = LocalDateTime.ofInstant(Instant.ofEpochMilli(1L), ZoneOffset.UTC);
 
+    private static final String STALE_ADDRESS = "STALE ADDRESS";
+
     @Autowired
     private EmployeeMapper mapper;
 
@@ -686,6 +692,168 @@ public class EmployeeResourceIT extends PersonIT {
         return updatedEmployee;
     }
 
+    @Test
+    @Transactional
+    public void updateEmployeeWithoutChangesSkipsEmployeeIndex() throws Exception {
+        // Initialize the database
+        em.persist(employee);
+        em.flush();
+
+        // Index a document that differs from the database, it is only kept if the index is not written
+        employeeSearchRepository.deleteAll();
+        EmployeeIndex staleEmployeeIndex = indexMapper.toIndex(employee);
+        staleEmployeeIndex.setAddress(STALE_ADDRESS);
+        staleEmployeeIndex.setLastModifiedDate(1L);
+        employeeSearchRepository.save(staleEmployeeIndex);
+
+        // Update the Employee without changes
+        EmployeeDTO employeeDTO = mapper.toDto(employee);
+        restMockMvc.perform(multipart("/api/employees")
+                .file(employeePart(employeeDTO))
+                .with(request -> {
+                    request.setMethod("PUT");
+                    return request;
+                })
+                .with(csrf()))
+                .andExpect(status().isOk());
+
+        EmployeeIndex testEmployeeIndex = employeeSearchRepository.findById(employee.getId()).orElseThrow();
+        assertThat(testEmployeeIndex.getAddress()).isEqualTo(STALE_ADDRESS);
+        assertThat(testEmployeeIndex.getLastModifiedDate()).isEqualTo(1L);
+        assertThat(testEmployeeIndex.getName()).isEqualTo(DEFAULT_NAME);
+    }
+
+    @Test
+    @Transactional
+    public void updateEmployeeWritesOnlyChangedFieldsInEmployeeIndex() throws Exception {
+        // Initialize the database
+        em.persist(employee);
+        em.flush();
+
+        // Index a document that differs from the database in a field that is not updated
+        employeeSearchRepository.deleteAll();
+        EmployeeIndex staleEmployeeIndex = indexMapper.toIndex(employee);
+        staleEmployeeIndex.setAddress(STALE_ADDRESS);
+        staleEmployeeIndex.setLastModifiedDate(1L);
+        employeeSearchRepository.save(staleEmployeeIndex);
+
+        // Update only the name of the Employee
+        EmployeeDTO employeeDTO = mapper.toDto(employee);
+        employeeDTO.setName(UPDATE_NAME);
+        restMockMvc.perform(multipart("/api/employees")
+                .file(employeePart(employeeDTO))
+                .with(request -> {
+                    request.setMethod("PUT");
+                    return request;
+                })
+                .with(csrf()))
+                .andExpect(status().isOk());
+
+        Employee testEmployee = em.find(Employee.class, employee.getId());
+        assertThat(testEmployee.getName()).isEqualTo(UPDATE_NAME);
+        assertThat(testEmployee.getAddress()).isEqualTo(DEFAULT_ADDRESS);
+
+        // the changed field and the modification date are written, the rest of the document is kept
+        EmployeeIndex testEmployeeIndex = employeeSearchRepository.findById(employee.getId()).orElseThrow();
+        assertThat(testEmployeeIndex.getName()).isEqualTo(UPDATE_NAME);
+        assertThat(testEmployeeIndex.getLastModifiedDate()).isEqualTo(testEmployee.getLastModifiedDate().toEpochMilli());
+        assertThat(testEmployeeIndex.getAddress()).isEqualTo(STALE_ADDRESS);
+        assertThat(testEmployeeIndex.getCi()).isEqualTo(DEFAULT_CI);
+        assertThat(testEmployeeIndex.getEmail()).isEqualTo(DEFAULT_EMAIL);
+        assertThat(testEmployeeIndex.getFirstLastName()).isEqualTo(DEFAULT_FIRST_LAST_NAME);
+        assertThat(testEmployeeIndex.getRegisterNumber()).isEqualTo(DEFAULT_REGISTER_NUMBER);
+    }
+
+    @Test
+    @Transactional
+    public void partialUpdateEmployeeWritesOnlySuppliedFields() throws Exception {
+        // Initialize the database
+        WorkPlace workPlace = new WorkPlace();
+        workPlace.setName("TIC");
+        workPlace.setEmail("tic@infomed.sld.cu");
+        workPlace.setActive(true);
+        workPlace.setDescription("Departamento de las TIC");
+        em.persist(workPlace);
+        Nomenclature category = new Nomenclature();
+        category.setName("Tecnico");
+        category.setDescription("Categoria ocupacional");
+        category.setDiscriminator(NomenclatureType.CATEGORIA);
+        em.persist(category);
+        Nomenclature charge = new Nomenclature();
+        charge.setName("Director");
+        charge.setDescription("Director del centro");
+        charge.setDiscriminator(NomenclatureType.CARGO);
+        em.persist(charge);
+        Nomenclature updatedCharge = new Nomenclature();
+        updatedCharge.setName("Metodologo");
+        updatedCharge.setDescription("Metodologo del centro");
+        updatedCharge.setDiscriminator(NomenclatureType.CARGO);
+        em.persist(updatedCharge);
+        employee.setWorkPlace(workPlace);
+        employee.setCategory(category);
+        employee.setCharge(charge);
+        em.persist(employee);
+        em.flush();
+
+        employeeSearchRepository.deleteAll();
+        employeeSearchRepository.save(indexMapper.toIndex(employee));
+        em.clear();
+
+        // Patch only the name and the charge
+        EmployeeDTO employeeDTO = new EmployeeDTO();
+        employeeDTO.setId(employee.getId());
+        employeeDTO.setName(UPDATE_NAME);
+        employeeDTO.setChargeId(updatedCharge.getId());
+        StatementStatistics statistics = StatementBudget.of(() -> restMockMvc.perform(
+                multipart("/api/employees/{id}", employee.getId())
+                    .file(employeePart(employeeDTO))
+                    .with(request -> {
+                        request.setMethod("PATCH");
+                        return request;
+                    })
+                    .with(csrf()))
+                    .andExpect(status().isOk())
+                    .andExpect(jsonPath("$.name").value(UPDATE_NAME))
+                    .andExpect(jsonPath("$.address").value(DEFAULT_ADDRESS))
+                    .andExpect(jsonPath("$.chargeId").value(updatedCharge.getId().toString()))
+                    .andExpect(jsonPath("$.categoryId").value(category.getId().toString())))
+                .getStatistics();
+
+        // the UPDATE statements list only the supplied columns
+        List<String> updates = statistics.getRepeatedStatements(0).keySet().stream()
+                .filter(statement -> statement.startsWith("update"))
+                .collect(Collectors.toList());
+        assertThat(updates).anySatisfy(update -> assertThat(update).startsWith("update person ")
+                .contains("name=").doesNotContain("address=", "email=", "race="));
+        assertThat(updates).anySatisfy(update -> assertThat(update).startsWith("update employee ")
+                .contains("charge_id=").doesNotContain("category_id=", "work_place_id=", "register_number="));
+
+        // Validate the Employee in the database
+        Employee testEmployee = em.find(Employee.class, employee.getId());
+        assertThat(testEmployee.getName()).isEqualTo(UPDATE_NAME);
+        assertThat(testEmployee.getCi()).isEqualTo(DEFAULT_CI);
+        assertThat(testEmployee.getEmail()).isEqualTo(DEFAULT_EMAIL);
+        assertThat(testEmployee.getAddress()).isEqualTo(DEFAULT_ADDRESS);
+        assertThat(testEmployee.getRegisterNumber()).isEqualTo(DEFAULT_REGISTER_NUMBER);
+        assertThat(testEmployee.getStartDate()).isEqualTo(DEFAULT_START_DATE);
+        assertThat(testEmployee.getCharge().getId()).isEqualTo(updatedCharge.getId());
+        assertThat(testEmployee.getCategory().getId()).isEqualTo(category.getId());
+        assertThat(testEmployee.getWorkPlace().getId()).isEqualTo(workPlace.getId());
+
+        // Validate the EmployeeIndex
+        EmployeeIndex testEmployeeIndex = employeeSearchRepository.findById(employee.getId()).orElseThrow();
+        assertThat(testEmployeeIndex.getName()).isEqualTo(UPDATE_NAME);
+        assertThat(testEmployeeIndex.getCharge()).isEqualTo(updatedCharge.getName());
+        assertThat(testEmployeeIndex.getCategory()).isEqualTo(category.getName());
+        assertThat(testEmployeeIndex.getAddress()).isEqualTo(DEFAULT_ADDRESS);
+        assertThat(testEmployeeIndex.getWorkPlace().getId()).isEqualTo(workPlace.getId());
+    }
+
+    private MockMultipartFile employeePart(EmployeeDTO employeeDTO) throws IOException {
+        return new MockMultipartFile("employee", "", MediaType.APPLICATION_JSON_VALUE,
+                TestUtil.convertObjectToJsonBytes(employeeDTO));
+    }
+
     @Test
     @Transactional
     public void updateSavedEmployeeInsidePhonesIndex() throws Exception {
@@ -961,28 +1129,31 @@ public class EmployeeResourceIT extends PersonIT {
         em.persist(phone);
         employee.setPhones(Collections.singleton(phone));
         em.flush();
-
-        restMockMvc.perform(get("/api/employees/{id}", employee.getId()))
-                .andExpect(status().isOk())
-                .andExpect(content().contentType(MediaType.APPLICATION_JSON_VALUE))
-                .andExpect(jsonPath("$.id").value(employee.getId().toString()))
-                .andExpect(jsonPath("$.ci").value(DEFAULT_CI))
-                .andExpect(jsonPath("$.name").value(DEFAULT_NAME))
-                .andExpect(jsonPath("$.race").value(DEFAULT_RACE))
-                .andExpect(jsonPath("$.email").value(DEFAULT_EMAIL))
-                .andExpect(jsonPath("$.address").value(DEFAULT_ADDRESS))
-                .andExpect(jsonPath("$.gender").value(DEFAULT_GENDER.toString()))
-                .andExpect(jsonPath("$.serviceYears").value(DEFAULT_SERVICE_YEAR))
-                .andExpect(jsonPath("$.graduateYears").value(DEFAULT_GRADUATE_YEAR))
-                .andExpect(jsonPath("$.firstLastName").value(DEFAULT_FIRST_LAST_NAME))
-                .andExpect(jsonPath("$.registerNumber").value(DEFAULT_REGISTER_NUMBER))
-                .andExpect(jsonPath("$.secondLastName").value(DEFAULT_SECOND_LAST_NAME))
-                .andExpect(jsonPath("$.professionalNumber").value(DEFAULT_PROFESSIONAL_NUMBER))
-                .andExpect(jsonPath("$.endDate").value(DEFAULT_END_DATE.toString()))
-                .andExpect(jsonPath("$.birthdate").value(DEFAULT_BIRTHDATE.toString()))
-                .andExpect(jsonPath("$.isGraduatedBySector").value(DEFAULT_IS_GRADUATE_BY_SECTOR))
-                .andExpect(jsonPath("$.phones[0].number").value(number))
-                .andExpect(jsonPath("$.startDate").value(DEFAULT_START_DATE.toString()));
+        em.clear();
+
+        StatementBudget.of(() -> restMockMvc.perform(get("/api/employees/{id}", employee.getId()))
+                    .andExpect(status().isOk())
+                    .andExpect(content().contentType(MediaType.APPLICATION_JSON_VALUE))
+                    .andExpect(jsonPath("$.id").value(employee.getId().toString()))
+                    .andExpect(jsonPath("$.ci").value(DEFAULT_CI))
+                    .andExpect(jsonPath("$.name").value(DEFAULT_NAME))
+                    .andExpect(jsonPath("$.race").value(DEFAULT_RACE))
+                    .andExpect(jsonPath("$.email").value(DEFAULT_EMAIL))
+                    .andExpect(jsonPath("$.address").value(DEFAULT_ADDRESS))
+                    .andExpect(jsonPath("$.gender").value(DEFAULT_GENDER.toString()))
+                    .andExpect(jsonPath("$.serviceYears").value(DEFAULT_SERVICE_YEAR))
+                    .andExpect(jsonPath("$.graduateYears").value(DEFAULT_GRADUATE_YEAR))
+                    .andExpect(jsonPath("$.firstLastName").value(DEFAULT_FIRST_LAST_NAME))
+                    .andExpect(jsonPath("$.registerNumber").value(DEFAULT_REGISTER_NUMBER))
+                    .andExpect(jsonPath("$.secondLastName").value(DEFAULT_SECOND_LAST_NAME))
+                    .andExpect(jsonPath("$.professionalNumber").value(DEFAULT_PROFESSIONAL_NUMBER))
+                    .andExpect(jsonPath("$.endDate").value(DEFAULT_END_DATE.toString()))
+                    .andExpect(jsonPath("$.birthdate").value(DEFAULT_BIRTHDATE.toString()))
+                    .andExpect(jsonPath("$.isGraduatedBySector").value(DEFAULT_IS_GRADUATE_BY_SECTOR))
+                    .andExpect(jsonPath("$.phones[0].number").value(number))
+                    .andExpect(jsonPath("$.startDate").value(DEFAULT_START_DATE.toString())))
+                .hasSelectsAtMost(2)
+                .hasNoWrites();
     }
 
     @Test
@@ -1228,6 +1399,61 @@ public class EmployeeResourceIT extends PersonIT {
         defaultEmployeeShouldNotBeFoundWithOrOperator("workPlaceId.specified=false");
     }
 
+    @Test
+    @Transactional
+    void getAllEmployeesByWorkPlaceNameAfterRenamingWorkPlace() throws Exception {
+        // Initialize the database
+        WorkPlace workPlace =  new WorkPlace();
+        workPlace.setEmail("tic@infomed.sld.cu");
+        workPlace.setDescription("Lorem input");
+        workPlace.setName("TIC");
+        workPlace.setActive(true);
+        em.persist(workPlace);
+        employee.setWorkPlace(workPlace);
+        em.persist(employee);
+        em.flush();
+
+        // the new name is written in the DirectoryEntry read by the filters
+        workPlace.setName("ECIMED");
+        em.flush();
+
+        defaultEmployeeShouldBeFoundWithAndOperator("workPlaceName.equals=ECIMED");
+        defaultEmployeeShouldNotBeFoundWithAndOperator("workPlaceName.equals=TIC");
+    }
+
+    @Test
+    @Transactional
+    void getAllEmployeesSortedByWorkPlaceNameWithNestedWorkPlace() throws Exception {
+        // Initialize the database
+        WorkPlace workPlace =  new WorkPlace();
+        workPlace.setEmail("tic@infomed.sld.cu");
+        workPlace.setDescription("Lorem input");
+        workPlace.setName("TIC");
+        workPlace.setActive(true);
+        em.persist(workPlace);
+        Nomenclature charge =  new Nomenclature();
+        charge.setName("Director");
+        charge.setDescription("Director del centro");
+        charge.setDiscriminator(NomenclatureType.CARGO);
+        em.persist(charge);
+        employee.setWorkPlace(workPlace);
+        employee.setCharge(charge);
+        em.persist(employee);
+        em.flush();
+
+        // the association path is sorted on the workPlaceName column of the DirectoryEntry
+        restMockMvc.perform(get("/api/employees/filtered/and?sort=workPlace.name,asc&workPlaceName.equals=TIC"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.[*].id").value(hasItem(employee.getId().toString())))
+                .andExpect(jsonPath("$.[*].workPlace.id").value(hasItem(workPlace.getId().toString())))
+                .andExpect(jsonPath("$.[*].workPlace.name").value(hasItem("TIC")))
+                .andExpect(jsonPath("$.[*].workPlace.email").value(hasItem("tic@infomed.sld.cu")))
+                .andExpect(jsonPath("$.[*].workPlace.description").value(hasItem("Lorem input")))
+                .andExpect(jsonPath("$.[*].workPlace.active").value(hasItem(true)))
+                .andExpect(jsonPath("$.[*].charge.id").value(hasItem(charge.getId().toString())))
+                .andExpect(jsonPath("$.[*].charge.description").value(hasItem("Director del centro")));
+    }
+
     @Test
     @Transactional
     void searchAllEmployeesByCIAndNameAndWorkPlaceAndSpecialtyAndRegisterNumberContainsSomething() throws Exception {
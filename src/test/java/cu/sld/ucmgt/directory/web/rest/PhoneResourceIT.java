@@ -668,12 +668,14 @@ public class PhoneResourceIT {
         assertThat(testPhone.getActive()).isEqualTo(UPDATE_ACTIVE);
 
         Iterable<PhoneIndex> phoneIndexIterable = searchRepository.findAll();
-        assertThat(phoneIndexIterable).hasSize(0);
+        assertThat(phoneIndexIterable).hasSize(1);
+        assertThat(phoneIndexIterable.iterator().next().getActive()).isEqualTo(UPDATE_ACTIVE);
 
         Iterable<WorkPlaceIndex> workPlaceIndexIterable = workPlaceSearchRepository.findAll();
         assertThat(workPlaceIndexIterable).hasSize(1);
         WorkPlaceIndex testWorkPlacePhone = workPlaceIndexIterable.iterator().next();
-        assertThat(testWorkPlacePhone.getPhones()).hasSize(0);
+        assertThat(testWorkPlacePhone.getPhones()).hasSize(1);
+        assertThat(testWorkPlacePhone.getPhones().iterator().next().getActive()).isEqualTo(UPDATE_ACTIVE);
     }
 
     @Test
@@ -738,6 +740,146 @@ public class PhoneResourceIT {
         testPhoneIndexIsCreated(testWorkPlacePhone.getPhones().iterator().next());
     }
 
+    @Test
+    @Transactional
+    public void disableAndEnableSeveralPhones() throws Exception {
+        // Clear PhoneIndex and WorkPlaceIndex
+        searchRepository.deleteAll();
+        workPlaceSearchRepository.deleteAll();
+
+        Phone firstPhone = persistPhone(DEFAULT_NUMBER, true);
+        Phone secondPhone = persistPhone(UPDATE_NUMBER, true);
+
+        Map<String, Object> switchStatusPhones = new HashMap<>();
+        switchStatusPhones.put("ids", Arrays.asList(firstPhone.getId(), secondPhone.getId()));
+        switchStatusPhones.put("status", UPDATE_ACTIVE);
+        restMockMvc.perform(put("/api/phones/status/bulk").with(csrf())
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(TestUtil.convertObjectToJsonBytes(switchStatusPhones)))
+                .andExpect(status().isOk())
+                .andExpect(content().string("2"));
+
+        assertThat(repository.findAllById(Arrays.asList(firstPhone.getId(), secondPhone.getId())))
+                .extracting(Phone::getActive)
+                .containsOnly(UPDATE_ACTIVE);
+        assertThat(searchRepository.findAll())
+                .hasSize(2)
+                .extracting(PhoneIndex::getActive)
+                .containsOnly(UPDATE_ACTIVE);
+
+        switchStatusPhones.put("status", DEFAULT_ACTIVE);
+        restMockMvc.perform(put("/api/phones/status/bulk").with(csrf())
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(TestUtil.convertObjectToJsonBytes(switchStatusPhones)))
+                .andExpect(status().isOk())
+                .andExpect(content().string("2"));
+
+        assertThat(repository.findAllById(Arrays.asList(firstPhone.getId(), secondPhone.getId())))
+                .extracting(Phone::getActive)
+                .containsOnly(DEFAULT_ACTIVE);
+        assertThat(searchRepository.findAll())
+                .hasSize(2)
+                .extracting(PhoneIndex::getActive)
+                .containsOnly(DEFAULT_ACTIVE);
+    }
+
+    @Test
+    @Transactional
+    public void disableSeveralPhonesIgnoresUnknownIds() throws Exception {
+        // Clear PhoneIndex and WorkPlaceIndex
+        searchRepository.deleteAll();
+        workPlaceSearchRepository.deleteAll();
+
+        Phone existingPhone = persistPhone(DEFAULT_NUMBER, true);
+
+        Map<String, Object> switchStatusPhones = new HashMap<>();
+        switchStatusPhones.put("ids", Arrays.asList(existingPhone.getId(), UUID.randomUUID()));
+        switchStatusPhones.put("status", UPDATE_ACTIVE);
+        restMockMvc.perform(put("/api/phones/status/bulk").with(csrf())
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(TestUtil.convertObjectToJsonBytes(switchStatusPhones)))
+                .andExpect(status().isOk())
+                .andExpect(content().string("1"));
+
+        assertThat(repository.findById(existingPhone.getId()).orElseThrow().getActive()).isEqualTo(UPDATE_ACTIVE);
+        // the unknown phone is neither stored nor indexed
+        assertThat(searchRepository.findAll())
+                .hasSize(1)
+                .extracting(PhoneIndex::getId)
+                .containsOnly(existingPhone.getId());
+
+        switchStatusPhones.put("ids", Collections.singletonList(UUID.randomUUID()));
+        restMockMvc.perform(put("/api/phones/status/bulk").with(csrf())
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(TestUtil.convertObjectToJsonBytes(switchStatusPhones)))
+                .andExpect(status().isOk())
+                .andExpect(content().string("0"));
+    }
+
+    @Test
+    @Transactional
+    public void changeStatusOfSeveralPhonesIsValidated() throws Exception {
+        Phone existingPhone = persistPhone(DEFAULT_NUMBER, false);
+
+        Map<String, Object> withoutIds = new HashMap<>();
+        withoutIds.put("ids", Collections.emptyList());
+        withoutIds.put("status", UPDATE_ACTIVE);
+        restMockMvc.perform(put("/api/phones/status/bulk").with(csrf())
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(TestUtil.convertObjectToJsonBytes(withoutIds)))
+                .andExpect(status().isBadRequest());
+
+        Map<String, Object> withoutStatus = new HashMap<>();
+        withoutStatus.put("ids", Collections.singletonList(existingPhone.getId()));
+        restMockMvc.perform(put("/api/phones/status/bulk").with(csrf())
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(TestUtil.convertObjectToJsonBytes(withoutStatus)))
+                .andExpect(status().isBadRequest());
+
+        assertThat(repository.findById(existingPhone.getId()).orElseThrow().getActive()).isEqualTo(DEFAULT_ACTIVE);
+    }
+
+    @Test
+    @Transactional
+    public void enableSeveralPhonesReindexesMissingPhoneIndex() throws Exception {
+        // Clear PhoneIndex and WorkPlaceIndex
+        searchRepository.deleteAll();
+        workPlaceSearchRepository.deleteAll();
+
+        // disabled before the status was stored as a flag, so without PhoneIndex
+        Phone disabledPhone = persistPhone(DEFAULT_NUMBER, false);
+        disabledPhone.setActive(UPDATE_ACTIVE);
+        em.flush();
+
+        Map<String, Object> switchStatusPhones = new HashMap<>();
+        switchStatusPhones.put("ids", Collections.singletonList(disabledPhone.getId()));
+        switchStatusPhones.put("status", DEFAULT_ACTIVE);
+        restMockMvc.perform(put("/api/phones/status/bulk").with(csrf())
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(TestUtil.convertObjectToJsonBytes(switchStatusPhones)))
+                .andExpect(status().isOk())
+                .andExpect(content().string("1"));
+
+        Iterable<PhoneIndex> phoneIndexIterable = searchRepository.findAll();
+        assertThat(phoneIndexIterable).hasSize(1);
+        PhoneIndex testPhoneIndex = phoneIndexIterable.iterator().next();
+        testPhoneIndexIsCreated(testPhoneIndex);
+        assertThat(testPhoneIndex.getId()).isEqualTo(disabledPhone.getId());
+    }
+
+    private Phone persistPhone(String number, boolean indexed) {
+        Phone newPhone = new Phone();
+        newPhone.setNumber(number);
+        newPhone.setActive(DEFAULT_ACTIVE);
+        newPhone.setDescription(DEFAULT_DESCRIPTION);
+        em.persist(newPhone);
+        em.flush();
+        if (indexed) {
+            searchRepository.save(indexMapper.toIndex(newPhone));
+        }
+        return newPhone;
+    }
+
     /**
      * Executes the search with And operator, and checks that the default entity is returned.
      */
@@ -22,6 +22,7 @@ import cu.sld.ucmgt.directory.service.dto.PhoneDTO;
 import cu.sld.ucmgt.directory.service.dto.WorkPlaceDTO;
 import cu.sld.ucmgt.directory.service.mapper.EmployeeMapper;
 import cu.sld.ucmgt.directory.service.mapper.PhoneMapper;
+import cu.sld.ucmgt.directory.service.mapper.WorkPlaceIndexMapper;
 import cu.sld.ucmgt.directory.service.mapper.WorkPlaceMapper;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -81,6 +82,9 @@ public class WorkPlaceResourceIT {
     @Autowired
     private EmployeeMapper employeeMapper;
 
+    @Autowired
+    private WorkPlaceIndexMapper workPlaceIndexMapper;
+
     @Autowired
     private WorkPlaceSearchRepository searchRepository;
 
@@ -483,10 +487,22 @@ public class WorkPlaceResourceIT {
                 .andExpect(jsonPath("$.name").value(DEFAULT_NAME))
                 .andExpect(jsonPath("$.active").value(DEFAULT_ACTIVE))
                 .andExpect(jsonPath("$.description").value(DEFAULT_DESCRIPTION))
-                .andExpect(jsonPath("$.phones[*].number").value(hasItem(phone.getNumber())))
-                .andExpect(jsonPath("$.employees[*].name").value(hasItem(employee.getName())))
-                .andExpect(jsonPath("$.phoneIds[*]").value(hasItem(phone.getId().toString())))
-                .andExpect(jsonPath("$.employeeIds[*]").value(hasItem(employee.getId().toString())));
+                .andExpect(jsonPath("$.phoneCount").value(1))
+                .andExpect(jsonPath("$.employeeCount").value(1));
+
+        restMockMvc.perform(get("/api/workplaces/{id}/employees?sort=id,desc", workPlace.getId()))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(MediaType.APPLICATION_JSON_VALUE))
+                .andExpect(header().string("X-Total-Count", "1"))
+                .andExpect(jsonPath("$.[*].id").value(hasItem(employee.getId().toString())))
+                .andExpect(jsonPath("$.[*].name").value(hasItem(employee.getName())));
+
+        restMockMvc.perform(get("/api/workplaces/{id}/phones?sort=id,desc", workPlace.getId()))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(MediaType.APPLICATION_JSON_VALUE))
+                .andExpect(header().string("X-Total-Count", "1"))
+                .andExpect(jsonPath("$.[*].id").value(hasItem(phone.getId().toString())))
+                .andExpect(jsonPath("$.[*].number").value(hasItem(phone.getNumber())));
     }
 
     @Test
@@ -569,15 +585,17 @@ public class WorkPlaceResourceIT {
         assertThat(testWorkPlace.getActive()).isEqualTo(UPDATE_ACTIVE);
 
         Iterable<WorkPlaceIndex> workPlaceIndexIterable = searchRepository.findAll();
-        assertThat(workPlaceIndexIterable).hasSize(0);
+        assertThat(workPlaceIndexIterable).hasSize(1);
+        assertThat(workPlaceIndexIterable.iterator().next().getActive()).isEqualTo(UPDATE_ACTIVE);
 
         Iterable<EmployeeIndex> employeeIndexIterable = employeeSearchRepository.findAll();
         assertThat(employeeIndexIterable).hasSize(1);
         EmployeeIndex testEmployeeIndex = employeeIndexIterable.iterator().next();
-        assertThat(testEmployeeIndex.getWorkPlace()).isNull();
+        assertThat(testEmployeeIndex.getWorkPlace().getActive()).isEqualTo(UPDATE_ACTIVE);
 
         Iterable<PhoneIndex> phoneIndexIterable = phoneSearchRepository.findAll();
-        assertThat(phoneIndexIterable).hasSize(0);
+        assertThat(phoneIndexIterable).hasSize(1);
+        assertThat(phoneIndexIterable.iterator().next().getWorkPlace().getActive()).isEqualTo(UPDATE_ACTIVE);
     }
 
     @Test
@@ -669,6 +687,146 @@ public class WorkPlaceResourceIT {
         testCreatedWorkPlaceIndex(testPhoneIndex.getWorkPlace());
     }
 
+    @Test
+    @Transactional
+    public void disableAndEnableSeveralWorkPlaces() throws Exception {
+        // Clear WorkPlaceIndex
+        searchRepository.deleteAll();
+
+        WorkPlace firstWorkPlace = persistWorkPlace(DEFAULT_NAME, true);
+        WorkPlace secondWorkPlace = persistWorkPlace(UPDATE_NAME, true);
+
+        Map<String, Object> switchStatusWorkPlaces = new HashMap<>();
+        switchStatusWorkPlaces.put("ids", Arrays.asList(firstWorkPlace.getId(), secondWorkPlace.getId()));
+        switchStatusWorkPlaces.put("status", UPDATE_ACTIVE);
+        restMockMvc.perform(put("/api/workplaces/status/bulk").with(csrf())
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(TestUtil.convertObjectToJsonBytes(switchStatusWorkPlaces)))
+                .andExpect(status().isOk())
+                .andExpect(content().string("2"));
+
+        assertThat(repository.findAllById(Arrays.asList(firstWorkPlace.getId(), secondWorkPlace.getId())))
+                .extracting(WorkPlace::getActive)
+                .containsOnly(UPDATE_ACTIVE);
+        assertThat(searchRepository.findAll())
+                .hasSize(2)
+                .extracting(WorkPlaceIndex::getActive)
+                .containsOnly(UPDATE_ACTIVE);
+
+        switchStatusWorkPlaces.put("status", DEFAULT_ACTIVE);
+        restMockMvc.perform(put("/api/workplaces/status/bulk").with(csrf())
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(TestUtil.convertObjectToJsonBytes(switchStatusWorkPlaces)))
+                .andExpect(status().isOk())
+                .andExpect(content().string("2"));
+
+        assertThat(repository.findAllById(Arrays.asList(firstWorkPlace.getId(), secondWorkPlace.getId())))
+                .extracting(WorkPlace::getActive)
+                .containsOnly(DEFAULT_ACTIVE);
+        assertThat(searchRepository.findAll())
+                .hasSize(2)
+                .extracting(WorkPlaceIndex::getActive)
+                .containsOnly(DEFAULT_ACTIVE);
+    }
+
+    @Test
+    @Transactional
+    public void disableSeveralWorkPlacesIgnoresUnknownIds() throws Exception {
+        // Clear WorkPlaceIndex
+        searchRepository.deleteAll();
+
+        WorkPlace existingWorkPlace = persistWorkPlace(DEFAULT_NAME, true);
+
+        Map<String, Object> switchStatusWorkPlaces = new HashMap<>();
+        switchStatusWorkPlaces.put("ids", Arrays.asList(existingWorkPlace.getId(), UUID.randomUUID()));
+        switchStatusWorkPlaces.put("status", UPDATE_ACTIVE);
+        restMockMvc.perform(put("/api/workplaces/status/bulk").with(csrf())
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(TestUtil.convertObjectToJsonBytes(switchStatusWorkPlaces)))
+                .andExpect(status().isOk())
+                .andExpect(content().string("1"));
+
+        assertThat(repository.findById(existingWorkPlace.getId()).orElseThrow().getActive()).isEqualTo(UPDATE_ACTIVE);
+        // the unknown workplace is neither stored nor indexed
+        assertThat(searchRepository.findAll())
+                .hasSize(1)
+                .extracting(WorkPlaceIndex::getId)
+                .containsOnly(existingWorkPlace.getId());
+    }
+
+    @Test
+    @Transactional
+    public void changeStatusOfSeveralWorkPlacesIsValidated() throws Exception {
+        WorkPlace existingWorkPlace = persistWorkPlace(DEFAULT_NAME, false);
+
+        Map<String, Object> withoutIds = new HashMap<>();
+        withoutIds.put("ids", Collections.emptyList());
+        withoutIds.put("status", UPDATE_ACTIVE);
+        restMockMvc.perform(put("/api/workplaces/status/bulk").with(csrf())
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(TestUtil.convertObjectToJsonBytes(withoutIds)))
+                .andExpect(status().isBadRequest());
+
+        Map<String, Object> withoutStatus = new HashMap<>();
+        withoutStatus.put("ids", Collections.singletonList(existingWorkPlace.getId()));
+        restMockMvc.perform(put("/api/workplaces/status/bulk").with(csrf())
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(TestUtil.convertObjectToJsonBytes(withoutStatus)))
+                .andExpect(status().isBadRequest());
+
+        assertThat(repository.findById(existingWorkPlace.getId()).orElseThrow().getActive()).isEqualTo(DEFAULT_ACTIVE);
+    }
+
+    @Test
+    @Transactional
+    public void enableSeveralWorkPlacesReindexesMissingWorkPlaceIndex() throws Exception {
+        // Clear PhoneIndex and WorkPlaceIndex
+        searchRepository.deleteAll();
+        phoneSearchRepository.deleteAll();
+
+        // disabled before the status was stored as a flag, so without WorkPlaceIndex nor PhoneIndex
+        WorkPlace disabledWorkPlace = persistWorkPlace(DEFAULT_NAME, false);
+        disabledWorkPlace.setActive(UPDATE_ACTIVE);
+        Phone phone = createPhoneOfWorkPlace(disabledWorkPlace);
+        em.persist(phone);
+        disabledWorkPlace.addPhone(phone);
+        em.flush();
+
+        Map<String, Object> switchStatusWorkPlaces = new HashMap<>();
+        switchStatusWorkPlaces.put("ids", Collections.singletonList(disabledWorkPlace.getId()));
+        switchStatusWorkPlaces.put("status", DEFAULT_ACTIVE);
+        restMockMvc.perform(put("/api/workplaces/status/bulk").with(csrf())
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(TestUtil.convertObjectToJsonBytes(switchStatusWorkPlaces)))
+                .andExpect(status().isOk())
+                .andExpect(content().string("1"));
+
+        Iterable<WorkPlaceIndex> workPlaceIndexIterable = searchRepository.findAll();
+        assertThat(workPlaceIndexIterable).hasSize(1);
+        WorkPlaceIndex testWorkPlaceIndex = workPlaceIndexIterable.iterator().next();
+        testCreatedWorkPlaceIndex(testWorkPlaceIndex);
+        assertThat(testWorkPlaceIndex.getActive()).isEqualTo(DEFAULT_ACTIVE);
+        assertThat(testWorkPlaceIndex.getPhones()).hasSize(1);
+
+        List<PhoneIndex> phoneIndices = phoneSearchRepository.findAllByWorkPlace_Id(disabledWorkPlace.getId());
+        assertThat(phoneIndices).hasSize(1);
+        assertThat(phoneIndices.get(0).getWorkPlace().getActive()).isEqualTo(DEFAULT_ACTIVE);
+    }
+
+    private WorkPlace persistWorkPlace(String name, boolean indexed) {
+        WorkPlace newWorkPlace = new WorkPlace();
+        newWorkPlace.setName(name);
+        newWorkPlace.setActive(DEFAULT_ACTIVE);
+        newWorkPlace.setEmail(DEFAULT_EMAIL);
+        newWorkPlace.setDescription(DEFAULT_DESCRIPTION);
+        em.persist(newWorkPlace);
+        em.flush();
+        if (indexed) {
+            searchRepository.save(workPlaceIndexMapper.toIndex(newWorkPlace));
+        }
+        return newWorkPlace;
+    }
+
     /**
      * Executes the search with And operator, and checks that the default entity is returned.
      */